@@ -0,0 +1,47 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import com.uber.h3core.util.GeoCoord;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks parsing of CSV lines into {@link GeoCoord}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvParsingBenchmark {
+
+  private static final int LINES = 10000;
+
+  private String[] lines;
+  private CSVProcessor csvProcessor;
+
+  @Setup
+  public void setup() {
+    lines = SyntheticData.generate(SyntheticData.Shape.TRACKLINE, LINES, 1L).toCsvLines();
+    csvProcessor = new CSVProcessor("[, ]", null);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LINES)
+  public void csvLineToGeoCoord(Blackhole blackhole) {
+    for (String line : lines) {
+      blackhole.consume(csvProcessor.csvLineToGeoCoord(line));
+    }
+  }
+}
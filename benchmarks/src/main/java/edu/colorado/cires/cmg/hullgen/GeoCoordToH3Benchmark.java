@@ -0,0 +1,64 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import com.uber.h3core.util.GeoCoord;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link GeometryProcessor#geoCoordToH3(GeoCoord)} over differently shaped point streams with the native and pure-Java H3 backends
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoCoordToH3Benchmark {
+
+  private static final int POINTS = 10000;
+
+  @Param({"TRACKLINE", "DENSE_GRID", "POLAR", "ANTIMERIDIAN"})
+  private SyntheticData.Shape shape;
+
+  @Param({"4", "8", "12"})
+  private int h3Resolution;
+
+  @Param({"NATIVE", "JAVA"})
+  private String backend;
+
+  private GeoCoord[] geoCoords;
+  private GeometryProcessor geometryProcessor;
+
+  @Setup
+  public void setup() throws IOException {
+    SyntheticData data = SyntheticData.generate(shape, POINTS, 1L);
+    geoCoords = new GeoCoord[POINTS];
+    for (int i = 0; i < POINTS; i++) {
+      geoCoords[i] = new GeoCoord(data.getLats()[i], data.getLons()[i]);
+    }
+    H3Backend h3Backend = "JAVA".equals(backend) ? new JavaH3Backend() : new NativeH3Backend();
+    geometryProcessor = new CompleteGeometryProcessor(h3Resolution, new GeometryFactory(), false, new NoOpHullMetrics(), false, h3Backend);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void geoCoordToH3(Blackhole blackhole) {
+    for (GeoCoord geoCoord : geoCoords) {
+      blackhole.consume(geometryProcessor.geoCoordToH3(geoCoord));
+    }
+  }
+}
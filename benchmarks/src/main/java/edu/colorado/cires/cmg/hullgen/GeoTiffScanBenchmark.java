@@ -0,0 +1,55 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks window scanning of a GeoTIFF image. The image defaults to the small test image of the main module and can be overridden
+ * with {@code -p file=...}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GeoTiffScanBenchmark {
+
+  @Param({"../src/test/resources/small_file.tif"})
+  private String file;
+
+  @Param({"256", "1000"})
+  private int pixelArea;
+
+  @Param({"8"})
+  private int h3Resolution;
+
+  private GeometryProcessor geometryProcessor;
+
+  @Setup
+  public void setup() throws IOException {
+    if (!new File(file).isFile()) {
+      throw new IllegalStateException("GeoTIFF not found: " + file);
+    }
+    geometryProcessor = new CompleteGeometryProcessor(h3Resolution, new GeometryFactory());
+  }
+
+  @Benchmark
+  public Geometry process() throws IOException {
+    return new GeoTiffProcessor(pixelArea, new CompleteHull(geometryProcessor)).process(new File(file));
+  }
+}
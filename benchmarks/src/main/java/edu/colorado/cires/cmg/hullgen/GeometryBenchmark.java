@@ -0,0 +1,104 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import com.uber.h3core.H3Core;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks polygonization, polar processing, merging and simplification of H3 cell sets
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GeometryBenchmark {
+
+  @Param({"TRACKLINE", "DENSE_GRID", "POLAR", "ANTIMERIDIAN"})
+  private SyntheticData.Shape shape;
+
+  @Param({"1000", "10000"})
+  private int cellCount;
+
+  @Param({"6", "8"})
+  private int h3Resolution;
+
+  private CompleteGeometryProcessor completeGeometryProcessor;
+  private SimplifyingGeometryProcessor simplifyingGeometryProcessor;
+  private Set<Long> cells;
+  private List<Geometry> cellPolygons;
+  private Geometry firstHalf;
+  private Geometry secondHalf;
+  private Geometry unsimplified;
+
+  @Setup
+  public void setup() throws IOException {
+    GeometryFactory geometryFactory = new GeometryFactory();
+    completeGeometryProcessor = new CompleteGeometryProcessor(h3Resolution, geometryFactory);
+    simplifyingGeometryProcessor = new SimplifyingGeometryProcessor(h3Resolution, geometryFactory, 0.007, 0.001, 10000);
+
+    H3Core h3Core = H3Core.newInstance();
+    cells = SyntheticData.cells(shape, h3Core, h3Resolution, cellCount, 1L);
+
+    cellPolygons = new ArrayList<>(cells.size());
+    for (long cell : cells) {
+      List<Coordinate> coordinates = new ArrayList<>();
+      h3Core.h3ToGeoBoundary(cell).forEach(geoCoord -> coordinates.add(new Coordinate(geoCoord.lng, geoCoord.lat)));
+      coordinates.add(coordinates.get(0));
+      cellPolygons.add(geometryFactory.createPolygon(coordinates.toArray(new Coordinate[] {})));
+    }
+
+    List<Long> cellList = new ArrayList<>(cells);
+    firstHalf = completeGeometryProcessor.getGeometry(cellList.subList(0, cellList.size() / 2));
+    secondHalf = completeGeometryProcessor.getGeometry(cellList.subList(cellList.size() / 2, cellList.size()));
+    unsimplified = completeGeometryProcessor.getGeometry(cells);
+  }
+
+  @Benchmark
+  public Geometry getGeometry() {
+    return completeGeometryProcessor.getGeometry(cells);
+  }
+
+  @Benchmark
+  public int processPolar() {
+    int geometries = 0;
+    for (Geometry cellPolygon : cellPolygons) {
+      Geometry processed = completeGeometryProcessor.processPolar(cellPolygon);
+      geometries += processed == null ? 0 : processed.getNumGeometries();
+    }
+    return geometries;
+  }
+
+  @Benchmark
+  public Geometry mergeGeometryOutlines() {
+    return completeGeometryProcessor.mergeGeometryOutlines(secondHalf, firstHalf);
+  }
+
+  @Benchmark
+  public Geometry simplifiedGetGeometry() {
+    return simplifyingGeometryProcessor.getGeometry(cells);
+  }
+
+  @Benchmark
+  public Geometry simplifiedMergeGeometryOutlines() {
+    return simplifyingGeometryProcessor.mergeGeometryOutlines(unsimplified, null);
+  }
+}
@@ -0,0 +1,156 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import com.uber.h3core.H3Core;
+import com.uber.h3core.LengthUnit;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates reproducible coordinate sets shaped like the data the hull generator processes
+ */
+public final class SyntheticData {
+
+  /**
+   * Shapes of generated coordinate sets
+   */
+  public enum Shape {
+    /**
+     * Ship track: a random walk with small steps, so consecutive points are spatially coherent
+     */
+    TRACKLINE,
+    /**
+     * Regular grid filling a solid rectangle, like a raster scanline
+     */
+    DENSE_GRID,
+    /**
+     * Random walk around the north pole
+     */
+    POLAR,
+    /**
+     * Random walk zig-zagging across the antimeridian
+     */
+    ANTIMERIDIAN
+  }
+
+  private static final double KM_PER_DEGREE = 111.32;
+
+  private final double[] lats;
+  private final double[] lons;
+
+  private SyntheticData(double[] lats, double[] lons) {
+    this.lats = lats;
+    this.lons = lons;
+  }
+
+  /**
+   * Generates a coordinate set
+   * @param shape {@link Shape} of the coordinate set
+   * @param count number of coordinates
+   * @param seed random seed
+   * @return {@link SyntheticData} containing generated coordinates
+   */
+  public static SyntheticData generate(Shape shape, int count, long seed) {
+    return generate(shape, count, seed, 0.001);
+  }
+
+  /**
+   * Generates a coordinate set
+   * @param shape {@link Shape} of the coordinate set
+   * @param count number of coordinates
+   * @param seed random seed
+   * @param spacing approximate distance between consecutive coordinates in degrees
+   * @return {@link SyntheticData} containing generated coordinates
+   */
+  public static SyntheticData generate(Shape shape, int count, long seed, double spacing) {
+    Random random = new Random(seed);
+    double[] lats = new double[count];
+    double[] lons = new double[count];
+    switch (shape) {
+      case TRACKLINE:
+        walk(random, lats, lons, 20D, -60D, spacing * 2D, 0D);
+        break;
+      case DENSE_GRID:
+        int side = (int) Math.ceil(Math.sqrt(count));
+        for (int i = 0; i < count; i++) {
+          lats[i] = 10D + (i / side) * spacing;
+          lons[i] = -40D + (i % side) * spacing;
+        }
+        break;
+      case POLAR:
+        walk(random, lats, lons, 89.5, 0D, spacing * 10D, 0D);
+        break;
+      case ANTIMERIDIAN:
+        walk(random, lats, lons, -30D, 179.9, spacing * 2D, spacing / 2D);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported shape: " + shape);
+    }
+    return new SyntheticData(lats, lons);
+  }
+
+  private static void walk(Random random, double[] lats, double[] lons, double startLat, double startLon, double step, double eastwardBias) {
+    double lat = startLat;
+    double lon = startLon;
+    for (int i = 0; i < lats.length; i++) {
+      lat += (random.nextDouble() - 0.5) * step;
+      lon += (random.nextDouble() - 0.5 + eastwardBias / step) * step;
+      if (lat > 90D) {
+        lat = 180D - lat;
+        lon += 180D;
+      }
+      if (lon > 180D) {
+        lon -= 360D;
+      } else if (lon < -180D) {
+        lon += 360D;
+      }
+      lats[i] = lat;
+      lons[i] = lon;
+    }
+  }
+
+  public double[] getLats() {
+    return lats;
+  }
+
+  public double[] getLons() {
+    return lons;
+  }
+
+  /**
+   * Formats coordinates as CSV lines in longitude/latitude column order
+   * @return CSV lines
+   */
+  public String[] toCsvLines() {
+    String[] lines = new String[lats.length];
+    for (int i = 0; i < lats.length; i++) {
+      lines[i] = lons[i] + "," + lats[i];
+    }
+    return lines;
+  }
+
+  /**
+   * Generates a set of unique H3 ids by indexing a coordinate set spaced according to the cell size
+   * @param shape {@link Shape} of the underlying coordinate set
+   * @param h3Core {@link H3Core} for indexing
+   * @param h3Resolution H3 resolution
+   * @param cellCount number of unique cells to return
+   * @param seed random seed
+   * @return {@link Set<Long>} of unique H3 ids in generation order
+   */
+  public static Set<Long> cells(Shape shape, H3Core h3Core, int h3Resolution, int cellCount, long seed) {
+    double spacing = h3Core.edgeLength(h3Resolution, LengthUnit.km) / KM_PER_DEGREE;
+    int pointCount = cellCount * 4;
+    while (true) {
+      SyntheticData data = generate(shape, pointCount, seed, spacing);
+      Set<Long> cells = new LinkedHashSet<>();
+      for (int i = 0; i < data.lats.length && cells.size() < cellCount; i++) {
+        cells.add(h3Core.geoToH3(data.lats[i], data.lons[i], h3Resolution));
+      }
+      if (cells.size() == cellCount) {
+        return cells;
+      }
+      pointCount *= 2;
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Implementation of {@link BaseGeometryProcessor} which polygonizes solid areas at coarser resolutions. H3 ids are grouped by their parent
+ * one resolution up. A parent whose children are all present, and whose neighbors' children are all present too, lies inside the hull and
+ * replaces its children. The replacing parents are grouped the same way at the next resolution up, down to the coarsest resolution, so
+ * only the cells which can reach the outline are polygonized at the target resolution. Because neighbors of a replaced parent are all
+ * complete, neighboring cells never differ by more than one resolution.
+ * <p>
+ * H3 children do not exactly cover their parent, so the outline of a coarse cell leaves slivers against the finer cells of a neighboring
+ * parent. The slivers lie inside the input cells, so holes whose interior falls in an input cell are filled
+ */
+public class AdaptiveGeometryProcessor extends BaseGeometryProcessor {
+
+  private static final int CHILDREN_PER_PARENT = 7;
+
+  private final int coarseResolution;
+
+  /**
+   * Constructor for {@link AdaptiveGeometryProcessor}
+   * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
+   * @param coarseLevels number of resolutions above the target resolution up to which interior cells are coarsened
+   * @throws IOException if the native H3 library cannot be loaded
+   */
+  public AdaptiveGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, int coarseLevels) throws IOException {
+    this(h3Resolution, geometryFactory, coarseLevels, false, new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link AdaptiveGeometryProcessor}
+   * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
+   * @param coarseLevels number of resolutions above the target resolution up to which interior cells are coarsened
+   * @param keepHoles boolean specifying whether to keep holes in the output geometry
+   * @param metrics {@link HullMetrics} for recording coarsened cells, indexing, polygonization and union timings
+   * @throws IOException if the native H3 library cannot be loaded
+   */
+  public AdaptiveGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, int coarseLevels, boolean keepHoles,
+      HullMetrics metrics) throws IOException {
+    this(h3Resolution, geometryFactory, coarseLevels, keepHoles, metrics, new NativeH3Backend());
+  }
+
+  /**
+   * Constructor for {@link AdaptiveGeometryProcessor}
+   * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
+   * @param coarseLevels number of resolutions above the target resolution up to which interior cells are coarsened
+   * @param keepHoles boolean specifying whether to keep holes in the output geometry
+   * @param metrics {@link HullMetrics} for recording coarsened cells, indexing, polygonization and union timings
+   * @param h3Backend {@link H3Backend} performing H3 operations
+   */
+  public AdaptiveGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, int coarseLevels, boolean keepHoles,
+      HullMetrics metrics, H3Backend h3Backend) {
+    super(h3Resolution, geometryFactory, keepHoles, metrics, false, h3Backend);
+    if (coarseLevels < 1 || coarseLevels > h3Resolution) {
+      throw new IllegalArgumentException("Coarse levels must be between 1 and the H3 resolution: " + coarseLevels);
+    }
+    this.coarseResolution = h3Resolution - coarseLevels;
+  }
+
+  /**
+   * Describes the H3 resolution, hole handling, precision model and coarsest resolution
+   * @return description of the parameters
+   */
+  @Override
+  public String getParameters() {
+    return super.getParameters() + "[coarseResolution=" + coarseResolution + "]";
+  }
+
+  /**
+   * Transforms H3 ids into {@link Geometry}, polygonizing interior areas as coarse cells. When holes are not kept only the outer
+   * boundary cells are polygonized, see {@link BaseGeometryProcessor#getOuterCells(Collection)}, which leaves nothing to coarsen
+   * @param points {@link Collection<Long>} containing H3 ids
+   * @return {@link Geometry} from H3 ids
+   */
+  @Override
+  public Geometry getGeometry(Collection<Long> points) {
+    if (!keepHoles) {
+      return super.getGeometry(points);
+    }
+    metrics.increment(HullCounter.UNIQUE_CELLS, points.size());
+    Set<Long> inputCells = points instanceof Set ? (Set<Long>) points : new HashSet<>(points);
+    List<Long> cells = new ArrayList<>();
+    Collection<Long> levelCells = inputCells;
+    long fineCells = 0;
+    for (int resolution = h3Resolution - 1; resolution >= coarseResolution; resolution--) {
+      Map<Long, List<Long>> children = new HashMap<>();
+      for (long h3 : levelCells) {
+        children.computeIfAbsent(h3Backend.h3ToParent(h3, resolution), parent -> new ArrayList<>()).add(h3);
+      }
+      List<Long> interiorParents = new ArrayList<>();
+      for (Map.Entry<Long, List<Long>> parent : children.entrySet()) {
+        if (isInterior(parent.getKey(), children)) {
+          interiorParents.add(parent.getKey());
+        } else {
+          cells.addAll(parent.getValue());
+          if (resolution == h3Resolution - 1) {
+            fineCells += parent.getValue().size();
+          }
+        }
+      }
+      levelCells = interiorParents;
+    }
+    cells.addAll(levelCells);
+    long coarsened = inputCells.size() - fineCells;
+    metrics.increment(HullCounter.CELLS_COARSENED, coarsened);
+    Geometry geometry = polygonizeCells(cells);
+    return coarsened > 0 ? fillSlivers(geometry, inputCells) : geometry;
+  }
+
+  private boolean isInterior(long parent, Map<Long, List<Long>> children) {
+    for (long neighbor : h3Backend.kRing(parent, 1)) {
+      List<Long> neighborChildren = children.get(neighbor);
+      if (neighborChildren == null || neighborChildren.size() != CHILDREN_PER_PARENT || h3Backend.h3IsPentagon(neighbor)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Geometry fillSlivers(Geometry geometry, Set<Long> inputCells) {
+    Polygon[] polygons = new Polygon[geometry.getNumGeometries()];
+    for (int i = 0; i < polygons.length; i++) {
+      Polygon polygon = (Polygon) geometry.getGeometryN(i);
+      List<LinearRing> holes = new ArrayList<>();
+      for (int j = 0; j < polygon.getNumInteriorRing(); j++) {
+        LinearRing hole = polygon.getInteriorRingN(j);
+        Coordinate interiorPoint = geometryFactory.createPolygon(hole).getInteriorPoint().getCoordinate();
+        if (!inputCells.contains(h3Backend.geoToH3(interiorPoint.y, interiorPoint.x, h3Resolution))) {
+          holes.add(hole);
+        }
+      }
+      polygons[i] = geometryFactory.createPolygon(polygon.getExteriorRing(), holes.toArray(new LinearRing[0]));
+    }
+    return polygons.length == 1 ? polygons[0] : geometryFactory.createMultiPolygon(polygons);
+  }
+}
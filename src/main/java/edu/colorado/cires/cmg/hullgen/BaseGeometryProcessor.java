@@ -1,14 +1,20 @@
 package edu.colorado.cires.cmg.hullgen;
 
-import com.uber.h3core.H3Core;
 import com.uber.h3core.util.GeoCoord;
 import edu.colorado.cires.cmg.polarprocessor.PolarProcessor;
 import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
@@ -21,25 +27,40 @@ import org.locationtech.spatial4j.shape.jts.JtsGeometry;
 /**
  * Base implementation of {@link GeometryProcessor}
  */
-public class BaseGeometryProcessor implements GeometryProcessor {
+public class BaseGeometryProcessor implements GeometryProcessor, CacheKeyed {
 
-  protected final H3Core h3Core;
-  private final Integer h3Resolution;
-  private final GeometryFactory geometryFactory;
+  /**
+   * Batches of at least this many coordinates are converted to H3 ids in parallel
+   */
+  public static final int PARALLEL_BATCH_SIZE = 16384;
+
+  /**
+   * Length in degrees below which a part of a line segment crossing a cell boundary is not split further. Cells which the segment crosses
+   * for less than this length may be missed
+   */
+  private static final double SEGMENT_TOLERANCE = 1e-7;
 
-  private final boolean keepHoles;
+  private static final double MAX_FILL_LATITUDE = 80D;
+  private static final double FILL_MARGIN_CELL_RADII = 6D;
+  private static final int MAX_FILL_CELLS_PER_CELL = 4;
+  private static final int MIN_FILL_CELLS = 10000;
+
+  protected final H3Backend h3Backend;
+  protected final Integer h3Resolution;
+  protected final GeometryFactory geometryFactory;
+
+  protected final boolean keepHoles;
+  protected final HullMetrics metrics;
+  private final ThreadLocal<CoherentH3Index> coherentIndex;
 
   /**
    * Constructor for {@link BaseGeometryProcessor}
    * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
    * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
-   * @throws IOException if {@link H3Core} cannot create a new instance
+   * @throws IOException if the native H3 library cannot be loaded
    */
   public BaseGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory) throws IOException {
-    this.h3Resolution = h3Resolution;
-    this.geometryFactory = geometryFactory;
-    h3Core = H3Core.newInstance();
-    this.keepHoles = false;
+    this(h3Resolution, geometryFactory, false);
   }
 
   /**
@@ -47,13 +68,57 @@ public class BaseGeometryProcessor implements GeometryProcessor {
    * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
    * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
    * @param keepHoles boolean specifying whether to keep holes in the output geometry
-   * @throws IOException if {@link H3Core} cannot create a new instance
+   * @throws IOException if the native H3 library cannot be loaded
    */
   public BaseGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, boolean keepHoles) throws IOException {
+    this(h3Resolution, geometryFactory, keepHoles, new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link BaseGeometryProcessor}
+   * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
+   * @param keepHoles boolean specifying whether to keep holes in the output geometry
+   * @param metrics {@link HullMetrics} for recording indexing, polygonization and union timings
+   * @throws IOException if the native H3 library cannot be loaded
+   */
+  public BaseGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, boolean keepHoles, HullMetrics metrics) throws IOException {
+    this(h3Resolution, geometryFactory, keepHoles, metrics, false);
+  }
+
+  /**
+   * Constructor for {@link BaseGeometryProcessor}
+   * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
+   * @param keepHoles boolean specifying whether to keep holes in the output geometry
+   * @param metrics {@link HullMetrics} for recording indexing, polygonization and union timings
+   * @param coherentIndexing boolean specifying whether to skip H3 lookups for points which clearly fall in the previous cell, see
+   *     {@link CoherentH3Index}
+   * @throws IOException if the native H3 library cannot be loaded
+   */
+  public BaseGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, boolean keepHoles, HullMetrics metrics,
+      boolean coherentIndexing) throws IOException {
+    this(h3Resolution, geometryFactory, keepHoles, metrics, coherentIndexing, new NativeH3Backend());
+  }
+
+  /**
+   * Constructor for {@link BaseGeometryProcessor}
+   * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
+   * @param keepHoles boolean specifying whether to keep holes in the output geometry
+   * @param metrics {@link HullMetrics} for recording indexing, polygonization and union timings
+   * @param coherentIndexing boolean specifying whether to skip H3 lookups for points which clearly fall in the previous cell, see
+   *     {@link CoherentH3Index}
+   * @param h3Backend {@link H3Backend} performing H3 operations, either {@link NativeH3Backend} or {@link JavaH3Backend}
+   */
+  public BaseGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, boolean keepHoles, HullMetrics metrics,
+      boolean coherentIndexing, H3Backend h3Backend) {
     this.h3Resolution = h3Resolution;
     this.geometryFactory = geometryFactory;
-    h3Core = H3Core.newInstance();
+    this.h3Backend = h3Backend;
     this.keepHoles = keepHoles;
+    this.metrics = metrics;
+    this.coherentIndex = coherentIndexing ? ThreadLocal.withInitial(() -> new CoherentH3Index(h3Backend, h3Resolution, metrics)) : null;
   }
 
   /**
@@ -63,24 +128,313 @@ public class BaseGeometryProcessor implements GeometryProcessor {
    */
   @Override
   public long geoCoordToH3(GeoCoord geoCoord) {
-    return h3Core.geoToH3(geoCoord.lat, geoCoord.lng, h3Resolution);
+    if (!metrics.isEnabled()) {
+      return geoToH3(geoCoord.lat, geoCoord.lng);
+    }
+    long start = System.nanoTime();
+    long h3 = geoToH3(geoCoord.lat, geoCoord.lng);
+    metrics.addTime(HullStage.INDEX, System.nanoTime() - start);
+    return h3;
+  }
+
+  /**
+   * Converts a batch of coordinates held in parallel arrays to H3 ids. Batches of at least {@link #PARALLEL_BATCH_SIZE} coordinates are
+   * converted in parallel
+   * @param lats array of latitudes
+   * @param lons array of longitudes
+   * @param offset index of the first coordinate to convert
+   * @param length number of coordinates to convert
+   * @param h3Ids array receiving the H3 ids, starting at index 0
+   */
+  @Override
+  public void geoCoordsToH3(double[] lats, double[] lons, int offset, int length, long[] h3Ids) {
+    try (StageTimer timer = metrics.time(HullStage.INDEX)) {
+      if (length >= PARALLEL_BATCH_SIZE) {
+        IntStream.range(0, length).parallel().forEach(i -> h3Ids[i] = geoToH3(lats[offset + i], lons[offset + i]));
+      } else {
+        for (int i = 0; i < length; i++) {
+          h3Ids[i] = geoToH3(lats[offset + i], lons[offset + i]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Converts a batch of coordinates held as interleaved longitude/latitude pairs to H3 ids. Batches of at least
+   * {@link #PARALLEL_BATCH_SIZE} coordinates are converted in parallel. The buffer position is not changed
+   * @param lonLats {@link DoubleBuffer} of longitude/latitude pairs
+   * @param offset index of the first coordinate pair to convert
+   * @param length number of coordinate pairs to convert
+   * @param h3Ids array receiving the H3 ids, starting at index 0
+   */
+  @Override
+  public void geoCoordsToH3(DoubleBuffer lonLats, int offset, int length, long[] h3Ids) {
+    try (StageTimer timer = metrics.time(HullStage.INDEX)) {
+      if (length >= PARALLEL_BATCH_SIZE) {
+        IntStream.range(0, length).parallel().forEach(i -> h3Ids[i] = lonLatToH3(lonLats, offset + i));
+      } else {
+        for (int i = 0; i < length; i++) {
+          h3Ids[i] = lonLatToH3(lonLats, offset + i);
+        }
+      }
+    }
+  }
+
+  /**
+   * Converts a run of coordinates sharing a longitude, with latitudes in order, to the H3 ids they fall in. The run lies on a meridian, a
+   * great circle, and H3 cells are convex, so when both ends of a part of the run fall in the same cell every coordinate between them does
+   * too. The run is split in half until its parts start and end in the same cell, so a run costs lookups in proportion to the cells it
+   * crosses rather than its length
+   * @param lon longitude shared by the run
+   * @param lats array of latitudes, increasing or decreasing
+   * @param offset index of the first latitude to convert
+   * @param length number of latitudes to convert
+   * @param h3Ids array receiving the H3 ids, starting at index 0
+   * @return number of H3 ids written
+   */
+  @Override
+  public int meridianRunToH3(double lon, double[] lats, int offset, int length, long[] h3Ids) {
+    if (length == 0) {
+      return 0;
+    }
+    try (StageTimer timer = metrics.time(HullStage.INDEX)) {
+      int last = offset + length - 1;
+      h3Ids[0] = h3Backend.geoToH3(lats[offset], lon, h3Resolution);
+      int count = length == 1 ? 1 : splitRun(lon, lats, offset, h3Ids[0], last, h3Backend.geoToH3(lats[last], lon, h3Resolution), h3Ids, 1);
+      metrics.increment(HullCounter.RUN_POINTS_COLLAPSED, length - count);
+      return count;
+    }
+  }
+
+  private int splitRun(double lon, double[] lats, int start, long startH3, int end, long endH3, long[] h3Ids, int count) {
+    if (startH3 == endH3) {
+      return count;
+    }
+    if (end - start == 1) {
+      h3Ids[count] = endH3;
+      return count + 1;
+    }
+    int middle = (start + end) >>> 1;
+    long middleH3 = h3Backend.geoToH3(lats[middle], lon, h3Resolution);
+    count = splitRun(lon, lats, start, startH3, middle, middleH3, h3Ids, count);
+    return splitRun(lon, lats, middle, middleH3, end, endH3, h3Ids, count);
+  }
+
+  /**
+   * Converts a polygon to the H3 ids covering it: the cells whose centers fall inside the polygon, found with H3 polyfill, plus the cells
+   * containing points sampled along its edges
+   * @param boundary {@link List} of {@link GeoCoord} polygon vertices, without repeating the first vertex
+   * @param edgeSpacing maximum distance in degrees between points sampled along the edges
+   * @return {@link List} of H3 ids, which may contain duplicates
+   */
+  @Override
+  public List<Long> polygonToH3(List<GeoCoord> boundary, double edgeSpacing) {
+    metrics.increment(HullCounter.POLYGONS_FILLED, 1);
+    try (StageTimer timer = metrics.time(HullStage.INDEX)) {
+      List<Long> h3Ids = new ArrayList<>(h3Backend.polyfill(boundary, Collections.emptyList(), h3Resolution));
+      for (int i = 0; i < boundary.size(); i++) {
+        GeoCoord from = boundary.get(i);
+        GeoCoord to = boundary.get((i + 1) % boundary.size());
+        double length = Math.max(Math.abs(to.lat - from.lat), Math.abs(to.lng - from.lng));
+        int samples = Math.max(1, (int) Math.ceil(length / edgeSpacing));
+        for (int sample = 0; sample < samples; sample++) {
+          double fraction = (double) sample / samples;
+          h3Ids.add(geoToH3(from.lat + (to.lat - from.lat) * fraction, from.lng + (to.lng - from.lng) * fraction));
+        }
+      }
+      return h3Ids;
+    }
+  }
+
+  /**
+   * Converts a line segment to the H3 ids of the cells it crosses. H3 cells are convex, so when both ends of a part of the segment fall in
+   * the same cell the whole part does too. The segment is split in half until its parts start and end in the same cell, or are shorter
+   * than {@link #SEGMENT_TOLERANCE}, so a segment costs lookups in proportion to the cells it crosses rather than its length
+   * @param start {@link GeoCoord} of the start point
+   * @param end {@link GeoCoord} of the end point
+   * @return {@link List} of H3 ids in order along the segment
+   */
+  @Override
+  public List<Long> segmentToH3(GeoCoord start, GeoCoord end) {
+    metrics.increment(HullCounter.SEGMENTS_TRAVERSED, 1);
+    try (StageTimer timer = metrics.time(HullStage.INDEX)) {
+      double endLng = end.lng;
+      if (endLng - start.lng > 180) {
+        endLng -= 360;
+      } else if (endLng - start.lng < -180) {
+        endLng += 360;
+      }
+      List<Long> h3Ids = new ArrayList<>();
+      long startH3 = h3Backend.geoToH3(start.lat, start.lng, h3Resolution);
+      h3Ids.add(startH3);
+      splitSegment(start.lat, start.lng, startH3, end.lat, endLng, h3Backend.geoToH3(end.lat, endLng, h3Resolution), h3Ids);
+      return h3Ids;
+    }
+  }
+
+  private void splitSegment(double startLat, double startLng, long startH3, double endLat, double endLng, long endH3, List<Long> h3Ids) {
+    if (startH3 == endH3) {
+      return;
+    }
+    if (Math.max(Math.abs(endLat - startLat), Math.abs(endLng - startLng)) < SEGMENT_TOLERANCE) {
+      h3Ids.add(endH3);
+      return;
+    }
+    double middleLat = (startLat + endLat) / 2;
+    double middleLng = (startLng + endLng) / 2;
+    long middleH3 = h3Backend.geoToH3(middleLat, middleLng, h3Resolution);
+    splitSegment(startLat, startLng, startH3, middleLat, middleLng, middleH3, h3Ids);
+    splitSegment(middleLat, middleLng, middleH3, endLat, endLng, endH3, h3Ids);
+  }
+
+  private long lonLatToH3(DoubleBuffer lonLats, int pair) {
+    return geoToH3(lonLats.get(pair * 2 + 1), lonLats.get(pair * 2));
+  }
+
+  private long geoToH3(double lat, double lng) {
+    if (coherentIndex != null) {
+      return coherentIndex.get().geoToH3(lat, lng);
+    }
+    return h3Backend.geoToH3(lat, lng, h3Resolution);
   }
 
   /**
-   * Transforms H3 ids into {@link Geometry}
+   * Transforms H3 ids into {@link Geometry}. When holes are not kept only the outer boundary cells are polygonized, see
+   * {@link #getOuterCells(Collection)}
    * @param points {@link Collection<Long>} containing H3 ids
    * @return {@link Geometry} from H3 ids
    */
   @Override
   public Geometry getGeometry(Collection<Long> points) {
-    List<Geometry> geometries = points.stream().map(h3Core::h3ToGeoBoundary).parallel()
-        .map(geoCoordsList -> {
-          List<Coordinate> coordinates = geoCoordsList.stream().map(geoCoord -> new Coordinate(geoCoord.lng, geoCoord.lat)).collect(Collectors.toList());
-          coordinates.add(coordinates.get(0));
-          LinearRing linearRing = geometryFactory.createLinearRing(coordinates.toArray(new Coordinate[] {}));
-          return processPolar(geometryFactory.createPolygon(linearRing, null));
-        })
-        .collect(Collectors.toList());
+    metrics.increment(HullCounter.UNIQUE_CELLS, points.size());
+    if (!keepHoles) {
+      Collection<Long> outerCells = getOuterCells(points);
+      if (outerCells != null) {
+        metrics.increment(HullCounter.CELLS_ENCLOSED, points.size() - outerCells.size());
+        return removeHoles(polygonizeCells(outerCells));
+      }
+    }
+    return polygonizeCells(points);
+  }
+
+  /**
+   * Finds the H3 ids on the outer boundary of a cell set, those with a neighbor outside the set which is not enclosed by it. Empty cells
+   * are flood filled from a band around the bounding box of the cell centers, and set cells next to a filled cell are on the outer
+   * boundary. Cells bordering only holes, and cells inside the set, are left out, so polygonizing the outer boundary cells gives the
+   * outline of the set without building the holes: the union only sees the band of outer cells, whose inner edge is dropped. Islands of
+   * cells inside holes, which are not connected to the outer boundary cells, are kept as outlines of their own, as when holes are removed
+   * from the union of all cells.
+   * <p>
+   * The fill covers the empty part of the bounding box, so it is given up for sparse sets whose bounding box holds many times more cells
+   * than the set, and for sets which come near the antimeridian or a pole
+   * @param points {@link Collection<Long>} containing H3 ids
+   * @return {@link Collection<Long>} of outer boundary H3 ids, or null if the fill was given up
+   */
+  protected Collection<Long> getOuterCells(Collection<Long> points) {
+    if (points.isEmpty()) {
+      return null;
+    }
+    Set<Long> cells = points instanceof Set ? (Set<Long>) points : new HashSet<>(points);
+    double minLat = Double.MAX_VALUE;
+    double maxLat = -Double.MAX_VALUE;
+    double minLon = Double.MAX_VALUE;
+    double maxLon = -Double.MAX_VALUE;
+    for (long h3 : cells) {
+      GeoCoord center = h3Backend.h3ToGeo(h3);
+      minLat = Math.min(minLat, center.lat);
+      maxLat = Math.max(maxLat, center.lat);
+      minLon = Math.min(minLon, center.lng);
+      maxLon = Math.max(maxLon, center.lng);
+    }
+    if (Math.max(Math.abs(minLat), Math.abs(maxLat)) > MAX_FILL_LATITUDE) {
+      return null;
+    }
+
+    long sample = cells.iterator().next();
+    GeoCoord sampleCenter = h3Backend.h3ToGeo(sample);
+    double cellRadiusLat = 0;
+    double cellRadiusLon = 0;
+    for (GeoCoord vertex : h3Backend.h3ToGeoBoundary(sample)) {
+      cellRadiusLat = Math.max(cellRadiusLat, Math.abs(vertex.lat - sampleCenter.lat));
+      cellRadiusLon = Math.max(cellRadiusLon, Math.abs(vertex.lng - sampleCenter.lng));
+    }
+    double marginLat = cellRadiusLat * FILL_MARGIN_CELL_RADII;
+    double marginLon = cellRadiusLon * FILL_MARGIN_CELL_RADII * Math.cos(Math.toRadians(sampleCenter.lat))
+        / Math.cos(Math.toRadians(Math.min(MAX_FILL_LATITUDE, Math.max(Math.abs(minLat), Math.abs(maxLat)) + marginLat)));
+    double fillMinLat = minLat - marginLat;
+    double fillMaxLat = maxLat + marginLat;
+    double fillMinLon = minLon - marginLon;
+    double fillMaxLon = maxLon + marginLon;
+    if (fillMinLon < -180 || fillMaxLon > 180) {
+      return null;
+    }
+
+    long maxFilled = (long) cells.size() * MAX_FILL_CELLS_PER_CELL + MIN_FILL_CELLS;
+    Set<Long> filled = new HashSet<>();
+    Deque<Long> queue = new ArrayDeque<>();
+    long seed = h3Backend.geoToH3(maxLat + marginLat / 2, (minLon + maxLon) / 2, h3Resolution);
+    filled.add(seed);
+    queue.add(seed);
+    while (!queue.isEmpty()) {
+      for (long neighbor : h3Backend.kRing(queue.poll(), 1)) {
+        if (cells.contains(neighbor) || filled.contains(neighbor)) {
+          continue;
+        }
+        GeoCoord center = h3Backend.h3ToGeo(neighbor);
+        if (center.lat >= fillMinLat && center.lat <= fillMaxLat && center.lng >= fillMinLon && center.lng <= fillMaxLon) {
+          filled.add(neighbor);
+          queue.add(neighbor);
+          if (filled.size() > maxFilled) {
+            return null;
+          }
+        }
+      }
+    }
+
+    List<Long> outerCells = new ArrayList<>();
+    for (long h3 : cells) {
+      for (long neighbor : h3Backend.kRing(h3, 1)) {
+        if (filled.contains(neighbor)) {
+          outerCells.add(h3);
+          break;
+        }
+      }
+    }
+    if (outerCells.isEmpty()) {
+      return null;
+    }
+
+    Set<Long> reached = new HashSet<>(outerCells);
+    queue.addAll(outerCells);
+    while (!queue.isEmpty()) {
+      for (long neighbor : h3Backend.kRing(queue.poll(), 1)) {
+        if (cells.contains(neighbor) && reached.add(neighbor)) {
+          queue.add(neighbor);
+        }
+      }
+    }
+    if (reached.size() < cells.size()) {
+      Set<Long> islands = new HashSet<>(cells);
+      islands.removeAll(reached);
+      Collection<Long> islandOuterCells = getOuterCells(islands);
+      if (islandOuterCells == null) {
+        return null;
+      }
+      outerCells.addAll(islandOuterCells);
+    }
+    return outerCells;
+  }
+
+  /**
+   * Polygonizes H3 ids and unions the cell polygons into a single {@link Geometry}
+   * @param points {@link Collection<Long>} containing H3 ids
+   * @return {@link Geometry} from H3 ids
+   */
+  protected Geometry polygonizeCells(Collection<Long> points) {
+    List<Geometry> geometries;
+    try (StageTimer timer = metrics.time(HullStage.POLYGONIZE)) {
+      geometries = getCellPolygons(points);
+    }
     List<Polygon> polygons = new ArrayList<>();
     geometries.stream().filter(Objects::nonNull).forEach(g -> {
       if (g instanceof Polygon) {
@@ -93,7 +447,20 @@ public class BaseGeometryProcessor implements GeometryProcessor {
         throw new IllegalStateException("Unexpected geometry type: " + g.getGeometryType());
       }
     });
-    return geometryFactory.createMultiPolygon(polygons.toArray(new Polygon[] {})).union();
+    try (StageTimer timer = metrics.time(HullStage.UNION)) {
+      return geometryFactory.createMultiPolygon(polygons.toArray(new Polygon[] {})).union();
+    }
+  }
+
+  private List<Geometry> getCellPolygons(Collection<Long> points) {
+    return points.stream().map(h3Backend::h3ToGeoBoundary).parallel()
+        .map(geoCoordsList -> {
+          List<Coordinate> coordinates = geoCoordsList.stream().map(geoCoord -> new Coordinate(geoCoord.lng, geoCoord.lat)).collect(Collectors.toList());
+          coordinates.add(coordinates.get(0));
+          LinearRing linearRing = geometryFactory.createLinearRing(coordinates.toArray(new Coordinate[] {}));
+          return processPolar(geometryFactory.createPolygon(linearRing, null));
+        })
+        .collect(Collectors.toList());
   }
 
   /**
@@ -104,11 +471,36 @@ public class BaseGeometryProcessor implements GeometryProcessor {
    */
   @Override
   public Geometry mergeGeometryOutlines(Geometry geometry, Geometry existingGeometry) {
-    Geometry merged = existingGeometry != null ? existingGeometry.union(geometry) : geometry;
+    Geometry merged;
+    try (StageTimer timer = metrics.time(HullStage.UNION)) {
+      merged = existingGeometry != null ? existingGeometry.union(geometry) : geometry;
+    }
     return keepHoles ? merged : removeHoles(merged);
   }
 
+  /**
+   * Describes the H3 resolution, hole handling and precision model
+   * @return description of the parameters
+   */
+  @Override
+  public String getParameters() {
+    return getClass().getSimpleName() + "[h3Resolution=" + h3Resolution + ", keepHoles=" + keepHoles + ", precisionModel="
+        + geometryFactory.getPrecisionModel() + "]";
+  }
+
   protected Geometry processPolar(Geometry geometry) {
+    if (!metrics.isEnabled()) {
+      return splitPolar(geometry);
+    }
+    long start = System.nanoTime();
+    try {
+      return splitPolar(geometry);
+    } finally {
+      metrics.addTime(HullStage.POLAR, System.nanoTime() - start);
+    }
+  }
+
+  private Geometry splitPolar(Geometry geometry) {
 
     if (geometry.getNumGeometries() == 0) {
       throw new IllegalStateException("Geometry is empty");
@@ -1,25 +1,53 @@
 package edu.colorado.cires.cmg.hullgen;
 
 import com.uber.h3core.util.GeoCoord;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import org.locationtech.jts.geom.Geometry;
 
 /**
  * Base implementation of {@link Hull}
  */
-public class BaseHull implements Hull{
+public class BaseHull implements CheckpointableHull {
 
   protected final GeometryProcessor geometryProcessor;
   protected Set<Long> points = new HashSet<>();
   protected Geometry hull;
+  protected final HullMetrics metrics;
+  private long[] h3Ids = new long[0];
 
   /**
    * Constructor for {@link BaseHull}
    * @param geometryProcessor {@link GeometryProcessor} for processing JTS geometries from H3 ids
    */
   public BaseHull(GeometryProcessor geometryProcessor) {
+    this(geometryProcessor, new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link BaseHull}
+   * @param geometryProcessor {@link GeometryProcessor} for processing JTS geometries from H3 ids
+   * @param metrics {@link HullMetrics} for recording hull generations
+   */
+  public BaseHull(GeometryProcessor geometryProcessor, HullMetrics metrics) {
     this.geometryProcessor = geometryProcessor;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Adds the H3 ids of the cells crossed by a line segment to point set, see {@link GeometryProcessor#segmentToH3(GeoCoord, GeoCoord)}
+   * @param start {@link GeoCoord} of the start point
+   * @param end {@link GeoCoord} of the end point
+   */
+  public void addSegment(GeoCoord start, GeoCoord end) {
+    for (long h3 : geometryProcessor.segmentToH3(start, end)) {
+      addH3(h3);
+    }
   }
 
   /**
@@ -28,7 +56,92 @@ public class BaseHull implements Hull{
    */
   @Override
   public void addPoint(GeoCoord geoCoord) {
-    points.add(geometryProcessor.geoCoordToH3(geoCoord));
+    addH3(geometryProcessor.geoCoordToH3(geoCoord));
+  }
+
+  /**
+   * Converts a batch of points held in parallel arrays to H3 ids and adds them to point set
+   * @param lats array of latitudes
+   * @param lons array of longitudes
+   * @param offset index of the first point to add
+   * @param length number of points to add
+   */
+  @Override
+  public void addPoints(double[] lats, double[] lons, int offset, int length) {
+    long[] ids = getH3Ids(length);
+    geometryProcessor.geoCoordsToH3(lats, lons, offset, length, ids);
+    for (int i = 0; i < length; i++) {
+      addH3(ids[i]);
+    }
+  }
+
+  /**
+   * Converts a batch of points held as interleaved longitude/latitude pairs to H3 ids and adds them to point set
+   * @param lonLats {@link DoubleBuffer} of longitude/latitude pairs
+   * @param offset index of the first coordinate pair to add
+   * @param length number of coordinate pairs to add
+   */
+  @Override
+  public void addPoints(DoubleBuffer lonLats, int offset, int length) {
+    long[] ids = getH3Ids(length);
+    geometryProcessor.geoCoordsToH3(lonLats, offset, length, ids);
+    for (int i = 0; i < length; i++) {
+      addH3(ids[i]);
+    }
+  }
+
+  /**
+   * Converts a run of points sharing a longitude to H3 ids and adds them to point set
+   * @param lon longitude shared by the run
+   * @param lats array of latitudes, increasing or decreasing
+   * @param offset index of the first latitude to add
+   * @param length number of points to add
+   */
+  @Override
+  public void addMeridianRun(double lon, double[] lats, int offset, int length) {
+    long[] ids = getH3Ids(length);
+    int count = geometryProcessor.meridianRunToH3(lon, lats, offset, length, ids);
+    for (int i = 0; i < count; i++) {
+      addH3(ids[i]);
+    }
+  }
+
+  /**
+   * Adds a batch of H3 ids at the resolution of the hull to point set, for ids indexed outside the hull, see {@link HullPipeline}
+   * @param h3Ids array of H3 ids
+   * @param offset index of the first H3 id to add
+   * @param length number of H3 ids to add
+   */
+  public void addH3Ids(long[] h3Ids, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      addH3(h3Ids[i]);
+    }
+  }
+
+  /**
+   * Adds the H3 ids covering a polygon to point set, see {@link GeometryProcessor#polygonToH3(List, double)}
+   * @param boundary {@link List} of {@link GeoCoord} polygon vertices, without repeating the first vertex
+   * @param edgeSpacing maximum distance in degrees between points sampled along the edges
+   */
+  public void addPolygon(List<GeoCoord> boundary, double edgeSpacing) {
+    for (long h3 : geometryProcessor.polygonToH3(boundary, edgeSpacing)) {
+      addH3(h3);
+    }
+  }
+
+  /**
+   * Adds H3 id to point set
+   * @param h3 H3 id
+   */
+  protected void addH3(long h3) {
+    points.add(h3);
+  }
+
+  private long[] getH3Ids(int length) {
+    if (h3Ids.length < length) {
+      h3Ids = new long[length];
+    }
+    return h3Ids;
   }
 
   /**
@@ -36,6 +149,7 @@ public class BaseHull implements Hull{
    */
   @Override
   public void generateHull() {
+    metrics.increment(HullCounter.FLUSHES, 1);
     Geometry geometryOutlines = geometryProcessor.getGeometry(points);
     points = new HashSet<>();
     hull = geometryProcessor.mergeGeometryOutlines(geometryOutlines, hull);
@@ -49,4 +163,42 @@ public class BaseHull implements Hull{
   public Geometry getHullGeometry() {
     return hull;
   }
+
+  /**
+   * Describes the hull and the parameters of its {@link GeometryProcessor}
+   * @return description of the parameters
+   */
+  @Override
+  public String getParameters() {
+    return getClass().getSimpleName() + "[" + CacheKeyed.parametersOf(geometryProcessor) + "]";
+  }
+
+  /**
+   * Writes the hull and the H3 ids of the point set
+   * @param output {@link DataOutput} to write to
+   * @throws IOException if the state cannot be written
+   */
+  @Override
+  public void writeCheckpoint(DataOutput output) throws IOException {
+    Checkpointer.writeGeometry(output, hull);
+    output.writeInt(points.size());
+    for (long h3 : points) {
+      output.writeLong(h3);
+    }
+  }
+
+  /**
+   * Replaces the hull and the point set with a checkpoint
+   * @param input {@link DataInput} to read from
+   * @throws IOException if the state cannot be read
+   */
+  @Override
+  public void readCheckpoint(DataInput input) throws IOException {
+    hull = Checkpointer.readGeometry(input);
+    int size = input.readInt();
+    points = new HashSet<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      points.add(input.readLong());
+    }
+  }
 }
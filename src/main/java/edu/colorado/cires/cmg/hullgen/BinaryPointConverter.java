@@ -0,0 +1,92 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Converts CSV coordinates (longitude/latitude column order) to the binary point files read by {@link BinaryPointProcessor}, so that input
+ * is parsed once and can be hulled many times. Gzip compressed input is detected and inflated on a separate thread, see
+ * {@link PipelinedInputStream}
+ */
+public class BinaryPointConverter {
+
+  private static final int BUFFER_POINTS = 4096;
+
+  private final String delimiters;
+
+  /**
+   * Constructor for {@link BinaryPointConverter}
+   * @param delimiters regex {@link String} specifying pattern which divides CSV columns
+   */
+  public BinaryPointConverter(String delimiters) {
+    this.delimiters = delimiters;
+  }
+
+  /**
+   * Converts a CSV file to a binary point file
+   * @param csvFile {@link File} containing CSV coordinates
+   * @param outputFile binary point {@link File} to create
+   * @return number of points written
+   * @throws IOException if the CSV file cannot be read, or the output file cannot be created or already exists
+   */
+  public long convert(File csvFile, File outputFile) throws IOException {
+    try (InputStream inputStream = new FileInputStream(csvFile)) {
+      return convert(inputStream, outputFile);
+    }
+  }
+
+  /**
+   * Converts CSV coordinates read from a stream to a binary point file
+   * @param inputStream {@link InputStream} of CSV coordinates, closed when read
+   * @param outputFile binary point {@link File} to create
+   * @return number of points written
+   * @throws IOException if the input cannot be read, or the output file cannot be created or already exists
+   */
+  public long convert(InputStream inputStream, File outputFile) throws IOException {
+    try (
+        BufferedReader reader = new BufferedReader(new InputStreamReader(PipelinedInputStream.decompress(inputStream), StandardCharsets.UTF_8));
+        FileChannel channel = FileChannel.open(outputFile.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)
+        ) {
+      ByteBuffer buffer = ByteBuffer.allocate(BUFFER_POINTS * BinaryPointProcessor.POINT_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      channel.position(BinaryPointProcessor.HEADER_SIZE);
+      long count = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] yx = line.split(delimiters);
+        if (!buffer.hasRemaining()) {
+          writeFully(channel, buffer);
+        }
+        buffer.putDouble(Double.parseDouble(yx[0]));
+        buffer.putDouble(Double.parseDouble(yx[1]));
+        count++;
+      }
+      writeFully(channel, buffer);
+      ((Buffer) buffer).clear();
+      buffer.putInt(BinaryPointProcessor.MAGIC);
+      buffer.putShort(BinaryPointProcessor.VERSION);
+      buffer.putShort((short) 0);
+      buffer.putLong(count);
+      channel.position(0);
+      writeFully(channel, buffer);
+      return count;
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    ((Buffer) buffer).flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    ((Buffer) buffer).clear();
+  }
+}
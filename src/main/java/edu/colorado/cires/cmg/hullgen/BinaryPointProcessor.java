@@ -0,0 +1,193 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Implementation of {@link InputFileProcessor} which computes hulls from binary point files. A file holds a 16 byte header of a magic
+ * number, a format version, unused flags and the point count, followed by longitude/latitude pairs, all little-endian with float64
+ * coordinates. The points are memory-mapped in large windows and passed to the {@link Hull} as {@link DoubleBuffer} views of the mapping,
+ * so no coordinate is parsed, copied or allocated. Files are written by {@link BinaryPointConverter}
+ */
+public class BinaryPointProcessor implements InputFileProcessor, CacheKeyed {
+
+  static final int MAGIC = 0x54503348;
+  static final short VERSION = 1;
+  static final int HEADER_SIZE = 16;
+  static final int POINT_SIZE = 16;
+
+  /**
+   * Default number of points mapped at once
+   */
+  public static final int DEFAULT_WINDOW_POINTS = 4 * 1024 * 1024;
+
+  private static final int SERIAL_BATCH_SIZE = BaseGeometryProcessor.PARALLEL_BATCH_SIZE / 2;
+
+  private final Hull hull;
+  private final HullMetrics metrics;
+  private final RegionOfInterest regionOfInterest;
+  private final boolean parallel;
+  private final int windowPoints;
+
+  /**
+   * Constructor for {@link BinaryPointProcessor}
+   * @param hull {@link Hull} for generating hulls from H3 ids
+   */
+  public BinaryPointProcessor(Hull hull) {
+    this(hull, new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link BinaryPointProcessor}
+   * @param hull {@link Hull} for generating hulls from H3 ids
+   * @param metrics {@link HullMetrics} for recording points read and read time
+   */
+  public BinaryPointProcessor(Hull hull, HullMetrics metrics) {
+    this(hull, metrics, null, true, DEFAULT_WINDOW_POINTS);
+  }
+
+  /**
+   * Constructor for {@link BinaryPointProcessor}
+   * @param hull {@link Hull} for generating hulls from H3 ids
+   * @param metrics {@link HullMetrics} for recording points read and read time
+   * @param regionOfInterest {@link RegionOfInterest} outside which points are discarded, or null to keep all points. Points inside the
+   *     region are copied before they are passed to the hull
+   * @param parallel boolean specifying whether to pass whole windows to the hull, so that a {@link BaseGeometryProcessor} indexes them in
+   *     parallel, see {@link BaseGeometryProcessor#PARALLEL_BATCH_SIZE}. Otherwise points are passed in batches indexed on one thread
+   * @param windowPoints number of points mapped at once
+   */
+  public BinaryPointProcessor(Hull hull, HullMetrics metrics, RegionOfInterest regionOfInterest, boolean parallel, int windowPoints) {
+    if (windowPoints < 1) {
+      throw new IllegalArgumentException("Window must hold at least one point: " + windowPoints);
+    }
+    this.hull = hull;
+    this.metrics = metrics;
+    this.regionOfInterest = regionOfInterest;
+    this.parallel = parallel;
+    this.windowPoints = windowPoints;
+  }
+
+  /**
+   * Describes the region of interest and the parameters of the hull
+   * @return description of the parameters
+   */
+  @Override
+  public String getParameters() {
+    return getClass().getSimpleName() + "[regionOfInterest=" + (regionOfInterest == null ? null : regionOfInterest.getParameters())
+        + ", hull=" + CacheKeyed.parametersOf(hull) + "]";
+  }
+
+  /**
+   * Computes hull from a binary point file. When the hull publishes previews, evenly spaced points are sampled before the full pass, see
+   * {@link PreviewHull}
+   * @param file {@link File} containing binary points
+   * @return {@link Geometry} containing hull
+   * @throws IOException if input {@link File} cannot be read
+   * @throws IllegalArgumentException if the file is not a binary point file
+   */
+  @Override
+  public Geometry process(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long count = readHeader(channel, file);
+      if (hull instanceof PreviewHull && ((PreviewHull) hull).getPreviewSampleSize() > 0) {
+        addPreview(channel, count, (PreviewHull) hull);
+      }
+      double[] lats = regionOfInterest == null ? null : new double[(int) Math.min(count, windowPoints)];
+      double[] lons = regionOfInterest == null ? null : new double[lats.length];
+      long pointsClipped = 0;
+      for (long start = 0; start < count; start += windowPoints) {
+        int length = (int) Math.min(windowPoints, count - start);
+        DoubleBuffer lonLats;
+        try (StageTimer timer = metrics.time(HullStage.READ)) {
+          lonLats = channel.map(MapMode.READ_ONLY, HEADER_SIZE + start * POINT_SIZE, (long) length * POINT_SIZE)
+              .order(ByteOrder.LITTLE_ENDIAN)
+              .asDoubleBuffer();
+        }
+        if (regionOfInterest == null) {
+          int batchSize = parallel ? length : SERIAL_BATCH_SIZE;
+          for (int offset = 0; offset < length; offset += batchSize) {
+            hull.addPoints(lonLats, offset, Math.min(batchSize, length - offset));
+          }
+        } else {
+          int kept = 0;
+          for (int i = 0; i < length; i++) {
+            double lon = lonLats.get(i * 2);
+            double lat = lonLats.get(i * 2 + 1);
+            if (regionOfInterest.contains(lat, lon)) {
+              lats[kept] = lat;
+              lons[kept] = lon;
+              kept++;
+            }
+          }
+          pointsClipped += length - kept;
+          int batchSize = parallel ? kept : SERIAL_BATCH_SIZE;
+          for (int offset = 0; offset < kept; offset += batchSize) {
+            hull.addPoints(lats, lons, offset, Math.min(batchSize, kept - offset));
+          }
+        }
+      }
+      metrics.increment(HullCounter.POINTS_READ, count);
+      metrics.increment(HullCounter.POINTS_CLIPPED, pointsClipped);
+    }
+    hull.generateHull();
+    return hull.getHullGeometry();
+  }
+
+  /**
+   * Reads and checks the header of a binary point file
+   * @return number of points in the file
+   */
+  private static long readHeader(FileChannel channel, File file) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+      // read the whole header
+    }
+    if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+      throw new IllegalArgumentException("Not a binary point file: " + file);
+    }
+    if (header.getShort(4) != VERSION) {
+      throw new IllegalArgumentException("Unsupported binary point file version " + header.getShort(4) + ": " + file);
+    }
+    long count = header.getLong(8);
+    if (count < 0 || channel.size() != HEADER_SIZE + count * POINT_SIZE) {
+      throw new IllegalArgumentException("Binary point file size does not match its point count " + count + ": " + file);
+    }
+    return count;
+  }
+
+  /**
+   * Reads evenly spaced points and adds those inside the region of interest to the preview of the hull
+   */
+  private void addPreview(FileChannel channel, long count, PreviewHull previewHull) throws IOException {
+    int sampled = (int) Math.min(count, previewHull.getPreviewSampleSize());
+    double[] lats = new double[sampled];
+    double[] lons = new double[sampled];
+    ByteBuffer point = ByteBuffer.allocate(POINT_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    int kept = 0;
+    try (StageTimer timer = metrics.time(HullStage.READ)) {
+      for (int i = 0; i < sampled; i++) {
+        long position = HEADER_SIZE + count * i / sampled * POINT_SIZE;
+        ((Buffer) point).clear();
+        while (point.hasRemaining() && channel.read(point, position + point.position()) > 0) {
+          // read the whole point
+        }
+        double lon = point.getDouble(0);
+        double lat = point.getDouble(8);
+        if (regionOfInterest == null || regionOfInterest.contains(lat, lon)) {
+          lats[kept] = lat;
+          lons[kept] = lon;
+          kept++;
+        }
+      }
+    }
+    previewHull.addPreviewPoints(lats, lons, 0, kept);
+  }
+}
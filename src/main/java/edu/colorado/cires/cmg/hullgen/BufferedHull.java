@@ -1,7 +1,5 @@
 package edu.colorado.cires.cmg.hullgen;
 
-import com.uber.h3core.util.GeoCoord;
-
 /**
  * Implementation of {@link BaseHull} which generates and merges hulls according to the size of its point buffer
  */
@@ -15,19 +13,38 @@ public class BufferedHull extends BaseHull{
    * @param pointBufferSize the size of the point buffer
    */
   public BufferedHull(GeometryProcessor geometryProcessor, int pointBufferSize) {
-    super(geometryProcessor);
+    this(geometryProcessor, pointBufferSize, new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link BufferedHull}
+   * @param geometryProcessor {@link GeometryProcessor} for processing JTS geometries from H3 ids
+   * @param pointBufferSize the size of the point buffer
+   * @param metrics {@link HullMetrics} for recording hull generations
+   */
+  public BufferedHull(GeometryProcessor geometryProcessor, int pointBufferSize, HullMetrics metrics) {
+    super(geometryProcessor, metrics);
     this.pointBufferSize = pointBufferSize;
   }
 
   /**
-   * Adds a point to the point buffer, then checks buffer size. If buffer limit is exceeded, hulls are computed while emptying the point buffer
-   * @param geoCoord {@link GeoCoord} containing latitude and longitude
+   * Adds an H3 id to the point buffer, then checks buffer size. If buffer limit is exceeded, hulls are computed while emptying the point buffer
+   * @param h3 H3 id
    */
   @Override
-  public void addPoint(GeoCoord geoCoord) {
-    super.addPoint(geoCoord);
+  protected void addH3(long h3) {
+    super.addH3(h3);
     if (points.size() == pointBufferSize) {
       generateHull();
     }
   }
+
+  /**
+   * Describes the hull, its point buffer size and the parameters of its {@link GeometryProcessor}
+   * @return description of the parameters
+   */
+  @Override
+  public String getParameters() {
+    return super.getParameters() + "[pointBufferSize=" + pointBufferSize + "]";
+  }
 }
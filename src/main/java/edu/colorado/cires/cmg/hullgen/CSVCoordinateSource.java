@@ -0,0 +1,75 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Implementation of {@link CoordinateSource} which reads CSV coordinates (longitude/latitude column order) from an {@link InputStream},
+ * such as a socket or a decompressing stream. Coordinates outside the region of interest are skipped
+ */
+public class CSVCoordinateSource implements CoordinateSource {
+
+  private final BufferedReader reader;
+  private final String delimiters;
+  private final RegionOfInterest regionOfInterest;
+
+  /**
+   * Constructor for {@link CSVCoordinateSource}
+   * @param inputStream {@link InputStream} of UTF-8 CSV lines, closed with the source
+   * @param delimiters regex {@link String} specifying pattern which divides CSV columns
+   */
+  public CSVCoordinateSource(InputStream inputStream, String delimiters) {
+    this(inputStream, delimiters, null);
+  }
+
+  /**
+   * Constructor for {@link CSVCoordinateSource}
+   * @param inputStream {@link InputStream} of UTF-8 CSV lines, closed with the source
+   * @param delimiters regex {@link String} specifying pattern which divides CSV columns
+   * @param regionOfInterest {@link RegionOfInterest} outside which coordinates are skipped, or null to keep all coordinates
+   */
+  public CSVCoordinateSource(InputStream inputStream, String delimiters, RegionOfInterest regionOfInterest) {
+    this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    this.delimiters = delimiters;
+    this.regionOfInterest = regionOfInterest;
+  }
+
+  /**
+   * Reads CSV lines until the arrays are full or the input ends
+   * @param lats array receiving latitudes, starting at index 0
+   * @param lons array receiving longitudes, starting at index 0
+   * @return number of coordinates read, or -1 at the end of the input
+   * @throws IOException if the input cannot be read
+   */
+  @Override
+  public int read(double[] lats, double[] lons) throws IOException {
+    int count = 0;
+    while (count < lats.length) {
+      String line = reader.readLine();
+      if (line == null) {
+        return count == 0 ? -1 : count;
+      }
+      String[] yx = line.split(delimiters);
+      double lat = Double.parseDouble(yx[1]);
+      double lon = Double.parseDouble(yx[0]);
+      if (regionOfInterest == null || regionOfInterest.contains(lat, lon)) {
+        lats[count] = lat;
+        lons[count] = lon;
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Closes the {@link InputStream}
+   * @throws IOException if the input cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
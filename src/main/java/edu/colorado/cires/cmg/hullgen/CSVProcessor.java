@@ -1,22 +1,34 @@
 package edu.colorado.cires.cmg.hullgen;
 
 import com.uber.h3core.util.GeoCoord;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
 import org.locationtech.jts.geom.Geometry;
 
 /**
- * Implementation of {@link InputFileProcessor} which computes hulls from CSV coordinates (longitude/latitude column order)
+ * Implementation of {@link InputFileProcessor} which computes hulls from CSV coordinates (longitude/latitude column order). In trackline
+ * mode consecutive coordinates are joined into line segments and every cell a segment crosses is added, so sparse tracks give gap-free
+ * hulls
  */
-public class CSVProcessor implements InputFileProcessor{
+public class CSVProcessor implements StreamInputProcessor, CacheKeyed {
+
+  private static final int PREVIEW_BUFFER_SIZE = 1024;
+  private static final int BUFFER_SIZE = 64 * 1024;
 
   private final String delimiters;
   private final Hull hull;
+  private final BaseHull segmentHull;
+  private final HullMetrics metrics;
+  private final RegionOfInterest regionOfInterest;
+  private final Checkpointer checkpointer;
 
   /**
    * Constructor for {@link CSVProcessor}
@@ -24,35 +36,322 @@ public class CSVProcessor implements InputFileProcessor{
    * @param hull {@link Hull} for generating hulls from H3 ids
    */
   public CSVProcessor(String delimiters, Hull hull) {
+    this(delimiters, hull, new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link CSVProcessor}
+   * @param delimiters regex {@link String} specifying pattern which divides CSV columns
+   * @param hull {@link Hull} for generating hulls from H3 ids
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   */
+  public CSVProcessor(String delimiters, Hull hull, HullMetrics metrics) {
+    this(delimiters, hull, metrics, null);
+  }
+
+  /**
+   * Constructor for {@link CSVProcessor}
+   * @param delimiters regex {@link String} specifying pattern which divides CSV columns
+   * @param hull {@link Hull} for generating hulls from H3 ids
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   * @param regionOfInterest {@link RegionOfInterest} outside which points are discarded before H3 indexing, or null to keep all points
+   */
+  public CSVProcessor(String delimiters, Hull hull, HullMetrics metrics, RegionOfInterest regionOfInterest) {
+    this(delimiters, hull, null, metrics, regionOfInterest, null);
+  }
+
+  /**
+   * Constructor for {@link CSVProcessor}
+   * @param delimiters regex {@link String} specifying pattern which divides CSV columns
+   * @param hull {@link BaseHull} for generating hulls from H3 ids and line segments
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   * @param regionOfInterest {@link RegionOfInterest} outside which points are discarded before H3 indexing, or null to keep all points.
+   *     In trackline mode a discarded point ends the track, which resumes at the next point inside the region
+   * @param trackline boolean specifying whether to join consecutive coordinates into line segments, see
+   *     {@link BaseHull#addSegment(GeoCoord, GeoCoord)}
+   */
+  public CSVProcessor(String delimiters, BaseHull hull, HullMetrics metrics, RegionOfInterest regionOfInterest, boolean trackline) {
+    this(delimiters, hull, metrics, regionOfInterest, trackline, null);
+  }
+
+  /**
+   * Constructor for {@link CSVProcessor}
+   * @param delimiters regex {@link String} specifying pattern which divides CSV columns
+   * @param hull {@link CheckpointableHull} for generating hulls from H3 ids
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   * @param regionOfInterest {@link RegionOfInterest} outside which points are discarded before H3 indexing, or null to keep all points
+   * @param checkpointer {@link Checkpointer} which periodically saves the byte offset of the next line and the state of the hull, or null
+   *     for no checkpoints
+   */
+  public CSVProcessor(String delimiters, CheckpointableHull hull, HullMetrics metrics, RegionOfInterest regionOfInterest,
+      Checkpointer checkpointer) {
+    this(delimiters, hull, null, metrics, regionOfInterest, checkpointer);
+  }
+
+  /**
+   * Constructor for {@link CSVProcessor}
+   * @param delimiters regex {@link String} specifying pattern which divides CSV columns
+   * @param hull {@link BaseHull} for generating hulls from H3 ids and line segments
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   * @param regionOfInterest {@link RegionOfInterest} outside which points are discarded before H3 indexing, or null to keep all points.
+   *     In trackline mode a discarded point ends the track, which resumes at the next point inside the region
+   * @param trackline boolean specifying whether to join consecutive coordinates into line segments, see
+   *     {@link BaseHull#addSegment(GeoCoord, GeoCoord)}
+   * @param checkpointer {@link Checkpointer} which periodically saves the byte offset of the next line and the state of the hull, or null
+   *     for no checkpoints
+   */
+  public CSVProcessor(String delimiters, BaseHull hull, HullMetrics metrics, RegionOfInterest regionOfInterest, boolean trackline,
+      Checkpointer checkpointer) {
+    this(delimiters, hull, trackline ? hull : null, metrics, regionOfInterest, checkpointer);
+  }
+
+  private CSVProcessor(String delimiters, Hull hull, BaseHull segmentHull, HullMetrics metrics, RegionOfInterest regionOfInterest,
+      Checkpointer checkpointer) {
     this.delimiters = delimiters;
     this.hull = hull;
+    this.segmentHull = segmentHull;
+    this.metrics = metrics;
+    this.regionOfInterest = regionOfInterest;
+    this.checkpointer = checkpointer;
+  }
+
+  /**
+   * Describes the delimiters, trackline mode, region of interest and the parameters of the hull
+   * @return description of the parameters
+   */
+  @Override
+  public String getParameters() {
+    return getClass().getSimpleName() + "[delimiters=" + delimiters + ", trackline=" + (segmentHull != null) + ", regionOfInterest="
+        + (regionOfInterest == null ? null : regionOfInterest.getParameters()) + ", hull=" + CacheKeyed.parametersOf(hull) + "]";
   }
 
   /**
-   * Computes hulls from CSV coordinates
+   * Computes hulls from CSV coordinates. Lines end at a line feed, optionally preceded by a carriage return. Gzip compressed files are
+   * detected and inflated on a separate thread, see {@link PipelinedInputStream}. With a {@link Checkpointer}, a run resumes from the
+   * byte offset of its last checkpoint, counted in uncompressed bytes. When the hull publishes previews, lines at evenly spaced byte
+   * offsets of an uncompressed file are sampled before the full pass, see {@link PreviewHull}
    * @param file {@link File} containing CSV coordinates
    * @return {@link Geometry} containing hull
    * @throws IOException if input {@link File} cannot be found
    */
   @Override
   public Geometry process(File file) throws IOException {
+    String parameters = checkpointer == null ? null : getParameters();
+    long[] position = checkpointer == null ? null : checkpointer.resume(file, parameters, (CheckpointableHull) hull);
+    boolean gzip = PipelinedInputStream.isGzip(file);
+    if (hull instanceof PreviewHull && ((PreviewHull) hull).getPreviewSampleSize() > 0 && !gzip) {
+      addPreview(file, (PreviewHull) hull);
+    }
     try (
-        InputStream inputStream = new FileInputStream(file);
-        InputStreamReader inputStreamReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
-        BufferedReader bufferedReader = new BufferedReader(inputStreamReader);
+        FileInputStream fileInputStream = new FileInputStream(file);
+        InputStream inputStream = gzip ? new PipelinedInputStream(new GZIPInputStream(fileInputStream, BUFFER_SIZE)) : fileInputStream
         ) {
-      String line;
-      while ((line = bufferedReader.readLine()) != null) {
-        GeoCoord geoCoord = csvLineToGeoCoord(line);
-        hull.addPoint(geoCoord);
+      if (position != null) {
+        if (gzip) {
+          skipFully(inputStream, position[0]);
+        } else {
+          fileInputStream.getChannel().position(position[0]);
+        }
       }
+      readLines(inputStream, position, file, parameters);
+    }
+    hull.generateHull();
+    if (checkpointer != null) {
+      checkpointer.complete();
+    }
+    return hull.getHullGeometry();
+  }
+
+  /**
+   * Computes hulls from CSV coordinates read from a stream, such as a socket. Gzip compressed input is detected and inflated on a separate
+   * thread, see {@link PipelinedInputStream}
+   * @param inputStream {@link InputStream} of CSV coordinates, closed when read
+   * @return {@link Geometry} containing hull
+   * @throws IOException if the input cannot be read
+   * @throws IllegalStateException if the processor has a {@link Checkpointer}, which requires file input
+   */
+  @Override
+  public Geometry process(InputStream inputStream) throws IOException {
+    if (checkpointer != null) {
+      throw new IllegalStateException("Checkpoints require file input");
+    }
+    try (InputStream decompressedInputStream = PipelinedInputStream.decompress(inputStream)) {
+      readLines(decompressedInputStream, null, null, null);
     }
     hull.generateHull();
     return hull.getHullGeometry();
   }
 
-  private GeoCoord csvLineToGeoCoord(String csvLine) {
+  private static void skipFully(InputStream inputStream, long count) throws IOException {
+    long skipped = 0;
+    while (skipped < count) {
+      long n = inputStream.skip(count - skipped);
+      if (n <= 0) {
+        if (inputStream.read() == -1) {
+          throw new IllegalStateException("Checkpoint offset is beyond the end of the input: " + count);
+        }
+        n = 1;
+      }
+      skipped += n;
+    }
+  }
+
+  /**
+   * Adds the coordinates of every line to the hull, resuming from a checkpoint position if given. Checkpoints are written only when the
+   * input file is given
+   */
+  private void readLines(InputStream inputStream, long[] position, File file, String parameters) throws IOException {
+    try (StageTimer timer = metrics.time(HullStage.READ)) {
+      LineReader lineReader = new LineReader(inputStream);
+      String line;
+      long pointsRead = 0;
+      long pointsClipped = 0;
+      GeoCoord previous = null;
+      if (position != null) {
+        lineReader.offset = position[0];
+        pointsRead = position[1];
+        pointsClipped = position[2];
+        double previousLat = Double.longBitsToDouble(position[3]);
+        previous = Double.isNaN(previousLat) ? null : new GeoCoord(previousLat, Double.longBitsToDouble(position[4]));
+      }
+      while ((line = lineReader.readLine()) != null) {
+        GeoCoord geoCoord = csvLineToGeoCoord(line);
+        pointsRead++;
+        if (regionOfInterest != null && !regionOfInterest.contains(geoCoord.lat, geoCoord.lng)) {
+          pointsClipped++;
+          previous = null;
+        } else {
+          if (previous != null) {
+            segmentHull.addSegment(previous, geoCoord);
+          } else {
+            hull.addPoint(geoCoord);
+          }
+          if (segmentHull != null) {
+            previous = geoCoord;
+          }
+        }
+        if (file != null && checkpointer != null && checkpointer.isDue()) {
+          checkpointer.write(file, parameters, new long[] {
+              lineReader.offset,
+              pointsRead,
+              pointsClipped,
+              Double.doubleToLongBits(previous == null ? Double.NaN : previous.lat),
+              Double.doubleToLongBits(previous == null ? Double.NaN : previous.lng)
+          }, (CheckpointableHull) hull);
+        }
+      }
+      metrics.increment(HullCounter.POINTS_READ, pointsRead);
+      metrics.increment(HullCounter.POINTS_CLIPPED, pointsClipped);
+    }
+  }
+
+  /**
+   * Reads the line following each of evenly spaced byte offsets and adds the coordinates inside the region of interest to the preview of
+   * the hull. Lines longer than the read buffer are skipped
+   */
+  private void addPreview(File file, PreviewHull previewHull) throws IOException {
+    int sampleSize = previewHull.getPreviewSampleSize();
+    double[] lats = new double[sampleSize];
+    double[] lons = new double[sampleSize];
+    int sampled = 0;
+    try (
+        FileInputStream inputStream = new FileInputStream(file);
+        StageTimer timer = metrics.time(HullStage.READ)
+        ) {
+      FileChannel channel = inputStream.getChannel();
+      long length = channel.size();
+      ByteBuffer buffer = ByteBuffer.allocate(PREVIEW_BUFFER_SIZE);
+      long previousLine = -1;
+      for (int i = 0; i < sampleSize; i++) {
+        long offset = length * i / sampleSize;
+        ((Buffer) buffer).clear();
+        while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) > 0) {
+          // fill the buffer from the offset
+        }
+        int start = 0;
+        if (offset > 0) {
+          while (start < buffer.position() && buffer.get(start) != '\n') {
+            start++;
+          }
+          start++;
+        }
+        int end = start;
+        while (end < buffer.position() && buffer.get(end) != '\n') {
+          end++;
+        }
+        if (end == buffer.position() && offset + end < length || end == start || offset + start == previousLine) {
+          continue;
+        }
+        previousLine = offset + start;
+        if (buffer.get(end - 1) == '\r') {
+          end--;
+        }
+        GeoCoord geoCoord = csvLineToGeoCoord(new String(buffer.array(), start, end - start, StandardCharsets.UTF_8));
+        if (regionOfInterest == null || regionOfInterest.contains(geoCoord.lat, geoCoord.lng)) {
+          lats[sampled] = geoCoord.lat;
+          lons[sampled] = geoCoord.lng;
+          sampled++;
+        }
+      }
+    }
+    previewHull.addPreviewPoints(lats, lons, 0, sampled);
+  }
+
+  GeoCoord csvLineToGeoCoord(String csvLine) {
     String[] yx = csvLine.split(delimiters);
     return new GeoCoord(Double.parseDouble(yx[1]), Double.parseDouble(yx[0]));
   }
+
+  /**
+   * Reads UTF-8 lines from a stream while tracking the byte offset of the next line
+   */
+  private static class LineReader {
+
+    private final InputStream inputStream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private byte[] line = new byte[256];
+    private long offset = 0;
+
+    private LineReader(InputStream inputStream) {
+      this.inputStream = inputStream;
+    }
+
+    private String readLine() throws IOException {
+      int length = 0;
+      while (true) {
+        if (position == limit) {
+          position = 0;
+          limit = Math.max(inputStream.read(buffer, 0, buffer.length), 0);
+          if (limit == 0) {
+            if (length == 0) {
+              return null;
+            }
+            break;
+          }
+        }
+        int start = position;
+        while (position < limit && buffer[position] != '\n') {
+          position++;
+        }
+        int count = position - start;
+        if (length + count > line.length) {
+          line = Arrays.copyOf(line, Math.max(line.length * 2, length + count));
+        }
+        System.arraycopy(buffer, start, line, length, count);
+        length += count;
+        offset += count;
+        if (position < limit) {
+          position++;
+          offset++;
+          break;
+        }
+      }
+      if (length > 0 && line[length - 1] == '\r') {
+        length--;
+      }
+      return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+  }
 }
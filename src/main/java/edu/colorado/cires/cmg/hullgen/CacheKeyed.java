@@ -0,0 +1,29 @@
+package edu.colorado.cires.cmg.hullgen;
+
+/**
+ * Component of hull generation which describes every parameter affecting the generated hull, for keying cached results and checkpoints,
+ * see {@link HullCache} and {@link Checkpointer}
+ */
+public interface CacheKeyed {
+
+  /**
+   * Describes every parameter which affects the generated hull
+   * @return description of the parameters
+   */
+  String getParameters();
+
+  /**
+   * Describes the parameters of a component which is not known to be {@link CacheKeyed}, such as the {@link Hull} of an
+   * {@link InputFileProcessor}
+   * @param component component to describe
+   * @return description of the parameters
+   * @throws IllegalArgumentException if the component is not {@link CacheKeyed}
+   */
+  static String parametersOf(Object component) {
+    if (!(component instanceof CacheKeyed)) {
+      throw new IllegalArgumentException(component.getClass().getSimpleName() + " does not describe its parameters");
+    }
+    return ((CacheKeyed) component).getParameters();
+  }
+
+}
@@ -0,0 +1,199 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Point-in-hull lookup over a compacted H3 cell set held in a memory-mapped file. Wherever all children of a cell are present they are
+ * replaced by the cell, and the resulting cells of all resolutions are stored as one sorted array of H3 ids. A lookup indexes the point
+ * once at the finest resolution and binary searches the point's cell and its parents at each stored resolution, so the hull polygon is
+ * never loaded. The file holds a 16 byte header of magic number, version, resolution mask and cell count, followed by the H3 ids
+ */
+public class CellIndex {
+
+  private static final int MAGIC = 0x48334958;
+  private static final short VERSION = 1;
+  private static final int HEADER_BYTES = 16;
+
+  private final H3Backend h3Backend;
+  private final LongBuffer cells;
+  private final int[] resolutions;
+  private final int finestResolution;
+
+  /**
+   * Constructor for {@link CellIndex}
+   * @param indexFile {@link File} written by {@link #write(long[], int, H3Backend, File)}
+   * @throws IOException if the index file cannot be read or the native H3 library cannot be loaded
+   */
+  public CellIndex(File indexFile) throws IOException {
+    this(indexFile, new NativeH3Backend());
+  }
+
+  /**
+   * Constructor for {@link CellIndex}
+   * @param indexFile {@link File} written by {@link #write(long[], int, H3Backend, File)}
+   * @param h3Backend {@link H3Backend} for indexing points and finding parent cells
+   * @throws IOException if the index file cannot be read
+   * @throws IllegalArgumentException if the file is not a cell index or is too large to map
+   */
+  public CellIndex(File indexFile, H3Backend h3Backend) throws IOException {
+    this.h3Backend = h3Backend;
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Cell index is too large to map: " + indexFile);
+      }
+      buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+    }
+    if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) {
+      throw new IllegalArgumentException("Not a cell index: " + indexFile);
+    }
+    int resolutionMask = buffer.getShort(6) & 0xFFFF;
+    long count = buffer.getLong(8);
+    if (count != (buffer.capacity() - HEADER_BYTES) / Long.BYTES || (count > 0) != (resolutionMask != 0)) {
+      throw new IllegalArgumentException("Corrupt cell index: " + indexFile);
+    }
+    // MappedByteBuffer overrides position and slice only since Java 13, so call them through the Java 8 signatures
+    ByteBuffer bytes = buffer;
+    ((Buffer) bytes).position(HEADER_BYTES);
+    cells = bytes.slice().asLongBuffer();
+    resolutions = new int[Integer.bitCount(resolutionMask)];
+    for (int resolution = 15, i = 0; resolution >= 0; resolution--) {
+      if ((resolutionMask & 1 << resolution) != 0) {
+        resolutions[i++] = resolution;
+      }
+    }
+    finestResolution = resolutions.length == 0 ? -1 : resolutions[0];
+  }
+
+  /**
+   * Checks whether a point falls in one of the cells of the index
+   * @param lat latitude
+   * @param lon longitude
+   * @return true if the point falls in the indexed cell set
+   */
+  public boolean contains(double lat, double lon) {
+    if (finestResolution < 0) {
+      return false;
+    }
+    long h3 = h3Backend.geoToH3(lat, lon, finestResolution);
+    for (int resolution : resolutions) {
+      long cell = resolution == finestResolution ? h3 : h3Backend.h3ToParent(h3, resolution);
+      if (binarySearch(cell)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean binarySearch(long h3) {
+    int low = 0;
+    int high = cells.limit() - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      long cell = cells.get(middle);
+      if (cell < h3) {
+        low = middle + 1;
+      } else if (cell > h3) {
+        high = middle - 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the number of compacted cells in the index
+   * @return number of cells
+   */
+  public int size() {
+    return cells.limit();
+  }
+
+  /**
+   * Compacts a cell set and writes it as a cell index
+   * @param h3Ids array of H3 ids, all at the same resolution
+   * @param size number of H3 ids at the start of the array to index. The array is sorted and de-duplicated in place
+   * @param h3Backend {@link H3Backend} for finding parent cells
+   * @param indexFile {@link File} to create
+   * @return number of compacted cells written
+   * @throws IOException if the index file cannot be created or already exists
+   * @throws IllegalArgumentException if the H3 ids are not all at the same resolution
+   */
+  public static int write(long[] h3Ids, int size, H3Backend h3Backend, File indexFile) throws IOException {
+    long[] compacted = compact(h3Ids, SpillingHull.sortUnique(h3Ids, size), h3Backend);
+    int resolutionMask = 0;
+    for (long h3 : compacted) {
+      resolutionMask |= 1 << h3Backend.h3GetResolution(h3);
+    }
+    try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(
+        Files.newOutputStream(indexFile.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)))) {
+      outputStream.writeInt(MAGIC);
+      outputStream.writeShort(VERSION);
+      outputStream.writeShort(resolutionMask);
+      outputStream.writeLong(compacted.length);
+      for (long h3 : compacted) {
+        outputStream.writeLong(h3);
+      }
+    }
+    return compacted.length;
+  }
+
+  /**
+   * Replaces every complete set of children in a sorted cell set by its parent, repeatedly up to resolution 0. Children of one parent are
+   * adjacent in the sorted set because they differ only in their lowest digit
+   * @param h3Ids sorted unique H3 ids, all at the same resolution
+   * @param size number of H3 ids at the start of the array
+   * @param h3Backend {@link H3Backend} for finding parent cells
+   * @return sorted array of compacted H3 ids
+   */
+  static long[] compact(long[] h3Ids, int size, H3Backend h3Backend) {
+    if (size == 0) {
+      return new long[0];
+    }
+    int resolution = h3Backend.h3GetResolution(h3Ids[0]);
+    long[] compacted = new long[size];
+    int compactedSize = 0;
+    long[] cells = Arrays.copyOf(h3Ids, size);
+    int cellCount = size;
+    for (; resolution > 0 && cellCount > 0; resolution--) {
+      int parentCount = 0;
+      int start = 0;
+      while (start < cellCount) {
+        if (h3Backend.h3GetResolution(cells[start]) != resolution) {
+          throw new IllegalArgumentException("H3 ids must all be at resolution " + resolution + ": " + Long.toHexString(cells[start]));
+        }
+        long parent = h3Backend.h3ToParent(cells[start], resolution - 1);
+        int end = start + 1;
+        while (end < cellCount && h3Backend.h3ToParent(cells[end], resolution - 1) == parent) {
+          end++;
+        }
+        if (end - start == (h3Backend.h3IsPentagon(parent) ? 6 : 7)) {
+          cells[parentCount++] = parent;
+        } else {
+          System.arraycopy(cells, start, compacted, compactedSize, end - start);
+          compactedSize += end - start;
+        }
+        start = end;
+      }
+      cellCount = parentCount;
+    }
+    System.arraycopy(cells, 0, compacted, compactedSize, cellCount);
+    compactedSize += cellCount;
+    long[] result = Arrays.copyOf(compacted, compactedSize);
+    Arrays.sort(result);
+    return result;
+  }
+}
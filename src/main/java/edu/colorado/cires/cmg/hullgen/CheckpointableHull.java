@@ -0,0 +1,27 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * {@link Hull} whose in-progress point set and hull can be saved and restored by a {@link Checkpointer}, which keys checkpoints by its
+ * parameters
+ */
+public interface CheckpointableHull extends Hull, CacheKeyed {
+
+  /**
+   * Writes the in-progress point set and hull for a checkpoint
+   * @param output {@link DataOutput} to write to
+   * @throws IOException if the state cannot be written
+   */
+  void writeCheckpoint(DataOutput output) throws IOException;
+
+  /**
+   * Replaces the point set and hull with the state written by {@link #writeCheckpoint(DataOutput)}
+   * @param input {@link DataInput} to read from
+   * @throws IOException if the state cannot be read
+   */
+  void readCheckpoint(DataInput input) throws IOException;
+
+}
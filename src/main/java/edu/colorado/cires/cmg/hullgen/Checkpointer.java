@@ -0,0 +1,189 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+
+/**
+ * Periodic checkpoints of a long-running {@link InputFileProcessor}. A checkpoint holds the read position of the processor and the
+ * in-progress state of its {@link CheckpointableHull}, in one binary file which is replaced atomically.
+ * The input file's size and modification time and a digest of the processing parameters are stored with it, so a run only resumes from a
+ * checkpoint of the same input and processing. The time spent writing checkpoints is recorded as {@link HullStage#CHECKPOINT}
+ */
+public class Checkpointer {
+
+  private static final int MAGIC = 0x48434B50;
+  private static final short VERSION = 1;
+
+  private final Path checkpointFile;
+  private final long intervalMillis;
+  private final boolean resume;
+  private final HullMetrics metrics;
+  private long lastCheckpoint;
+
+  /**
+   * Constructor for {@link Checkpointer}
+   * @param checkpointFile checkpoint {@link File}
+   * @param intervalMillis minimum time in milliseconds between checkpoints
+   * @param resume boolean specifying whether to continue from an existing checkpoint. Otherwise an existing checkpoint is replaced
+   */
+  public Checkpointer(File checkpointFile, long intervalMillis, boolean resume) {
+    this(checkpointFile, intervalMillis, resume, new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link Checkpointer}
+   * @param checkpointFile checkpoint {@link File}
+   * @param intervalMillis minimum time in milliseconds between checkpoints
+   * @param resume boolean specifying whether to continue from an existing checkpoint. Otherwise an existing checkpoint is replaced
+   * @param metrics {@link HullMetrics} for recording checkpoints written, their size and timings
+   */
+  public Checkpointer(File checkpointFile, long intervalMillis, boolean resume, HullMetrics metrics) {
+    if (intervalMillis < 0) {
+      throw new IllegalArgumentException("Checkpoint interval must not be negative: " + intervalMillis);
+    }
+    this.checkpointFile = checkpointFile.toPath();
+    this.intervalMillis = intervalMillis;
+    this.resume = resume;
+    this.metrics = metrics;
+    this.lastCheckpoint = System.currentTimeMillis();
+  }
+
+  /**
+   * Checks whether the checkpoint interval has passed since the last checkpoint
+   * @return true if a checkpoint should be written
+   */
+  boolean isDue() {
+    return System.currentTimeMillis() - lastCheckpoint >= intervalMillis;
+  }
+
+  /**
+   * Writes a checkpoint, replacing the previous one
+   * @param inputFile input {@link File} being processed
+   * @param parameters description of the processing parameters, see {@link CacheKeyed#getParameters()}
+   * @param position read position of the processor, in a form defined by the processor
+   * @param hull {@link CheckpointableHull} whose in-progress state is saved
+   * @throws IOException if the checkpoint cannot be written
+   */
+  void write(File inputFile, String parameters, long[] position, CheckpointableHull hull) throws IOException {
+    try (StageTimer timer = metrics.time(HullStage.CHECKPOINT)) {
+      Path tempFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+      try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        outputStream.writeInt(MAGIC);
+        outputStream.writeShort(VERSION);
+        outputStream.writeLong(inputFile.length());
+        outputStream.writeLong(inputFile.lastModified());
+        outputStream.writeUTF(digest(parameters));
+        outputStream.writeInt(position.length);
+        for (long value : position) {
+          outputStream.writeLong(value);
+        }
+        hull.writeCheckpoint(outputStream);
+        outputStream.flush();
+        metrics.increment(HullCounter.CHECKPOINT_BYTES, outputStream.size());
+      }
+      Files.move(tempFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      metrics.increment(HullCounter.CHECKPOINTS_WRITTEN, 1);
+    }
+    lastCheckpoint = System.currentTimeMillis();
+  }
+
+  /**
+   * Restores the state of a checkpoint of the same input and processing parameters, if resuming
+   * @param inputFile input {@link File} being processed
+   * @param parameters description of the processing parameters, see {@link CacheKeyed#getParameters()}
+   * @param hull {@link CheckpointableHull} whose in-progress state is restored
+   * @return read position saved by the processor, or null to start from the beginning
+   * @throws IOException if the checkpoint cannot be read
+   * @throws IllegalArgumentException if the checkpoint file is not a checkpoint
+   */
+  long[] resume(File inputFile, String parameters, CheckpointableHull hull) throws IOException {
+    if (!resume || !Files.exists(checkpointFile)) {
+      return null;
+    }
+    try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointFile)))) {
+      if (inputStream.readInt() != MAGIC || inputStream.readShort() != VERSION) {
+        throw new IllegalArgumentException("Not a checkpoint: " + checkpointFile);
+      }
+      if (inputStream.readLong() != inputFile.length() || inputStream.readLong() != inputFile.lastModified()
+          || !inputStream.readUTF().equals(digest(parameters))) {
+        System.out.println("Ignoring checkpoint of a different input or processing: " + checkpointFile);
+        return null;
+      }
+      long[] position = new long[inputStream.readInt()];
+      for (int i = 0; i < position.length; i++) {
+        position[i] = inputStream.readLong();
+      }
+      hull.readCheckpoint(inputStream);
+      return position;
+    }
+  }
+
+  /**
+   * Deletes the checkpoint once a run completes
+   * @throws IOException if the checkpoint cannot be deleted
+   */
+  void complete() throws IOException {
+    Files.deleteIfExists(checkpointFile);
+  }
+
+  /**
+   * Writes a {@link Geometry} as length-prefixed WKB, or a negative length for null
+   * @param output {@link DataOutput} to write to
+   * @param geometry {@link Geometry} to write, or null
+   * @throws IOException if the geometry cannot be written
+   */
+  static void writeGeometry(DataOutput output, Geometry geometry) throws IOException {
+    if (geometry == null) {
+      output.writeInt(-1);
+      return;
+    }
+    byte[] wkb = new WKBWriter().write(geometry);
+    output.writeInt(wkb.length);
+    output.write(wkb);
+  }
+
+  /**
+   * Reads a {@link Geometry} written by {@link #writeGeometry(DataOutput, Geometry)}
+   * @param input {@link DataInput} to read from
+   * @return {@link Geometry} read, or null
+   * @throws IOException if the geometry cannot be read
+   * @throws IllegalStateException if the geometry cannot be parsed
+   */
+  static Geometry readGeometry(DataInput input) throws IOException {
+    int length = input.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] wkb = new byte[length];
+    input.readFully(wkb);
+    try {
+      return new WKBReader().read(wkb);
+    } catch (ParseException e) {
+      throw new IllegalStateException("Geometry could not be parsed from checkpoint", e);
+    }
+  }
+
+  private static String digest(String parameters) {
+    try {
+      return HullManifest.toHex(MessageDigest.getInstance("SHA-256").digest(parameters.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import com.uber.h3core.H3Core;
+import com.uber.h3core.util.GeoCoord;
+import java.util.List;
+
+/**
+ * Converts spatially coherent coordinate streams to H3 ids, skipping the H3 lookup for points which clearly fall in the previous cell.
+ * Once two consecutive points map to the same cell, a latitude/longitude box inscribed in the cell's inscribed circle is computed, and
+ * later points inside that box return the cell without calling H3. Results are identical to {@link H3Backend#geoToH3(double, double, int)}.
+ * Instances keep per-stream state and are not thread safe
+ */
+public class CoherentH3Index {
+
+  private static final double SAFETY_FACTOR = 0.98;
+  private static final double MAX_LATITUDE = Math.toRadians(89D);
+
+  private final H3Backend h3Backend;
+  private final int h3Resolution;
+  private final HullMetrics metrics;
+
+  private long lastCell = 0;
+  private boolean regionKnown = false;
+  private double minLat;
+  private double maxLat;
+  private double minLon;
+  private double maxLon;
+
+  /**
+   * Constructor for {@link CoherentH3Index}
+   * @param h3Core {@link H3Core} for cell lookups
+   * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @param metrics {@link HullMetrics} for recording cache hits and misses
+   */
+  public CoherentH3Index(H3Core h3Core, int h3Resolution, HullMetrics metrics) {
+    this(new NativeH3Backend(h3Core), h3Resolution, metrics);
+  }
+
+  /**
+   * Constructor for {@link CoherentH3Index}
+   * @param h3Backend {@link H3Backend} for cell lookups
+   * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @param metrics {@link HullMetrics} for recording cache hits and misses
+   */
+  public CoherentH3Index(H3Backend h3Backend, int h3Resolution, HullMetrics metrics) {
+    this.h3Backend = h3Backend;
+    this.h3Resolution = h3Resolution;
+    this.metrics = metrics;
+    clearRegion();
+  }
+
+  /**
+   * Converts latitude and longitude to H3 id
+   * @param lat latitude in degrees
+   * @param lng longitude in degrees
+   * @return H3 id
+   */
+  public long geoToH3(double lat, double lng) {
+    if (lat >= minLat && lat <= maxLat && lng >= minLon && lng <= maxLon) {
+      metrics.increment(HullCounter.INDEX_CACHE_HITS, 1);
+      return lastCell;
+    }
+    metrics.increment(HullCounter.INDEX_CACHE_MISSES, 1);
+    long cell = h3Backend.geoToH3(lat, lng, h3Resolution);
+    if (cell != lastCell) {
+      lastCell = cell;
+      regionKnown = false;
+      clearRegion();
+    } else if (!regionKnown) {
+      regionKnown = true;
+      computeRegion(cell);
+    }
+    return cell;
+  }
+
+  private void clearRegion() {
+    minLat = Double.POSITIVE_INFINITY;
+    maxLat = Double.NEGATIVE_INFINITY;
+    minLon = Double.POSITIVE_INFINITY;
+    maxLon = Double.NEGATIVE_INFINITY;
+  }
+
+  private void computeRegion(long cell) {
+    GeoCoord center = h3Backend.h3ToGeo(cell);
+    double centerLat = Math.toRadians(center.lat);
+    double centerLon = Math.toRadians(center.lng);
+    double[] c = toUnitVector(centerLat, centerLon);
+
+    List<GeoCoord> boundary = h3Backend.h3ToGeoBoundary(cell);
+    double radius = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < boundary.size(); i++) {
+      GeoCoord from = boundary.get(i);
+      GeoCoord to = boundary.get((i + 1) % boundary.size());
+      double[] normal = cross(
+          toUnitVector(Math.toRadians(from.lat), Math.toRadians(from.lng)),
+          toUnitVector(Math.toRadians(to.lat), Math.toRadians(to.lng))
+      );
+      double norm = Math.sqrt(dot(normal, normal));
+      if (norm == 0D) {
+        continue;
+      }
+      radius = Math.min(radius, Math.asin(Math.min(1D, Math.abs(dot(c, normal)) / norm)));
+    }
+    radius *= SAFETY_FACTOR;
+
+    double halfLat = radius / Math.sqrt(2D);
+    if (!(radius > 0D) || Math.abs(centerLat) + halfLat >= MAX_LATITUDE) {
+      return;
+    }
+    double cosProduct = Math.cos(centerLat) * Math.cos(Math.max(0D, Math.abs(centerLat) - halfLat));
+    double haversineLon = (haversine(radius) - haversine(halfLat)) / cosProduct;
+    double halfLon = 2D * Math.asin(Math.sqrt(Math.min(1D, haversineLon)));
+    if (centerLon - halfLon <= -Math.PI || centerLon + halfLon >= Math.PI) {
+      return;
+    }
+
+    minLat = Math.toDegrees(centerLat - halfLat);
+    maxLat = Math.toDegrees(centerLat + halfLat);
+    minLon = Math.toDegrees(centerLon - halfLon);
+    maxLon = Math.toDegrees(centerLon + halfLon);
+  }
+
+  private static double haversine(double angle) {
+    double sin = Math.sin(angle / 2D);
+    return sin * sin;
+  }
+
+  private static double[] toUnitVector(double lat, double lon) {
+    double cosLat = Math.cos(lat);
+    return new double[] {cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+  }
+
+  private static double[] cross(double[] a, double[] b) {
+    return new double[] {
+        a[1] * b[2] - a[2] * b[1],
+        a[2] * b[0] - a[0] * b[2],
+        a[0] * b[1] - a[1] * b[0]
+    };
+  }
+
+  private static double dot(double[] a, double[] b) {
+    return a[0] * b[0] + a[1] * b[1] + a[2] * b[2];
+  }
+}
@@ -1,6 +1,5 @@
 package edu.colorado.cires.cmg.hullgen;
 
-import com.uber.h3core.H3Core;
 import java.io.IOException;
 import org.locationtech.jts.geom.GeometryFactory;
 
@@ -13,7 +12,7 @@ public class CompleteGeometryProcessor extends BaseGeometryProcessor{
    * Constructor for {@link CompleteGeometryProcessor}
    * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
    * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
-   * @throws IOException if {@link H3Core} cannot create a new instance
+   * @throws IOException if the native H3 library cannot be loaded
    */
   public CompleteGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory) throws IOException {
     super(h3Resolution, geometryFactory);
@@ -24,9 +23,50 @@ public class CompleteGeometryProcessor extends BaseGeometryProcessor{
    * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
    * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
    * @param keepHoles boolean specifying whether to keep holes in the output geometry
-   * @throws IOException if {@link H3Core} cannot create a new instance
+   * @throws IOException if the native H3 library cannot be loaded
    */
   public CompleteGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, boolean keepHoles) throws IOException {
     super(h3Resolution, geometryFactory, keepHoles);
   }
+
+  /**
+   * Constructor for {@link CompleteGeometryProcessor}
+   * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
+   * @param keepHoles boolean specifying whether to keep holes in the output geometry
+   * @param metrics {@link HullMetrics} for recording indexing, polygonization and union timings
+   * @throws IOException if the native H3 library cannot be loaded
+   */
+  public CompleteGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, boolean keepHoles, HullMetrics metrics)
+      throws IOException {
+    super(h3Resolution, geometryFactory, keepHoles, metrics);
+  }
+
+  /**
+   * Constructor for {@link CompleteGeometryProcessor}
+   * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
+   * @param keepHoles boolean specifying whether to keep holes in the output geometry
+   * @param metrics {@link HullMetrics} for recording indexing, polygonization and union timings
+   * @param coherentIndexing boolean specifying whether to skip H3 lookups for points which clearly fall in the previous cell
+   * @throws IOException if the native H3 library cannot be loaded
+   */
+  public CompleteGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, boolean keepHoles, HullMetrics metrics,
+      boolean coherentIndexing) throws IOException {
+    super(h3Resolution, geometryFactory, keepHoles, metrics, coherentIndexing);
+  }
+
+  /**
+   * Constructor for {@link CompleteGeometryProcessor}
+   * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
+   * @param keepHoles boolean specifying whether to keep holes in the output geometry
+   * @param metrics {@link HullMetrics} for recording indexing, polygonization and union timings
+   * @param coherentIndexing boolean specifying whether to skip H3 lookups for points which clearly fall in the previous cell
+   * @param h3Backend {@link H3Backend} performing H3 operations
+   */
+  public CompleteGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, boolean keepHoles, HullMetrics metrics,
+      boolean coherentIndexing, H3Backend h3Backend) {
+    super(h3Resolution, geometryFactory, keepHoles, metrics, coherentIndexing, h3Backend);
+  }
 }
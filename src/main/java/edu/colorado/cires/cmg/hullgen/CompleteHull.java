@@ -12,4 +12,13 @@ public class CompleteHull extends BaseHull{
   public CompleteHull(GeometryProcessor geometryProcessor) {
     super(geometryProcessor);
   }
+
+  /**
+   * Constructor for {@link CompleteHull}
+   * @param geometryProcessor {@link GeometryProcessor} for processing JTS geometries from H3 ids
+   * @param metrics {@link HullMetrics} for recording hull generations
+   */
+  public CompleteHull(GeometryProcessor geometryProcessor, HullMetrics metrics) {
+    super(geometryProcessor, metrics);
+  }
 }
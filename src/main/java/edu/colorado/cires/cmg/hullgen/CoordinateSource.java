@@ -0,0 +1,20 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Supplies coordinates in batches to a {@link HullPipeline}
+ */
+public interface CoordinateSource extends Closeable {
+
+  /**
+   * Reads the next batch of coordinates into parallel arrays, blocking until coordinates are available or the input ends
+   * @param lats array receiving latitudes, starting at index 0
+   * @param lons array receiving longitudes, starting at index 0
+   * @return number of coordinates read, at most the length of the arrays, or -1 at the end of the input
+   * @throws IOException if the input cannot be read
+   */
+  int read(double[] lats, double[] lons) throws IOException;
+
+}
@@ -0,0 +1,65 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of {@link HullMetrics} which keeps counter and stage totals in memory
+ */
+public class CountingHullMetrics implements HullMetrics {
+
+  private final Map<HullCounter, LongAdder> counters = new EnumMap<>(HullCounter.class);
+  private final Map<HullStage, LongAdder> stageTimes = new EnumMap<>(HullStage.class);
+
+  /**
+   * Constructor for {@link CountingHullMetrics}
+   */
+  public CountingHullMetrics() {
+    for (HullCounter counter : HullCounter.values()) {
+      counters.put(counter, new LongAdder());
+    }
+    for (HullStage stage : HullStage.values()) {
+      stageTimes.put(stage, new LongAdder());
+    }
+  }
+
+  @Override
+  public void increment(HullCounter counter, long delta) {
+    counters.get(counter).add(delta);
+  }
+
+  @Override
+  public void addTime(HullStage stage, long nanos) {
+    stageTimes.get(stage).add(nanos);
+  }
+
+  @Override
+  public StageTimer time(HullStage stage) {
+    long start = System.nanoTime();
+    return () -> addTime(stage, System.nanoTime() - start);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * Gets total of a counter
+   * @param counter {@link HullCounter} to read
+   * @return counter total
+   */
+  public long getCount(HullCounter counter) {
+    return counters.get(counter).sum();
+  }
+
+  /**
+   * Gets total time spent in a stage
+   * @param stage {@link HullStage} to read
+   * @return total time in nanoseconds
+   */
+  public long getTime(HullStage stage) {
+    return stageTimes.get(stage).sum();
+  }
+}
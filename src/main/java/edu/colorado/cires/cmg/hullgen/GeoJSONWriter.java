@@ -5,6 +5,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import org.locationtech.jts.geom.CoordinateFilter;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.io.geojson.GeoJsonWriter;
@@ -15,20 +16,31 @@ import org.locationtech.jts.io.geojson.GeoJsonWriter;
 public class GeoJSONWriter implements OutputFileWriter{
 
   private final CoordinateFilter coordinateFilter;
+  private final HullMetrics metrics;
 
     /**
      * Constructor for {@link GeoJSONWriter}
      * @param coordinateFilter {@link CoordinateFilter} to apply to input {@link Geometry}
      */
   public GeoJSONWriter(CoordinateFilter coordinateFilter) {
-    this.coordinateFilter = coordinateFilter;
+    this(coordinateFilter, new NoOpHullMetrics());
   }
 
     /**
      * Constructor for {@link GeoJSONWriter}
      */
   public GeoJSONWriter() {
-    this.coordinateFilter = null;
+    this(null);
+  }
+
+  /**
+   * Constructor for {@link GeoJSONWriter}
+   * @param coordinateFilter {@link CoordinateFilter} to apply to input {@link Geometry}
+   * @param metrics {@link HullMetrics} for recording write timings
+   */
+  public GeoJSONWriter(CoordinateFilter coordinateFilter, HullMetrics metrics) {
+    this.coordinateFilter = coordinateFilter;
+    this.metrics = metrics;
   }
 
   /**
@@ -39,6 +51,65 @@ public class GeoJSONWriter implements OutputFileWriter{
    */
   @Override
   public void write(Geometry geometry, File outputFile) throws IOException {
+    try (StageTimer timer = metrics.time(HullStage.WRITE)) {
+      writeGeometry(geometry, outputFile);
+    }
+  }
+
+  /**
+   * Writes a GeoJson FeatureCollection holding one feature per key to output {@link File}
+   * @param geometries {@link Map} of key to {@link Geometry}
+   * @param keyProperty name of the feature property holding the key
+   * @param outputFile output {@link File}
+   * @throws IOException if output {@link File} already exists or cannot be created
+   */
+  @Override
+  public void write(Map<String, Geometry> geometries, String keyProperty, File outputFile) throws IOException {
+    try (StageTimer timer = metrics.time(HullStage.WRITE)) {
+      writeFeatureCollection(geometries, keyProperty, outputFile);
+    }
+  }
+
+  private void writeFeatureCollection(Map<String, Geometry> geometries, String keyProperty, File outputFile) throws IOException {
+    GeoJsonWriter geoJsonWriter = new GeoJsonWriter();
+    geoJsonWriter.setEncodeCRS(false);
+    StringBuilder featureCollection = new StringBuilder("{\"type\":\"FeatureCollection\",\"features\":[");
+    String separator = "";
+    for (Map.Entry<String, Geometry> geometry : geometries.entrySet()) {
+      if (coordinateFilter != null) {
+        geometry.getValue().apply(coordinateFilter);
+      }
+      featureCollection.append(separator)
+          .append("{\"type\":\"Feature\",\"properties\":{")
+          .append(jsonString(keyProperty)).append(':').append(jsonString(geometry.getKey()))
+          .append("},\"geometry\":")
+          .append(geometry.getValue() == null ? "null" : geoJsonWriter.write(geometry.getValue()))
+          .append('}');
+      separator = ",";
+    }
+    featureCollection.append("]}");
+
+    try (OutputStream outputStream = new FileOutputStream(outputFile)) {
+      outputStream.write(featureCollection.toString().getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private static String jsonString(String value) {
+    StringBuilder json = new StringBuilder("\"");
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        json.append('\\').append(c);
+      } else if (c < 0x20) {
+        json.append(String.format("\\u%04x", (int) c));
+      } else {
+        json.append(c);
+      }
+    }
+    return json.append('"').toString();
+  }
+
+  private void writeGeometry(Geometry geometry, File outputFile) throws IOException {
     if (coordinateFilter != null) {
       geometry.apply(coordinateFilter);
     }
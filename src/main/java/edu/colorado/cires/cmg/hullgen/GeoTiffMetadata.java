@@ -1,5 +1,6 @@
 package edu.colorado.cires.cmg.hullgen;
 
+import com.twelvemonkeys.imageio.metadata.Entry;
 import com.twelvemonkeys.imageio.plugins.tiff.TIFFImageMetadata;
 import java.awt.Rectangle;
 import java.awt.geom.Point2D;
@@ -10,6 +11,9 @@ import java.awt.geom.Point2D.Double;
  */
 public class GeoTiffMetadata {
 
+  private static final long SUBFILE_REDUCED_RESOLUTION = 1L;
+  private static final long SUBFILE_MASK = 4L;
+
   private final Point2D.Double pixelScale;
   private final Point2D.Double tiePoint;
 
@@ -90,6 +94,39 @@ public class GeoTiffMetadata {
     return new Rectangle(0, 0, imageWidth, imageHeight);
   }
 
+  /**
+   * Checks whether {@link TIFFImageMetadata} describes a reduced-resolution version of the main image, such as a Cloud-Optimized GeoTIFF
+   * overview, rather than a mask or an unrelated image
+   * @param tiffImageMetadata {@link TIFFImageMetadata} containing TIFF image tags
+   * @return true if the image is a reduced-resolution overview
+   */
+  public static boolean isOverview(TIFFImageMetadata tiffImageMetadata) {
+    Entry subfileType = tiffImageMetadata.getTIFFField(GeoTiffTags.SUBFILE_TYPE);
+    if (subfileType == null) {
+      return false;
+    }
+    long type = ((Number) subfileType.getValue()).longValue();
+    return (type & SUBFILE_REDUCED_RESOLUTION) != 0 && (type & SUBFILE_MASK) == 0;
+  }
+
+  /**
+   * Generates {@link GeoTiffMetadata} for a reduced-resolution version of this image covering the same area. Pixel scale grows by the
+   * ratio of the image dimensions while the tie point is kept
+   * @param overviewDimensions {@link Rectangle} specifying height and width of the reduced-resolution image
+   * @return {@link GeoTiffMetadata} related to the reduced-resolution image
+   */
+  public GeoTiffMetadata scaledTo(Rectangle overviewDimensions) {
+    return new GeoTiffMetadata(
+        new Point2D.Double(
+            pixelScale.x * imageDimensions.width / overviewDimensions.width,
+            pixelScale.y * imageDimensions.height / overviewDimensions.height
+        ),
+        tiePoint,
+        new Rectangle(0, 0, overviewDimensions.width, overviewDimensions.height),
+        tiePointRaster
+    );
+  }
+
   public static Point2D.Double getTiePointRaster(TIFFImageMetadata tiffImageMetadata) {
     double[] tiePoint = (double[]) tiffImageMetadata.getTIFFField(GeoTiffTags.TIE_POINT).getValue();
     return new Point2D.Double(tiePoint[0], tiePoint[1]);
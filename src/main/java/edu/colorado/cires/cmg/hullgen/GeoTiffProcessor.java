@@ -7,9 +7,11 @@ import java.awt.Rectangle;
 import java.awt.geom.Point2D;
 import java.awt.image.Raster;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.Optional;
 import javax.imageio.ImageIO;
 import javax.imageio.ImageReadParam;
 import javax.imageio.ImageReader;
@@ -19,10 +21,23 @@ import org.locationtech.jts.geom.Geometry;
 /**
  * Implementation of {@link InputFileProcessor} which computes hulls from a GeoTiff image
  */
-public class GeoTiffProcessor implements InputFileProcessor{
+public class GeoTiffProcessor implements StreamInputProcessor, CacheKeyed {
+
+  private static final double BREAK_TOLERANCE = 1e-6;
+  private static final double MAX_POLYGON_WIDTH = 90D;
+  private static final double KM_PER_DEGREE = 111.32;
+  private static final double[] H3_EDGE_LENGTHS_KM = {
+      1107.712591, 418.6760055, 158.2446558, 59.81085794, 22.6063794, 8.544408276, 3.229482772, 1.220629759,
+      0.461354684, 0.174375668, 0.065907807, 0.024910561, 0.009415526, 0.003559893, 0.001348575, 0.000509713
+  };
 
   private final int pixelArea;
   private final Hull hull;
+  private final BaseHull polygonHull;
+  private final HullMetrics metrics;
+  private final Integer h3Resolution;
+  private final RegionOfInterest regionOfInterest;
+  private final Checkpointer checkpointer;
 
   /**
    * Constructor for {@link CSVProcessor}
@@ -30,56 +45,422 @@ public class GeoTiffProcessor implements InputFileProcessor{
    * @param hull {@link Hull} for generating hull from H3 ids
    */
   public GeoTiffProcessor(int pixelArea, Hull hull) {
+    this(pixelArea, hull, new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link GeoTiffProcessor}
+   * @param pixelArea width of squares used to read image in parts
+   * @param hull {@link Hull} for generating hull from H3 ids
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   */
+  public GeoTiffProcessor(int pixelArea, Hull hull, HullMetrics metrics) {
+    this(pixelArea, hull, metrics, (Integer) null);
+  }
+
+  /**
+   * Constructor for {@link GeoTiffProcessor}
+   * @param pixelArea width of squares used to read image in parts
+   * @param hull {@link Hull} for generating hull from H3 ids
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   * @param h3Resolution H3 resolution of the hull. When set, the coarsest reduced-resolution overview whose pixels are no larger than half
+   *     the average edge length of cells at this resolution is read instead of the full resolution image. Null always reads the full
+   *     resolution image
+   */
+  public GeoTiffProcessor(int pixelArea, Hull hull, HullMetrics metrics, Integer h3Resolution) {
+    this(pixelArea, hull, metrics, h3Resolution, null);
+  }
+
+  /**
+   * Constructor for {@link GeoTiffProcessor}
+   * @param pixelArea width of squares used to read image in parts
+   * @param hull {@link Hull} for generating hull from H3 ids
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   * @param h3Resolution H3 resolution of the hull used to select a reduced-resolution overview, or null to read the full resolution image
+   * @param regionOfInterest {@link RegionOfInterest} outside which pixels are discarded, or null to keep all pixels. Windows of the image
+   *     which do not intersect its bounding box are not read
+   */
+  public GeoTiffProcessor(int pixelArea, Hull hull, HullMetrics metrics, Integer h3Resolution, RegionOfInterest regionOfInterest) {
+    this(pixelArea, hull, null, metrics, h3Resolution, regionOfInterest, null);
+  }
+
+  /**
+   * Constructor for {@link GeoTiffProcessor}
+   * @param pixelArea width of squares used to read image in parts
+   * @param hull {@link CheckpointableHull} for generating hull from H3 ids
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   * @param h3Resolution H3 resolution of the hull used to select a reduced-resolution overview, or null to read the full resolution image
+   * @param regionOfInterest {@link RegionOfInterest} outside which pixels are discarded, or null to keep all pixels
+   * @param checkpointer {@link Checkpointer} which periodically saves the next reader window and the state of the hull, or null for no
+   *     checkpoints
+   */
+  public GeoTiffProcessor(int pixelArea, CheckpointableHull hull, HullMetrics metrics, Integer h3Resolution,
+      RegionOfInterest regionOfInterest, Checkpointer checkpointer) {
+    this(pixelArea, hull, null, metrics, h3Resolution, regionOfInterest, checkpointer);
+  }
+
+  /**
+   * Constructor for {@link GeoTiffProcessor}
+   * @param pixelArea width of squares used to read image in parts
+   * @param hull {@link BaseHull} for generating hull from H3 ids and polygons
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   * @param polygonize boolean specifying whether to merge runs of valid pixels into rectangles which are added to the hull as polygons,
+   *     so solid regions cost roughly their H3 cell count instead of their pixel count. Cells smaller than a pixel whose centers fall
+   *     between pixels are included as well
+   */
+  public GeoTiffProcessor(int pixelArea, BaseHull hull, HullMetrics metrics, boolean polygonize) {
+    this(pixelArea, hull, metrics, polygonize, null);
+  }
+
+  /**
+   * Constructor for {@link GeoTiffProcessor}
+   * @param pixelArea width of squares used to read image in parts
+   * @param hull {@link BaseHull} for generating hull from H3 ids and polygons
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   * @param polygonize boolean specifying whether to merge runs of valid pixels into rectangles which are added to the hull as polygons
+   * @param h3Resolution H3 resolution of the hull used to select a reduced-resolution overview, or null to read the full resolution image
+   */
+  public GeoTiffProcessor(int pixelArea, BaseHull hull, HullMetrics metrics, boolean polygonize, Integer h3Resolution) {
+    this(pixelArea, hull, metrics, polygonize, h3Resolution, null);
+  }
+
+  /**
+   * Constructor for {@link GeoTiffProcessor}
+   * @param pixelArea width of squares used to read image in parts
+   * @param hull {@link BaseHull} for generating hull from H3 ids and polygons
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   * @param polygonize boolean specifying whether to merge runs of valid pixels into rectangles which are added to the hull as polygons
+   * @param h3Resolution H3 resolution of the hull used to select a reduced-resolution overview, or null to read the full resolution image
+   * @param regionOfInterest {@link RegionOfInterest} outside which pixels are discarded, or null to keep all pixels
+   */
+  public GeoTiffProcessor(int pixelArea, BaseHull hull, HullMetrics metrics, boolean polygonize, Integer h3Resolution,
+      RegionOfInterest regionOfInterest) {
+    this(pixelArea, hull, metrics, polygonize, h3Resolution, regionOfInterest, null);
+  }
+
+  /**
+   * Constructor for {@link GeoTiffProcessor}
+   * @param pixelArea width of squares used to read image in parts
+   * @param hull {@link BaseHull} for generating hull from H3 ids and polygons
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   * @param polygonize boolean specifying whether to merge runs of valid pixels into rectangles which are added to the hull as polygons
+   * @param h3Resolution H3 resolution of the hull used to select a reduced-resolution overview, or null to read the full resolution image
+   * @param regionOfInterest {@link RegionOfInterest} outside which pixels are discarded, or null to keep all pixels
+   * @param checkpointer {@link Checkpointer} which periodically saves the next reader window and the state of the hull, or null for no
+   *     checkpoints
+   */
+  public GeoTiffProcessor(int pixelArea, BaseHull hull, HullMetrics metrics, boolean polygonize, Integer h3Resolution,
+      RegionOfInterest regionOfInterest, Checkpointer checkpointer) {
+    this(pixelArea, hull, polygonize ? hull : null, metrics, h3Resolution, regionOfInterest, checkpointer);
+  }
+
+  private GeoTiffProcessor(int pixelArea, Hull hull, BaseHull polygonHull, HullMetrics metrics, Integer h3Resolution,
+      RegionOfInterest regionOfInterest, Checkpointer checkpointer) {
+    if (h3Resolution != null && (h3Resolution < 0 || h3Resolution >= H3_EDGE_LENGTHS_KM.length)) {
+      throw new IllegalArgumentException("Invalid H3 resolution: " + h3Resolution);
+    }
     this.pixelArea = pixelArea;
     this.hull = hull;
+    this.polygonHull = polygonHull;
+    this.metrics = metrics;
+    this.h3Resolution = h3Resolution;
+    this.regionOfInterest = regionOfInterest;
+    this.checkpointer = checkpointer;
+  }
+
+  /**
+   * Describes the pixel area, polygonization, overview resolution, region of interest and the parameters of the hull
+   * @return description of the parameters
+   */
+  @Override
+  public String getParameters() {
+    return getClass().getSimpleName() + "[pixelArea=" + pixelArea + ", polygonize=" + (polygonHull != null) + ", h3Resolution=" + h3Resolution
+        + ", regionOfInterest=" + (regionOfInterest == null ? null : regionOfInterest.getParameters()) + ", hull=" + CacheKeyed.parametersOf(hull) + "]";
   }
 
   /**
-   * Computes hull from a GeoTIFF image
+   * Computes hull from a GeoTIFF image. With a {@link Checkpointer}, a run resumes from the reader window of its last checkpoint. When the
+   * hull publishes previews, the smallest overview is read subsampled before the full pass, see {@link PreviewHull}. Gzip
+   * compressed files are detected and inflated on a separate thread, see {@link PipelinedInputStream}
    * @param file {@link File} containing GeoTIFF image
    * @return {@link Geometry} containing hull
    * @throws IOException if input {@link File} does not exist
    */
   @Override
   public Geometry process(File file) throws IOException {
+    if (PipelinedInputStream.isGzip(file)) {
+      try (InputStream inputStream = PipelinedInputStream.decompress(new FileInputStream(file))) {
+        return process(ImageIO.createImageInputStream(inputStream), file.getName(), file);
+      }
+    }
+    return process(ImageIO.createImageInputStream(file), file.getName(), file);
+  }
+
+  /**
+   * Computes hull from a GeoTIFF image read from a stream. Gzip compressed input is detected and inflated on a separate thread, see
+   * {@link PipelinedInputStream}. The image is cached by {@link ImageIO} for random access
+   * @param inputStream {@link InputStream} of the GeoTIFF image, closed when read
+   * @return {@link Geometry} containing hull
+   * @throws IOException if the input cannot be read
+   * @throws IllegalStateException if the processor has a {@link Checkpointer}, which requires file input
+   */
+  @Override
+  public Geometry process(InputStream inputStream) throws IOException {
+    if (checkpointer != null) {
+      throw new IllegalStateException("Checkpoints require file input");
+    }
+    try (InputStream decompressedInputStream = PipelinedInputStream.decompress(inputStream)) {
+      return process(ImageIO.createImageInputStream(decompressedInputStream), "input stream", null);
+    }
+  }
+
+  /**
+   * Computes hull from an image stream, writing checkpoints only when the input file is given
+   */
+  private Geometry process(ImageInputStream input, String name, File file) throws IOException {
     try (
-        ImageInputStream imageInputStream = ImageIO.createImageInputStream(file)
+        ImageInputStream imageInputStream = input
         ) {
+      if (imageInputStream == null) {
+        throw new IllegalArgumentException("Image input could not be opened for: " + name);
+      }
       Iterator<ImageReader> imageReaders = ImageIO.getImageReaders(imageInputStream);
       if (!imageReaders.hasNext()) {
-        throw new IllegalArgumentException("Image readers not found for: " + file.getName());
+        throw new IllegalArgumentException("Image readers not found for: " + name);
       }
       ImageReader imageReader = imageReaders.next();
       imageReader.setInput(imageInputStream);
       GeoTiffMetadata geoTiffMetadata = GeoTiffMetadata.fromTIFFImageMetadata(
           (TIFFImageMetadata) imageReader.getImageMetadata(0)
       );
-      Rectangle readerWindow = initializeReaderWindow(geoTiffMetadata.getImageDimensions());
-      Point readPoint = new Point(readerWindow.x, readerWindow.y);
-      Raster raster;
-      try {
-        while (readerWindow.y < geoTiffMetadata.getImageDimensions().height) {
-          ImageReadParam readParam = new ImageReadParam();
-          readParam.setSourceRegion(readerWindow);
-          raster = imageReader.readRaster(0, readParam);
-          while (readPoint.x < readerWindow.x + readerWindow.width - 1) {
-            int startingYPosition = readPoint.y;
-            while (readPoint.y < readerWindow.y + readerWindow.height - 1) {
-              Optional<GeoCoord> geoCoord = pixelToGeoCoord(readPoint, geoTiffMetadata, raster, readerWindow);
-              geoCoord.ifPresent(hull::addPoint);
-              readPoint = incrementPointY(readPoint);
-            }
-            readPoint = incrementPointToNextRow(readPoint, startingYPosition);
-          }
-          readerWindow = updateReaderWindow(readerWindow, readPoint, geoTiffMetadata.getImageDimensions());
-          readPoint = updatePointToNewReaderWindow(readPoint, readerWindow);
-        }
-        hull.generateHull();
-        return hull.getHullGeometry();
+      if (hull instanceof PreviewHull && ((PreviewHull) hull).getPreviewSampleSize() > 0) {
+        addPreview(imageReader, geoTiffMetadata, (PreviewHull) hull);
+      }
+      int imageIndex = h3Resolution == null ? 0 : selectOverview(imageReader, geoTiffMetadata);
+      if (imageIndex != 0) {
+        geoTiffMetadata = geoTiffMetadata.scaledTo(
+            new Rectangle(imageReader.getWidth(imageIndex), imageReader.getHeight(imageIndex))
+        );
+      }
+      Checkpoint checkpoint = checkpointer == null || file == null ? null : new Checkpoint(file);
+      long pointsRead;
+      try (StageTimer timer = metrics.time(HullStage.READ)) {
+        pointsRead = polygonHull != null ?
+            polygonizeImage(imageReader, imageIndex, geoTiffMetadata, checkpoint) :
+            readImage(imageReader, imageIndex, geoTiffMetadata, checkpoint);
       } finally {
         imageReader.dispose();
       }
+      metrics.increment(HullCounter.POINTS_READ, pointsRead);
+      hull.generateHull();
+      if (checkpoint != null) {
+        checkpointer.complete();
+      }
+      return hull.getHullGeometry();
+    }
+  }
+
+  /**
+   * Finds the coarsest reduced-resolution overview whose pixels still resolve cells at the target H3 resolution. A grid of points no
+   * further apart than half the average edge length places a point in every cell it covers, leaving room for cells smaller than average
+   * @return index of the image to read, 0 for the full resolution image
+   */
+  private int selectOverview(ImageReader imageReader, GeoTiffMetadata geoTiffMetadata) throws IOException {
+    double maxPixelSize = H3_EDGE_LENGTHS_KM[h3Resolution] / 2D;
+    Rectangle imageDimensions = geoTiffMetadata.getImageDimensions();
+    int selectedIndex = 0;
+    long selectedPixels = (long) imageDimensions.width * imageDimensions.height;
+    for (int imageIndex = 1; imageIndex < imageReader.getNumImages(true); imageIndex++) {
+      if (!GeoTiffMetadata.isOverview((TIFFImageMetadata) imageReader.getImageMetadata(imageIndex))) {
+        continue;
+      }
+      int width = imageReader.getWidth(imageIndex);
+      int height = imageReader.getHeight(imageIndex);
+      double pixelWidth = Math.abs(geoTiffMetadata.getPixelScale().x) * imageDimensions.width / width;
+      double pixelHeight = Math.abs(geoTiffMetadata.getPixelScale().y) * imageDimensions.height / height;
+      long pixels = (long) width * height;
+      if (Math.max(pixelWidth, pixelHeight) * KM_PER_DEGREE <= maxPixelSize && pixels < selectedPixels) {
+        selectedIndex = imageIndex;
+        selectedPixels = pixels;
+      }
+    }
+    return selectedIndex;
+  }
+
+  private long readImage(ImageReader imageReader, int imageIndex, GeoTiffMetadata geoTiffMetadata, Checkpoint checkpoint)
+      throws IOException {
+    double[] lats = pixelLatitudes(geoTiffMetadata);
+    double[] lons = pixelLongitudes(geoTiffMetadata);
+    boolean[] rowBreaks = findBreaks(lats, Math.abs(geoTiffMetadata.getPixelScale().y));
+    Rectangle regionBounds = regionPixelBounds(lats, lons);
+    Rectangle readerWindow = initializeReaderWindow(geoTiffMetadata.getImageDimensions());
+    Point readPoint = new Point(readerWindow.x, readerWindow.y);
+    int[] column = new int[0];
+    long pointsRead = 0;
+    long[] position = checkpoint == null ? null : checkpoint.resume();
+    if (position != null) {
+      readerWindow = new Rectangle((int) position[0], (int) position[1], (int) position[2], (int) position[3]);
+      readPoint = new Point((int) position[4], (int) position[5]);
+      pointsRead = position[6];
+    }
+    while (readerWindow.y < geoTiffMetadata.getImageDimensions().height) {
+      int rows = readerWindow.height - 1;
+      if (column.length < rows) {
+        column = new int[rows];
+      }
+      if (readerWindow.intersects(regionBounds)) {
+        ImageReadParam readParam = new ImageReadParam();
+        readParam.setSourceRegion(readerWindow);
+        Raster raster = imageReader.readRaster(imageIndex, readParam);
+        for (int rasterX = 0; rows > 0 && rasterX < readerWindow.width - 1; rasterX++) {
+          double lon = lons[readerWindow.x + rasterX];
+          if (regionOfInterest == null || regionOfInterest.containsLongitude(lon)) {
+            raster.getSamples(rasterX, 0, 1, rows, 0, column);
+            pointsRead += addColumn(column, rows, readerWindow.y, lats, lon, rowBreaks);
+          }
+        }
+      }
+      readPoint.setLocation(readerWindow.x + readerWindow.width - 1, readerWindow.y);
+      readerWindow = updateReaderWindow(readerWindow, readPoint, geoTiffMetadata.getImageDimensions());
+      readPoint = updatePointToNewReaderWindow(readPoint, readerWindow);
+      if (checkpoint != null) {
+        checkpoint.writeIfDue(readerWindow.x, readerWindow.y, readerWindow.width, readerWindow.height, readPoint.x, readPoint.y, pointsRead);
+      }
     }
+    return pointsRead;
+  }
+
+  /**
+   * Adds the runs of valid pixels in a column to the hull, splitting them where latitudes wrap
+   */
+  private long addColumn(int[] column, int rows, int startY, double[] lats, double lon, boolean[] rowBreaks) {
+    long pointsRead = 0;
+    long pointsClipped = 0;
+    int runStart = -1;
+    for (int row = 0; row <= rows; row++) {
+      int y = startY + row;
+      boolean valid = row < rows && isValidPixel(column[row]);
+      if (valid && !isInRegion(lats[y], lon)) {
+        valid = false;
+        pointsClipped++;
+      }
+      if (runStart >= 0 && (!valid || rowBreaks[y])) {
+        hull.addMeridianRun(lon, lats, runStart, y - runStart);
+        pointsRead += y - runStart;
+        runStart = -1;
+      }
+      if (valid && runStart < 0) {
+        runStart = y;
+      }
+    }
+    metrics.increment(HullCounter.POINTS_CLIPPED, pointsClipped);
+    return pointsRead;
+  }
+
+  /**
+   * Reads the smallest overview, or the full resolution image if there is none, subsampled to about the sample size, and adds the valid
+   * pixels inside the region of interest to the preview of the hull
+   */
+  private void addPreview(ImageReader imageReader, GeoTiffMetadata geoTiffMetadata, PreviewHull previewHull) throws IOException {
+    int sampleSize = previewHull.getPreviewSampleSize();
+    int previewIndex = 0;
+    for (int imageIndex = 1; imageIndex < imageReader.getNumImages(true); imageIndex++) {
+      if (GeoTiffMetadata.isOverview((TIFFImageMetadata) imageReader.getImageMetadata(imageIndex))
+          && imageReader.getWidth(imageIndex) < imageReader.getWidth(previewIndex)) {
+        previewIndex = imageIndex;
+      }
+    }
+    int width = imageReader.getWidth(previewIndex);
+    int height = imageReader.getHeight(previewIndex);
+    GeoTiffMetadata previewMetadata = previewIndex == 0 ? geoTiffMetadata : geoTiffMetadata.scaledTo(new Rectangle(width, height));
+    double[] pixelLats = pixelLatitudes(previewMetadata);
+    double[] pixelLons = pixelLongitudes(previewMetadata);
+    int stride = Math.max(1, (int) Math.ceil(Math.sqrt((double) width * height / sampleSize)));
+    Raster raster;
+    try (StageTimer timer = metrics.time(HullStage.READ)) {
+      ImageReadParam readParam = new ImageReadParam();
+      readParam.setSourceSubsampling(stride, stride, 0, 0);
+      raster = imageReader.readRaster(previewIndex, readParam);
+    }
+    double[] lats = new double[raster.getWidth() * raster.getHeight()];
+    double[] lons = new double[lats.length];
+    int[] row = new int[raster.getWidth()];
+    int sampled = 0;
+    for (int y = 0; y < raster.getHeight(); y++) {
+      raster.getSamples(raster.getMinX(), raster.getMinY() + y, raster.getWidth(), 1, 0, row);
+      for (int x = 0; x < row.length; x++) {
+        if (isValidPixel(row[x]) && isInRegion(pixelLats[y * stride], pixelLons[x * stride])) {
+          lats[sampled] = pixelLats[y * stride];
+          lons[sampled] = pixelLons[x * stride];
+          sampled++;
+        }
+      }
+    }
+    previewHull.addPreviewPoints(lats, lons, 0, sampled);
+  }
+
+  private boolean isInRegion(double lat, double lon) {
+    return regionOfInterest == null || regionOfInterest.contains(lat, lon);
+  }
+
+  /**
+   * Finds the smallest pixel rectangle containing every row and column which falls inside the bounding box of the region of interest
+   */
+  private Rectangle regionPixelBounds(double[] lats, double[] lons) {
+    if (regionOfInterest == null) {
+      return new Rectangle(0, 0, lons.length, lats.length);
+    }
+    int minY = Integer.MAX_VALUE;
+    int maxY = -1;
+    for (int y = 0; y < lats.length; y++) {
+      if (regionOfInterest.containsLatitude(lats[y])) {
+        minY = Math.min(minY, y);
+        maxY = y;
+      }
+    }
+    int minX = Integer.MAX_VALUE;
+    int maxX = -1;
+    for (int x = 0; x < lons.length; x++) {
+      if (regionOfInterest.containsLongitude(lons[x])) {
+        minX = Math.min(minX, x);
+        maxX = x;
+      }
+    }
+    if (maxY < 0 || maxX < 0) {
+      return new Rectangle();
+    }
+    return new Rectangle(minX, minY, maxX - minX + 1, maxY - minY + 1);
+  }
+
+  private long polygonizeImage(ImageReader imageReader, int imageIndex, GeoTiffMetadata geoTiffMetadata, Checkpoint checkpoint)
+      throws IOException {
+    Rectangle imageDimensions = geoTiffMetadata.getImageDimensions();
+    RunPolygonizer polygonizer = new RunPolygonizer(geoTiffMetadata);
+    Rectangle regionBounds = regionPixelBounds(polygonizer.lats, polygonizer.lons);
+    int startX = 0;
+    int startY = 0;
+    long[] position = checkpoint == null ? null : checkpoint.resume();
+    if (position != null) {
+      startX = (int) position[0];
+      startY = (int) position[1];
+      polygonizer.pointsRead = position[2];
+    }
+    for (int y = startY; y < imageDimensions.height; y += pixelArea) {
+      for (int x = y == startY ? startX : 0; x < imageDimensions.width; x += pixelArea) {
+        if (checkpoint != null) {
+          checkpoint.writeIfDue(x, y, polygonizer.pointsRead);
+        }
+        Rectangle window = new Rectangle(x, y, Math.min(pixelArea, imageDimensions.width - x), Math.min(pixelArea, imageDimensions.height - y))
+            .intersection(regionBounds);
+        if (window.isEmpty()) {
+          continue;
+        }
+        ImageReadParam readParam = new ImageReadParam();
+        readParam.setSourceRegion(window);
+        polygonizer.polygonizeWindow(imageReader.readRaster(imageIndex, readParam), window);
+      }
+    }
+    return polygonizer.pointsRead;
   }
 
   private Rectangle initializeReaderWindow(Rectangle imageDimensions) {
@@ -91,33 +472,37 @@ public class GeoTiffProcessor implements InputFileProcessor{
     );
   }
 
-  private Optional<GeoCoord> pixelToGeoCoord(Point point, GeoTiffMetadata metadata, Raster raster, Rectangle window) {
-    int pixel = raster.getPixel(
-        point.x - window.x,
-        point.y - window.y,
-        (int []) null
-    )[0];
+  static double[] pixelLatitudes(GeoTiffMetadata metadata) {
+    double[] lats = new double[metadata.getImageDimensions().height];
+    for (int y = 0; y < lats.length; y++) {
+      lats[y] = pixelToLat(y, metadata);
+    }
+    return lats;
+  }
 
-    if (pixel == 0 || pixel == 255) {
-      return Optional.empty();
+  static double[] pixelLongitudes(GeoTiffMetadata metadata) {
+    double[] lons = new double[metadata.getImageDimensions().width];
+    for (int x = 0; x < lons.length; x++) {
+      lons[x] = pixelToLon(x, metadata);
     }
+    return lons;
+  }
 
-    double relativeLat = metadata.getPixelScale().y * point.y;
-    double relativeLon = metadata.getPixelScale().x * point.x;
+  static boolean isValidPixel(int pixel) {
+    return pixel != 0 && pixel != 255;
+  }
+
+  private static double pixelToLat(int y, GeoTiffMetadata metadata) {
+    double relativeLat = metadata.getPixelScale().y * y;
 
     Point2D.Double rasterTiePoint = metadata.getTiePoint();
-    relativeLat = point.y > rasterTiePoint.getY() ? relativeLat * -1 : relativeLat * 1;
-    relativeLon = point.x > rasterTiePoint.getX() ? relativeLon * 1 : relativeLon * -1;
+    relativeLat = y > rasterTiePoint.getY() ? relativeLat * -1 : relativeLat * 1;
 
-    if (rasterTiePoint.getY() == point.y) {
+    if (rasterTiePoint.getY() == y) {
       relativeLat = 0;
     }
-    if (rasterTiePoint.getX() == point.x) {
-      relativeLon = 0;
-    }
 
-    double lat = metadata.getTiePoint().getY() + relativeLat;
-    double lon = metadata.getTiePoint().getX() + relativeLon;
+    double lat = rasterTiePoint.getY() + relativeLat;
 
     if (lat < -90) {
       lat = 90 + (lat + 90);
@@ -127,6 +512,21 @@ public class GeoTiffProcessor implements InputFileProcessor{
       lat = -90 + (lat - 90);
     }
 
+    return lat;
+  }
+
+  private static double pixelToLon(int x, GeoTiffMetadata metadata) {
+    double relativeLon = metadata.getPixelScale().x * x;
+
+    Point2D.Double rasterTiePoint = metadata.getTiePoint();
+    relativeLon = x > rasterTiePoint.getX() ? relativeLon * 1 : relativeLon * -1;
+
+    if (rasterTiePoint.getX() == x) {
+      relativeLon = 0;
+    }
+
+    double lon = rasterTiePoint.getX() + relativeLon;
+
     if (lon < -180) {
       lon = 180 + (lon + 180);
     }
@@ -135,20 +535,21 @@ public class GeoTiffProcessor implements InputFileProcessor{
       lon = -180 + (lon - 180);
     }
 
-    return Optional.of(new GeoCoord(
-        lat,
-        lon
-    ));
+    return lon;
   }
 
-  private Point incrementPointY(Point point) {
-    point.setLocation(point.x, point.y + 1);
-    return point.getLocation();
-  }
-
-  private Point incrementPointToNextRow(Point point, int startingYPosition) {
-    point.setLocation(point.x + 1, startingYPosition);
-    return point.getLocation();
+  /**
+   * Flags the pixels whose coordinate does not continue the straight line through the previous pixels, such as the wrap at the
+   * antimeridian. Runs of pixels are not merged across these pixels
+   */
+  private static boolean[] findBreaks(double[] coordinates, double scale) {
+    boolean[] breaks = new boolean[coordinates.length];
+    for (int i = 1; i < coordinates.length; i++) {
+      double step = coordinates[i] - coordinates[i - 1];
+      breaks[i] = Math.abs(Math.abs(step) - scale) > scale * BREAK_TOLERANCE
+          || (i > 1 && !breaks[i - 1] && Math.signum(step) != Math.signum(coordinates[i - 1] - coordinates[i - 2]));
+    }
+    return breaks;
   }
 
   private Rectangle updateReaderWindow(Rectangle window, Point point, Rectangle imageDimensions) {
@@ -176,4 +577,163 @@ public class GeoTiffProcessor implements InputFileProcessor{
     point.setLocation(window.x, window.y);
     return point.getLocation();
   }
+
+  /**
+   * Checkpoints of one run over an image, saving the processor's read position with the state of the hull
+   */
+  private class Checkpoint {
+
+    private final File file;
+    private final String parameters;
+
+    private Checkpoint(File file) {
+      this.file = file;
+      this.parameters = getParameters();
+    }
+
+    private long[] resume() throws IOException {
+      return checkpointer.resume(file, parameters, (CheckpointableHull) hull);
+    }
+
+    private void writeIfDue(long... position) throws IOException {
+      if (checkpointer.isDue()) {
+        checkpointer.write(file, parameters, position, (CheckpointableHull) hull);
+      }
+    }
+  }
+
+  /**
+   * Merges runs of valid pixels with the same columns in consecutive rows into rectangles. Rectangles at least two pixels wide and tall
+   * are added to the hull as polygons, other runs are added pixel by pixel
+   */
+  private class RunPolygonizer {
+
+    private final double[] lats;
+    private final double[] lons;
+    private final boolean[] rowBreaks;
+    private final boolean[] columnBreaks;
+    private final double edgeSpacing;
+    private double[] pointLats = new double[0];
+    private double[] pointLons = new double[0];
+    private long pointsRead = 0;
+
+    private RunPolygonizer(GeoTiffMetadata metadata) {
+      lats = pixelLatitudes(metadata);
+      lons = pixelLongitudes(metadata);
+      double latScale = Math.abs(metadata.getPixelScale().y);
+      double lonScale = Math.abs(metadata.getPixelScale().x);
+      rowBreaks = findBreaks(lats, latScale);
+      columnBreaks = findBreaks(lons, lonScale);
+      edgeSpacing = Math.min(latScale, lonScale);
+    }
+
+    private void polygonizeWindow(Raster raster, Rectangle window) {
+      int[] row = new int[window.width];
+      int[] runStarts = new int[window.width];
+      int[] runEnds = new int[window.width];
+      int[] openStarts = new int[window.width];
+      int[] openEnds = new int[window.width];
+      int[] openRows = new int[window.width];
+      int[] nextStarts = new int[window.width];
+      int[] nextEnds = new int[window.width];
+      int[] nextRows = new int[window.width];
+      int openCount = 0;
+      long pointsClipped = 0;
+
+      for (int rasterY = 0; rasterY < window.height; rasterY++) {
+        int y = window.y + rasterY;
+        raster.getSamples(0, rasterY, window.width, 1, 0, row);
+        int runCount = 0;
+        for (int rasterX = 0; rasterX < window.width; rasterX++) {
+          if (!isValidPixel(row[rasterX])) {
+            continue;
+          }
+          int x = window.x + rasterX;
+          if (!isInRegion(lats[y], lons[x])) {
+            pointsClipped++;
+            continue;
+          }
+          if (runCount > 0 && runEnds[runCount - 1] == x - 1 && !columnBreaks[x]) {
+            runEnds[runCount - 1] = x;
+          } else {
+            runStarts[runCount] = x;
+            runEnds[runCount] = x;
+            runCount++;
+          }
+          pointsRead++;
+        }
+
+        boolean continuesRectangles = rasterY > 0 && !rowBreaks[y];
+        int nextCount = 0;
+        int open = 0;
+        for (int run = 0; run < runCount; run++) {
+          int startRow = y;
+          while (open < openCount && openStarts[open] <= runStarts[run]) {
+            if (continuesRectangles && openStarts[open] == runStarts[run] && openEnds[open] == runEnds[run]) {
+              startRow = openRows[open++];
+              break;
+            }
+            addRectangle(openStarts[open], openEnds[open], openRows[open], y - 1);
+            open++;
+          }
+          nextStarts[nextCount] = runStarts[run];
+          nextEnds[nextCount] = runEnds[run];
+          nextRows[nextCount] = startRow;
+          nextCount++;
+        }
+        for (; open < openCount; open++) {
+          addRectangle(openStarts[open], openEnds[open], openRows[open], y - 1);
+        }
+
+        int[] swap = openStarts;
+        openStarts = nextStarts;
+        nextStarts = swap;
+        swap = openEnds;
+        openEnds = nextEnds;
+        nextEnds = swap;
+        swap = openRows;
+        openRows = nextRows;
+        nextRows = swap;
+        openCount = nextCount;
+      }
+      for (int open = 0; open < openCount; open++) {
+        addRectangle(openStarts[open], openEnds[open], openRows[open], window.y + window.height - 1);
+      }
+      metrics.increment(HullCounter.POINTS_CLIPPED, pointsClipped);
+    }
+
+    private void addRectangle(int startX, int endX, int startY, int endY) {
+      if (startX == endX || startY == endY) {
+        addPixels(startX, endX, startY, endY);
+      } else if (endX - startX > 1 && Math.abs(lons[endX] - lons[startX]) > MAX_POLYGON_WIDTH) {
+        int middleX = (startX + endX) >>> 1;
+        addRectangle(startX, middleX, startY, endY);
+        addRectangle(middleX, endX, startY, endY);
+      } else {
+        polygonHull.addPolygon(Arrays.asList(
+            new GeoCoord(lats[startY], lons[startX]),
+            new GeoCoord(lats[startY], lons[endX]),
+            new GeoCoord(lats[endY], lons[endX]),
+            new GeoCoord(lats[endY], lons[startX])
+        ), edgeSpacing);
+      }
+    }
+
+    private void addPixels(int startX, int endX, int startY, int endY) {
+      int length = (endX - startX + 1) * (endY - startY + 1);
+      if (pointLats.length < length) {
+        pointLats = new double[length];
+        pointLons = new double[length];
+      }
+      int point = 0;
+      for (int y = startY; y <= endY; y++) {
+        for (int x = startX; x <= endX; x++) {
+          pointLats[point] = lats[y];
+          pointLons[point] = lons[x];
+          point++;
+        }
+      }
+      hull.addPoints(pointLats, pointLons, 0, length);
+    }
+  }
 }
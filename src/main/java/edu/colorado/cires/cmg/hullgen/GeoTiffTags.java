@@ -11,5 +11,6 @@ public class GeoTiffTags {
   public static final int TIE_POINT = 33922;
   public static final int IMAGE_WIDTH = TIFF.TAG_IMAGE_WIDTH;
   public static final int IMAGE_HEIGHT = TIFF.TAG_IMAGE_HEIGHT;
+  public static final int SUBFILE_TYPE = TIFF.TAG_SUBFILE_TYPE;
 
 }
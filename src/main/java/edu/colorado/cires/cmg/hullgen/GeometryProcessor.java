@@ -1,7 +1,9 @@
 package edu.colorado.cires.cmg.hullgen;
 
 import com.uber.h3core.util.GeoCoord;
+import java.nio.DoubleBuffer;
 import java.util.Collection;
+import java.util.List;
 import org.locationtech.jts.geom.Geometry;
 
 /**
@@ -16,6 +18,69 @@ public interface GeometryProcessor {
    */
   long geoCoordToH3(GeoCoord geoCoord);
 
+  /**
+   * Converts a batch of coordinates held in parallel arrays to H3 ids
+   * @param lats array of latitudes
+   * @param lons array of longitudes
+   * @param offset index of the first coordinate to convert
+   * @param length number of coordinates to convert
+   * @param h3Ids array receiving the H3 ids, starting at index 0
+   */
+  default void geoCoordsToH3(double[] lats, double[] lons, int offset, int length, long[] h3Ids) {
+    for (int i = 0; i < length; i++) {
+      h3Ids[i] = geoCoordToH3(new GeoCoord(lats[offset + i], lons[offset + i]));
+    }
+  }
+
+  /**
+   * Converts a batch of coordinates held as interleaved longitude/latitude pairs to H3 ids. The buffer position is not changed
+   * @param lonLats {@link DoubleBuffer} of longitude/latitude pairs
+   * @param offset index of the first coordinate pair to convert
+   * @param length number of coordinate pairs to convert
+   * @param h3Ids array receiving the H3 ids, starting at index 0
+   */
+  default void geoCoordsToH3(DoubleBuffer lonLats, int offset, int length, long[] h3Ids) {
+    for (int i = 0; i < length; i++) {
+      int index = (offset + i) * 2;
+      h3Ids[i] = geoCoordToH3(new GeoCoord(lonLats.get(index + 1), lonLats.get(index)));
+    }
+  }
+
+  /**
+   * Converts a run of coordinates sharing a longitude, with latitudes in order, to the H3 ids they fall in. Consecutive coordinates in the
+   * same cell may be written once
+   * @param lon longitude shared by the run
+   * @param lats array of latitudes, increasing or decreasing
+   * @param offset index of the first latitude to convert
+   * @param length number of latitudes to convert
+   * @param h3Ids array receiving the H3 ids, starting at index 0
+   * @return number of H3 ids written
+   */
+  default int meridianRunToH3(double lon, double[] lats, int offset, int length, long[] h3Ids) {
+    for (int i = 0; i < length; i++) {
+      h3Ids[i] = geoCoordToH3(new GeoCoord(lats[offset + i], lon));
+    }
+    return length;
+  }
+
+  /**
+   * Converts a polygon to the H3 ids covering it: the cells whose centers fall inside the polygon plus the cells containing points sampled
+   * along its edges. Edges are straight lines in latitude/longitude
+   * @param boundary {@link List} of {@link GeoCoord} polygon vertices, without repeating the first vertex
+   * @param edgeSpacing maximum distance in degrees between points sampled along the edges
+   * @return {@link List} of H3 ids, which may contain duplicates
+   */
+  List<Long> polygonToH3(List<GeoCoord> boundary, double edgeSpacing);
+
+  /**
+   * Converts a line segment to the H3 ids of the cells it crosses, from the cell of the start point to the cell of the end point. The
+   * segment is a straight line in latitude/longitude and takes the shorter way around the antimeridian
+   * @param start {@link GeoCoord} of the start point
+   * @param end {@link GeoCoord} of the end point
+   * @return {@link List} of H3 ids in order along the segment
+   */
+  List<Long> segmentToH3(GeoCoord start, GeoCoord end);
+
   /**
    * Transforms H3 ids into {@link Geometry}
    * @param points {@link Collection<Long>} containing H3 ids
@@ -0,0 +1,80 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import com.uber.h3core.util.GeoCoord;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Computes one hull per group from CSV coordinates (longitude/latitude column order) carrying a group key column, such as a survey or
+ * vessel id, in a single pass
+ */
+public class GroupedCSVProcessor {
+
+  private final String delimiters;
+  private final int keyColumn;
+  private final GroupedHull hull;
+  private final HullMetrics metrics;
+
+  /**
+   * Constructor for {@link GroupedCSVProcessor}
+   * @param delimiters regex {@link String} specifying pattern which divides CSV columns
+   * @param keyColumn zero-based index of the column holding the group key
+   * @param hull {@link GroupedHull} for generating hulls from H3 ids
+   */
+  public GroupedCSVProcessor(String delimiters, int keyColumn, GroupedHull hull) {
+    this(delimiters, keyColumn, hull, new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link GroupedCSVProcessor}
+   * @param delimiters regex {@link String} specifying pattern which divides CSV columns
+   * @param keyColumn zero-based index of the column holding the group key
+   * @param hull {@link GroupedHull} for generating hulls from H3 ids
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   */
+  public GroupedCSVProcessor(String delimiters, int keyColumn, GroupedHull hull, HullMetrics metrics) {
+    if (keyColumn < 2) {
+      throw new IllegalArgumentException("Key column must follow the longitude and latitude columns: " + keyColumn);
+    }
+    this.delimiters = delimiters;
+    this.keyColumn = keyColumn;
+    this.hull = hull;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Computes hulls from grouped CSV coordinates
+   * @param file {@link File} containing CSV coordinates and group keys
+   * @return {@link Map} of group key to {@link Geometry} containing the hull of the group, in the order keys were first seen
+   * @throws IOException if input {@link File} cannot be found
+   */
+  public Map<String, Geometry> process(File file) throws IOException {
+    try (
+        InputStream inputStream = new FileInputStream(file);
+        InputStreamReader inputStreamReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        BufferedReader bufferedReader = new BufferedReader(inputStreamReader);
+        StageTimer timer = metrics.time(HullStage.READ)
+        ) {
+      String line;
+      long pointsRead = 0;
+      while ((line = bufferedReader.readLine()) != null) {
+        String[] columns = line.split(delimiters);
+        if (columns.length <= keyColumn) {
+          throw new IllegalStateException("Group key column " + keyColumn + " missing from line: " + line);
+        }
+        hull.addPoint(columns[keyColumn], new GeoCoord(Double.parseDouble(columns[1]), Double.parseDouble(columns[0])));
+        pointsRead++;
+      }
+      metrics.increment(HullCounter.POINTS_READ, pointsRead);
+    }
+    hull.generateHulls();
+    return hull.getHullGeometries();
+  }
+}
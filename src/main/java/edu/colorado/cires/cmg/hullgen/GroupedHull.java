@@ -0,0 +1,137 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import com.uber.h3core.util.GeoCoord;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Generates one hull per group key from a single stream of points. Each group keeps its H3 ids in a primitive array which is sorted and
+ * de-duplicated when it fills. All groups share one memory budget: when growing a group would exceed it, the largest group is generated
+ * and merged into its hull, which frees its ids
+ */
+public class GroupedHull {
+
+  private static final int INITIAL_GROUP_CAPACITY = 64;
+  private static final double GROWTH_THRESHOLD = 0.75;
+
+  private final GeometryProcessor geometryProcessor;
+  private final long memoryBudget;
+  private final HullMetrics metrics;
+  private final Map<String, Group> groups = new LinkedHashMap<>();
+  private long memoryUsed = 0;
+  private String lastKey;
+  private Group lastGroup;
+
+  /**
+   * Constructor for {@link GroupedHull}
+   * @param geometryProcessor {@link GeometryProcessor} for processing JTS geometries from H3 ids
+   * @param memoryBudget maximum number of H3 ids held in memory across all groups, not counting a small initial buffer per group
+   */
+  public GroupedHull(GeometryProcessor geometryProcessor, long memoryBudget) {
+    this(geometryProcessor, memoryBudget, new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link GroupedHull}
+   * @param geometryProcessor {@link GeometryProcessor} for processing JTS geometries from H3 ids
+   * @param memoryBudget maximum number of H3 ids held in memory across all groups, not counting a small initial buffer per group
+   * @param metrics {@link HullMetrics} for recording hull generations
+   */
+  public GroupedHull(GeometryProcessor geometryProcessor, long memoryBudget, HullMetrics metrics) {
+    if (memoryBudget < INITIAL_GROUP_CAPACITY * 2) {
+      throw new IllegalArgumentException("Memory budget must allow at least " + INITIAL_GROUP_CAPACITY * 2 + " H3 ids: " + memoryBudget);
+    }
+    this.geometryProcessor = geometryProcessor;
+    this.memoryBudget = memoryBudget;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Adds point to the point set of a group
+   * @param key group key
+   * @param geoCoord {@link GeoCoord} containing latitude and longitude
+   */
+  public void addPoint(String key, GeoCoord geoCoord) {
+    if (!key.equals(lastKey)) {
+      lastGroup = groups.computeIfAbsent(key, k -> new Group());
+      lastKey = key;
+    }
+    addH3(lastGroup, geometryProcessor.geoCoordToH3(geoCoord));
+  }
+
+  private void addH3(Group group, long h3) {
+    if (group.size == group.cells.length) {
+      group.size = SpillingHull.sortUnique(group.cells, group.size);
+      if (group.size >= group.cells.length * GROWTH_THRESHOLD) {
+        while (memoryUsed + group.cells.length > memoryBudget && group.size > 0) {
+          Group largestGroup = largestGroup();
+          largestGroup.generateHull();
+          release(largestGroup);
+        }
+        if (group.size > 0) {
+          long[] cells = new long[group.cells.length * 2];
+          System.arraycopy(group.cells, 0, cells, 0, group.size);
+          memoryUsed += group.cells.length;
+          group.cells = cells;
+        }
+      }
+    }
+    group.cells[group.size++] = h3;
+  }
+
+  private void release(Group group) {
+    memoryUsed -= group.cells.length - INITIAL_GROUP_CAPACITY;
+    group.cells = new long[INITIAL_GROUP_CAPACITY];
+  }
+
+  private Group largestGroup() {
+    return Collections.max(groups.values(), (a, b) -> Integer.compare(a.cells.length, b.cells.length));
+  }
+
+  /**
+   * Generates and merges the hulls of all groups in parallel, emptying their point sets
+   */
+  public void generateHulls() {
+    groups.values().parallelStream().forEach(Group::generateHull);
+    for (Group group : groups.values()) {
+      release(group);
+    }
+  }
+
+  /**
+   * Gets {@link Geometry} containing the hull of each group
+   * @return {@link Map} of group key to {@link Geometry}, in the order keys were first seen
+   */
+  public Map<String, Geometry> getHullGeometries() {
+    Map<String, Geometry> hulls = new LinkedHashMap<>();
+    for (Map.Entry<String, Group> group : groups.entrySet()) {
+      hulls.put(group.getKey(), group.getValue().hull);
+    }
+    return hulls;
+  }
+
+  private class Group {
+
+    private long[] cells = new long[INITIAL_GROUP_CAPACITY];
+    private int size = 0;
+    private Geometry hull;
+
+    private void generateHull() {
+      metrics.increment(HullCounter.FLUSHES, 1);
+      size = SpillingHull.sortUnique(cells, size);
+      if (size > 0) {
+        List<Long> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          batch.add(cells[i]);
+        }
+        Geometry geometryOutlines = geometryProcessor.getGeometry(batch);
+        hull = geometryProcessor.mergeGeometryOutlines(geometryOutlines, hull);
+      }
+      size = 0;
+    }
+  }
+}
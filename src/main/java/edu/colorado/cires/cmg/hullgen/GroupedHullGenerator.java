@@ -0,0 +1,54 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.function.Function;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Computes one hull per group from an input file and writes the hulls to output files
+ */
+public class GroupedHullGenerator {
+
+  private final GroupedCSVProcessor groupedCSVProcessor;
+  private final OutputFileWriter outputFileWriter;
+
+  /**
+   * Constructor for {@link GroupedHullGenerator}
+   * @param groupedCSVProcessor {@link GroupedCSVProcessor} for generating hulls from input file
+   * @param outputFileWriter {@link OutputFileWriter} for writing hulls to formatted files
+   */
+  public GroupedHullGenerator(GroupedCSVProcessor groupedCSVProcessor, OutputFileWriter outputFileWriter) {
+    this.groupedCSVProcessor = groupedCSVProcessor;
+    this.outputFileWriter = outputFileWriter;
+  }
+
+  /**
+   * Computes hulls from input file and writes each group's hull to its own output file
+   * @param inputFile input {@link File}
+   * @param outputFiles {@link Function} giving the output {@link File} of a group key
+   * @throws IOException if an output {@link File} cannot be created or already exists
+   */
+  public void generate(File inputFile, Function<String, File> outputFiles) throws IOException {
+    for (Map.Entry<String, Geometry> hull : groupedCSVProcessor.process(inputFile).entrySet()) {
+      File outputFile = outputFiles.apply(hull.getKey());
+      Files.createFile(outputFile.toPath());
+      outputFileWriter.write(hull.getValue(), outputFile);
+    }
+  }
+
+  /**
+   * Computes hulls from input file and writes all of them to a single output file, keyed by group
+   * @param inputFile input {@link File}
+   * @param outputFile output {@link File}
+   * @param keyProperty name of the property holding the group key
+   * @throws IOException if output {@link File} cannot be created or already exists
+   */
+  public void generate(File inputFile, File outputFile, String keyProperty) throws IOException {
+    Map<String, Geometry> hulls = groupedCSVProcessor.process(inputFile);
+    Files.createFile(outputFile.toPath());
+    outputFileWriter.write(hulls, keyProperty, outputFile);
+  }
+}
@@ -0,0 +1,83 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import com.uber.h3core.util.GeoCoord;
+import java.util.List;
+
+/**
+ * The H3 operations used to index coordinates and polygonize cells. Implementations must return results identical to the H3 3.7 C library
+ */
+public interface H3Backend {
+
+  /**
+   * Converts latitude and longitude to H3 id
+   * @param lat latitude in degrees
+   * @param lng longitude in degrees
+   * @param res integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @return H3 id
+   * @throws IllegalArgumentException if the resolution is out of range or the coordinate is not finite
+   */
+  long geoToH3(double lat, double lng, int res);
+
+  /**
+   * Finds the center of an H3 cell
+   * @param h3 H3 id
+   * @return {@link GeoCoord} of the cell center in degrees
+   */
+  GeoCoord h3ToGeo(long h3);
+
+  /**
+   * Finds the boundary of an H3 cell
+   * @param h3 H3 id
+   * @return {@link List} of {@link GeoCoord} cell vertices in degrees, without repeating the first vertex
+   */
+  List<GeoCoord> h3ToGeoBoundary(long h3);
+
+  /**
+   * Finds the cells within grid distance k of a cell
+   * @param h3 H3 id of the origin cell
+   * @param k grid distance
+   * @return {@link List} of H3 ids including the origin
+   */
+  List<Long> kRing(long h3, int k);
+
+  /**
+   * Finds the parent of an H3 cell
+   * @param h3 H3 id
+   * @param res resolution of the parent, not greater than the resolution of the cell
+   * @return H3 id of the parent
+   */
+  long h3ToParent(long h3, int res);
+
+  /**
+   * Finds the children of an H3 cell
+   * @param h3 H3 id
+   * @param childRes resolution of the children
+   * @return {@link List} of H3 ids of the children
+   */
+  List<Long> h3ToChildren(long h3, int childRes);
+
+  /**
+   * Finds the cells whose centers fall inside a polygon. Edges are straight lines in latitude/longitude
+   * @param boundary {@link List} of {@link GeoCoord} polygon vertices in degrees, without repeating the first vertex
+   * @param holes {@link List} of hole boundaries in the same form as the polygon boundary
+   * @param res integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @return {@link List} of H3 ids
+   */
+  List<Long> polyfill(List<GeoCoord> boundary, List<List<GeoCoord>> holes, int res);
+
+  /**
+   * Finds the resolution of an H3 cell
+   * @param h3 H3 id
+   * @return resolution from 0 to 15
+   */
+  default int h3GetResolution(long h3) {
+    return (int) ((h3 >>> 52) & 0xF);
+  }
+
+  /**
+   * Checks whether an H3 cell is a pentagon
+   * @param h3 H3 id
+   * @return true if the cell is a pentagon
+   */
+  boolean h3IsPentagon(long h3);
+}
@@ -1,6 +1,7 @@
 package edu.colorado.cires.cmg.hullgen;
 
 import com.uber.h3core.util.GeoCoord;
+import java.nio.DoubleBuffer;
 import org.locationtech.jts.geom.Geometry;
 
 /**
@@ -14,6 +15,44 @@ public interface Hull {
    */
   void addPoint(GeoCoord geoCoord);
 
+  /**
+   * Adds a batch of points held in parallel arrays to point set
+   * @param lats array of latitudes
+   * @param lons array of longitudes
+   * @param offset index of the first point to add
+   * @param length number of points to add
+   */
+  default void addPoints(double[] lats, double[] lons, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      addPoint(new GeoCoord(lats[i], lons[i]));
+    }
+  }
+
+  /**
+   * Adds a batch of points held as interleaved longitude/latitude pairs to point set. The buffer position is not changed
+   * @param lonLats {@link DoubleBuffer} of longitude/latitude pairs
+   * @param offset index of the first coordinate pair to add
+   * @param length number of coordinate pairs to add
+   */
+  default void addPoints(DoubleBuffer lonLats, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      addPoint(new GeoCoord(lonLats.get(i * 2 + 1), lonLats.get(i * 2)));
+    }
+  }
+
+  /**
+   * Adds a run of points sharing a longitude to point set, see {@link GeometryProcessor#meridianRunToH3(double, double[], int, int, long[])}
+   * @param lon longitude shared by the run
+   * @param lats array of latitudes, increasing or decreasing
+   * @param offset index of the first latitude to add
+   * @param length number of points to add
+   */
+  default void addMeridianRun(double lon, double[] lats, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      addPoint(new GeoCoord(lats[i], lon));
+    }
+  }
+
   /**
    * Generates and merges hulls
    */
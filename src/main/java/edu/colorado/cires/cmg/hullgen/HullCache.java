@@ -0,0 +1,142 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+
+/**
+ * On-disk cache of generated hulls keyed by content. A key is the SHA-256 digest of the input file followed by the parameters of the
+ * {@link InputFileProcessor}, so a cached hull is reused only for the same input content and the same processing. Each hull is stored as a
+ * WKB file named by its key. Reading a hull refreshes its modification time, and storing one evicts hulls not used within the maximum
+ * age, then the least recently used hulls until the cache fits its maximum size
+ */
+public class HullCache {
+
+  private static final String EXT = ".wkb";
+
+  private final Path directory;
+  private final long maxBytes;
+  private final long maxAgeMillis;
+  private final GeometryFactory geometryFactory;
+
+  /**
+   * Constructor for {@link HullCache}
+   * @param directory cache directory, created if missing
+   * @param maxBytes maximum total size of cached hulls in bytes
+   * @param maxAgeMillis maximum time in milliseconds since a cached hull was last used
+   * @throws IOException if the cache directory cannot be created
+   */
+  public HullCache(File directory, long maxBytes, long maxAgeMillis) throws IOException {
+    this(directory, maxBytes, maxAgeMillis, new GeometryFactory());
+  }
+
+  /**
+   * Constructor for {@link HullCache}
+   * @param directory cache directory, created if missing
+   * @param maxBytes maximum total size of cached hulls in bytes
+   * @param maxAgeMillis maximum time in milliseconds since a cached hull was last used
+   * @param geometryFactory {@link GeometryFactory} for hulls read from the cache
+   * @throws IOException if the cache directory cannot be created
+   */
+  public HullCache(File directory, long maxBytes, long maxAgeMillis, GeometryFactory geometryFactory) throws IOException {
+    if (maxBytes < 0 || maxAgeMillis < 0) {
+      throw new IllegalArgumentException("Cache size and age limits must not be negative: " + maxBytes + ", " + maxAgeMillis);
+    }
+    this.directory = Files.createDirectories(directory.toPath());
+    this.maxBytes = maxBytes;
+    this.maxAgeMillis = maxAgeMillis;
+    this.geometryFactory = geometryFactory;
+  }
+
+  /**
+   * Computes the cache key of an input file processed with some parameters
+   * @param inputFile input {@link File}
+   * @param parameters description of the processing parameters, see {@link CacheKeyed#getParameters()}
+   * @return hexadecimal cache key
+   * @throws IOException if the input file cannot be read
+   */
+  public String key(File inputFile, String parameters) throws IOException {
+    MessageDigest digest = HullManifest.digest(inputFile);
+    digest.update(parameters.getBytes(StandardCharsets.UTF_8));
+    return HullManifest.toHex(digest.digest());
+  }
+
+  /**
+   * Gets a cached hull
+   * @param key cache key from {@link #key(File, String)}
+   * @return cached {@link Geometry}, or null if the key is not cached
+   * @throws IOException if the cached hull cannot be read
+   */
+  public Geometry get(String key) throws IOException {
+    Path hullFile = directory.resolve(key + EXT);
+    byte[] wkb;
+    try {
+      wkb = Files.readAllBytes(hullFile);
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+    try {
+      Geometry hull = new WKBReader(geometryFactory).read(wkb);
+      Files.setLastModifiedTime(hullFile, FileTime.fromMillis(System.currentTimeMillis()));
+      return hull;
+    } catch (ParseException e) {
+      System.out.println("Unable to parse cached hull, discarding: " + hullFile);
+      Files.deleteIfExists(hullFile);
+      return null;
+    }
+  }
+
+  /**
+   * Stores a hull in the cache, then evicts hulls beyond the age and size limits
+   * @param key cache key from {@link #key(File, String)}
+   * @param hull {@link Geometry} containing hull
+   * @throws IOException if the hull cannot be written
+   */
+  public void put(String key, Geometry hull) throws IOException {
+    Path hullFile = directory.resolve(key + EXT);
+    Path tempFile = directory.resolve(key + EXT + ".tmp");
+    Files.write(tempFile, new WKBWriter().write(hull));
+    Files.move(tempFile, hullFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    evict();
+  }
+
+  private void evict() throws IOException {
+    List<File> hullFiles;
+    try (Stream<Path> paths = Files.list(directory)) {
+      hullFiles = paths
+          .filter(path -> path.getFileName().toString().endsWith(EXT))
+          .map(Path::toFile)
+          .sorted(Comparator.comparingLong(File::lastModified).reversed())
+          .collect(Collectors.toList());
+    }
+    long oldest = System.currentTimeMillis() - maxAgeMillis;
+    long totalBytes = 0;
+    List<File> evicted = new ArrayList<>();
+    for (File hullFile : hullFiles) {
+      if (hullFile.lastModified() < oldest || totalBytes + hullFile.length() > maxBytes) {
+        evicted.add(hullFile);
+      } else {
+        totalBytes += hullFile.length();
+      }
+    }
+    for (File hullFile : evicted) {
+      Files.deleteIfExists(hullFile.toPath());
+    }
+  }
+}
@@ -0,0 +1,182 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+
+/**
+ * Spatial index over the hulls of many files, written by {@link HullCatalogWriter}. The catalog file is memory-mapped, and queries walk
+ * its packed R-tree of hull envelopes. Candidate files are those whose hull envelope intersects the query, and exact matches are found by
+ * testing the candidates' WKB hulls, which are stored in the catalog, so no hull file is read
+ */
+public class HullCatalog {
+
+  private final ByteBuffer buffer;
+  private final int nodeCount;
+  private final int recordsOffset;
+  private final File[] files;
+  private final int[] hullOffsets;
+  private final GeometryFactory geometryFactory;
+
+  /**
+   * Constructor for {@link HullCatalog}
+   * @param catalogFile {@link File} written by {@link HullCatalogWriter}
+   * @throws IOException if the catalog file cannot be read
+   */
+  public HullCatalog(File catalogFile) throws IOException {
+    this(catalogFile, new GeometryFactory());
+  }
+
+  /**
+   * Constructor for {@link HullCatalog}
+   * @param catalogFile {@link File} written by {@link HullCatalogWriter}
+   * @param geometryFactory {@link GeometryFactory} for hulls read from the catalog
+   * @throws IOException if the catalog file cannot be read
+   * @throws IllegalArgumentException if the file is not a hull catalog or is too large to map
+   */
+  public HullCatalog(File catalogFile, GeometryFactory geometryFactory) throws IOException {
+    this.geometryFactory = geometryFactory;
+    MappedByteBuffer mappedBuffer;
+    try (FileChannel channel = FileChannel.open(catalogFile.toPath(), StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Hull catalog is too large to map: " + catalogFile);
+      }
+      mappedBuffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+    }
+    buffer = mappedBuffer;
+    if (buffer.capacity() < HullCatalogWriter.HEADER_BYTES || buffer.getInt(0) != HullCatalogWriter.MAGIC
+        || buffer.getShort(4) != HullCatalogWriter.VERSION) {
+      throw new IllegalArgumentException("Not a hull catalog: " + catalogFile);
+    }
+    int fileCount = buffer.getInt(8);
+    nodeCount = buffer.getInt(12);
+    long offset = buffer.getLong(16);
+    if (offset < HullCatalogWriter.HEADER_BYTES || offset + (long) nodeCount * HullCatalogWriter.NODE_BYTES != buffer.capacity()) {
+      throw new IllegalArgumentException("Corrupt hull catalog: " + catalogFile);
+    }
+    recordsOffset = (int) offset;
+    files = new File[fileCount];
+    hullOffsets = new int[fileCount];
+    int position = HullCatalogWriter.HEADER_BYTES;
+    for (int i = 0; i < fileCount; i++) {
+      int pathLength = buffer.getShort(position) & 0xFFFF;
+      byte[] path = new byte[pathLength];
+      ByteBuffer pathBuffer = buffer.duplicate();
+      ((Buffer) pathBuffer).position(position + 2);
+      pathBuffer.get(path);
+      files[i] = new File(new String(path, StandardCharsets.UTF_8));
+      hullOffsets[i] = position + 2 + pathLength;
+      position = hullOffsets[i] + 4 + buffer.getInt(hullOffsets[i]);
+    }
+  }
+
+  /**
+   * Finds the files whose hull envelope intersects an envelope
+   * @param envelope {@link Envelope} in longitude/latitude
+   * @return {@link List} of candidate {@link File}s, in the order they were added to the catalog
+   */
+  public List<File> candidates(Envelope envelope) {
+    int[] ids = candidateIds(envelope);
+    List<File> candidates = new ArrayList<>(ids.length);
+    for (int id : ids) {
+      candidates.add(files[id]);
+    }
+    return candidates;
+  }
+
+  /**
+   * Finds the files whose hull intersects an envelope
+   * @param envelope {@link Envelope} in longitude/latitude
+   * @return {@link List} of intersecting {@link File}s, in the order they were added to the catalog
+   */
+  public List<File> intersecting(Envelope envelope) {
+    return intersecting(geometryFactory.toGeometry(envelope));
+  }
+
+  /**
+   * Finds the files whose hull intersects a geometry
+   * @param geometry {@link Geometry} in longitude/latitude
+   * @return {@link List} of intersecting {@link File}s, in the order they were added to the catalog
+   */
+  public List<File> intersecting(Geometry geometry) {
+    PreparedGeometry preparedGeometry = PreparedGeometryFactory.prepare(geometry);
+    List<File> intersecting = new ArrayList<>();
+    for (int id : candidateIds(geometry.getEnvelopeInternal())) {
+      if (preparedGeometry.intersects(getHull(id))) {
+        intersecting.add(files[id]);
+      }
+    }
+    return intersecting;
+  }
+
+  private int[] candidateIds(Envelope envelope) {
+    if (nodeCount == 0) {
+      return new int[0];
+    }
+    int[] ids = new int[files.length];
+    int idCount = 0;
+    Deque<Integer> stack = new ArrayDeque<>();
+    stack.push(nodeCount - 1);
+    while (!stack.isEmpty()) {
+      int node = recordsOffset + stack.pop() * HullCatalogWriter.NODE_BYTES;
+      if (buffer.getDouble(node) > envelope.getMaxX() || buffer.getDouble(node + 8) > envelope.getMaxY()
+          || buffer.getDouble(node + 16) < envelope.getMinX() || buffer.getDouble(node + 24) < envelope.getMinY()) {
+        continue;
+      }
+      int first = buffer.getInt(node + 32);
+      int count = buffer.getInt(node + 36);
+      if (count == 0) {
+        ids[idCount++] = first;
+      }
+      for (int child = first; child < first + count; child++) {
+        stack.push(child);
+      }
+    }
+    int[] candidateIds = Arrays.copyOf(ids, idCount);
+    Arrays.sort(candidateIds);
+    return candidateIds;
+  }
+
+  /**
+   * Reads the hull of a file from the catalog
+   * @param id index of the file in the catalog
+   * @return {@link Geometry} containing hull
+   */
+  private Geometry getHull(int id) {
+    byte[] wkb = new byte[buffer.getInt(hullOffsets[id])];
+    ByteBuffer hullBuffer = buffer.duplicate();
+    ((Buffer) hullBuffer).position(hullOffsets[id] + 4);
+    hullBuffer.get(wkb);
+    try {
+      return new WKBReader(geometryFactory).read(wkb);
+    } catch (ParseException e) {
+      throw new IllegalStateException("Hull could not be parsed from catalog: " + files[id]);
+    }
+  }
+
+  /**
+   * Gets the files in the catalog
+   * @return {@link List} of {@link File}s, in the order they were added to the catalog
+   */
+  public List<File> getFiles() {
+    return Arrays.asList(files.clone());
+  }
+}
@@ -0,0 +1,172 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.WKBWriter;
+
+/**
+ * Writes a {@link HullCatalog} file. The path and WKB hull of each added file are streamed to the catalog as they are added, and only
+ * their envelopes are kept in memory. Closing the writer packs the envelopes into an R-tree with the Sort-Tile-Recursive algorithm,
+ * appends its nodes and fills in the header
+ */
+public class HullCatalogWriter implements Closeable {
+
+  static final int MAGIC = 0x48434154;
+  static final short VERSION = 1;
+  static final int HEADER_BYTES = 24;
+  static final int NODE_BYTES = 40;
+  private static final int DEFAULT_NODE_CAPACITY = 16;
+
+  private final File catalogFile;
+  private final int nodeCapacity;
+  private final DataOutputStream outputStream;
+  private final WKBWriter wkbWriter = new WKBWriter();
+  private final List<Envelope> envelopes = new ArrayList<>();
+
+  /**
+   * Constructor for {@link HullCatalogWriter}
+   * @param catalogFile {@link File} to create
+   * @throws IOException if the catalog file cannot be created or already exists
+   */
+  public HullCatalogWriter(File catalogFile) throws IOException {
+    this(catalogFile, DEFAULT_NODE_CAPACITY);
+  }
+
+  /**
+   * Constructor for {@link HullCatalogWriter}
+   * @param catalogFile {@link File} to create
+   * @param nodeCapacity maximum number of children of an R-tree node
+   * @throws IOException if the catalog file cannot be created or already exists
+   */
+  public HullCatalogWriter(File catalogFile, int nodeCapacity) throws IOException {
+    if (nodeCapacity < 2) {
+      throw new IllegalArgumentException("Node capacity must be at least 2: " + nodeCapacity);
+    }
+    this.catalogFile = catalogFile;
+    this.nodeCapacity = nodeCapacity;
+    outputStream = new DataOutputStream(new BufferedOutputStream(
+        Files.newOutputStream(catalogFile.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)));
+    outputStream.write(new byte[HEADER_BYTES]);
+  }
+
+  /**
+   * Adds the hull of a file to the catalog. Empty hulls are not added
+   * @param hullFile {@link File} the hull was read from
+   * @param hull {@link Geometry} containing hull
+   * @throws IOException if the catalog file cannot be written
+   */
+  public void add(File hullFile, Geometry hull) throws IOException {
+    if (hull == null || hull.isEmpty()) {
+      return;
+    }
+    byte[] wkb = wkbWriter.write(hull);
+    byte[] path = hullFile.getAbsolutePath().getBytes(StandardCharsets.UTF_8);
+    if (path.length > 0xFFFF) {
+      throw new IllegalArgumentException("Hull file path is too long: " + hullFile);
+    }
+    outputStream.writeShort(path.length);
+    outputStream.write(path);
+    outputStream.writeInt(wkb.length);
+    outputStream.write(wkb);
+    if (outputStream.size() == Integer.MAX_VALUE) {
+      throw new IllegalStateException("Hull catalog exceeds 2 GB: " + catalogFile);
+    }
+    envelopes.add(hull.getEnvelopeInternal());
+  }
+
+  /**
+   * Appends the packed R-tree and writes the header
+   * @throws IOException if the catalog file cannot be written
+   */
+  @Override
+  public void close() throws IOException {
+    int recordsOffset = outputStream.size();
+    List<Node> nodes = packTree();
+    try {
+      for (Node node : nodes) {
+        outputStream.writeDouble(node.envelope.getMinX());
+        outputStream.writeDouble(node.envelope.getMinY());
+        outputStream.writeDouble(node.envelope.getMaxX());
+        outputStream.writeDouble(node.envelope.getMaxY());
+        outputStream.writeInt(node.first);
+        outputStream.writeInt(node.count);
+      }
+    } finally {
+      outputStream.close();
+    }
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    header.putInt(MAGIC).putShort(VERSION).putShort((short) nodeCapacity).putInt(envelopes.size()).putInt(nodes.size()).putLong(recordsOffset);
+    ((Buffer) header).flip();
+    try (FileChannel channel = FileChannel.open(catalogFile.toPath(), StandardOpenOption.WRITE)) {
+      channel.write(header, 0);
+    }
+  }
+
+  /**
+   * Packs the envelopes level by level. Each level is ordered by sorting into vertical slices by center x and then by center y within a
+   * slice, and every run of up to nodeCapacity nodes gets a parent. Leaves point at their file and have no children, and the root is the
+   * last node
+   */
+  private List<Node> packTree() {
+    List<Node> nodes = new ArrayList<>();
+    List<Node> level = new ArrayList<>();
+    for (int i = 0; i < envelopes.size(); i++) {
+      level.add(new Node(envelopes.get(i), i, 0));
+    }
+    while (!level.isEmpty()) {
+      sortTiles(level);
+      int levelStart = nodes.size();
+      nodes.addAll(level);
+      if (level.size() == 1) {
+        break;
+      }
+      List<Node> parents = new ArrayList<>();
+      for (int start = 0; start < level.size(); start += nodeCapacity) {
+        int end = Math.min(start + nodeCapacity, level.size());
+        Envelope envelope = new Envelope();
+        for (int i = start; i < end; i++) {
+          envelope.expandToInclude(level.get(i).envelope);
+        }
+        parents.add(new Node(envelope, levelStart + start, end - start));
+      }
+      level = parents;
+    }
+    return nodes;
+  }
+
+  private void sortTiles(List<Node> level) {
+    int slices = (int) Math.ceil(Math.sqrt(Math.ceil(level.size() / (double) nodeCapacity)));
+    int sliceSize = slices * nodeCapacity;
+    level.sort(Comparator.comparingDouble(node -> node.envelope.centre().x));
+    for (int start = 0; start < level.size(); start += sliceSize) {
+      level.subList(start, Math.min(start + sliceSize, level.size())).sort(Comparator.comparingDouble(node -> node.envelope.centre().y));
+    }
+  }
+
+  private static class Node {
+
+    private final Envelope envelope;
+    private final int first;
+    private final int count;
+
+    private Node(Envelope envelope, int first, int count) {
+      this.envelope = envelope;
+      this.first = first;
+      this.count = count;
+    }
+  }
+}
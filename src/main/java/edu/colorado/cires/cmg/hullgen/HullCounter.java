@@ -0,0 +1,93 @@
+package edu.colorado.cires.cmg.hullgen;
+
+/**
+ * Counters recorded by {@link HullMetrics}
+ */
+public enum HullCounter {
+
+  /**
+   * Points read from input
+   */
+  POINTS_READ,
+
+  /**
+   * Unique H3 ids converted to geometry
+   */
+  UNIQUE_CELLS,
+
+  /**
+   * Hull generations from the point set
+   */
+  FLUSHES,
+
+  /**
+   * Geometry vertices before simplification
+   */
+  VERTICES_BEFORE_SIMPLIFICATION,
+
+  /**
+   * Geometry vertices after simplification
+   */
+  VERTICES_AFTER_SIMPLIFICATION,
+
+  /**
+   * Sorted runs of H3 ids written to temporary files
+   */
+  SPILLED_RUNS,
+
+  /**
+   * Points whose H3 id was resolved from the previous cell without an H3 lookup
+   */
+  INDEX_CACHE_HITS,
+
+  /**
+   * Points whose H3 id required an H3 lookup while coherent indexing was enabled
+   */
+  INDEX_CACHE_MISSES,
+
+  /**
+   * Polygons converted to H3 ids by filling their interior
+   */
+  POLYGONS_FILLED,
+
+  /**
+   * Points in runs sharing a longitude which were folded into the H3 id of a neighboring point
+   */
+  RUN_POINTS_COLLAPSED,
+
+  /**
+   * Points read from input which fell outside the region of interest and were discarded
+   */
+  POINTS_CLIPPED,
+
+  /**
+   * Line segments between consecutive track points converted to the H3 ids of the cells they cross
+   */
+  SEGMENTS_TRAVERSED,
+
+  /**
+   * H3 ids inside the hull which were polygonized as part of a coarser cell
+   */
+  CELLS_COARSENED,
+
+  /**
+   * H3 ids off the outer boundary of the cell set, which were not polygonized because holes are removed
+   */
+  CELLS_ENCLOSED,
+
+  /**
+   * Checkpoints of an in-progress run written to disk
+   */
+  CHECKPOINTS_WRITTEN,
+
+  /**
+   * Bytes written to checkpoint files
+   */
+  CHECKPOINT_BYTES,
+
+  /**
+   * Preview hulls published before the full resolution hull
+   */
+  PREVIEWS_PUBLISHED
+
+}
@@ -0,0 +1,90 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Periodic JDK Flight Recorder event containing the running totals of a {@link JfrHullMetrics}
+ */
+@Name("edu.colorado.cires.cmg.hullgen.HullCounters")
+@Label("Hull Counters")
+@Category("H3 Hull Generator")
+@Description("Running totals of hull pipeline counters")
+@Period("1 s")
+@StackTrace(false)
+public class HullCountersEvent extends Event {
+
+  @Label("Points Read")
+  long pointsRead;
+
+  @Label("Unique Cells")
+  long uniqueCells;
+
+  @Label("Flushes")
+  long flushes;
+
+  @Label("Vertices Before Simplification")
+  long verticesBeforeSimplification;
+
+  @Label("Vertices After Simplification")
+  long verticesAfterSimplification;
+
+  @Label("Spilled Runs")
+  long spilledRuns;
+
+  @Label("Index Cache Hits")
+  long indexCacheHits;
+
+  @Label("Index Cache Misses")
+  long indexCacheMisses;
+
+  @Label("Polygons Filled")
+  long polygonsFilled;
+
+  @Label("Run Points Collapsed")
+  long runPointsCollapsed;
+
+  @Label("Points Clipped")
+  long pointsClipped;
+
+  @Label("Segments Traversed")
+  long segmentsTraversed;
+
+  @Label("Cells Coarsened")
+  long cellsCoarsened;
+
+  @Label("Cells Enclosed")
+  long cellsEnclosed;
+
+  @Label("Checkpoints Written")
+  long checkpointsWritten;
+
+  @Label("Checkpoint Bytes")
+  long checkpointBytes;
+
+  @Label("Previews Published")
+  long previewsPublished;
+
+  @Label("Index Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long indexTime;
+
+  @Label("Polar Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long polarTime;
+
+  @Label("Checkpoint Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long checkpointTime;
+
+  @Label("Preview Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long previewTime;
+
+}
@@ -2,7 +2,11 @@ package edu.colorado.cires.cmg.hullgen;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
 import org.locationtech.jts.geom.Geometry;
 
 /**
@@ -12,6 +16,7 @@ public class HullGenerator {
 
   private final InputFileProcessor inputFileProcessor;
   private final OutputFileWriter outputFileWriter;
+  private final HullCache hullCache;
 
   /**
    * Constructor for {@link HullGenerator}
@@ -19,20 +24,103 @@ public class HullGenerator {
    * @param outputFileWriter {@link OutputFileWriter} for writing hull to formatted file
    */
   public HullGenerator(InputFileProcessor inputFileProcessor, OutputFileWriter outputFileWriter) {
+    this(inputFileProcessor, outputFileWriter, null);
+  }
+
+  /**
+   * Constructor for {@link HullGenerator}
+   * @param inputFileProcessor {@link InputFileProcessor} for generating hull from input file
+   * @param outputFileWriter {@link OutputFileWriter} for writing hull to formatted file
+   * @param hullCache {@link HullCache} from which hulls of previously processed input are reused, or null to always process the input.
+   *     Requires an {@link InputFileProcessor} which is {@link CacheKeyed}
+   * @throws IllegalArgumentException if a {@link HullCache} is given and the {@link InputFileProcessor} is not {@link CacheKeyed}
+   */
+  public HullGenerator(InputFileProcessor inputFileProcessor, OutputFileWriter outputFileWriter, HullCache hullCache) {
+    if (hullCache != null && !(inputFileProcessor instanceof CacheKeyed)) {
+      throw new IllegalArgumentException("Result caching requires a CacheKeyed input file processor: "
+          + inputFileProcessor.getClass().getSimpleName());
+    }
     this.inputFileProcessor = inputFileProcessor;
     this.outputFileWriter = outputFileWriter;
+    this.hullCache = hullCache;
   }
 
   /**
-   * Computes hull from input file and writes to output file
+   * Computes hull from input file and writes to output file. An existing output file is reported before the input is processed or
+   * looked up in the {@link HullCache}; use {@link #update(File, File)} to replace it
    * @param inputFile input {@link File}
    * @param outputFile output {@link File}
    * @throws IOException if output {@link File} cannot be created or already exists
    */
   public void generate(File inputFile, File outputFile) throws IOException {
-    Geometry hull = inputFileProcessor.process(inputFile);
+    if (outputFile.exists()) {
+      throw new FileAlreadyExistsException(outputFile.toString());
+    }
+    Geometry hull = processCached(inputFile);
     Files.createFile(outputFile.toPath());
     outputFileWriter.write(hull, outputFile);
   }
 
+  private Geometry processCached(File inputFile) throws IOException {
+    if (hullCache == null) {
+      return inputFileProcessor.process(inputFile);
+    }
+    String key = hullCache.key(inputFile, ((CacheKeyed) inputFileProcessor).getParameters());
+    Geometry hull = hullCache.get(key);
+    if (hull == null) {
+      hull = inputFileProcessor.process(inputFile);
+      hullCache.put(key, hull);
+    }
+    return hull;
+  }
+
+  /**
+   * Computes hull from input file and replaces the output file, for repeated runs such as incremental merges by
+   * {@link MultiFileHullMerger}. The hull is written to a temporary file which is then moved over the output file
+   * @param inputFile input {@link File}
+   * @param outputFile output {@link File}
+   * @throws IOException if the output {@link File} cannot be written
+   */
+  public void update(File inputFile, File outputFile) throws IOException {
+    Geometry hull = processCached(inputFile);
+    Path tempFile = outputFile.toPath().resolveSibling(outputFile.getName() + ".tmp");
+    Files.deleteIfExists(tempFile);
+    Files.createFile(tempFile);
+    outputFileWriter.write(hull, tempFile.toFile());
+    Files.move(tempFile, outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Computes hull from input file and writes it to an output file, and the cell set of the hull to a {@link CellIndex} file. The
+   * {@link HullCache} is not used, since the cell set is not cached
+   * @param inputFile input {@link File}
+   * @param hull {@link IndexedHull} used by the {@link InputFileProcessor}
+   * @param outputFile output {@link File}
+   * @param indexFile {@link CellIndex} {@link File}
+   * @throws IOException if the output or index {@link File} cannot be created or already exists
+   */
+  public void generate(File inputFile, IndexedHull hull, File outputFile, File indexFile) throws IOException {
+    Geometry geometry = inputFileProcessor.process(inputFile);
+    Files.createFile(outputFile.toPath());
+    outputFileWriter.write(geometry, outputFile);
+    hull.writeIndex(indexFile);
+  }
+
+  /**
+   * Computes hulls at several H3 resolutions from one pass over the input file and writes each to its own output file. The
+   * {@link HullCache} is not used
+   * @param inputFile input {@link File}
+   * @param hull {@link MultiResolutionHull} used by the {@link InputFileProcessor}
+   * @param outputFiles {@link Map} of H3 resolution to output {@link File}
+   * @throws IOException if an output {@link File} cannot be created or already exists
+   */
+  public void generate(File inputFile, MultiResolutionHull hull, Map<Integer, File> outputFiles) throws IOException {
+    inputFileProcessor.process(inputFile);
+    for (Map.Entry<Integer, File> outputFile : outputFiles.entrySet()) {
+      Geometry geometry = hull.getHullGeometry(outputFile.getKey());
+      Files.createFile(outputFile.getValue().toPath());
+      outputFileWriter.write(geometry, outputFile.getValue());
+    }
+  }
+
 }
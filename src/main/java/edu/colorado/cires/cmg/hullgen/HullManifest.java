@@ -0,0 +1,197 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Record of the files merged into a stored hull, keyed by absolute path. Each entry holds the size, modification time and SHA-256 hash of
+ * the file when it was merged, along with the parameters of the {@link GeometryProcessor} which merged them. The manifest is stored as a
+ * header line of the parameters followed by tab separated lines of size, modification time, hash and path
+ */
+class HullManifest {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String PARAMETERS_PREFIX = "#parameters\t";
+
+  private final Map<String, Entry> entries = new LinkedHashMap<>();
+  private String parameters;
+
+  /**
+   * Reads a manifest
+   * @param manifestFile {@link Path} of the manifest
+   * @return {@link HullManifest} read from the file, or an empty manifest if the file does not exist
+   * @throws IOException if the manifest cannot be read
+   * @throws IllegalStateException if a manifest line is malformed
+   */
+  static HullManifest read(Path manifestFile) throws IOException {
+    HullManifest manifest = new HullManifest();
+    if (!Files.exists(manifestFile)) {
+      return manifest;
+    }
+    try (BufferedReader reader = Files.newBufferedReader(manifestFile, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith(PARAMETERS_PREFIX)) {
+          manifest.parameters = line.substring(PARAMETERS_PREFIX.length());
+          continue;
+        }
+        String[] fields = line.split("\t", 4);
+        if (fields.length != 4) {
+          throw new IllegalStateException("Malformed manifest line in " + manifestFile + ": " + line);
+        }
+        try {
+          manifest.entries.put(fields[3], new Entry(Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2]));
+        } catch (NumberFormatException e) {
+          throw new IllegalStateException("Malformed manifest line in " + manifestFile + ": " + line);
+        }
+      }
+    }
+    return manifest;
+  }
+
+  /**
+   * Writes the manifest, replacing any existing manifest atomically
+   * @param manifestFile {@link Path} of the manifest
+   * @throws IOException if the manifest cannot be written
+   */
+  void write(Path manifestFile) throws IOException {
+    Path tempFile = manifestFile.resolveSibling(manifestFile.getFileName() + ".tmp");
+    try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+      if (parameters != null) {
+        writer.write(PARAMETERS_PREFIX + parameters);
+        writer.newLine();
+      }
+      for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+        Entry value = entry.getValue();
+        writer.write(value.size + "\t" + value.lastModified + "\t" + value.hash + "\t" + entry.getKey());
+        writer.newLine();
+      }
+    }
+    Files.move(tempFile, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Gets the parameters of the {@link GeometryProcessor} which merged the files
+   * @return description of the parameters, or null if the manifest does not record them
+   */
+  String getParameters() {
+    return parameters;
+  }
+
+  /**
+   * Sets the parameters of the {@link GeometryProcessor} which merged the files
+   * @param parameters description of the parameters, see {@link CacheKeyed#getParameters()}
+   */
+  void setParameters(String parameters) {
+    this.parameters = parameters;
+  }
+
+  /**
+   * Gets the entries of the manifest
+   * @return {@link Map} of absolute path to {@link Entry}
+   */
+  Map<String, Entry> getEntries() {
+    return Collections.unmodifiableMap(entries);
+  }
+
+  /**
+   * Adds or replaces the entry of a file
+   * @param path absolute path of the file
+   * @param entry {@link Entry} of the file
+   */
+  void put(String path, Entry entry) {
+    entries.put(path, entry);
+  }
+
+  /**
+   * Reads a file into a SHA-256 digest
+   * @param file {@link File} to read
+   * @return {@link MessageDigest} updated with the file content, to which more input may be added
+   * @throws IOException if the file cannot be read
+   */
+  static MessageDigest digest(File file) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+    try (InputStream inputStream = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      while (inputStream.read(buffer) != -1) {
+        // the digest is updated as the stream is read
+      }
+    }
+    return digest;
+  }
+
+  /**
+   * Formats a digest as lower case hexadecimal
+   * @param digest digest bytes
+   * @return hexadecimal string
+   */
+  static String toHex(byte[] digest) {
+    StringBuilder hex = new StringBuilder();
+    for (byte b : digest) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+
+  /**
+   * Size, modification time and content hash of a merged file
+   */
+  static class Entry {
+
+    private final long size;
+    private final long lastModified;
+    private final String hash;
+
+    Entry(long size, long lastModified, String hash) {
+      this.size = size;
+      this.lastModified = lastModified;
+      this.hash = hash;
+    }
+
+    /**
+     * Reads a file and hashes its content
+     * @param file {@link File} to hash
+     * @return {@link Entry} of the file
+     * @throws IOException if the file cannot be read
+     */
+    static Entry of(File file) throws IOException {
+      return new Entry(file.length(), file.lastModified(), toHex(digest(file).digest()));
+    }
+
+    /**
+     * Checks whether a file still has the size and modification time of the entry, so that it need not be hashed again
+     * @param file {@link File} to check
+     * @return true if size and modification time match
+     */
+    boolean matchesAttributes(File file) {
+      return size == file.length() && lastModified == file.lastModified();
+    }
+
+    /**
+     * Checks whether another entry has the same content hash
+     * @param other {@link Entry} to compare
+     * @return true if the hashes match
+     */
+    boolean matchesContent(Entry other) {
+      return hash.equals(other.hash);
+    }
+  }
+}
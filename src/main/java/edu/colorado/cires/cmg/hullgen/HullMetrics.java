@@ -0,0 +1,35 @@
+package edu.colorado.cires.cmg.hullgen;
+
+/**
+ * Collects counters and stage timings from the hull pipeline
+ */
+public interface HullMetrics {
+
+  /**
+   * Adds to a pipeline counter
+   * @param counter {@link HullCounter} to increment
+   * @param delta amount to add to the counter
+   */
+  void increment(HullCounter counter, long delta);
+
+  /**
+   * Adds elapsed time to a pipeline stage. Used for fine-grained stages which are measured many times per run
+   * @param stage {@link HullStage} which was measured
+   * @param nanos elapsed time in nanoseconds
+   */
+  void addTime(HullStage stage, long nanos);
+
+  /**
+   * Starts timing a pipeline stage. The stage ends when the returned {@link StageTimer} is closed
+   * @param stage {@link HullStage} to time
+   * @return {@link StageTimer} which records the stage when closed
+   */
+  StageTimer time(HullStage stage);
+
+  /**
+   * Specifies whether measurements are recorded. Callers may skip taking timestamps when this is false
+   * @return true if measurements are recorded
+   */
+  boolean isEnabled();
+
+}
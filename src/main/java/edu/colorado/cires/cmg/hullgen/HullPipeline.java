@@ -0,0 +1,214 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Streaming pipeline from a {@link CoordinateSource} to a {@link BaseHull}, with each stage on its own threads. A reader thread fills
+ * batches of coordinates from the source, indexing threads convert each batch to H3 ids with a {@link GeometryProcessor}, and the calling
+ * thread adds the ids to the hull with {@link BaseHull#addH3Ids(long[], int, int)}, then generates the hull and optionally writes it. A
+ * fixed number of batches is recycled between the stages, so a fast source blocks until the hull has consumed earlier batches and memory
+ * use is bounded regardless of input size. Batches may reach the hull out of order, so trackline input is not supported
+ */
+public class HullPipeline {
+
+  /**
+   * Default number of coordinates per batch
+   */
+  public static final int DEFAULT_BATCH_SIZE = 4096;
+
+  /**
+   * Default number of batches in flight between the stages
+   */
+  public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+  private final CoordinateSource source;
+  private final GeometryProcessor geometryProcessor;
+  private final BaseHull hull;
+  private final int indexThreads;
+  private final int queueCapacity;
+  private final int batchSize;
+  private final HullMetrics metrics;
+
+  /**
+   * Constructor for {@link HullPipeline}
+   * @param source {@link CoordinateSource} supplying coordinates, closed when the pipeline finishes
+   * @param geometryProcessor {@link GeometryProcessor} for converting coordinates to H3 ids at the resolution of the hull
+   * @param hull {@link BaseHull} receiving the H3 ids
+   */
+  public HullPipeline(CoordinateSource source, GeometryProcessor geometryProcessor, BaseHull hull) {
+    this(source, geometryProcessor, hull, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE,
+        new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link HullPipeline}
+   * @param source {@link CoordinateSource} supplying coordinates, closed when the pipeline finishes
+   * @param geometryProcessor {@link GeometryProcessor} for converting coordinates to H3 ids at the resolution of the hull
+   * @param hull {@link BaseHull} receiving the H3 ids
+   * @param indexThreads number of threads converting coordinates to H3 ids
+   * @param queueCapacity number of batches in flight between the stages
+   * @param batchSize number of coordinates per batch
+   * @param metrics {@link HullMetrics} for recording points read and read time
+   */
+  public HullPipeline(CoordinateSource source, GeometryProcessor geometryProcessor, BaseHull hull, int indexThreads, int queueCapacity,
+      int batchSize, HullMetrics metrics) {
+    if (indexThreads < 1 || queueCapacity < 1 || batchSize < 1) {
+      throw new IllegalArgumentException("Index threads, queue capacity and batch size must be positive");
+    }
+    this.source = source;
+    this.geometryProcessor = geometryProcessor;
+    this.hull = hull;
+    this.indexThreads = indexThreads;
+    this.queueCapacity = queueCapacity;
+    this.batchSize = batchSize;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Runs the pipeline until the source ends, then generates the hull
+   * @return {@link Geometry} containing hull
+   * @throws IOException if the source cannot be read
+   */
+  public Geometry run() throws IOException {
+    BlockingQueue<Batch> freeBatches = new ArrayBlockingQueue<>(queueCapacity);
+    BlockingQueue<Batch> coordinateBatches = new LinkedBlockingQueue<>();
+    BlockingQueue<Batch> cellBatches = new LinkedBlockingQueue<>();
+    for (int i = 0; i < queueCapacity; i++) {
+      freeBatches.add(new Batch(batchSize));
+    }
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(indexThreads + 1, runnable -> {
+      Thread thread = new Thread(runnable, "hull-pipeline-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      executor.execute(() -> {
+        try {
+          read(freeBatches, coordinateBatches);
+        } catch (Throwable e) {
+          failure.compareAndSet(null, e);
+          cellBatches.add(Batch.FAILED);
+        }
+      });
+      for (int i = 0; i < indexThreads; i++) {
+        executor.execute(() -> {
+          try {
+            index(coordinateBatches, cellBatches);
+          } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+            cellBatches.add(Batch.FAILED);
+          }
+        });
+      }
+      int ended = 0;
+      while (ended < indexThreads) {
+        Batch batch = cellBatches.take();
+        if (batch == Batch.FAILED) {
+          break;
+        } else if (batch == Batch.END) {
+          ended++;
+        } else {
+          hull.addH3Ids(batch.h3Ids, 0, batch.length);
+          freeBatches.add(batch);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Hull pipeline interrupted");
+    } finally {
+      executor.shutdownNow();
+      source.close();
+    }
+    Throwable cause = failure.get();
+    if (cause instanceof IOException) {
+      throw (IOException) cause;
+    } else if (cause instanceof RuntimeException) {
+      throw (RuntimeException) cause;
+    } else if (cause != null) {
+      throw new IllegalStateException("Hull pipeline stage failed", cause);
+    }
+    hull.generateHull();
+    return hull.getHullGeometry();
+  }
+
+  /**
+   * Runs the pipeline until the source ends, then generates the hull and writes it to an output file
+   * @param outputFileWriter {@link OutputFileWriter} for writing hull to formatted file
+   * @param outputFile output {@link File}
+   * @throws IOException if the source cannot be read, or the output {@link File} cannot be created or already exists
+   */
+  public void run(OutputFileWriter outputFileWriter, File outputFile) throws IOException {
+    Geometry hullGeometry = run();
+    Files.createFile(outputFile.toPath());
+    outputFileWriter.write(hullGeometry, outputFile);
+  }
+
+  private void read(BlockingQueue<Batch> freeBatches, BlockingQueue<Batch> coordinateBatches) throws IOException, InterruptedException {
+    long pointsRead = 0;
+    try {
+      while (true) {
+        Batch batch = freeBatches.take();
+        int length;
+        try (StageTimer timer = metrics.time(HullStage.READ)) {
+          length = source.read(batch.lats, batch.lons);
+        }
+        if (length < 0) {
+          break;
+        }
+        pointsRead += length;
+        batch.length = length;
+        coordinateBatches.add(batch);
+      }
+    } finally {
+      metrics.increment(HullCounter.POINTS_READ, pointsRead);
+    }
+    for (int i = 0; i < indexThreads; i++) {
+      coordinateBatches.add(Batch.END);
+    }
+  }
+
+  private void index(BlockingQueue<Batch> coordinateBatches, BlockingQueue<Batch> cellBatches) throws InterruptedException {
+    while (true) {
+      Batch batch = coordinateBatches.take();
+      if (batch == Batch.END) {
+        cellBatches.add(Batch.END);
+        return;
+      }
+      geometryProcessor.geoCoordsToH3(batch.lats, batch.lons, 0, batch.length, batch.h3Ids);
+      cellBatches.add(batch);
+    }
+  }
+
+  /**
+   * Coordinates and H3 ids passed between the stages, recycled once the hull has consumed them
+   */
+  private static class Batch {
+
+    private static final Batch END = new Batch(0);
+    private static final Batch FAILED = new Batch(0);
+
+    private final double[] lats;
+    private final double[] lons;
+    private final long[] h3Ids;
+    private int length;
+
+    private Batch(int size) {
+      lats = new double[size];
+      lons = new double[size];
+      h3Ids = new long[size];
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Receives the hulls published by a {@link ProgressiveHull} while its input is processed
+ */
+public interface HullPreviewListener {
+
+  /**
+   * Receives a hull
+   * @param hull {@link Geometry} containing a coarse preview hull, or the full resolution hull when complete
+   * @param complete boolean specifying whether the hull is the full resolution hull of the input read
+   */
+  void onHull(Geometry hull, boolean complete);
+
+}
@@ -0,0 +1,53 @@
+package edu.colorado.cires.cmg.hullgen;
+
+/**
+ * Pipeline stages timed by {@link HullMetrics}
+ */
+public enum HullStage {
+
+  /**
+   * Reading and parsing input, including indexing of the points read
+   */
+  READ,
+
+  /**
+   * Converting coordinates to H3 ids
+   */
+  INDEX,
+
+  /**
+   * Converting H3 ids to polygons
+   */
+  POLYGONIZE,
+
+  /**
+   * Splitting polar and antimeridian-crossing polygons
+   */
+  POLAR,
+
+  /**
+   * Unioning polygons into hulls
+   */
+  UNION,
+
+  /**
+   * Simplifying hulls
+   */
+  SIMPLIFY,
+
+  /**
+   * Writing hulls to output files
+   */
+  WRITE,
+
+  /**
+   * Writing checkpoints of an in-progress run, which happens during {@link #READ}
+   */
+  CHECKPOINT,
+
+  /**
+   * Polygonizing and publishing previews of an in-progress run, which happens during {@link #READ}
+   */
+  PREVIEW
+
+}
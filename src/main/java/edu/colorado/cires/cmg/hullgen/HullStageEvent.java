@@ -0,0 +1,29 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder event covering one execution of a {@link HullStage}
+ */
+@Name("edu.colorado.cires.cmg.hullgen.HullStage")
+@Label("Hull Stage")
+@Category("H3 Hull Generator")
+@Description("Execution of a hull pipeline stage")
+public class HullStageEvent extends Event {
+
+  @Label("Stage")
+  String stage;
+
+  /**
+   * Gets name of the {@link HullStage} this event covers
+   * @return stage name
+   */
+  public String getStage() {
+    return stage;
+  }
+
+}
@@ -0,0 +1,93 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Implementation of {@link BaseHull} which keeps the H3 ids of every generation so that the final cell set can be written as a
+ * {@link CellIndex} next to the hull. The ids are kept sorted and de-duplicated in a primitive array. Holes removed from the hull geometry
+ * are not filled in the index, so a point in such a hole is inside the hull but not inside the index
+ */
+public class IndexedHull extends BaseHull {
+
+  private final H3Backend h3Backend;
+  private long[] cells = new long[0];
+  private int cellCount = 0;
+
+  /**
+   * Constructor for {@link IndexedHull}
+   * @param geometryProcessor {@link GeometryProcessor} for processing JTS geometries from H3 ids
+   * @throws IOException if the native H3 library cannot be loaded
+   */
+  public IndexedHull(GeometryProcessor geometryProcessor) throws IOException {
+    this(geometryProcessor, new NativeH3Backend(), new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link IndexedHull}
+   * @param geometryProcessor {@link GeometryProcessor} for processing JTS geometries from H3 ids
+   * @param h3Backend {@link H3Backend} for compacting the cell set
+   * @param metrics {@link HullMetrics} for recording hull generations
+   */
+  public IndexedHull(GeometryProcessor geometryProcessor, H3Backend h3Backend, HullMetrics metrics) {
+    super(geometryProcessor, metrics);
+    this.h3Backend = h3Backend;
+  }
+
+  /**
+   * Keeps the H3 ids of the point set, then generates and merges hulls from them. Empties the point set
+   */
+  @Override
+  public void generateHull() {
+    if (cells.length < cellCount + points.size()) {
+      cells = Arrays.copyOf(cells, Math.max(cells.length * 2, cellCount + points.size()));
+    }
+    for (long h3 : points) {
+      cells[cellCount++] = h3;
+    }
+    cellCount = SpillingHull.sortUnique(cells, cellCount);
+    super.generateHull();
+  }
+
+  /**
+   * Writes the H3 ids of all generated hulls as a {@link CellIndex}
+   * @param indexFile {@link File} to create
+   * @return number of compacted cells written
+   * @throws IOException if the index file cannot be created or already exists
+   */
+  public int writeIndex(File indexFile) throws IOException {
+    return CellIndex.write(Arrays.copyOf(cells, cellCount), cellCount, h3Backend, indexFile);
+  }
+
+  /**
+   * Writes the hull, the H3 ids of the point set and the kept H3 ids of earlier generations
+   * @param output {@link DataOutput} to write to
+   * @throws IOException if the state cannot be written
+   */
+  @Override
+  public void writeCheckpoint(DataOutput output) throws IOException {
+    super.writeCheckpoint(output);
+    output.writeInt(cellCount);
+    for (int i = 0; i < cellCount; i++) {
+      output.writeLong(cells[i]);
+    }
+  }
+
+  /**
+   * Replaces the hull, the point set and the kept H3 ids with a checkpoint
+   * @param input {@link DataInput} to read from
+   * @throws IOException if the state cannot be read
+   */
+  @Override
+  public void readCheckpoint(DataInput input) throws IOException {
+    super.readCheckpoint(input);
+    cellCount = input.readInt();
+    cells = new long[cellCount];
+    for (int i = 0; i < cellCount; i++) {
+      cells[i] = input.readLong();
+    }
+  }
+}
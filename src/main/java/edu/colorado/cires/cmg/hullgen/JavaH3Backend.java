@@ -0,0 +1,1492 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import static edu.colorado.cires.cmg.hullgen.JavaH3Tables.ADJACENT_FACE_DIR;
+import static edu.colorado.cires.cmg.hullgen.JavaH3Tables.BASE_CELL_DATA;
+import static edu.colorado.cires.cmg.hullgen.JavaH3Tables.BASE_CELL_NEIGHBORS;
+import static edu.colorado.cires.cmg.hullgen.JavaH3Tables.BASE_CELL_NEIGHBOR_60CCW_ROTS;
+import static edu.colorado.cires.cmg.hullgen.JavaH3Tables.FACE_AXES_AZ_RADS_CII;
+import static edu.colorado.cires.cmg.hullgen.JavaH3Tables.FACE_CENTER_GEO;
+import static edu.colorado.cires.cmg.hullgen.JavaH3Tables.FACE_CENTER_POINT;
+import static edu.colorado.cires.cmg.hullgen.JavaH3Tables.FACE_IJK_BASE_CELLS;
+import static edu.colorado.cires.cmg.hullgen.JavaH3Tables.FACE_IJK_BASE_CELL_ROTATIONS;
+import static edu.colorado.cires.cmg.hullgen.JavaH3Tables.FACE_NEIGHBORS;
+import static edu.colorado.cires.cmg.hullgen.JavaH3Tables.NEW_ADJUSTMENT_II;
+import static edu.colorado.cires.cmg.hullgen.JavaH3Tables.NEW_ADJUSTMENT_III;
+import static edu.colorado.cires.cmg.hullgen.JavaH3Tables.NEW_DIGIT_II;
+import static edu.colorado.cires.cmg.hullgen.JavaH3Tables.NEW_DIGIT_III;
+
+import com.uber.h3core.util.GeoCoord;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implementation of {@link H3Backend} written in Java. This is a port of the H3 3.7 C library algorithms used by this project, using the
+ * same lookup tables and the same order of floating point operations, so no native library has to be extracted and the JIT can inline
+ * the indexing loops. Instances are stateless and thread safe
+ */
+public class JavaH3Backend implements H3Backend {
+
+  private static final int MAX_H3_RES = 15;
+  private static final int NUM_BASE_CELLS = 122;
+  private static final int NUM_HEX_VERTS = 6;
+  private static final int NUM_PENT_VERTS = 5;
+  private static final int MAX_CELL_BNDRY_VERTS = 10;
+  private static final int MAX_FACE_COORD = 2;
+  private static final int INVALID_BASE_CELL = 127;
+  private static final int FIRST_PENTAGON_BASE_CELL = 4;
+  private static final int POLYFILL_BUFFER = 12;
+
+  private static final int H3_HEXAGON_MODE = 1;
+  private static final int H3_MODE_OFFSET = 59;
+  private static final int H3_RES_OFFSET = 52;
+  private static final int H3_BC_OFFSET = 45;
+  private static final int H3_PER_DIGIT_OFFSET = 3;
+  private static final long H3_INIT = 35184372088831L;
+  private static final long H3_MODE_MASK = 15L << H3_MODE_OFFSET;
+  private static final long H3_RES_MASK = 15L << H3_RES_OFFSET;
+  private static final long H3_BC_MASK = 127L << H3_BC_OFFSET;
+  private static final long H3_DIGIT_MASK = 7L;
+
+  private static final int CENTER_DIGIT = 0;
+  private static final int K_AXES_DIGIT = 1;
+  private static final int JK_AXES_DIGIT = 3;
+  private static final int I_AXES_DIGIT = 4;
+  private static final int IK_AXES_DIGIT = 5;
+  private static final int INVALID_DIGIT = 7;
+  private static final int NUM_DIGITS = 7;
+
+  private static final int IJ = 1;
+  private static final int KI = 2;
+  private static final int JK = 3;
+
+  private static final int NO_OVERAGE = 0;
+  private static final int FACE_EDGE = 1;
+  private static final int NEW_FACE = 2;
+
+  private static final double M_PI_2 = 1.5707963267948966;
+  private static final double M_2PI = 2D * Math.PI;
+  private static final double DBL_EPSILON = 0x1p-52;
+  private static final double SPLITTER = 0x1p27 + 1D;
+
+  // The C library declares these constants as long double, so expressions using them are evaluated in x87 extended precision. Each
+  // constant is held as the sum of two doubles which is exactly the 64 bit mantissa value
+  private static final double EPSILON_HI = 0x1.cd2b297d889bcp-54;
+  private static final double EPSILON_LO = 0x1.5bp-109;
+  private static final double M_2PI_HI = 0x1.921fb54442d18p+2;
+  private static final double M_2PI_LO = 0x1.1a8p-52;
+  private static final double M_SQRT3_2_HI = 0x1.bb67ae8584caap-1;
+  private static final double M_SQRT3_2_LO = 0x1.cfp-55;
+  private static final double M_3_SQRT3_2_HI = 0x1.4c8dc2e42398p+1;
+  private static final double M_3_SQRT3_2_LO = -0x1.4ap-54;
+  private static final double M_SQRT7_HI = 0x1.52a7fa9d2f8eap+1;
+  private static final double M_SQRT7_LO = -0x1.22p-53;
+  private static final double M_AP7_ROT_RADS_HI = 0x1.5579fdc3a8f41p-2;
+  private static final double M_AP7_ROT_RADS_LO = 0x1.75p-56;
+  private static final double RES0_U_GNOMONIC_HI = 0x1.8722191a02d5ep-2;
+  private static final double RES0_U_GNOMONIC_LO = 0x1.f5p-57;
+  private static final double ONE_THIRD_HI = 0x1.5555555555555p-2;
+  private static final double ONE_THIRD_LO = 0x1.558p-56;
+  private static final double TWO_THIRDS_HI = 0x1.5555555555555p-1;
+  private static final double TWO_THIRDS_LO = 0x1.558p-55;
+  private static final double EARTH_RADIUS_KM_HI = 0x1.8e301d69bd201p+12;
+  private static final double EARTH_RADIUS_KM_LO = 0x1.7fp-42;
+
+  private static final int NORTH = 0;
+  private static final int SOUTH = 1;
+  private static final int EAST = 2;
+  private static final int WEST = 3;
+
+  private static final int[][] UNIT_VECS = {{0, 0, 0}, {0, 0, 1}, {0, 1, 0}, {0, 1, 1}, {1, 0, 0}, {1, 0, 1}, {1, 1, 0}};
+  private static final int[] DIRECTIONS = {2, 3, 1, 5, 4, 6};
+  private static final int NEXT_RING_DIRECTION = I_AXES_DIGIT;
+  private static final int[] MAX_DIM_BY_CII_RES = {2, -1, 14, -1, 98, -1, 686, -1, 4802, -1, 33614, -1, 235298, -1, 1647086, -1, 11529602};
+  private static final int[] UNIT_SCALE_BY_CII_RES = {1, -1, 7, -1, 49, -1, 343, -1, 2401, -1, 16807, -1, 117649, -1, 823543, -1, 5764801};
+  private static final int[][] VERTS_CII = {{2, 1, 0}, {1, 2, 0}, {0, 2, 1}, {0, 1, 2}, {1, 0, 2}, {2, 0, 1}};
+  private static final int[][] VERTS_CIII = {{5, 4, 0}, {1, 5, 0}, {0, 5, 4}, {0, 1, 5}, {4, 0, 5}, {5, 0, 1}};
+  private static final double[] PENTAGON_RADIUS_KM = pentagonRadiiKm();
+
+  /**
+   * An icosahedron face and ijk coordinate on that face
+   */
+  private static final class FaceIjk {
+
+    private int face;
+    private int i;
+    private int j;
+    private int k;
+
+    private FaceIjk(int face, int i, int j, int k) {
+      this.face = face;
+      this.i = i;
+      this.j = j;
+      this.k = k;
+    }
+
+    private FaceIjk copy() {
+      return new FaceIjk(face, i, j, k);
+    }
+  }
+
+  @Override
+  public long geoToH3(double lat, double lng, int res) {
+    checkResolution(res);
+    long h3 = geoToH3Rads(Math.toRadians(lat), Math.toRadians(lng), res);
+    if (h3 == 0) {
+      throw new IllegalArgumentException("Latitude or longitude were invalid.");
+    }
+    return h3;
+  }
+
+  @Override
+  public GeoCoord h3ToGeo(long h3) {
+    double[] g = h3ToGeoRads(h3);
+    return new GeoCoord(Math.toDegrees(g[0]), Math.toDegrees(g[1]));
+  }
+
+  @Override
+  public List<GeoCoord> h3ToGeoBoundary(long h3) {
+    double[] verts = new double[MAX_CELL_BNDRY_VERTS * 2];
+    int numVerts = h3ToGeoBoundaryRads(h3, verts);
+    List<GeoCoord> boundary = new ArrayList<>(numVerts);
+    for (int v = 0; v < numVerts; v++) {
+      boundary.add(new GeoCoord(Math.toDegrees(verts[v * 2]), Math.toDegrees(verts[v * 2 + 1])));
+    }
+    return boundary;
+  }
+
+  @Override
+  public List<Long> kRing(long h3, int k) {
+    long[] out = kRing(h3, k, new long[3 * k * (k + 1) + 1]);
+    List<Long> ring = new ArrayList<>(out.length);
+    for (long cell : out) {
+      if (cell != 0) {
+        ring.add(cell);
+      }
+    }
+    return ring;
+  }
+
+  @Override
+  public long h3ToParent(long h3, int res) {
+    int childRes = getResolution(h3);
+    if (res < 0 || res > childRes) {
+      throw new IllegalArgumentException(String.format("res (%d) must be between 0 and %d, inclusive", res, childRes));
+    }
+    if (res == childRes) {
+      return h3;
+    }
+    long parent = setResolution(h3, res);
+    for (int r = res + 1; r <= childRes; r++) {
+      parent = setIndexDigit(parent, r, INVALID_DIGIT);
+    }
+    return parent;
+  }
+
+  @Override
+  public List<Long> h3ToChildren(long h3, int childRes) {
+    checkResolution(childRes);
+    List<Long> children = new ArrayList<>();
+    if (childRes >= getResolution(h3)) {
+      addChildren(h3, childRes, children);
+    }
+    return children;
+  }
+
+  @Override
+  public boolean h3IsPentagon(long h3) {
+    return isPentagon(h3);
+  }
+
+  @Override
+  public List<Long> polyfill(List<GeoCoord> boundary, List<List<GeoCoord>> holes, int res) {
+    checkResolution(res);
+    double[][] loops = new double[holes.size() + 1][];
+    loops[0] = toRadians(boundary);
+    for (int i = 0; i < holes.size(); i++) {
+      loops[i + 1] = toRadians(holes.get(i));
+    }
+    long[] out = polyfill(loops, res);
+    List<Long> cells = new ArrayList<>();
+    for (long cell : out) {
+      if (cell != 0) {
+        cells.add(cell);
+      }
+    }
+    return cells;
+  }
+
+  private static double[] toRadians(List<GeoCoord> loop) {
+    double[] verts = new double[loop.size() * 2];
+    for (int v = 0; v < loop.size(); v++) {
+      verts[v * 2] = Math.toRadians(loop.get(v).lat);
+      verts[v * 2 + 1] = Math.toRadians(loop.get(v).lng);
+    }
+    return verts;
+  }
+
+  private static long geoToH3Rads(double lat, double lng, int res) {
+    if (!Double.isFinite(lat) || !Double.isFinite(lng)) {
+      return 0;
+    }
+    return faceIjkToH3(geoToFaceIjk(lat, lng, res), res);
+  }
+
+  private static double[] h3ToGeoRads(long h3) {
+    FaceIjk fijk = h3ToFaceIjk(h3);
+    double[] v = ijkToHex2d(fijk.i, fijk.j, fijk.k);
+    return hex2dToGeo(v[0], v[1], fijk.face, getResolution(h3), false);
+  }
+
+  private static int h3ToGeoBoundaryRads(long h3, double[] verts) {
+    FaceIjk fijk = h3ToFaceIjk(h3);
+    if (isPentagon(h3)) {
+      return faceIjkPentToGeoBoundary(fijk, getResolution(h3), verts);
+    }
+    return faceIjkToGeoBoundary(fijk, getResolution(h3), verts);
+  }
+
+  private static long[] kRing(long h3, int k, long[] out) {
+    if (!hexRange(h3, k, out)) {
+      Arrays.fill(out, 0L);
+      kRingInternal(h3, k, out, new int[out.length], out.length, 0);
+    }
+    return out;
+  }
+
+  private static void checkResolution(int res) {
+    if (res < 0 || res > MAX_H3_RES) {
+      throw new IllegalArgumentException(String.format("resolution %d is out of range (must be 0 <= res <= 15)", res));
+    }
+  }
+
+  private static void addChildren(long h3, int childRes, List<Long> children) {
+    int res = getResolution(h3);
+    if (res == childRes) {
+      children.add(h3);
+      return;
+    }
+    boolean pentagon = isBaseCellPentagon(getBaseCell(h3)) && leadingNonZeroDigit(h3) == CENTER_DIGIT;
+    for (int digit = 0; digit < NUM_DIGITS; digit++) {
+      if (!pentagon || digit != K_AXES_DIGIT) {
+        addChildren(setIndexDigit(setResolution(h3, res + 1), res + 1, digit), childRes, children);
+      }
+    }
+  }
+
+  // H3 index bit manipulation
+
+  private static int getResolution(long h3) {
+    return (int) ((h3 & H3_RES_MASK) >>> H3_RES_OFFSET);
+  }
+
+  private static boolean isResClassIII(int res) {
+    return (res & 1) != 0;
+  }
+
+  private static long setResolution(long h3, int res) {
+    return (h3 & ~H3_RES_MASK) | ((long) res << H3_RES_OFFSET);
+  }
+
+  private static int getBaseCell(long h3) {
+    return (int) ((h3 & H3_BC_MASK) >>> H3_BC_OFFSET);
+  }
+
+  private static long setBaseCell(long h3, int baseCell) {
+    return (h3 & ~H3_BC_MASK) | ((long) baseCell << H3_BC_OFFSET);
+  }
+
+  private static int getIndexDigit(long h3, int res) {
+    return (int) ((h3 >>> ((MAX_H3_RES - res) * H3_PER_DIGIT_OFFSET)) & H3_DIGIT_MASK);
+  }
+
+  private static long setIndexDigit(long h3, int res, int digit) {
+    int shift = (MAX_H3_RES - res) * H3_PER_DIGIT_OFFSET;
+    return (h3 & ~(H3_DIGIT_MASK << shift)) | ((long) digit << shift);
+  }
+
+  private static int leadingNonZeroDigit(long h3) {
+    int res = getResolution(h3);
+    for (int r = 1; r <= res; r++) {
+      int digit = getIndexDigit(h3, r);
+      if (digit != CENTER_DIGIT) {
+        return digit;
+      }
+    }
+    return CENTER_DIGIT;
+  }
+
+  private static int rotate60ccw(int digit) {
+    switch (digit) {
+      case 1:
+        return 5;
+      case 5:
+        return 4;
+      case 4:
+        return 6;
+      case 6:
+        return 2;
+      case 2:
+        return 3;
+      case 3:
+        return 1;
+      default:
+        return digit;
+    }
+  }
+
+  private static int rotate60cw(int digit) {
+    switch (digit) {
+      case 1:
+        return 3;
+      case 3:
+        return 2;
+      case 2:
+        return 6;
+      case 6:
+        return 4;
+      case 4:
+        return 5;
+      case 5:
+        return 1;
+      default:
+        return digit;
+    }
+  }
+
+  private static long h3Rotate60ccw(long h3) {
+    int res = getResolution(h3);
+    for (int r = 1; r <= res; r++) {
+      h3 = setIndexDigit(h3, r, rotate60ccw(getIndexDigit(h3, r)));
+    }
+    return h3;
+  }
+
+  private static long h3Rotate60cw(long h3) {
+    int res = getResolution(h3);
+    for (int r = 1; r <= res; r++) {
+      h3 = setIndexDigit(h3, r, rotate60cw(getIndexDigit(h3, r)));
+    }
+    return h3;
+  }
+
+  private static long h3RotatePent60ccw(long h3) {
+    boolean foundFirstNonZeroDigit = false;
+    int res = getResolution(h3);
+    for (int r = 1; r <= res; r++) {
+      h3 = setIndexDigit(h3, r, rotate60ccw(getIndexDigit(h3, r)));
+      if (!foundFirstNonZeroDigit && getIndexDigit(h3, r) != CENTER_DIGIT) {
+        foundFirstNonZeroDigit = true;
+        if (leadingNonZeroDigit(h3) == K_AXES_DIGIT) {
+          h3 = h3Rotate60ccw(h3);
+        }
+      }
+    }
+    return h3;
+  }
+
+  // base cells
+
+  private static boolean isBaseCellPentagon(int baseCell) {
+    return baseCell >= 0 && baseCell < NUM_BASE_CELLS && BASE_CELL_DATA[baseCell][4] == 1;
+  }
+
+  private static boolean isBaseCellPolarPentagon(int baseCell) {
+    return baseCell == 4 || baseCell == 117;
+  }
+
+  private static boolean baseCellIsCwOffset(int baseCell, int testFace) {
+    return BASE_CELL_DATA[baseCell][5] == testFace || BASE_CELL_DATA[baseCell][6] == testFace;
+  }
+
+  private static int faceIjkIndex(FaceIjk fijk) {
+    return ((fijk.face * 3 + fijk.i) * 3 + fijk.j) * 3 + fijk.k;
+  }
+
+  // ijk coordinate arithmetic
+
+  private static void ijkNormalize(FaceIjk c) {
+    if (c.i < 0) {
+      c.j -= c.i;
+      c.k -= c.i;
+      c.i = 0;
+    }
+    if (c.j < 0) {
+      c.i -= c.j;
+      c.k -= c.j;
+      c.j = 0;
+    }
+    if (c.k < 0) {
+      c.i -= c.k;
+      c.j -= c.k;
+      c.k = 0;
+    }
+    int min = c.i;
+    if (c.j < min) {
+      min = c.j;
+    }
+    if (c.k < min) {
+      min = c.k;
+    }
+    if (min > 0) {
+      c.i -= min;
+      c.j -= min;
+      c.k -= min;
+    }
+  }
+
+  private static long lround(double value) {
+    return value < 0D ? -Math.round(-value) : Math.round(value);
+  }
+
+  private static void upAp7(FaceIjk c) {
+    int i = c.i - c.k;
+    int j = c.j - c.k;
+    c.i = (int) lround((3 * i - j) / 7.0);
+    c.j = (int) lround((i + 2 * j) / 7.0);
+    c.k = 0;
+    ijkNormalize(c);
+  }
+
+  private static void upAp7r(FaceIjk c) {
+    int i = c.i - c.k;
+    int j = c.j - c.k;
+    c.i = (int) lround((2 * i + j) / 7.0);
+    c.j = (int) lround((3 * j - i) / 7.0);
+    c.k = 0;
+    ijkNormalize(c);
+  }
+
+  private static void transform(FaceIjk c, int ii, int ij, int ik, int ji, int jj, int jk, int ki, int kj, int kk) {
+    int i = c.i;
+    int j = c.j;
+    int k = c.k;
+    c.i = ii * i + ji * j + ki * k;
+    c.j = ij * i + jj * j + kj * k;
+    c.k = ik * i + jk * j + kk * k;
+    ijkNormalize(c);
+  }
+
+  private static void downAp7(FaceIjk c) {
+    transform(c, 3, 0, 1, 1, 3, 0, 0, 1, 3);
+  }
+
+  private static void downAp7r(FaceIjk c) {
+    transform(c, 3, 1, 0, 0, 3, 1, 1, 0, 3);
+  }
+
+  private static void downAp3(FaceIjk c) {
+    transform(c, 2, 0, 1, 1, 2, 0, 0, 1, 2);
+  }
+
+  private static void downAp3r(FaceIjk c) {
+    transform(c, 2, 1, 0, 0, 2, 1, 1, 0, 2);
+  }
+
+  private static void ijkRotate60ccw(FaceIjk c) {
+    transform(c, 1, 1, 0, 0, 1, 1, 1, 0, 1);
+  }
+
+  private static void ijkRotate60cw(FaceIjk c) {
+    transform(c, 1, 0, 1, 1, 1, 0, 0, 1, 1);
+  }
+
+  private static void neighbor(FaceIjk c, int digit) {
+    if (digit > CENTER_DIGIT && digit < NUM_DIGITS) {
+      c.i += UNIT_VECS[digit][0];
+      c.j += UNIT_VECS[digit][1];
+      c.k += UNIT_VECS[digit][2];
+      ijkNormalize(c);
+    }
+  }
+
+  private static int unitIjkToDigit(FaceIjk c) {
+    ijkNormalize(c);
+    for (int digit = CENTER_DIGIT; digit < NUM_DIGITS; digit++) {
+      int[] unit = UNIT_VECS[digit];
+      if (c.i == unit[0] && c.j == unit[1] && c.k == unit[2]) {
+        return digit;
+      }
+    }
+    return INVALID_DIGIT;
+  }
+
+  private static double[] ijkToHex2d(int ci, int cj, int ck) {
+    int i = ci - ck;
+    int j = cj - ck;
+    return new double[] {i - 0.5 * j, mulX(j, M_SQRT3_2_HI, M_SQRT3_2_LO)};
+  }
+
+  // x87 extended precision
+
+  /**
+   * Compares a double with a long double held as the exact sum of two doubles
+   */
+  private static boolean lessX(double a, double hi, double lo) {
+    return a < hi || (a == hi && lo > 0.0);
+  }
+
+  /**
+   * Rounds the exact sum of a double and a smaller error term to a 64 bit mantissa and returns the error term of the rounded value
+   */
+  private static double roundX64(double s, double e) {
+    if (e == 0.0) {
+      return 0.0;
+    }
+    double ulp = Math.ulp(s);
+    if ((Math.abs(s) == Math.scalb(1.0, Math.getExponent(s))) && (s > 0.0) != (e > 0.0)) {
+      ulp /= 2.0;
+    }
+    double ulp64 = ulp * 0x1p-11;
+    return Math.rint(e / ulp64) * ulp64;
+  }
+
+  /**
+   * Rounds the exact sum of a double and a smaller error term first to a 64 bit mantissa and then to a double, as an x87 store does
+   */
+  private static double storeX(double s, double e) {
+    return s + roundX64(s, e);
+  }
+
+  /**
+   * Adds a double and a long double in extended precision and stores the result as a double
+   */
+  private static double addX(double a, double hi, double lo) {
+    double s = a + hi;
+    double bb = s - a;
+    double e = (a - (s - bb)) + (hi - bb);
+    double t = e + lo;
+    double sum = s + t;
+    return storeX(sum, t - (sum - s));
+  }
+
+  /**
+   * Multiplies a double by a long double in extended precision and stores the result as a double
+   */
+  private static double mulX(double a, double hi, double lo) {
+    double p = a * hi;
+    double t = productError(a, hi, p) + a * lo;
+    double product = p + t;
+    return storeX(product, t - (product - p));
+  }
+
+  /**
+   * Divides a double by a long double in extended precision and stores the result as a double
+   */
+  private static double divX(double a, double hi, double lo) {
+    double q = a / hi;
+    double remainder = ((a - q * hi) - productError(q, hi, q * hi)) - q * lo;
+    double t = remainder / hi;
+    double quotient = q + t;
+    return storeX(quotient, t - (quotient - q));
+  }
+
+  /**
+   * Finds the rounding error of a product of doubles, a * b - p exactly, by Veltkamp splitting
+   */
+  private static double productError(double a, double b, double p) {
+    double aSplit = SPLITTER * a;
+    double aHi = aSplit - (aSplit - a);
+    double aLo = a - aHi;
+    double bSplit = SPLITTER * b;
+    double bHi = bSplit - (bSplit - b);
+    double bLo = b - bHi;
+    return ((aHi * bHi - p) + aHi * bLo + aLo * bHi) + aLo * bLo;
+  }
+
+  // spherical geometry
+
+  private static double posAngleRads(double rads) {
+    double tmp = rads < 0.0 ? addX(rads, M_2PI_HI, M_2PI_LO) : rads;
+    if (!lessX(rads, M_2PI_HI, M_2PI_LO)) {
+      tmp = addX(tmp, -M_2PI_HI, -M_2PI_LO);
+    }
+    return tmp;
+  }
+
+  private static double constrainLng(double lng) {
+    while (lng > Math.PI) {
+      lng = lng - M_2PI;
+    }
+    while (lng < -Math.PI) {
+      lng = lng + M_2PI;
+    }
+    return lng;
+  }
+
+  private static double geoAzimuthRads(double lat1, double lon1, double lat2, double lon2) {
+    return Math.atan2(Math.cos(lat2) * Math.sin(lon2 - lon1),
+        Math.cos(lat1) * Math.sin(lat2) - Math.sin(lat1) * Math.cos(lat2) * Math.cos(lon2 - lon1));
+  }
+
+  private static double[] geoAzDistanceRads(double lat1, double lon1, double az, double distance) {
+    if (lessX(distance, EPSILON_HI, EPSILON_LO)) {
+      return new double[] {lat1, lon1};
+    }
+    double lat2;
+    double lon2;
+    az = posAngleRads(az);
+    if (lessX(az, EPSILON_HI, EPSILON_LO) || lessX(Math.abs(az - Math.PI), EPSILON_HI, EPSILON_LO)) {
+      lat2 = lessX(az, EPSILON_HI, EPSILON_LO) ? lat1 + distance : lat1 - distance;
+      if (lessX(Math.abs(lat2 - M_PI_2), EPSILON_HI, EPSILON_LO)) {
+        lat2 = M_PI_2;
+        lon2 = 0.0;
+      } else if (lessX(Math.abs(lat2 + M_PI_2), EPSILON_HI, EPSILON_LO)) {
+        lat2 = -M_PI_2;
+        lon2 = 0.0;
+      } else {
+        lon2 = constrainLng(lon1);
+      }
+    } else {
+      double sinlat = Math.sin(lat1) * Math.cos(distance) + Math.cos(lat1) * Math.sin(distance) * Math.cos(az);
+      if (sinlat > 1.0) {
+        sinlat = 1.0;
+      }
+      if (sinlat < -1.0) {
+        sinlat = -1.0;
+      }
+      lat2 = Math.asin(sinlat);
+      if (lessX(Math.abs(lat2 - M_PI_2), EPSILON_HI, EPSILON_LO)) {
+        lat2 = M_PI_2;
+        lon2 = 0.0;
+      } else if (lessX(Math.abs(lat2 + M_PI_2), EPSILON_HI, EPSILON_LO)) {
+        lat2 = -M_PI_2;
+        lon2 = 0.0;
+      } else {
+        double sinlon = Math.sin(az) * Math.sin(distance) / Math.cos(lat2);
+        double coslon = (Math.cos(distance) - Math.sin(lat1) * Math.sin(lat2)) / Math.cos(lat1) / Math.cos(lat2);
+        if (sinlon > 1.0) {
+          sinlon = 1.0;
+        }
+        if (sinlon < -1.0) {
+          sinlon = -1.0;
+        }
+        if (coslon > 1.0) {
+          coslon = 1.0;
+        }
+        if (coslon < -1.0) {
+          coslon = -1.0;
+        }
+        lon2 = constrainLng(lon1 + Math.atan2(sinlon, coslon));
+      }
+    }
+    return new double[] {lat2, lon2};
+  }
+
+  // coordinate to cell
+
+  private static FaceIjk geoToFaceIjk(double lat, double lng, int res) {
+    double r = Math.cos(lat);
+    double z = Math.sin(lat);
+    double x = Math.cos(lng) * r;
+    double y = Math.sin(lng) * r;
+
+    int face = 0;
+    double sqd = squareDistance(FACE_CENTER_POINT[0], x, y, z);
+    for (int f = 1; f < FACE_CENTER_POINT.length; f++) {
+      double sqdT = squareDistance(FACE_CENTER_POINT[f], x, y, z);
+      if (sqdT < sqd) {
+        face = f;
+        sqd = sqdT;
+      }
+    }
+
+    double distance = Math.acos(1 - sqd / 2);
+    if (lessX(distance, EPSILON_HI, EPSILON_LO)) {
+      return hex2dToCoordIjk(face, 0.0, 0.0);
+    }
+    double theta = posAngleRads(FACE_AXES_AZ_RADS_CII[face][0]
+        - posAngleRads(geoAzimuthRads(FACE_CENTER_GEO[face][0], FACE_CENTER_GEO[face][1], lat, lng)));
+    if (isResClassIII(res)) {
+      theta = posAngleRads(addX(theta, -M_AP7_ROT_RADS_HI, -M_AP7_ROT_RADS_LO));
+    }
+    distance = Math.tan(distance);
+    distance = divX(distance, RES0_U_GNOMONIC_HI, RES0_U_GNOMONIC_LO);
+    for (int i = 0; i < res; i++) {
+      distance = mulX(distance, M_SQRT7_HI, M_SQRT7_LO);
+    }
+    return hex2dToCoordIjk(face, distance * Math.cos(theta), distance * Math.sin(theta));
+  }
+
+  private static double squareDistance(double[] v1, double x, double y, double z) {
+    double dx = v1[0] - x;
+    double dy = v1[1] - y;
+    double dz = v1[2] - z;
+    return dx * dx + dy * dy + dz * dz;
+  }
+
+  private static FaceIjk hex2dToCoordIjk(int face, double x, double y) {
+    double a1 = Math.abs(x);
+    double a2 = Math.abs(y);
+    double x2 = divX(a2, M_SQRT3_2_HI, M_SQRT3_2_LO);
+    double x1 = addX(a1, x2 / 2.0, 0.0);
+    int m1 = (int) x1;
+    int m2 = (int) x2;
+    double r1 = x1 - m1;
+    double r2 = x2 - m2;
+
+    int i;
+    int j;
+    if (r1 < 0.5) {
+      if (lessX(r1, ONE_THIRD_HI, ONE_THIRD_LO)) {
+        // 1 + r1 is rounded to 64 bits before halving
+        double sum = 1.0 + r1;
+        double halfSumHi = sum / 2.0;
+        double halfSumLo = roundX64(sum, r1 - (sum - 1.0)) / 2.0;
+        i = m1;
+        j = lessX(r2, halfSumHi, halfSumLo) ? m2 : m2 + 1;
+      } else {
+        // 1 - r1 is exact in 64 bits
+        double diff = 1.0 - r1;
+        double diffLo = (1.0 - diff) - r1;
+        j = lessX(r2, diff, diffLo) ? m2 : m2 + 1;
+        i = !lessX(r2, diff, diffLo) && r2 < (2.0 * r1) ? m1 + 1 : m1;
+      }
+    } else {
+      if (lessX(r1, TWO_THIRDS_HI, TWO_THIRDS_LO)) {
+        j = r2 < (1.0 - r1) ? m2 : m2 + 1;
+        i = (2.0 * r1 - 1.0) < r2 && r2 < (1.0 - r1) ? m1 : m1 + 1;
+      } else {
+        i = m1 + 1;
+        j = r2 < (r1 / 2.0) ? m2 : m2 + 1;
+      }
+    }
+
+    if (x < 0.0) {
+      if ((j % 2) == 0) {
+        long axisi = j / 2;
+        long diff = i - axisi;
+        i = (int) (i - 2.0 * diff);
+      } else {
+        long axisi = (j + 1) / 2;
+        long diff = i - axisi;
+        i = (int) (i - (2.0 * diff + 1));
+      }
+    }
+    if (y < 0.0) {
+      i = i - (2 * j + 1) / 2;
+      j = -1 * j;
+    }
+
+    FaceIjk fijk = new FaceIjk(face, i, j, 0);
+    ijkNormalize(fijk);
+    return fijk;
+  }
+
+  private static long faceIjkToH3(FaceIjk fijk, int res) {
+    long h3 = H3_INIT;
+    h3 = (h3 & ~H3_MODE_MASK) | ((long) H3_HEXAGON_MODE << H3_MODE_OFFSET);
+    h3 = setResolution(h3, res);
+
+    if (res == 0) {
+      if (fijk.i > MAX_FACE_COORD || fijk.j > MAX_FACE_COORD || fijk.k > MAX_FACE_COORD) {
+        return 0;
+      }
+      return setBaseCell(h3, FACE_IJK_BASE_CELLS[faceIjkIndex(fijk)]);
+    }
+
+    FaceIjk fijkBC = fijk.copy();
+    for (int r = res - 1; r >= 0; r--) {
+      FaceIjk lastIjk = fijkBC.copy();
+      FaceIjk lastCenter;
+      if (isResClassIII(r + 1)) {
+        upAp7(fijkBC);
+        lastCenter = fijkBC.copy();
+        downAp7(lastCenter);
+      } else {
+        upAp7r(fijkBC);
+        lastCenter = fijkBC.copy();
+        downAp7r(lastCenter);
+      }
+      FaceIjk diff = new FaceIjk(fijk.face, lastIjk.i - lastCenter.i, lastIjk.j - lastCenter.j, lastIjk.k - lastCenter.k);
+      h3 = setIndexDigit(h3, r + 1, unitIjkToDigit(diff));
+    }
+
+    if (fijkBC.i > MAX_FACE_COORD || fijkBC.j > MAX_FACE_COORD || fijkBC.k > MAX_FACE_COORD) {
+      return 0;
+    }
+
+    int index = faceIjkIndex(fijkBC);
+    int baseCell = FACE_IJK_BASE_CELLS[index];
+    h3 = setBaseCell(h3, baseCell);
+    int numRots = FACE_IJK_BASE_CELL_ROTATIONS[index];
+
+    if (isBaseCellPentagon(baseCell)) {
+      if (leadingNonZeroDigit(h3) == K_AXES_DIGIT) {
+        if (baseCellIsCwOffset(baseCell, fijkBC.face)) {
+          h3 = h3Rotate60cw(h3);
+        } else {
+          h3 = h3Rotate60ccw(h3);
+        }
+      }
+      for (int i = 0; i < numRots; i++) {
+        h3 = h3RotatePent60ccw(h3);
+      }
+    } else {
+      for (int i = 0; i < numRots; i++) {
+        h3 = h3Rotate60ccw(h3);
+      }
+    }
+    return h3;
+  }
+
+  // cell to face coordinates
+
+  private static FaceIjk h3ToFaceIjk(long h3) {
+    int baseCell = getBaseCell(h3);
+    if (baseCell >= NUM_BASE_CELLS) {
+      throw new IllegalArgumentException("Invalid H3 id: " + Long.toHexString(h3));
+    }
+    if (isBaseCellPentagon(baseCell) && leadingNonZeroDigit(h3) == IK_AXES_DIGIT) {
+      h3 = h3Rotate60cw(h3);
+    }
+
+    int[] home = BASE_CELL_DATA[baseCell];
+    FaceIjk fijk = new FaceIjk(home[0], home[1], home[2], home[3]);
+    int res = getResolution(h3);
+    boolean possibleOverage = isBaseCellPentagon(baseCell) || (res != 0 && (fijk.i != 0 || fijk.j != 0 || fijk.k != 0));
+    for (int r = 1; r <= res; r++) {
+      if (isResClassIII(r)) {
+        downAp7(fijk);
+      } else {
+        downAp7r(fijk);
+      }
+      neighbor(fijk, getIndexDigit(h3, r));
+    }
+    if (!possibleOverage) {
+      return fijk;
+    }
+
+    FaceIjk origIjk = fijk.copy();
+    int adjRes = res;
+    if (isResClassIII(adjRes)) {
+      downAp7r(fijk);
+      adjRes++;
+    }
+    boolean pentLeading4 = isBaseCellPentagon(baseCell) && leadingNonZeroDigit(h3) == I_AXES_DIGIT;
+    if (adjustOverageClassII(fijk, adjRes, pentLeading4, false) != NO_OVERAGE) {
+      if (isBaseCellPentagon(baseCell)) {
+        while (adjustOverageClassII(fijk, adjRes, false, false) != NO_OVERAGE) {
+          // keep adjusting until the coordinate is on its face
+        }
+      }
+      if (adjRes != res) {
+        upAp7r(fijk);
+      }
+    } else if (adjRes != res) {
+      return origIjk;
+    }
+    return fijk;
+  }
+
+  private static int adjustOverageClassII(FaceIjk fijk, int res, boolean pentLeading4, boolean substrate) {
+    int overage = NO_OVERAGE;
+    int maxDim = MAX_DIM_BY_CII_RES[res];
+    if (substrate) {
+      maxDim *= 3;
+    }
+    int sum = fijk.i + fijk.j + fijk.k;
+    if (substrate && sum == maxDim) {
+      overage = FACE_EDGE;
+    } else if (sum > maxDim) {
+      overage = NEW_FACE;
+      int[] orient;
+      if (fijk.k > 0) {
+        if (fijk.j > 0) {
+          orient = FACE_NEIGHBORS[fijk.face * 4 + JK];
+        } else {
+          orient = FACE_NEIGHBORS[fijk.face * 4 + KI];
+          if (pentLeading4) {
+            FaceIjk tmp = new FaceIjk(fijk.face, fijk.i - maxDim, fijk.j, fijk.k);
+            ijkRotate60cw(tmp);
+            fijk.i = tmp.i + maxDim;
+            fijk.j = tmp.j;
+            fijk.k = tmp.k;
+          }
+        }
+      } else {
+        orient = FACE_NEIGHBORS[fijk.face * 4 + IJ];
+      }
+
+      fijk.face = orient[0];
+      for (int i = 0; i < orient[4]; i++) {
+        ijkRotate60ccw(fijk);
+      }
+      int unitScale = UNIT_SCALE_BY_CII_RES[res];
+      if (substrate) {
+        unitScale *= 3;
+      }
+      fijk.i += orient[1] * unitScale;
+      fijk.j += orient[2] * unitScale;
+      fijk.k += orient[3] * unitScale;
+      ijkNormalize(fijk);
+
+      if (substrate && fijk.i + fijk.j + fijk.k == maxDim) {
+        overage = FACE_EDGE;
+      }
+    }
+    return overage;
+  }
+
+  // face coordinates to geographic coordinates
+
+  private static double[] hex2dToGeo(double x, double y, int face, int res, boolean substrate) {
+    double r = Math.sqrt(x * x + y * y);
+    if (lessX(r, EPSILON_HI, EPSILON_LO)) {
+      return new double[] {FACE_CENTER_GEO[face][0], FACE_CENTER_GEO[face][1]};
+    }
+    double theta = Math.atan2(y, x);
+    for (int i = 0; i < res; i++) {
+      r = divX(r, M_SQRT7_HI, M_SQRT7_LO);
+    }
+    if (substrate) {
+      r /= 3.0;
+      if (isResClassIII(res)) {
+        r = divX(r, M_SQRT7_HI, M_SQRT7_LO);
+      }
+    }
+    r = mulX(r, RES0_U_GNOMONIC_HI, RES0_U_GNOMONIC_LO);
+    r = Math.atan(r);
+    if (!substrate && isResClassIII(res)) {
+      theta = posAngleRads(addX(theta, M_AP7_ROT_RADS_HI, M_AP7_ROT_RADS_LO));
+    }
+    theta = posAngleRads(FACE_AXES_AZ_RADS_CII[face][0] - theta);
+    return geoAzDistanceRads(FACE_CENTER_GEO[face][0], FACE_CENTER_GEO[face][1], theta, r);
+  }
+
+  private static int addVertex(double[] v, int face, int res, double[] verts, int numVerts) {
+    double[] g = hex2dToGeo(v[0], v[1], face, res, true);
+    verts[numVerts * 2] = g[0];
+    verts[numVerts * 2 + 1] = g[1];
+    return numVerts + 1;
+  }
+
+  private static FaceIjk[] faceIjkToVerts(FaceIjk center, int res, int numVerts) {
+    int[][] verts = isResClassIII(res) ? VERTS_CIII : VERTS_CII;
+    downAp3(center);
+    downAp3r(center);
+    if (isResClassIII(res)) {
+      downAp7r(center);
+    }
+    FaceIjk[] fijkVerts = new FaceIjk[numVerts];
+    for (int v = 0; v < numVerts; v++) {
+      fijkVerts[v] = new FaceIjk(center.face, center.i + verts[v][0], center.j + verts[v][1], center.k + verts[v][2]);
+      ijkNormalize(fijkVerts[v]);
+    }
+    return fijkVerts;
+  }
+
+  private static double[] icosaEdgeIntersection(double[] orig2d0, double[] orig2d1, int maxDim, int direction) {
+    double[] v0 = {3.0 * maxDim, 0.0};
+    double[] v1 = {-1.5 * maxDim, mulX(maxDim, M_3_SQRT3_2_HI, M_3_SQRT3_2_LO)};
+    double[] v2 = {-1.5 * maxDim, mulX(maxDim, -M_3_SQRT3_2_HI, -M_3_SQRT3_2_LO)};
+    switch (direction) {
+      case IJ:
+        return v2dIntersect(orig2d0, orig2d1, v0, v1);
+      case JK:
+        return v2dIntersect(orig2d0, orig2d1, v1, v2);
+      case KI:
+      default:
+        return v2dIntersect(orig2d0, orig2d1, v2, v0);
+    }
+  }
+
+  private static double[] v2dIntersect(double[] p0, double[] p1, double[] p2, double[] p3) {
+    double s1x = p1[0] - p0[0];
+    double s1y = p1[1] - p0[1];
+    double s2x = p3[0] - p2[0];
+    double s2y = p3[1] - p2[1];
+    float t = (float) ((s2x * (p0[1] - p2[1]) - s2y * (p0[0] - p2[0])) / (-s2x * s1y + s1x * s2y));
+    return new double[] {p0[0] + (t * s1x), p0[1] + (t * s1y)};
+  }
+
+  private static boolean v2dEquals(double[] v1, double[] v2) {
+    return v1[0] == v2[0] && v1[1] == v2[1];
+  }
+
+  private static int faceIjkToGeoBoundary(FaceIjk h, int res, double[] verts) {
+    FaceIjk center = h.copy();
+    int adjRes = isResClassIII(res) ? res + 1 : res;
+    FaceIjk[] fijkVerts = faceIjkToVerts(center, res, NUM_HEX_VERTS);
+
+    int numVerts = 0;
+    int lastFace = -1;
+    int lastOverage = NO_OVERAGE;
+    for (int vert = 0; vert < NUM_HEX_VERTS + 1; vert++) {
+      int v = vert % NUM_HEX_VERTS;
+      FaceIjk fijk = fijkVerts[v].copy();
+      int overage = adjustOverageClassII(fijk, adjRes, false, true);
+
+      if (isResClassIII(res) && vert > 0 && fijk.face != lastFace && lastOverage != FACE_EDGE) {
+        int lastV = (v + 5) % NUM_HEX_VERTS;
+        double[] orig2d0 = ijkToHex2d(fijkVerts[lastV].i, fijkVerts[lastV].j, fijkVerts[lastV].k);
+        double[] orig2d1 = ijkToHex2d(fijkVerts[v].i, fijkVerts[v].j, fijkVerts[v].k);
+        int face2 = lastFace == center.face ? fijk.face : lastFace;
+        double[] inter = icosaEdgeIntersection(orig2d0, orig2d1, MAX_DIM_BY_CII_RES[adjRes], ADJACENT_FACE_DIR[center.face][face2]);
+        if (!v2dEquals(orig2d0, inter) && !v2dEquals(orig2d1, inter)) {
+          numVerts = addVertex(inter, center.face, adjRes, verts, numVerts);
+        }
+      }
+
+      if (vert < NUM_HEX_VERTS) {
+        numVerts = addVertex(ijkToHex2d(fijk.i, fijk.j, fijk.k), fijk.face, adjRes, verts, numVerts);
+      }
+      lastFace = fijk.face;
+      lastOverage = overage;
+    }
+    return numVerts;
+  }
+
+  private static int faceIjkPentToGeoBoundary(FaceIjk h, int res, double[] verts) {
+    FaceIjk center = h.copy();
+    int adjRes = isResClassIII(res) ? res + 1 : res;
+    FaceIjk[] fijkVerts = faceIjkToVerts(center, res, NUM_PENT_VERTS);
+
+    int numVerts = 0;
+    FaceIjk lastFijk = null;
+    for (int vert = 0; vert < NUM_PENT_VERTS + 1; vert++) {
+      int v = vert % NUM_PENT_VERTS;
+      FaceIjk fijk = fijkVerts[v].copy();
+      while (adjustOverageClassII(fijk, adjRes, false, true) == NEW_FACE) {
+        // keep adjusting until the vertex is on its face or face edge
+      }
+
+      if (isResClassIII(res) && lastFijk != null) {
+        FaceIjk tmpFijk = fijk.copy();
+        double[] orig2d0 = ijkToHex2d(lastFijk.i, lastFijk.j, lastFijk.k);
+        int currentToLastDir = ADJACENT_FACE_DIR[tmpFijk.face][lastFijk.face];
+        int[] orient = FACE_NEIGHBORS[tmpFijk.face * 4 + currentToLastDir];
+        tmpFijk.face = orient[0];
+        for (int i = 0; i < orient[4]; i++) {
+          ijkRotate60ccw(tmpFijk);
+        }
+        int unitScale = UNIT_SCALE_BY_CII_RES[adjRes] * 3;
+        tmpFijk.i += orient[1] * unitScale;
+        tmpFijk.j += orient[2] * unitScale;
+        tmpFijk.k += orient[3] * unitScale;
+        ijkNormalize(tmpFijk);
+        double[] orig2d1 = ijkToHex2d(tmpFijk.i, tmpFijk.j, tmpFijk.k);
+        double[] inter = icosaEdgeIntersection(orig2d0, orig2d1, MAX_DIM_BY_CII_RES[adjRes], ADJACENT_FACE_DIR[tmpFijk.face][fijk.face]);
+        numVerts = addVertex(inter, tmpFijk.face, adjRes, verts, numVerts);
+      }
+
+      if (vert < NUM_PENT_VERTS) {
+        numVerts = addVertex(ijkToHex2d(fijk.i, fijk.j, fijk.k), fijk.face, adjRes, verts, numVerts);
+      }
+      lastFijk = fijk;
+    }
+    return numVerts;
+  }
+
+  // grid traversal
+
+  private static boolean hexRange(long origin, int k, long[] out) {
+    int idx = 0;
+    out[idx++] = origin;
+    if (isPentagon(origin)) {
+      return false;
+    }
+    int ring = 1;
+    int direction = 0;
+    int i = 0;
+    int[] rotations = {0};
+    while (ring <= k) {
+      if (direction == 0 && i == 0) {
+        origin = h3NeighborRotations(origin, NEXT_RING_DIRECTION, rotations);
+        if (origin == 0 || isPentagon(origin)) {
+          return false;
+        }
+      }
+      origin = h3NeighborRotations(origin, DIRECTIONS[direction], rotations);
+      if (origin == 0) {
+        return false;
+      }
+      out[idx++] = origin;
+      i++;
+      if (i == ring) {
+        i = 0;
+        direction++;
+        if (direction == 6) {
+          direction = 0;
+          ring++;
+        }
+      }
+      if (isPentagon(origin)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isPentagon(long h3) {
+    return isBaseCellPentagon(getBaseCell(h3)) && leadingNonZeroDigit(h3) == CENTER_DIGIT;
+  }
+
+  private static void kRingInternal(long origin, int k, long[] out, int[] distances, int maxIdx, int curK) {
+    if (origin == 0) {
+      return;
+    }
+    int off = (int) Long.remainderUnsigned(origin, maxIdx);
+    while (out[off] != 0 && out[off] != origin) {
+      off = (off + 1) % maxIdx;
+    }
+    if (out[off] == origin && distances[off] <= curK) {
+      return;
+    }
+    out[off] = origin;
+    distances[off] = curK;
+    if (curK >= k) {
+      return;
+    }
+    for (int direction : DIRECTIONS) {
+      kRingInternal(h3NeighborRotations(origin, direction, new int[] {0}), k, out, distances, maxIdx, curK + 1);
+    }
+  }
+
+  private static long h3NeighborRotations(long origin, int dir, int[] rotations) {
+    long out = origin;
+    for (int i = 0; i < rotations[0]; i++) {
+      dir = rotate60ccw(dir);
+    }
+
+    int newRotations = 0;
+    int oldBaseCell = getBaseCell(out);
+    int oldLeadingDigit = leadingNonZeroDigit(out);
+
+    int r = getResolution(out) - 1;
+    while (true) {
+      if (r == -1) {
+        out = setBaseCell(out, BASE_CELL_NEIGHBORS[oldBaseCell][dir]);
+        newRotations = BASE_CELL_NEIGHBOR_60CCW_ROTS[oldBaseCell][dir];
+        if (getBaseCell(out) == INVALID_BASE_CELL) {
+          out = setBaseCell(out, BASE_CELL_NEIGHBORS[oldBaseCell][IK_AXES_DIGIT]);
+          newRotations = BASE_CELL_NEIGHBOR_60CCW_ROTS[oldBaseCell][IK_AXES_DIGIT];
+          out = h3Rotate60ccw(out);
+          rotations[0] = rotations[0] + 1;
+        }
+        break;
+      } else {
+        int oldDigit = getIndexDigit(out, r + 1);
+        int nextDir;
+        if (isResClassIII(r + 1)) {
+          out = setIndexDigit(out, r + 1, NEW_DIGIT_II[oldDigit][dir]);
+          nextDir = NEW_ADJUSTMENT_II[oldDigit][dir];
+        } else {
+          out = setIndexDigit(out, r + 1, NEW_DIGIT_III[oldDigit][dir]);
+          nextDir = NEW_ADJUSTMENT_III[oldDigit][dir];
+        }
+        if (nextDir != CENTER_DIGIT) {
+          dir = nextDir;
+          r--;
+        } else {
+          break;
+        }
+      }
+    }
+
+    int newBaseCell = getBaseCell(out);
+    if (isBaseCellPentagon(newBaseCell)) {
+      boolean alreadyAdjustedKSubsequence = false;
+      if (leadingNonZeroDigit(out) == K_AXES_DIGIT) {
+        if (oldBaseCell != newBaseCell) {
+          if (baseCellIsCwOffset(newBaseCell, BASE_CELL_DATA[oldBaseCell][0])) {
+            out = h3Rotate60cw(out);
+          } else {
+            out = h3Rotate60ccw(out);
+          }
+          alreadyAdjustedKSubsequence = true;
+        } else {
+          if (oldLeadingDigit == JK_AXES_DIGIT) {
+            out = h3Rotate60ccw(out);
+            rotations[0] = rotations[0] + 1;
+          } else if (oldLeadingDigit == IK_AXES_DIGIT) {
+            out = h3Rotate60cw(out);
+            rotations[0] = rotations[0] + 5;
+          } else {
+            return 0;
+          }
+        }
+      }
+      for (int i = 0; i < newRotations; i++) {
+        out = h3RotatePent60ccw(out);
+      }
+      if (oldBaseCell != newBaseCell) {
+        if (isBaseCellPolarPentagon(newBaseCell)) {
+          if (oldBaseCell != 118 && oldBaseCell != 8 && leadingNonZeroDigit(out) != JK_AXES_DIGIT) {
+            rotations[0] = rotations[0] + 1;
+          }
+        } else if (leadingNonZeroDigit(out) == IK_AXES_DIGIT && !alreadyAdjustedKSubsequence) {
+          rotations[0] = rotations[0] + 1;
+        }
+      }
+    } else {
+      for (int i = 0; i < newRotations; i++) {
+        out = h3Rotate60ccw(out);
+      }
+    }
+    rotations[0] = (rotations[0] + newRotations) % 6;
+    return out;
+  }
+
+  // polygon fill
+
+  /**
+   * Fills a polygon given as loops of latitude/longitude radian pairs, the first loop being the outer boundary. The output is the
+   * open addressing hash table of the C library, so the order of the non-zero entries matches the native results
+   */
+  private static long[] polyfill(double[][] loops, int res) {
+    double[][] bboxes = new double[loops.length][];
+    for (int i = 0; i < loops.length; i++) {
+      bboxes[i] = bboxFromLoop(loops[i]);
+    }
+    int numHexagons = maxPolyfillSize(loops, bboxes[0], res);
+    long[] out = new long[numHexagons];
+    long[] search = new long[numHexagons];
+    long[] found = new long[numHexagons];
+
+    int numSearchHexes = 0;
+    for (double[] loop : loops) {
+      numSearchHexes = getEdgeHexagons(loop, numHexagons, res, numSearchHexes, search, found);
+      if (numSearchHexes < 0) {
+        return new long[0];
+      }
+    }
+    Arrays.fill(found, 0L);
+
+    int numFoundHexes = 0;
+    long[] ring = new long[7];
+    while (numSearchHexes > 0) {
+      for (int i = 0; i < numSearchHexes; i++) {
+        Arrays.fill(ring, 0L);
+        kRing(search[i], 1, ring);
+        for (long hex : ring) {
+          if (hex == 0) {
+            continue;
+          }
+          int loc = (int) Long.remainderUnsigned(hex, numHexagons);
+          int loopCount = 0;
+          while (out[loc] != 0) {
+            if (loopCount > numHexagons) {
+              return new long[0];
+            }
+            if (out[loc] == hex) {
+              break;
+            }
+            loc = (loc + 1) % numHexagons;
+            loopCount++;
+          }
+          if (out[loc] == hex || !pointInsidePolygon(loops, bboxes, h3ToGeoRads(hex))) {
+            continue;
+          }
+          out[loc] = hex;
+          found[numFoundHexes++] = hex;
+        }
+      }
+      long[] swap = search;
+      search = found;
+      found = swap;
+      Arrays.fill(found, 0, numSearchHexes, 0L);
+      numSearchHexes = numFoundHexes;
+      numFoundHexes = 0;
+    }
+    return out;
+  }
+
+  /**
+   * Adds the cells along the edges of a loop to the search list, using the found table to skip duplicates
+   * @return the new number of search cells, or -1 if the tables are too small
+   */
+  private static int getEdgeHexagons(double[] loop, int numHexagons, int res, int numSearchHexes, long[] search, long[] found) {
+    int numVerts = loop.length / 2;
+    for (int i = 0; i < numVerts; i++) {
+      int next = (i + 1) % numVerts;
+      double originLat = loop[i * 2];
+      double originLng = loop[i * 2 + 1];
+      double destinationLat = loop[next * 2];
+      double destinationLng = loop[next * 2 + 1];
+      int numHexesEstimate = lineHexEstimate(originLat, originLng, destinationLat, destinationLng, res);
+      for (int j = 0; j < numHexesEstimate; j++) {
+        double lat = (originLat * (numHexesEstimate - j) / numHexesEstimate) + (destinationLat * j / numHexesEstimate);
+        double lng = (originLng * (numHexesEstimate - j) / numHexesEstimate) + (destinationLng * j / numHexesEstimate);
+        long pointHex = geoToH3Rads(lat, lng, res);
+        int loc = (int) Long.remainderUnsigned(pointHex, numHexagons);
+        int loopCount = 0;
+        while (found[loc] != 0) {
+          if (loopCount > numHexagons) {
+            return -1;
+          }
+          if (found[loc] == pointHex) {
+            break;
+          }
+          loc = (loc + 1) % numHexagons;
+          loopCount++;
+        }
+        if (found[loc] == pointHex || pointHex == 0) {
+          continue;
+        }
+        found[loc] = pointHex;
+        search[numSearchHexes++] = pointHex;
+      }
+    }
+    return numSearchHexes;
+  }
+
+  private static int maxPolyfillSize(double[][] loops, double[] bbox, int res) {
+    int numHexagons = bboxHexEstimate(bbox, res);
+    int totalVerts = 0;
+    for (double[] loop : loops) {
+      totalVerts += loop.length / 2;
+    }
+    return Math.max(numHexagons, totalVerts) + POLYFILL_BUFFER;
+  }
+
+  private static int bboxHexEstimate(double[] bbox, int res) {
+    double pentagonRadiusKm = PENTAGON_RADIUS_KM[res];
+    double pentagonAreaKm2 = 2.59807621135 * pentagonRadiusKm * pentagonRadiusKm * 0.8;
+    double d = pointDistKm(bbox[NORTH], bbox[EAST], bbox[SOUTH], bbox[WEST]);
+    double ratio = Math.abs((bbox[EAST] - bbox[WEST]) / (bbox[NORTH] - bbox[SOUTH]));
+    double a = d * d / (ratio < 3.0 ? ratio : 3.0);
+    int estimate = (int) Math.ceil(a / pentagonAreaKm2);
+    return estimate == 0 ? 1 : estimate;
+  }
+
+  private static int lineHexEstimate(double originLat, double originLng, double destinationLat, double destinationLng, int res) {
+    double pentagonRadiusKm = PENTAGON_RADIUS_KM[res];
+    double dist = pointDistKm(originLat, originLng, destinationLat, destinationLng);
+    int estimate = (int) Math.ceil(dist / (2 * pentagonRadiusKm));
+    return estimate == 0 ? 1 : estimate;
+  }
+
+  private static double[] pentagonRadiiKm() {
+    double[] radii = new double[MAX_H3_RES + 1];
+    for (int res = 0; res <= MAX_H3_RES; res++) {
+      long pentagon = setBaseCell(setResolution(H3_INIT | ((long) H3_HEXAGON_MODE << H3_MODE_OFFSET), res), FIRST_PENTAGON_BASE_CELL);
+      for (int r = 1; r <= res; r++) {
+        pentagon = setIndexDigit(pentagon, r, CENTER_DIGIT);
+      }
+      double[] center = h3ToGeoRads(pentagon);
+      double[] verts = new double[MAX_CELL_BNDRY_VERTS * 2];
+      h3ToGeoBoundaryRads(pentagon, verts);
+      radii[res] = pointDistKm(center[0], center[1], verts[0], verts[1]);
+    }
+    return radii;
+  }
+
+  private static double pointDistKm(double lat1, double lng1, double lat2, double lng2) {
+    double sinLat = Math.sin((lat2 - lat1) * 0.5);
+    double sinLng = Math.sin((lng2 - lng1) * 0.5);
+    double a = sinLat * sinLat + Math.cos(lat1) * Math.cos(lat2) * sinLng * sinLng;
+    double rads = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    return mulX(rads, EARTH_RADIUS_KM_HI, EARTH_RADIUS_KM_LO);
+  }
+
+  private static double[] bboxFromLoop(double[] loop) {
+    double[] bbox = new double[4];
+    int numVerts = loop.length / 2;
+    if (numVerts == 0) {
+      return bbox;
+    }
+    bbox[NORTH] = -Double.MAX_VALUE;
+    bbox[SOUTH] = Double.MAX_VALUE;
+    bbox[EAST] = -Double.MAX_VALUE;
+    bbox[WEST] = Double.MAX_VALUE;
+    double minPosLng = Double.MAX_VALUE;
+    double maxNegLng = -Double.MAX_VALUE;
+    boolean isTransmeridian = false;
+    for (int i = 0; i < numVerts; i++) {
+      double lat = loop[i * 2];
+      double lng = loop[i * 2 + 1];
+      double nextLng = loop[((i + 1) % numVerts) * 2 + 1];
+      if (lat < bbox[SOUTH]) {
+        bbox[SOUTH] = lat;
+      }
+      if (lng < bbox[WEST]) {
+        bbox[WEST] = lng;
+      }
+      if (lat > bbox[NORTH]) {
+        bbox[NORTH] = lat;
+      }
+      if (lng > bbox[EAST]) {
+        bbox[EAST] = lng;
+      }
+      if (lng > 0 && lng < minPosLng) {
+        minPosLng = lng;
+      }
+      if (lng < 0 && lng > maxNegLng) {
+        maxNegLng = lng;
+      }
+      if (Math.abs(lng - nextLng) > Math.PI) {
+        isTransmeridian = true;
+      }
+    }
+    if (isTransmeridian) {
+      bbox[EAST] = maxNegLng;
+      bbox[WEST] = minPosLng;
+    }
+    return bbox;
+  }
+
+  private static boolean bboxContains(double[] bbox, double lat, double lng) {
+    return lat >= bbox[SOUTH] && lat <= bbox[NORTH] && (bbox[EAST] < bbox[WEST]
+        ? lng >= bbox[WEST] || lng <= bbox[EAST]
+        : lng >= bbox[WEST] && lng <= bbox[EAST]);
+  }
+
+  private static boolean pointInsidePolygon(double[][] loops, double[][] bboxes, double[] coord) {
+    if (!pointInsideLoop(loops[0], bboxes[0], coord[0], coord[1])) {
+      return false;
+    }
+    for (int i = 1; i < loops.length; i++) {
+      if (pointInsideLoop(loops[i], bboxes[i], coord[0], coord[1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean pointInsideLoop(double[] loop, double[] bbox, double lat, double lng) {
+    if (!bboxContains(bbox, lat, lng)) {
+      return false;
+    }
+    boolean isTransmeridian = bbox[EAST] < bbox[WEST];
+    boolean contains = false;
+    if (isTransmeridian && lng < 0) {
+      lng += M_2PI;
+    }
+    int numVerts = loop.length / 2;
+    for (int i = 0; i < numVerts; i++) {
+      int next = (i + 1) % numVerts;
+      double aLat = loop[i * 2];
+      double aLng = loop[i * 2 + 1];
+      double bLat = loop[next * 2];
+      double bLng = loop[next * 2 + 1];
+      if (aLat > bLat) {
+        double tmp = aLat;
+        aLat = bLat;
+        bLat = tmp;
+        tmp = aLng;
+        aLng = bLng;
+        bLng = tmp;
+      }
+      if (lat < aLat || lat > bLat) {
+        continue;
+      }
+      if (isTransmeridian) {
+        aLng = aLng < 0 ? aLng + M_2PI : aLng;
+        bLng = bLng < 0 ? bLng + M_2PI : bLng;
+      }
+      if (aLng == lng || bLng == lng) {
+        lng -= DBL_EPSILON;
+      }
+      double ratio = (lat - aLat) / (bLat - aLat);
+      double testLng = aLng + (bLng - aLng) * ratio;
+      if (isTransmeridian && testLng < 0) {
+        testLng += M_2PI;
+      }
+      if (testLng > lng) {
+        contains = !contains;
+      }
+    }
+    return contains;
+  }
+}
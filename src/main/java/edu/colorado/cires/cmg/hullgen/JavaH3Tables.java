@@ -0,0 +1,685 @@
+package edu.colorado.cires.cmg.hullgen;
+
+/**
+ * Lookup tables of the H3 grid system used by {@link JavaH3Backend}. Values are identical to those compiled into the H3 3.7 C library
+ */
+final class JavaH3Tables {
+
+  private JavaH3Tables() {
+
+  }
+
+  /**
+   * Icosahedron face centers in latitude/longitude radians
+   */
+  static final double[][] FACE_CENTER_GEO = {
+      {0.80358264971899, 1.2483974196173961},
+      {1.3077478834556382, 2.5369450098779214},
+      {1.054751253523952, -1.3475173589003966},
+      {0.6001915955381868, -0.45060390946975576},
+      {0.49171542819877384, 0.40198820291130694},
+      {0.1727453274156187, 1.6781468852804338},
+      {0.6059293215713507, 2.9539233298124117},
+      {0.42737051832897965, -1.8888762003362853},
+      {-0.07906611854921283, -0.7334295133808677},
+      {-0.23096164445538364, 0.506495587332349},
+      {0.07906611854921283, 2.4081631402089254},
+      {0.23096164445538364, -2.635097066257444},
+      {-0.1727453274156187, -1.4634457683093596},
+      {-0.6059293215713507, -0.18766932377738163},
+      {-0.42737051832897965, 1.2527164532535078},
+      {-0.6001915955381868, 2.6909887441200375},
+      {-0.49171542819877384, -2.7396044506784865},
+      {-0.80358264971899, -1.8931952339723972},
+      {-1.3077478834556382, -0.6046476437118721},
+      {-1.054751253523952, 1.7940752946893965}
+  };
+
+  /**
+   * Icosahedron face centers as unit vectors
+   */
+  static final double[][] FACE_CENTER_POINT = {
+      {0.2199307791404606, 0.6583691780274996, 0.7198475378926182},
+      {-0.2139234834501421, 0.1478171829550703, 0.9656017935214205},
+      {0.1092625278784797, -0.481195157287321, 0.8697775121287253},
+      {0.7428567301586791, -0.3593941678278028, 0.5648005936517033},
+      {0.8112534709140969, 0.3448953237639384, 0.472138773641393},
+      {-0.1055498149613921, 0.9794457296411413, 0.1718874610009365},
+      {-0.8075407579970092, 0.1533552485898818, 0.5695261994882688},
+      {-0.2846148069787907, -0.8644080972654206, 0.4144792552473539},
+      {0.7405621473854482, -0.6673299564565524, -0.0789837646326737},
+      {0.8512303986474293, 0.4722343788582681, -0.2289137388687808},
+      {-0.7405621473854481, 0.6673299564565524, 0.0789837646326737},
+      {-0.8512303986474292, -0.4722343788582682, 0.2289137388687808},
+      {0.1055498149613919, -0.9794457296411413, -0.1718874610009365},
+      {0.8075407579970092, -0.1533552485898819, -0.5695261994882688},
+      {0.2846148069787908, 0.8644080972654204, -0.4144792552473539},
+      {-0.7428567301586791, 0.3593941678278027, -0.5648005936517033},
+      {-0.811253470914097, -0.3448953237639382, -0.472138773641393},
+      {-0.2199307791404607, -0.6583691780274996, -0.7198475378926182},
+      {0.213923483450142, -0.1478171829550704, -0.9656017935214205},
+      {-0.1092625278784796, 0.481195157287321, -0.8697775121287253}
+  };
+
+  /**
+   * Azimuths of the Class II i, j and k axes from each face center, in radians
+   */
+  static final double[][] FACE_AXES_AZ_RADS_CII = {
+      {5.6199582685239395, 3.5255631661307447, 1.4311680637375488},
+      {5.7603390817141875, 3.665943979320992, 1.571548876927796},
+      {0.78021365439343, 4.969003859179821, 2.8746087567866256},
+      {0.4304693639799999, 4.619259568766391, 2.5248644663731956},
+      {6.130269123335111, 4.0358740209419155, 1.9414789185487202},
+      {2.692877706530643, 0.5984826041374471, 4.787272808923838},
+      {2.982963003477244, 0.8885679010840484, 5.07735810587044},
+      {3.532912002790141, 1.4385169003969456, 5.627307105183337},
+      {3.494305004259568, 1.3999099018663728, 5.588700106652764},
+      {3.0032141694995382, 0.908819067106343, 5.0976092718927335},
+      {5.930472956509812, 3.836077854116616, 1.7416827517234204},
+      {0.13837848409025486, 4.327168688876646, 2.23277358648345},
+      {0.4487149470591504, 4.6375051518455415, 2.543110049452346},
+      {0.15862965011254937, 4.3474198548989405, 2.2530247525057447},
+      {5.891865957979238, 3.797470855586043, 1.7030757531928475},
+      {2.711123289609793, 0.6167281872165977, 4.8055183920029885},
+      {3.294508837434268, 1.2001137350410729, 5.388903939827464},
+      {3.80481969224544, 1.7104245898522445, 5.8992147946386355},
+      {3.6644388790551923, 1.570043776661997, 5.758833981448388},
+      {2.361378999196363, 0.2669838968031676, 4.455774101589559}
+  };
+
+  /**
+   * Neighboring face orientations, indexed by {@code face * 4 + direction}. Each row holds face, translation i, j, k and ccw rotations
+   */
+  static final int[][] FACE_NEIGHBORS = {
+      {0, 0, 0, 0, 0},
+      {4, 2, 0, 2, 1},
+      {1, 2, 2, 0, 5},
+      {5, 0, 2, 2, 3},
+      {1, 0, 0, 0, 0},
+      {0, 2, 0, 2, 1},
+      {2, 2, 2, 0, 5},
+      {6, 0, 2, 2, 3},
+      {2, 0, 0, 0, 0},
+      {1, 2, 0, 2, 1},
+      {3, 2, 2, 0, 5},
+      {7, 0, 2, 2, 3},
+      {3, 0, 0, 0, 0},
+      {2, 2, 0, 2, 1},
+      {4, 2, 2, 0, 5},
+      {8, 0, 2, 2, 3},
+      {4, 0, 0, 0, 0},
+      {3, 2, 0, 2, 1},
+      {0, 2, 2, 0, 5},
+      {9, 0, 2, 2, 3},
+      {5, 0, 0, 0, 0},
+      {10, 2, 2, 0, 3},
+      {14, 2, 0, 2, 3},
+      {0, 0, 2, 2, 3},
+      {6, 0, 0, 0, 0},
+      {11, 2, 2, 0, 3},
+      {10, 2, 0, 2, 3},
+      {1, 0, 2, 2, 3},
+      {7, 0, 0, 0, 0},
+      {12, 2, 2, 0, 3},
+      {11, 2, 0, 2, 3},
+      {2, 0, 2, 2, 3},
+      {8, 0, 0, 0, 0},
+      {13, 2, 2, 0, 3},
+      {12, 2, 0, 2, 3},
+      {3, 0, 2, 2, 3},
+      {9, 0, 0, 0, 0},
+      {14, 2, 2, 0, 3},
+      {13, 2, 0, 2, 3},
+      {4, 0, 2, 2, 3},
+      {10, 0, 0, 0, 0},
+      {5, 2, 2, 0, 3},
+      {6, 2, 0, 2, 3},
+      {15, 0, 2, 2, 3},
+      {11, 0, 0, 0, 0},
+      {6, 2, 2, 0, 3},
+      {7, 2, 0, 2, 3},
+      {16, 0, 2, 2, 3},
+      {12, 0, 0, 0, 0},
+      {7, 2, 2, 0, 3},
+      {8, 2, 0, 2, 3},
+      {17, 0, 2, 2, 3},
+      {13, 0, 0, 0, 0},
+      {8, 2, 2, 0, 3},
+      {9, 2, 0, 2, 3},
+      {18, 0, 2, 2, 3},
+      {14, 0, 0, 0, 0},
+      {9, 2, 2, 0, 3},
+      {5, 2, 0, 2, 3},
+      {19, 0, 2, 2, 3},
+      {15, 0, 0, 0, 0},
+      {16, 2, 0, 2, 1},
+      {19, 2, 2, 0, 5},
+      {10, 0, 2, 2, 3},
+      {16, 0, 0, 0, 0},
+      {17, 2, 0, 2, 1},
+      {15, 2, 2, 0, 5},
+      {11, 0, 2, 2, 3},
+      {17, 0, 0, 0, 0},
+      {18, 2, 0, 2, 1},
+      {16, 2, 2, 0, 5},
+      {12, 0, 2, 2, 3},
+      {18, 0, 0, 0, 0},
+      {19, 2, 0, 2, 1},
+      {17, 2, 2, 0, 5},
+      {13, 0, 2, 2, 3},
+      {19, 0, 0, 0, 0},
+      {15, 2, 0, 2, 1},
+      {18, 2, 2, 0, 5},
+      {14, 0, 2, 2, 3}
+  };
+
+  /**
+   * Direction from each face to each adjacent face, or -1 for non-adjacent faces
+   */
+  static final int[][] ADJACENT_FACE_DIR = {
+      {0, 2, -1, -1, 1, 3, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1},
+      {1, 0, 2, -1, -1, -1, 3, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1},
+      {-1, 1, 0, 2, -1, -1, -1, 3, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1},
+      {-1, -1, 1, 0, 2, -1, -1, -1, 3, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1},
+      {2, -1, -1, 1, 0, -1, -1, -1, -1, 3, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1},
+      {3, -1, -1, -1, -1, 0, -1, -1, -1, -1, 1, -1, -1, -1, 2, -1, -1, -1, -1, -1},
+      {-1, 3, -1, -1, -1, -1, 0, -1, -1, -1, 2, 1, -1, -1, -1, -1, -1, -1, -1, -1},
+      {-1, -1, 3, -1, -1, -1, -1, 0, -1, -1, -1, 2, 1, -1, -1, -1, -1, -1, -1, -1},
+      {-1, -1, -1, 3, -1, -1, -1, -1, 0, -1, -1, -1, 2, 1, -1, -1, -1, -1, -1, -1},
+      {-1, -1, -1, -1, 3, -1, -1, -1, -1, 0, -1, -1, -1, 2, 1, -1, -1, -1, -1, -1},
+      {-1, -1, -1, -1, -1, 1, 2, -1, -1, -1, 0, -1, -1, -1, -1, 3, -1, -1, -1, -1},
+      {-1, -1, -1, -1, -1, -1, 1, 2, -1, -1, -1, 0, -1, -1, -1, -1, 3, -1, -1, -1},
+      {-1, -1, -1, -1, -1, -1, -1, 1, 2, -1, -1, -1, 0, -1, -1, -1, -1, 3, -1, -1},
+      {-1, -1, -1, -1, -1, -1, -1, -1, 1, 2, -1, -1, -1, 0, -1, -1, -1, -1, 3, -1},
+      {-1, -1, -1, -1, -1, 2, -1, -1, -1, 1, -1, -1, -1, -1, 0, -1, -1, -1, -1, 3},
+      {-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 3, -1, -1, -1, -1, 0, 1, -1, -1, 2},
+      {-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 3, -1, -1, -1, 2, 0, 1, -1, -1},
+      {-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 3, -1, -1, -1, 2, 0, 1, -1},
+      {-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 3, -1, -1, -1, 2, 0, 1},
+      {-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 3, 1, -1, -1, 2, 0}
+  };
+
+  /**
+   * Base cell for each face and res 0 ijk coordinate, indexed by {@code ((face * 3 + i) * 3 + j) * 3 + k}
+   */
+  static final int[] FACE_IJK_BASE_CELLS = {
+      16, 18, 24, 33, 30, 32, 49, 48, 50, 8, 5, 10, 22, 16, 18, 41, 33, 30, 4, 0, 2, 15, 8, 5, 31, 22, 16, 2, 6,
+      14, 10, 11, 17, 24, 23, 25, 0, 1, 9, 5, 2, 6, 18, 10, 11, 4, 3, 7, 8, 0, 1, 16, 5, 2, 7, 21, 38, 9, 19, 34,
+      14, 20, 36, 3, 13, 29, 1, 7, 21, 6, 9, 19, 4, 12, 26, 0, 3, 13, 2, 1, 7, 26, 42, 58, 29, 43, 62, 38, 47, 64,
+      12, 28, 44, 13, 26, 42, 21, 29, 43, 4, 15, 31, 3, 12, 28, 7, 13, 26, 31, 41, 49, 44, 53, 61, 58, 65, 75, 15,
+      22, 33, 28, 31, 41, 42, 44, 53, 4, 8, 16, 12, 15, 22, 26, 28, 31, 50, 48, 49, 32, 30, 33, 24, 18, 16, 70, 67,
+      66, 52, 50, 48, 37, 32, 30, 83, 87, 85, 74, 70, 67, 57, 52, 50, 25, 23, 24, 17, 11, 10, 14, 6, 2, 45, 39, 37,
+      35, 25, 23, 27, 17, 11, 63, 59, 57, 56, 45, 39, 46, 35, 25, 36, 20, 14, 34, 19, 9, 38, 21, 7, 55, 40, 27, 54,
+      36, 20, 51, 34, 19, 72, 60, 46, 73, 55, 40, 71, 54, 36, 64, 47, 38, 62, 43, 29, 58, 42, 26, 84, 69, 51, 82,
+      64, 47, 76, 62, 43, 97, 89, 71, 98, 84, 69, 96, 82, 64, 75, 65, 58, 61, 53, 44, 49, 41, 31, 94, 86, 76, 81,
+      75, 65, 66, 61, 53, 107, 104, 96, 101, 94, 86, 85, 81, 75, 57, 59, 63, 74, 78, 79, 83, 92, 95, 37, 39, 45,
+      52, 57, 59, 70, 74, 78, 24, 23, 25, 32, 37, 39, 50, 52, 57, 46, 60, 72, 56, 68, 80, 63, 77, 90, 27, 40, 55,
+      35, 46, 60, 45, 56, 68, 14, 20, 36, 17, 27, 40, 25, 35, 46, 71, 89, 97, 73, 91, 103, 72, 88, 105, 51, 69, 84,
+      54, 71, 89, 55, 73, 91, 38, 47, 64, 34, 51, 69, 36, 54, 71, 96, 104, 107, 98, 110, 115, 97, 111, 119, 76, 86,
+      94, 82, 96, 104, 84, 98, 110, 58, 65, 75, 62, 76, 86, 64, 82, 96, 85, 87, 83, 101, 102, 100, 107, 112, 114,
+      66, 67, 70, 81, 85, 87, 94, 101, 102, 49, 48, 50, 61, 66, 67, 75, 81, 85, 95, 92, 83, 79, 78, 74, 63, 59, 57,
+      109, 108, 100, 93, 95, 92, 77, 79, 78, 117, 118, 114, 106, 109, 108, 90, 93, 95, 90, 77, 63, 80, 68, 56, 72,
+      60, 46, 106, 93, 79, 99, 90, 77, 88, 80, 68, 117, 109, 95, 113, 106, 93, 105, 99, 90, 105, 88, 72, 103, 91,
+      73, 97, 89, 71, 113, 99, 80, 116, 105, 88, 111, 103, 91, 117, 106, 90, 121, 113, 99, 119, 116, 105, 119, 111,
+      97, 115, 110, 98, 107, 104, 96, 121, 116, 103, 120, 119, 111, 112, 115, 110, 117, 113, 105, 118, 121, 116,
+      114, 120, 119, 114, 112, 107, 100, 102, 101, 83, 87, 85, 118, 120, 115, 108, 114, 112, 92, 100, 102, 117,
+      121, 119, 109, 118, 120, 95, 108, 114
+  };
+
+  /**
+   * Ccw 60 degree rotations into the base cell orientation, indexed like {@link #FACE_IJK_BASE_CELLS}
+   */
+  static final int[] FACE_IJK_BASE_CELL_ROTATIONS = {
+      0, 0, 0, 0, 0, 3, 1, 3, 3, 0, 5, 5, 0, 0, 0, 1, 0, 0, 0, 5, 5, 1, 0, 5, 1, 0, 0, 0, 0, 0, 0, 0, 3, 1, 3, 3,
+      0, 5, 5, 0, 0, 0, 1, 0, 0, 1, 5, 5, 1, 0, 5, 1, 0, 0, 0, 0, 0, 0, 0, 3, 1, 3, 3, 0, 5, 5, 0, 0, 0, 1, 0, 0,
+      2, 5, 5, 1, 0, 5, 1, 0, 0, 0, 0, 0, 0, 0, 3, 1, 3, 3, 0, 5, 5, 0, 0, 0, 1, 0, 0, 3, 5, 5, 1, 0, 5, 1, 0, 0,
+      0, 0, 0, 0, 0, 3, 1, 3, 3, 0, 5, 5, 0, 0, 0, 1, 0, 0, 4, 5, 5, 1, 0, 5, 1, 0, 0, 0, 0, 3, 0, 3, 3, 3, 3, 3,
+      0, 0, 3, 3, 0, 0, 3, 0, 3, 0, 3, 3, 3, 0, 0, 1, 3, 0, 0, 0, 3, 0, 3, 3, 3, 3, 3, 0, 0, 3, 3, 0, 0, 3, 0, 3,
+      0, 3, 3, 3, 0, 0, 3, 3, 0, 0, 0, 3, 0, 3, 3, 3, 3, 3, 0, 0, 3, 3, 0, 0, 3, 0, 3, 0, 3, 3, 3, 0, 0, 3, 3, 0,
+      0, 0, 3, 0, 3, 3, 3, 3, 3, 0, 0, 3, 3, 0, 0, 3, 0, 3, 0, 3, 3, 3, 0, 0, 3, 3, 0, 0, 0, 3, 0, 3, 3, 3, 3, 3,
+      0, 0, 3, 3, 0, 0, 3, 0, 3, 0, 3, 3, 3, 0, 0, 3, 3, 0, 0, 0, 3, 0, 3, 3, 3, 3, 3, 0, 3, 3, 0, 0, 0, 3, 0, 3,
+      0, 3, 3, 3, 0, 3, 3, 0, 0, 0, 0, 3, 0, 3, 3, 3, 3, 3, 0, 3, 3, 0, 0, 0, 3, 0, 3, 0, 3, 3, 3, 0, 3, 3, 0, 0,
+      0, 0, 3, 0, 3, 3, 3, 3, 3, 0, 3, 3, 0, 0, 0, 3, 0, 3, 0, 3, 3, 3, 0, 3, 3, 0, 0, 0, 0, 3, 0, 3, 3, 3, 3, 3,
+      0, 3, 3, 0, 0, 0, 3, 0, 3, 0, 3, 3, 3, 0, 3, 3, 0, 0, 0, 0, 3, 0, 3, 3, 3, 3, 3, 0, 3, 3, 0, 0, 0, 3, 0, 3,
+      0, 3, 3, 3, 0, 3, 3, 0, 0, 0, 0, 0, 0, 0, 3, 1, 3, 3, 0, 0, 5, 1, 0, 0, 1, 0, 0, 4, 5, 5, 1, 0, 0, 1, 1, 0,
+      0, 0, 0, 0, 0, 3, 1, 3, 3, 0, 0, 5, 1, 0, 0, 1, 0, 0, 3, 5, 5, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 3, 1, 3, 3,
+      0, 0, 5, 1, 0, 0, 1, 0, 0, 2, 5, 5, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 3, 1, 3, 3, 0, 0, 5, 1, 0, 0, 1, 0, 0,
+      1, 5, 5, 1, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 3, 1, 3, 3, 0, 0, 5, 1, 0, 0, 1, 0, 0, 0, 5, 5, 1, 0, 0, 1, 1, 0
+  };
+
+  /**
+   * Base cell home face, home i, j, k, pentagon flag and the two clockwise offset faces of pentagons
+   */
+  static final int[][] BASE_CELL_DATA = {
+      {1, 1, 0, 0, 0, 0, 0},
+      {2, 1, 1, 0, 0, 0, 0},
+      {1, 0, 0, 0, 0, 0, 0},
+      {2, 1, 0, 0, 0, 0, 0},
+      {0, 2, 0, 0, 1, -1, -1},
+      {1, 1, 1, 0, 0, 0, 0},
+      {1, 0, 0, 1, 0, 0, 0},
+      {2, 0, 0, 0, 0, 0, 0},
+      {0, 1, 0, 0, 0, 0, 0},
+      {2, 0, 1, 0, 0, 0, 0},
+      {1, 0, 1, 0, 0, 0, 0},
+      {1, 0, 1, 1, 0, 0, 0},
+      {3, 1, 0, 0, 0, 0, 0},
+      {3, 1, 1, 0, 0, 0, 0},
+      {11, 2, 0, 0, 1, 2, 6},
+      {4, 1, 0, 0, 0, 0, 0},
+      {0, 0, 0, 0, 0, 0, 0},
+      {6, 0, 1, 0, 0, 0, 0},
+      {0, 0, 0, 1, 0, 0, 0},
+      {2, 0, 1, 1, 0, 0, 0},
+      {7, 0, 0, 1, 0, 0, 0},
+      {2, 0, 0, 1, 0, 0, 0},
+      {0, 1, 1, 0, 0, 0, 0},
+      {6, 0, 0, 1, 0, 0, 0},
+      {10, 2, 0, 0, 1, 1, 5},
+      {6, 0, 0, 0, 0, 0, 0},
+      {3, 0, 0, 0, 0, 0, 0},
+      {11, 1, 0, 0, 0, 0, 0},
+      {4, 1, 1, 0, 0, 0, 0},
+      {3, 0, 1, 0, 0, 0, 0},
+      {0, 0, 1, 1, 0, 0, 0},
+      {4, 0, 0, 0, 0, 0, 0},
+      {5, 0, 1, 0, 0, 0, 0},
+      {0, 0, 1, 0, 0, 0, 0},
+      {7, 0, 1, 0, 0, 0, 0},
+      {11, 1, 1, 0, 0, 0, 0},
+      {7, 0, 0, 0, 0, 0, 0},
+      {10, 1, 0, 0, 0, 0, 0},
+      {12, 2, 0, 0, 1, 3, 7},
+      {6, 1, 0, 1, 0, 0, 0},
+      {7, 1, 0, 1, 0, 0, 0},
+      {4, 0, 0, 1, 0, 0, 0},
+      {3, 0, 0, 1, 0, 0, 0},
+      {3, 0, 1, 1, 0, 0, 0},
+      {4, 0, 1, 0, 0, 0, 0},
+      {6, 1, 0, 0, 0, 0, 0},
+      {11, 0, 0, 0, 0, 0, 0},
+      {8, 0, 0, 1, 0, 0, 0},
+      {5, 0, 0, 1, 0, 0, 0},
+      {14, 2, 0, 0, 1, 0, 9},
+      {5, 0, 0, 0, 0, 0, 0},
+      {12, 1, 0, 0, 0, 0, 0},
+      {10, 1, 1, 0, 0, 0, 0},
+      {4, 0, 1, 1, 0, 0, 0},
+      {12, 1, 1, 0, 0, 0, 0},
+      {7, 1, 0, 0, 0, 0, 0},
+      {11, 0, 1, 0, 0, 0, 0},
+      {10, 0, 0, 0, 0, 0, 0},
+      {13, 2, 0, 0, 1, 4, 8},
+      {10, 0, 0, 1, 0, 0, 0},
+      {11, 0, 0, 1, 0, 0, 0},
+      {9, 0, 1, 0, 0, 0, 0},
+      {8, 0, 1, 0, 0, 0, 0},
+      {6, 2, 0, 0, 1, 11, 15},
+      {8, 0, 0, 0, 0, 0, 0},
+      {9, 0, 0, 1, 0, 0, 0},
+      {14, 1, 0, 0, 0, 0, 0},
+      {5, 1, 0, 1, 0, 0, 0},
+      {16, 0, 1, 1, 0, 0, 0},
+      {8, 1, 0, 1, 0, 0, 0},
+      {5, 1, 0, 0, 0, 0, 0},
+      {12, 0, 0, 0, 0, 0, 0},
+      {7, 2, 0, 0, 1, 12, 16},
+      {12, 0, 1, 0, 0, 0, 0},
+      {10, 0, 1, 0, 0, 0, 0},
+      {9, 0, 0, 0, 0, 0, 0},
+      {13, 1, 0, 0, 0, 0, 0},
+      {16, 0, 0, 1, 0, 0, 0},
+      {15, 0, 1, 1, 0, 0, 0},
+      {15, 0, 1, 0, 0, 0, 0},
+      {16, 0, 1, 0, 0, 0, 0},
+      {14, 1, 1, 0, 0, 0, 0},
+      {13, 1, 1, 0, 0, 0, 0},
+      {5, 2, 0, 0, 1, 10, 19},
+      {8, 1, 0, 0, 0, 0, 0},
+      {14, 0, 0, 0, 0, 0, 0},
+      {9, 1, 0, 1, 0, 0, 0},
+      {14, 0, 0, 1, 0, 0, 0},
+      {17, 0, 0, 1, 0, 0, 0},
+      {12, 0, 0, 1, 0, 0, 0},
+      {16, 0, 0, 0, 0, 0, 0},
+      {17, 0, 1, 1, 0, 0, 0},
+      {15, 0, 0, 1, 0, 0, 0},
+      {16, 1, 0, 1, 0, 0, 0},
+      {9, 1, 0, 0, 0, 0, 0},
+      {15, 0, 0, 0, 0, 0, 0},
+      {13, 0, 0, 0, 0, 0, 0},
+      {8, 2, 0, 0, 1, 13, 17},
+      {13, 0, 1, 0, 0, 0, 0},
+      {17, 1, 0, 1, 0, 0, 0},
+      {19, 0, 1, 0, 0, 0, 0},
+      {14, 0, 1, 0, 0, 0, 0},
+      {19, 0, 1, 1, 0, 0, 0},
+      {17, 0, 1, 0, 0, 0, 0},
+      {13, 0, 0, 1, 0, 0, 0},
+      {17, 0, 0, 0, 0, 0, 0},
+      {16, 1, 0, 0, 0, 0, 0},
+      {9, 2, 0, 0, 1, 14, 18},
+      {15, 1, 0, 1, 0, 0, 0},
+      {15, 1, 0, 0, 0, 0, 0},
+      {18, 0, 1, 1, 0, 0, 0},
+      {18, 0, 0, 1, 0, 0, 0},
+      {19, 0, 0, 1, 0, 0, 0},
+      {17, 1, 0, 0, 0, 0, 0},
+      {19, 0, 0, 0, 0, 0, 0},
+      {18, 0, 1, 0, 0, 0, 0},
+      {18, 1, 0, 1, 0, 0, 0},
+      {19, 2, 0, 0, 1, -1, -1},
+      {19, 1, 0, 0, 0, 0, 0},
+      {18, 0, 0, 0, 0, 0, 0},
+      {19, 1, 0, 1, 0, 0, 0},
+      {18, 1, 0, 0, 0, 0, 0}
+  };
+
+  /**
+   * Neighboring base cell in each direction, or 127 where a pentagon has no neighbor
+   */
+  static final int[][] BASE_CELL_NEIGHBORS = {
+      {0, 1, 5, 2, 4, 3, 8},
+      {1, 7, 6, 9, 0, 3, 2},
+      {2, 6, 10, 11, 0, 1, 5},
+      {3, 13, 1, 7, 4, 12, 0},
+      {4, 127, 15, 8, 3, 0, 12},
+      {5, 2, 18, 10, 8, 0, 16},
+      {6, 14, 11, 17, 1, 9, 2},
+      {7, 21, 9, 19, 3, 13, 1},
+      {8, 5, 22, 16, 4, 0, 15},
+      {9, 19, 14, 20, 1, 7, 6},
+      {10, 11, 24, 23, 5, 2, 18},
+      {11, 17, 23, 25, 2, 6, 10},
+      {12, 28, 13, 26, 4, 15, 3},
+      {13, 26, 21, 29, 3, 12, 7},
+      {14, 127, 17, 27, 9, 20, 6},
+      {15, 22, 28, 31, 4, 8, 12},
+      {16, 18, 33, 30, 8, 5, 22},
+      {17, 11, 14, 6, 35, 25, 27},
+      {18, 24, 30, 32, 5, 10, 16},
+      {19, 34, 20, 36, 7, 21, 9},
+      {20, 14, 19, 9, 40, 27, 36},
+      {21, 38, 19, 34, 13, 29, 7},
+      {22, 16, 41, 33, 15, 8, 31},
+      {23, 24, 11, 10, 39, 37, 25},
+      {24, 127, 32, 37, 10, 23, 18},
+      {25, 23, 17, 11, 45, 39, 35},
+      {26, 42, 29, 43, 12, 28, 13},
+      {27, 40, 35, 46, 14, 20, 17},
+      {28, 31, 42, 44, 12, 15, 26},
+      {29, 43, 38, 47, 13, 26, 21},
+      {30, 32, 48, 50, 16, 18, 33},
+      {31, 41, 44, 53, 15, 22, 28},
+      {32, 30, 24, 18, 52, 50, 37},
+      {33, 30, 49, 48, 22, 16, 41},
+      {34, 19, 38, 21, 54, 36, 51},
+      {35, 46, 45, 56, 17, 27, 25},
+      {36, 20, 34, 19, 55, 40, 54},
+      {37, 39, 52, 57, 24, 23, 32},
+      {38, 127, 34, 51, 29, 47, 21},
+      {39, 37, 25, 23, 59, 57, 45},
+      {40, 27, 36, 20, 60, 46, 55},
+      {41, 49, 53, 61, 22, 33, 31},
+      {42, 58, 43, 62, 28, 44, 26},
+      {43, 62, 47, 64, 26, 42, 29},
+      {44, 53, 58, 65, 28, 31, 42},
+      {45, 39, 35, 25, 63, 59, 56},
+      {46, 60, 56, 68, 27, 40, 35},
+      {47, 38, 43, 29, 69, 51, 64},
+      {48, 49, 30, 33, 67, 66, 50},
+      {49, 127, 61, 66, 33, 48, 41},
+      {50, 48, 32, 30, 70, 67, 52},
+      {51, 69, 54, 71, 38, 47, 34},
+      {52, 57, 70, 74, 32, 37, 50},
+      {53, 61, 65, 75, 31, 41, 44},
+      {54, 71, 55, 73, 34, 51, 36},
+      {55, 40, 54, 36, 72, 60, 73},
+      {56, 68, 63, 77, 35, 46, 45},
+      {57, 59, 74, 78, 37, 39, 52},
+      {58, 127, 62, 76, 44, 65, 42},
+      {59, 63, 78, 79, 39, 45, 57},
+      {60, 72, 68, 80, 40, 55, 46},
+      {61, 53, 49, 41, 81, 75, 66},
+      {62, 43, 58, 42, 82, 64, 76},
+      {63, 127, 56, 45, 79, 59, 77},
+      {64, 47, 62, 43, 84, 69, 82},
+      {65, 58, 53, 44, 86, 76, 75},
+      {66, 67, 81, 85, 49, 48, 61},
+      {67, 66, 50, 48, 87, 85, 70},
+      {68, 56, 60, 46, 90, 77, 80},
+      {69, 51, 64, 47, 89, 71, 84},
+      {70, 67, 52, 50, 83, 87, 74},
+      {71, 89, 73, 91, 51, 69, 54},
+      {72, 127, 73, 55, 80, 60, 88},
+      {73, 91, 72, 88, 54, 71, 55},
+      {74, 78, 83, 92, 52, 57, 70},
+      {75, 65, 61, 53, 94, 86, 81},
+      {76, 86, 82, 96, 58, 65, 62},
+      {77, 63, 68, 56, 93, 79, 90},
+      {78, 74, 59, 57, 95, 92, 79},
+      {79, 78, 63, 59, 93, 95, 77},
+      {80, 68, 72, 60, 99, 90, 88},
+      {81, 85, 94, 101, 61, 66, 75},
+      {82, 96, 84, 98, 62, 76, 64},
+      {83, 127, 74, 70, 100, 87, 92},
+      {84, 69, 82, 64, 97, 89, 98},
+      {85, 87, 101, 102, 66, 67, 81},
+      {86, 76, 75, 65, 104, 96, 94},
+      {87, 83, 102, 100, 67, 70, 85},
+      {88, 72, 91, 73, 99, 80, 105},
+      {89, 97, 91, 103, 69, 84, 71},
+      {90, 77, 80, 68, 106, 93, 99},
+      {91, 73, 89, 71, 105, 88, 103},
+      {92, 83, 78, 74, 108, 100, 95},
+      {93, 79, 90, 77, 109, 95, 106},
+      {94, 86, 81, 75, 107, 104, 101},
+      {95, 92, 79, 78, 109, 108, 93},
+      {96, 104, 98, 110, 76, 86, 82},
+      {97, 127, 98, 84, 103, 89, 111},
+      {98, 110, 97, 111, 82, 96, 84},
+      {99, 80, 105, 88, 106, 90, 113},
+      {100, 102, 83, 87, 108, 114, 92},
+      {101, 102, 107, 112, 81, 85, 94},
+      {102, 101, 87, 85, 114, 112, 100},
+      {103, 91, 97, 89, 116, 105, 111},
+      {104, 107, 110, 115, 86, 94, 96},
+      {105, 88, 103, 91, 113, 99, 116},
+      {106, 93, 99, 90, 117, 109, 113},
+      {107, 127, 101, 94, 115, 104, 112},
+      {108, 100, 95, 92, 118, 114, 109},
+      {109, 108, 93, 95, 117, 118, 106},
+      {110, 98, 104, 96, 119, 111, 115},
+      {111, 97, 110, 98, 116, 103, 119},
+      {112, 107, 102, 101, 120, 115, 114},
+      {113, 99, 116, 105, 117, 106, 121},
+      {114, 112, 100, 102, 118, 120, 108},
+      {115, 110, 107, 104, 120, 119, 112},
+      {116, 103, 119, 111, 113, 105, 121},
+      {117, 127, 109, 118, 113, 121, 106},
+      {118, 120, 108, 114, 117, 121, 109},
+      {119, 111, 115, 110, 121, 116, 120},
+      {120, 115, 114, 112, 121, 119, 118},
+      {121, 116, 120, 119, 117, 113, 118}
+  };
+
+  /**
+   * Ccw 60 degree rotations when moving to the neighboring base cell in each direction
+   */
+  static final int[][] BASE_CELL_NEIGHBOR_60CCW_ROTS = {
+      {0, 5, 0, 0, 1, 5, 1},
+      {0, 0, 1, 0, 1, 0, 1},
+      {0, 0, 0, 0, 0, 5, 0},
+      {0, 5, 0, 0, 2, 5, 1},
+      {0, -1, 1, 0, 3, 4, 2},
+      {0, 0, 1, 0, 1, 0, 1},
+      {0, 0, 0, 3, 5, 5, 0},
+      {0, 0, 0, 0, 0, 5, 0},
+      {0, 5, 0, 0, 0, 5, 1},
+      {0, 0, 1, 3, 0, 0, 1},
+      {0, 0, 1, 3, 0, 0, 1},
+      {0, 3, 3, 3, 0, 0, 0},
+      {0, 5, 0, 0, 3, 5, 1},
+      {0, 0, 1, 0, 1, 0, 1},
+      {0, -1, 3, 0, 5, 2, 0},
+      {0, 5, 0, 0, 4, 5, 1},
+      {0, 0, 0, 0, 0, 5, 0},
+      {0, 3, 3, 3, 3, 0, 3},
+      {0, 0, 0, 3, 5, 5, 0},
+      {0, 3, 3, 3, 0, 0, 0},
+      {0, 3, 3, 3, 0, 3, 0},
+      {0, 0, 0, 3, 5, 5, 0},
+      {0, 0, 1, 0, 1, 0, 1},
+      {0, 3, 3, 3, 0, 3, 0},
+      {0, -1, 3, 0, 5, 2, 0},
+      {0, 0, 0, 3, 0, 0, 3},
+      {0, 0, 0, 0, 0, 5, 0},
+      {0, 3, 0, 0, 0, 3, 3},
+      {0, 0, 1, 0, 1, 0, 1},
+      {0, 0, 1, 3, 0, 0, 1},
+      {0, 3, 3, 3, 0, 0, 0},
+      {0, 0, 0, 0, 0, 5, 0},
+      {0, 3, 3, 3, 3, 0, 3},
+      {0, 0, 1, 3, 0, 0, 1},
+      {0, 3, 3, 3, 3, 0, 3},
+      {0, 0, 3, 0, 3, 0, 3},
+      {0, 0, 0, 3, 0, 0, 3},
+      {0, 3, 0, 0, 0, 3, 3},
+      {0, -1, 3, 0, 5, 2, 0},
+      {0, 3, 0, 0, 3, 3, 0},
+      {0, 3, 0, 0, 3, 3, 0},
+      {0, 0, 0, 3, 5, 5, 0},
+      {0, 0, 0, 3, 5, 5, 0},
+      {0, 3, 3, 3, 0, 0, 0},
+      {0, 0, 1, 3, 0, 0, 1},
+      {0, 0, 3, 0, 0, 3, 3},
+      {0, 0, 0, 3, 0, 3, 0},
+      {0, 3, 3, 3, 0, 3, 0},
+      {0, 3, 3, 3, 0, 3, 0},
+      {0, -1, 3, 0, 5, 2, 0},
+      {0, 0, 0, 3, 0, 0, 3},
+      {0, 3, 0, 0, 0, 3, 3},
+      {0, 0, 3, 0, 3, 0, 3},
+      {0, 3, 3, 3, 0, 0, 0},
+      {0, 0, 3, 0, 3, 0, 3},
+      {0, 0, 3, 0, 0, 3, 3},
+      {0, 3, 3, 3, 0, 0, 3},
+      {0, 0, 0, 3, 0, 3, 0},
+      {0, -1, 3, 0, 5, 2, 0},
+      {0, 3, 3, 3, 3, 3, 0},
+      {0, 3, 3, 3, 3, 3, 0},
+      {0, 3, 3, 3, 3, 0, 3},
+      {0, 3, 3, 3, 3, 0, 3},
+      {0, -1, 3, 0, 5, 2, 0},
+      {0, 0, 0, 3, 0, 0, 3},
+      {0, 3, 3, 3, 0, 3, 0},
+      {0, 3, 0, 0, 0, 3, 3},
+      {0, 3, 0, 0, 3, 3, 0},
+      {0, 3, 3, 3, 0, 0, 0},
+      {0, 3, 0, 0, 3, 3, 0},
+      {0, 0, 3, 0, 0, 3, 3},
+      {0, 0, 0, 3, 0, 3, 0},
+      {0, -1, 3, 0, 5, 2, 0},
+      {0, 3, 3, 3, 0, 0, 3},
+      {0, 3, 3, 3, 0, 0, 3},
+      {0, 0, 0, 3, 0, 0, 3},
+      {0, 3, 0, 0, 0, 3, 3},
+      {0, 0, 0, 3, 0, 5, 0},
+      {0, 3, 3, 3, 0, 0, 0},
+      {0, 0, 1, 3, 1, 0, 1},
+      {0, 0, 1, 3, 1, 0, 1},
+      {0, 0, 3, 0, 3, 0, 3},
+      {0, 0, 3, 0, 3, 0, 3},
+      {0, -1, 3, 0, 5, 2, 0},
+      {0, 0, 3, 0, 0, 3, 3},
+      {0, 0, 0, 3, 0, 3, 0},
+      {0, 3, 0, 0, 3, 3, 0},
+      {0, 3, 3, 3, 3, 3, 0},
+      {0, 0, 0, 3, 0, 5, 0},
+      {0, 3, 3, 3, 3, 3, 0},
+      {0, 0, 0, 0, 0, 0, 1},
+      {0, 3, 3, 3, 0, 0, 0},
+      {0, 0, 0, 3, 0, 5, 0},
+      {0, 5, 0, 0, 5, 5, 0},
+      {0, 0, 3, 0, 0, 3, 3},
+      {0, 0, 0, 0, 0, 0, 1},
+      {0, 0, 0, 3, 0, 3, 0},
+      {0, -1, 3, 0, 5, 2, 0},
+      {0, 3, 3, 3, 0, 0, 3},
+      {0, 5, 0, 0, 5, 5, 0},
+      {0, 0, 1, 3, 1, 0, 1},
+      {0, 3, 3, 3, 0, 0, 3},
+      {0, 3, 3, 3, 0, 0, 0},
+      {0, 0, 1, 3, 1, 0, 1},
+      {0, 3, 3, 3, 3, 3, 0},
+      {0, 0, 0, 0, 0, 0, 1},
+      {0, 0, 1, 0, 3, 5, 1},
+      {0, -1, 3, 0, 5, 2, 0},
+      {0, 5, 0, 0, 5, 5, 0},
+      {0, 0, 1, 0, 4, 5, 1},
+      {0, 3, 3, 3, 0, 0, 0},
+      {0, 0, 0, 3, 0, 5, 0},
+      {0, 0, 0, 3, 0, 5, 0},
+      {0, 0, 1, 0, 2, 5, 1},
+      {0, 0, 0, 0, 0, 0, 1},
+      {0, 0, 1, 3, 1, 0, 1},
+      {0, 5, 0, 0, 5, 5, 0},
+      {0, -1, 1, 0, 3, 4, 2},
+      {0, 0, 1, 0, 0, 5, 1},
+      {0, 0, 0, 0, 0, 0, 1},
+      {0, 5, 0, 0, 5, 5, 0},
+      {0, 0, 1, 0, 1, 5, 1}
+  };
+
+  /**
+   * New digit when traversing along Class II grids, indexed by old digit and direction
+   */
+  static final int[][] NEW_DIGIT_II = {
+      {0, 1, 2, 3, 4, 5, 6},
+      {1, 4, 3, 6, 5, 2, 0},
+      {2, 3, 1, 4, 6, 0, 5},
+      {3, 6, 4, 5, 0, 1, 2},
+      {4, 5, 6, 0, 2, 3, 1},
+      {5, 2, 0, 1, 3, 6, 4},
+      {6, 0, 5, 2, 1, 4, 3}
+  };
+
+  /**
+   * New traversal direction when traversing along Class II grids, indexed by old digit and direction
+   */
+  static final int[][] NEW_ADJUSTMENT_II = {
+      {0, 0, 0, 0, 0, 0, 0},
+      {0, 1, 0, 1, 0, 5, 0},
+      {0, 0, 2, 3, 0, 0, 2},
+      {0, 1, 3, 3, 0, 0, 0},
+      {0, 0, 0, 0, 4, 4, 6},
+      {0, 5, 0, 0, 4, 5, 0},
+      {0, 0, 2, 0, 6, 0, 6}
+  };
+
+  /**
+   * New digit when traversing along Class III grids, indexed by old digit and direction
+   */
+  static final int[][] NEW_DIGIT_III = {
+      {0, 1, 2, 3, 4, 5, 6},
+      {1, 2, 3, 4, 5, 6, 0},
+      {2, 3, 4, 5, 6, 0, 1},
+      {3, 4, 5, 6, 0, 1, 2},
+      {4, 5, 6, 0, 1, 2, 3},
+      {5, 6, 0, 1, 2, 3, 4},
+      {6, 0, 1, 2, 3, 4, 5}
+  };
+
+  /**
+   * New traversal direction when traversing along Class III grids, indexed by old digit and direction
+   */
+  static final int[][] NEW_ADJUSTMENT_III = {
+      {0, 0, 0, 0, 0, 0, 0},
+      {0, 1, 0, 3, 0, 1, 0},
+      {0, 0, 2, 2, 0, 0, 6},
+      {0, 3, 2, 3, 0, 0, 0},
+      {0, 0, 0, 0, 4, 5, 4},
+      {0, 1, 0, 0, 5, 5, 0},
+      {0, 0, 6, 0, 4, 0, 6}
+  };
+}
@@ -0,0 +1,66 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Implementation of {@link CountingHullMetrics} which also emits JDK Flight Recorder events. Each timed stage produces a
+ * {@link HullStageEvent}, and counter totals are emitted periodically as a {@link HullCountersEvent}
+ */
+public class JfrHullMetrics extends CountingHullMetrics implements AutoCloseable {
+
+  private final Runnable countersHook = this::emitCounters;
+
+  /**
+   * Constructor for {@link JfrHullMetrics}. Registers the periodic {@link HullCountersEvent}
+   */
+  public JfrHullMetrics() {
+    FlightRecorder.addPeriodicEvent(HullCountersEvent.class, countersHook);
+  }
+
+  @Override
+  public StageTimer time(HullStage stage) {
+    HullStageEvent event = new HullStageEvent();
+    event.stage = stage.name();
+    event.begin();
+    StageTimer timer = super.time(stage);
+    return () -> {
+      event.commit();
+      timer.close();
+    };
+  }
+
+  /**
+   * Emits final counter totals and unregisters the periodic {@link HullCountersEvent}
+   */
+  @Override
+  public void close() {
+    emitCounters();
+    FlightRecorder.removePeriodicEvent(countersHook);
+  }
+
+  private void emitCounters() {
+    HullCountersEvent event = new HullCountersEvent();
+    event.pointsRead = getCount(HullCounter.POINTS_READ);
+    event.uniqueCells = getCount(HullCounter.UNIQUE_CELLS);
+    event.flushes = getCount(HullCounter.FLUSHES);
+    event.verticesBeforeSimplification = getCount(HullCounter.VERTICES_BEFORE_SIMPLIFICATION);
+    event.verticesAfterSimplification = getCount(HullCounter.VERTICES_AFTER_SIMPLIFICATION);
+    event.spilledRuns = getCount(HullCounter.SPILLED_RUNS);
+    event.indexCacheHits = getCount(HullCounter.INDEX_CACHE_HITS);
+    event.indexCacheMisses = getCount(HullCounter.INDEX_CACHE_MISSES);
+    event.polygonsFilled = getCount(HullCounter.POLYGONS_FILLED);
+    event.runPointsCollapsed = getCount(HullCounter.RUN_POINTS_COLLAPSED);
+    event.pointsClipped = getCount(HullCounter.POINTS_CLIPPED);
+    event.segmentsTraversed = getCount(HullCounter.SEGMENTS_TRAVERSED);
+    event.cellsCoarsened = getCount(HullCounter.CELLS_COARSENED);
+    event.cellsEnclosed = getCount(HullCounter.CELLS_ENCLOSED);
+    event.checkpointsWritten = getCount(HullCounter.CHECKPOINTS_WRITTEN);
+    event.checkpointBytes = getCount(HullCounter.CHECKPOINT_BYTES);
+    event.previewsPublished = getCount(HullCounter.PREVIEWS_PUBLISHED);
+    event.indexTime = getTime(HullStage.INDEX);
+    event.polarTime = getTime(HullStage.POLAR);
+    event.checkpointTime = getTime(HullStage.CHECKPOINT);
+    event.previewTime = getTime(HullStage.PREVIEW);
+    event.commit();
+  }
+}
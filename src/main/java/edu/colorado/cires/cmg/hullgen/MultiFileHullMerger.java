@@ -4,18 +4,32 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
 
 /**
- * Merges {@link Geometry} from multiple files
+ * Merges {@link Geometry} from multiple files, optionally writing a {@link HullCatalog} of the per-file hulls while merging. In
+ * incremental mode the merged hull and a manifest of merged files are stored in a state directory. Later runs merge only new files into
+ * the stored hull, and rebuild it from all files only when a merged file was removed or its content changed, or the parameters of the
+ * {@link GeometryProcessor} changed
  */
 public class MultiFileHullMerger implements InputFileProcessor{
 
+  private static final String MANIFEST_FILE = "manifest.tsv";
+  private static final String HULL_FILE = "hull.wkb";
+
   private final OutputFileReader outputFileReader;
   private final GeometryProcessor geometryProcessor;
+  private final File catalogFile;
+  private final File stateDirectory;
+  private final String parameters;
 
   /**
    * Constructor for {@link MultiFileHullMerger}
@@ -23,37 +37,152 @@ public class MultiFileHullMerger implements InputFileProcessor{
    * @param geometryProcessor {@link GeometryProcessor} for processing geometries
    */
   public MultiFileHullMerger(OutputFileReader outputFileReader, GeometryProcessor geometryProcessor) {
+    this(outputFileReader, geometryProcessor, null);
+  }
+
+  /**
+   * Constructor for {@link MultiFileHullMerger}
+   * @param outputFileReader {@link OutputFileReader} for reading {@link Geometry} from input {@link File}
+   * @param geometryProcessor {@link GeometryProcessor} for processing geometries
+   * @param catalogFile {@link HullCatalog} {@link File} to create while merging, or null for no catalog
+   */
+  public MultiFileHullMerger(OutputFileReader outputFileReader, GeometryProcessor geometryProcessor, File catalogFile) {
+    this(outputFileReader, geometryProcessor, catalogFile, null);
+  }
+
+  /**
+   * Constructor for {@link MultiFileHullMerger}
+   * @param outputFileReader {@link OutputFileReader} for reading {@link Geometry} from input {@link File}
+   * @param geometryProcessor {@link GeometryProcessor} for processing geometries
+   * @param catalogFile {@link HullCatalog} {@link File} to create while merging, or null for no catalog
+   * @param stateDirectory directory holding the stored hull and manifest for incremental merging, or null to merge all files on every run
+   * @throws IllegalArgumentException if both a catalog file and a state directory are given, since an incremental run does not read the
+   *     hulls of files merged before, or if a state directory is given and the {@link GeometryProcessor} is not {@link CacheKeyed}
+   */
+  public MultiFileHullMerger(OutputFileReader outputFileReader, GeometryProcessor geometryProcessor, File catalogFile, File stateDirectory) {
+    if (catalogFile != null && stateDirectory != null) {
+      throw new IllegalArgumentException("A hull catalog cannot be written when merging incrementally");
+    }
     this.outputFileReader = outputFileReader;
     this.geometryProcessor = geometryProcessor;
+    this.catalogFile = catalogFile;
+    this.stateDirectory = stateDirectory;
+    this.parameters = stateDirectory == null ? null : CacheKeyed.parametersOf(geometryProcessor);
   }
 
   /**
    * Merges {@link Geometry} from directory of files
    * @param file input {@link File}
    * @return {@link Geometry} containing merged geometry
-   * @throws IOException if input {@link File} cannot be found
+   * @throws IOException if input {@link File} cannot be found, the catalog {@link File} cannot be created or already exists, or the
+   *     incremental state cannot be read or written
    */
   @Override
   public Geometry process(File file) throws IOException {
-    List<File> inputFiles = Files.walk(file.toPath())
-        .filter(path -> path.getFileName().toString().endsWith(outputFileReader.getExt()))
-        .map(Path::toFile)
-        .collect(Collectors.toList());
+    List<File> inputFiles;
+    try (Stream<Path> paths = Files.walk(file.toPath())) {
+      inputFiles = paths
+          .filter(path -> path.getFileName().toString().endsWith(outputFileReader.getExt()))
+          .map(Path::toFile)
+          .collect(Collectors.toList());
+    }
+
+    if (stateDirectory != null) {
+      return processIncremental(inputFiles);
+    }
+
+    try (HullCatalogWriter catalogWriter = catalogFile == null ? null : new HullCatalogWriter(catalogFile)) {
+      return merge(inputFiles, null, catalogWriter);
+    }
+  }
+
+  private Geometry processIncremental(List<File> inputFiles) throws IOException {
+    Path manifestFile = stateDirectory.toPath().resolve(MANIFEST_FILE);
+    Path hullFile = stateDirectory.toPath().resolve(HULL_FILE);
+    Files.createDirectories(stateDirectory.toPath());
+    HullManifest previous = HullManifest.read(manifestFile);
+    HullManifest current = new HullManifest();
+    current.setParameters(parameters);
+    List<File> newFiles = new ArrayList<>();
+    int changedFiles = 0;
+    for (File inputFile : inputFiles) {
+      String path = inputFile.getAbsolutePath();
+      HullManifest.Entry previousEntry = previous.getEntries().get(path);
+      if (previousEntry != null && previousEntry.matchesAttributes(inputFile)) {
+        current.put(path, previousEntry);
+        continue;
+      }
+      HullManifest.Entry entry = HullManifest.Entry.of(inputFile);
+      current.put(path, entry);
+      if (previousEntry == null) {
+        newFiles.add(inputFile);
+      } else if (!previousEntry.matchesContent(entry)) {
+        changedFiles++;
+      }
+    }
+    int removedFiles = 0;
+    for (String path : previous.getEntries().keySet()) {
+      if (!current.getEntries().containsKey(path)) {
+        removedFiles++;
+      }
+    }
 
     Geometry hull = null;
+    boolean rebuild = changedFiles > 0 || removedFiles > 0 || !parameters.equals(previous.getParameters());
+    if (!rebuild && !previous.getEntries().isEmpty()) {
+      hull = readStoredHull(hullFile);
+      rebuild = hull == null;
+    }
+    if (rebuild) {
+      hull = merge(inputFiles, null, null);
+    } else {
+      hull = merge(newFiles, hull, null);
+    }
 
-    try {
-      for (File inputFile : inputFiles) {
-        Geometry geometry = outputFileReader.read(inputFile);
-        if (hull == null) {
-          hull = geometry;
-          continue;
-        }
-        hull = geometryProcessor.mergeGeometryOutlines(geometry, hull);
+    writeStoredHull(hull, hullFile);
+    current.write(manifestFile);
+    return hull;
+  }
+
+  private Geometry merge(List<File> inputFiles, Geometry hull, HullCatalogWriter catalogWriter) throws IOException {
+    for (File inputFile : inputFiles) {
+      Geometry geometry;
+      try {
+        geometry = outputFileReader.read(inputFile);
+      } catch (ParseException e) {
+        throw new IllegalStateException("Geometry could no be parsed from file: " + inputFile.getName());
       }
-      return hull;
+      if (catalogWriter != null) {
+        catalogWriter.add(inputFile, geometry);
+      }
+      if (hull == null) {
+        hull = geometry;
+        continue;
+      }
+      hull = geometryProcessor.mergeGeometryOutlines(geometry, hull);
+    }
+    return hull;
+  }
+
+  private static Geometry readStoredHull(Path hullFile) throws IOException {
+    if (!Files.exists(hullFile)) {
+      return null;
+    }
+    try {
+      return new WKBReader().read(Files.readAllBytes(hullFile));
     } catch (ParseException e) {
-      throw new IllegalStateException("Geometry could no be parsed from file: " + file.getName());
+      System.out.println("Unable to parse stored hull: " + hullFile);
+      return null;
+    }
+  }
+
+  private static void writeStoredHull(Geometry hull, Path hullFile) throws IOException {
+    if (hull == null) {
+      Files.deleteIfExists(hullFile);
+      return;
     }
+    Path tempFile = hullFile.resolveSibling(hullFile.getFileName() + ".tmp");
+    Files.write(tempFile, new WKBWriter().write(hull));
+    Files.move(tempFile, hullFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
   }
 }
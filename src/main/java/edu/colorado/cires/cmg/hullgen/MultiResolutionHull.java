@@ -0,0 +1,162 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Implementation of {@link BaseHull} which generates hulls at several H3 resolutions from one pass over the input. Points are indexed at
+ * the finest resolution only, and the cell sets of coarser resolutions are derived with h3ToParent. Parents are derived from the next
+ * finer resolution, so each point is indexed once. Because H3 children do not exactly cover their parent, a derived coarse hull can differ
+ * from one indexed directly at the coarse resolution by cells along its edge
+ */
+public class MultiResolutionHull extends BaseHull {
+
+  private final NavigableMap<Integer, GeometryProcessor> geometryProcessors;
+  private final H3Backend h3Backend;
+  private final Geometry[] hulls = new Geometry[16];
+
+  /**
+   * Constructor for {@link MultiResolutionHull}
+   * @param geometryProcessors {@link Map} of H3 resolution to the {@link GeometryProcessor} at that resolution. The processor at the finest
+   *     resolution indexes the input
+   * @throws IOException if the native H3 library cannot be loaded
+   */
+  public MultiResolutionHull(Map<Integer, GeometryProcessor> geometryProcessors) throws IOException {
+    this(geometryProcessors, new NativeH3Backend(), new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link MultiResolutionHull}
+   * @param geometryProcessors {@link Map} of H3 resolution to the {@link GeometryProcessor} at that resolution. The processor at the finest
+   *     resolution indexes the input
+   * @param h3Backend {@link H3Backend} for deriving parent cells
+   * @param metrics {@link HullMetrics} for recording hull generations
+   */
+  public MultiResolutionHull(Map<Integer, GeometryProcessor> geometryProcessors, H3Backend h3Backend, HullMetrics metrics) {
+    super(finestGeometryProcessor(geometryProcessors), metrics);
+    this.geometryProcessors = Collections.unmodifiableNavigableMap(new TreeMap<>(geometryProcessors));
+    this.h3Backend = h3Backend;
+  }
+
+  private static GeometryProcessor finestGeometryProcessor(Map<Integer, GeometryProcessor> geometryProcessors) {
+    if (geometryProcessors.isEmpty()) {
+      throw new IllegalArgumentException("At least one H3 resolution is required");
+    }
+    for (int resolution : geometryProcessors.keySet()) {
+      if (resolution < 0 || resolution > 15) {
+        throw new IllegalArgumentException("Invalid H3 resolution: " + resolution);
+      }
+    }
+    return geometryProcessors.get(Collections.max(geometryProcessors.keySet()));
+  }
+
+  /**
+   * Derives the cell sets of every resolution from the finest H3 ids, then generates and merges the hulls of all resolutions in parallel.
+   * Empties the point set
+   */
+  @Override
+  public void generateHull() {
+    metrics.increment(HullCounter.FLUSHES, 1);
+    Map<Integer, Set<Long>> cellSets = new TreeMap<>();
+    Set<Long> cells = points;
+    int cellResolution = geometryProcessors.lastKey();
+    for (int resolution : geometryProcessors.descendingKeySet()) {
+      if (resolution != cellResolution) {
+        cells = parents(cells, resolution);
+        cellResolution = resolution;
+      }
+      cellSets.put(resolution, cells);
+    }
+    points = new HashSet<>();
+    cellSets.entrySet().parallelStream().forEach(entry -> {
+      GeometryProcessor geometryProcessor = geometryProcessors.get(entry.getKey());
+      Geometry geometryOutlines = geometryProcessor.getGeometry(entry.getValue());
+      hulls[entry.getKey()] = geometryProcessor.mergeGeometryOutlines(geometryOutlines, hulls[entry.getKey()]);
+    });
+  }
+
+  private Set<Long> parents(Set<Long> cells, int resolution) {
+    Set<Long> parents = new HashSet<>();
+    for (long h3 : cells) {
+      parents.add(h3Backend.h3ToParent(h3, resolution));
+    }
+    return parents;
+  }
+
+  /**
+   * Gets {@link Geometry} containing the hull at the finest resolution
+   * @return {@link Geometry} containing hull
+   */
+  @Override
+  public Geometry getHullGeometry() {
+    return hulls[geometryProcessors.lastKey()];
+  }
+
+  /**
+   * Gets {@link Geometry} containing the hull at one of the resolutions
+   * @param resolution H3 resolution
+   * @return {@link Geometry} containing hull
+   * @throws IllegalArgumentException if no {@link GeometryProcessor} was given for the resolution
+   */
+  public Geometry getHullGeometry(int resolution) {
+    if (!geometryProcessors.containsKey(resolution)) {
+      throw new IllegalArgumentException("Hull not generated at H3 resolution: " + resolution);
+    }
+    return hulls[resolution];
+  }
+
+  /**
+   * Gets the H3 resolutions at which hulls are generated
+   * @return {@link Set} of H3 resolutions in ascending order
+   */
+  public Set<Integer> getResolutions() {
+    return geometryProcessors.keySet();
+  }
+
+  /**
+   * Describes the hull and the parameters of the {@link GeometryProcessor} at each resolution
+   * @return description of the parameters
+   */
+  @Override
+  public String getParameters() {
+    StringBuilder parameters = new StringBuilder(getClass().getSimpleName()).append("[");
+    for (Map.Entry<Integer, GeometryProcessor> geometryProcessor : geometryProcessors.entrySet()) {
+      parameters.append(geometryProcessor.getKey()).append("=").append(CacheKeyed.parametersOf(geometryProcessor.getValue())).append(", ");
+    }
+    return parameters.append("]").toString();
+  }
+
+  /**
+   * Writes the hull at each resolution and the H3 ids of the point set
+   * @param output {@link DataOutput} to write to
+   * @throws IOException if the state cannot be written
+   */
+  @Override
+  public void writeCheckpoint(DataOutput output) throws IOException {
+    super.writeCheckpoint(output);
+    for (int resolution : geometryProcessors.keySet()) {
+      Checkpointer.writeGeometry(output, hulls[resolution]);
+    }
+  }
+
+  /**
+   * Replaces the hull at each resolution and the point set with a checkpoint
+   * @param input {@link DataInput} to read from
+   * @throws IOException if the state cannot be read
+   */
+  @Override
+  public void readCheckpoint(DataInput input) throws IOException {
+    super.readCheckpoint(input);
+    for (int resolution : geometryProcessors.keySet()) {
+      hulls[resolution] = Checkpointer.readGeometry(input);
+    }
+  }
+}
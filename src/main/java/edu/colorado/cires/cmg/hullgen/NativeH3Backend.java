@@ -0,0 +1,75 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import com.uber.h3core.H3Core;
+import com.uber.h3core.util.GeoCoord;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Implementation of {@link H3Backend} which calls the native H3 library through {@link H3Core}
+ */
+public class NativeH3Backend implements H3Backend {
+
+  private final H3Core h3Core;
+
+  /**
+   * Constructor for {@link NativeH3Backend}
+   * @throws IOException if {@link H3Core} cannot create a new instance
+   */
+  public NativeH3Backend() throws IOException {
+    this(H3Core.newInstance());
+  }
+
+  /**
+   * Constructor for {@link NativeH3Backend}
+   * @param h3Core {@link H3Core} to delegate to
+   */
+  public NativeH3Backend(H3Core h3Core) {
+    this.h3Core = h3Core;
+  }
+
+  @Override
+  public long geoToH3(double lat, double lng, int res) {
+    return h3Core.geoToH3(lat, lng, res);
+  }
+
+  @Override
+  public GeoCoord h3ToGeo(long h3) {
+    return h3Core.h3ToGeo(h3);
+  }
+
+  @Override
+  public List<GeoCoord> h3ToGeoBoundary(long h3) {
+    return h3Core.h3ToGeoBoundary(h3);
+  }
+
+  @Override
+  public List<Long> kRing(long h3, int k) {
+    return h3Core.kRing(h3, k);
+  }
+
+  @Override
+  public long h3ToParent(long h3, int res) {
+    return h3Core.h3ToParent(h3, res);
+  }
+
+  @Override
+  public List<Long> h3ToChildren(long h3, int childRes) {
+    return h3Core.h3ToChildren(h3, childRes);
+  }
+
+  @Override
+  public List<Long> polyfill(List<GeoCoord> boundary, List<List<GeoCoord>> holes, int res) {
+    return h3Core.polyfill(boundary, holes, res);
+  }
+
+  @Override
+  public int h3GetResolution(long h3) {
+    return h3Core.h3GetResolution(h3);
+  }
+
+  @Override
+  public boolean h3IsPentagon(long h3) {
+    return h3Core.h3IsPentagon(h3);
+  }
+}
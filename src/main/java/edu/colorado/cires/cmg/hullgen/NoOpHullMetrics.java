@@ -0,0 +1,30 @@
+package edu.colorado.cires.cmg.hullgen;
+
+/**
+ * Implementation of {@link HullMetrics} which records nothing
+ */
+public class NoOpHullMetrics implements HullMetrics {
+
+  private static final StageTimer NO_OP_TIMER = () -> {
+  };
+
+  @Override
+  public void increment(HullCounter counter, long delta) {
+
+  }
+
+  @Override
+  public void addTime(HullStage stage, long nanos) {
+
+  }
+
+  @Override
+  public StageTimer time(HullStage stage) {
+    return NO_OP_TIMER;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return false;
+  }
+}
@@ -2,7 +2,10 @@ package edu.colorado.cires.cmg.hullgen;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.GeometryFactory;
 
 /**
  * Writes {@link Geometry} to output {@link File}
@@ -17,4 +20,17 @@ public interface OutputFileWriter {
    */
   void write(Geometry geometry, File outputFile) throws IOException;
 
+  /**
+   * Writes several keyed {@link Geometry} to a single output {@link File}. By default they are written as one
+   * {@link GeometryCollection}, in the iteration order of the {@link Map}, without their keys
+   * @param geometries {@link Map} of key to {@link Geometry}
+   * @param keyProperty name of the property holding the key, in formats which hold properties
+   * @param outputFile output {@link File}
+   * @throws IOException if output {@link File} cannot be created or already exists
+   */
+  default void write(Map<String, Geometry> geometries, String keyProperty, File outputFile) throws IOException {
+    GeometryFactory geometryFactory = geometries.isEmpty() ? new GeometryFactory() : geometries.values().iterator().next().getFactory();
+    write(geometryFactory.createGeometryCollection(geometries.values().toArray(new Geometry[0])), outputFile);
+  }
+
 }
@@ -0,0 +1,208 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * {@link InputStream} which reads its source on a separate thread into a bounded ring of buffers, so that CPU-bound work in the source,
+ * such as inflating gzip, overlaps with parsing by the reader. The source thread blocks once every buffer is filled and not yet read
+ */
+public class PipelinedInputStream extends InputStream {
+
+  /**
+   * Default size of each buffer in bytes
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Default number of buffers in the ring
+   */
+  public static final int DEFAULT_BUFFER_COUNT = 8;
+
+  private static final int GZIP_MAGIC_1 = 0x1f;
+  private static final int GZIP_MAGIC_2 = 0x8b;
+
+  private final InputStream source;
+  private final BlockingQueue<Buffer> freeBuffers;
+  private final BlockingQueue<Buffer> filledBuffers = new LinkedBlockingQueue<>();
+  private final Thread thread;
+  private volatile boolean closed = false;
+  private Buffer current;
+  private int position = 0;
+
+  /**
+   * Constructor for {@link PipelinedInputStream}
+   * @param source {@link InputStream} read on a separate thread, closed with this stream
+   */
+  public PipelinedInputStream(InputStream source) {
+    this(source, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_COUNT);
+  }
+
+  /**
+   * Constructor for {@link PipelinedInputStream}
+   * @param source {@link InputStream} read on a separate thread, closed with this stream
+   * @param bufferSize size of each buffer in bytes
+   * @param bufferCount number of buffers in the ring
+   */
+  public PipelinedInputStream(InputStream source, int bufferSize, int bufferCount) {
+    if (bufferSize < 1 || bufferCount < 1) {
+      throw new IllegalArgumentException("Buffer size and count must be positive: " + bufferSize + ", " + bufferCount);
+    }
+    this.source = source;
+    this.freeBuffers = new ArrayBlockingQueue<>(bufferCount);
+    for (int i = 0; i < bufferCount; i++) {
+      freeBuffers.add(new Buffer(new byte[bufferSize]));
+    }
+    this.thread = new Thread(this::fill, "pipelined-input");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Opens a stream for reading, inflating it on a separate thread if it starts with the gzip magic number
+   * @param inputStream {@link InputStream} to open, closed with the returned stream
+   * @return {@link InputStream} of the uncompressed content
+   * @throws IOException if the stream cannot be read
+   */
+  public static InputStream decompress(InputStream inputStream) throws IOException {
+    BufferedInputStream bufferedInputStream = new BufferedInputStream(inputStream, DEFAULT_BUFFER_SIZE);
+    bufferedInputStream.mark(2);
+    boolean gzip = bufferedInputStream.read() == GZIP_MAGIC_1 && bufferedInputStream.read() == GZIP_MAGIC_2;
+    bufferedInputStream.reset();
+    if (!gzip) {
+      return bufferedInputStream;
+    }
+    return new PipelinedInputStream(new GZIPInputStream(bufferedInputStream, DEFAULT_BUFFER_SIZE));
+  }
+
+  /**
+   * Checks whether a file starts with the gzip magic number
+   * @param file {@link File} to check
+   * @return true if the file is gzip compressed
+   * @throws IOException if the file cannot be read
+   */
+  public static boolean isGzip(File file) throws IOException {
+    try (InputStream inputStream = new FileInputStream(file)) {
+      return inputStream.read() == GZIP_MAGIC_1 && inputStream.read() == GZIP_MAGIC_2;
+    }
+  }
+
+  private void fill() {
+    try {
+      while (true) {
+        Buffer buffer = freeBuffers.take();
+        buffer.length = 0;
+        int read = 0;
+        while (buffer.length < buffer.bytes.length) {
+          read = source.read(buffer.bytes, buffer.length, buffer.bytes.length - buffer.length);
+          if (read == -1) {
+            break;
+          }
+          buffer.length += read;
+        }
+        if (buffer.length > 0) {
+          filledBuffers.add(buffer);
+        }
+        if (read == -1) {
+          filledBuffers.add(Buffer.END);
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      // closed by the reader
+    } catch (IOException e) {
+      if (!closed) {
+        filledBuffers.add(new Buffer(e));
+      }
+    } catch (RuntimeException e) {
+      if (!closed) {
+        filledBuffers.add(new Buffer(new IOException("Input could not be read", e)));
+      }
+    }
+  }
+
+  private boolean nextBuffer() throws IOException {
+    if (current == Buffer.END) {
+      return false;
+    }
+    if (current != null) {
+      freeBuffers.add(current);
+    }
+    try {
+      current = filledBuffers.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for input");
+    }
+    position = 0;
+    if (current.failure != null) {
+      IOException failure = current.failure;
+      current = Buffer.END;
+      throw failure;
+    }
+    return current != Buffer.END;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if ((current == null || position == current.length) && !nextBuffer()) {
+      return -1;
+    }
+    return current.bytes[position++] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    if ((current == null || position == current.length) && !nextBuffer()) {
+      return -1;
+    }
+    int count = Math.min(length, current.length - position);
+    System.arraycopy(current.bytes, position, bytes, offset, count);
+    position += count;
+    return count;
+  }
+
+  /**
+   * Stops the source thread and closes the source
+   * @throws IOException if the source cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    thread.interrupt();
+    source.close();
+  }
+
+  /**
+   * Bytes read from the source, or a failure of the source
+   */
+  private static class Buffer {
+
+    private static final Buffer END = new Buffer(new byte[0]);
+
+    private final byte[] bytes;
+    private final IOException failure;
+    private int length;
+
+    private Buffer(byte[] bytes) {
+      this.bytes = bytes;
+      this.failure = null;
+    }
+
+    private Buffer(IOException failure) {
+      this.bytes = new byte[0];
+      this.failure = failure;
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package edu.colorado.cires.cmg.hullgen;
+
+/**
+ * {@link Hull} which publishes preview hulls from a sample of the input read ahead of the full pass. An {@link InputFileProcessor} samples
+ * the input for a preview when its hull implements this interface, see {@link ProgressiveHull}
+ */
+public interface PreviewHull extends Hull {
+
+  /**
+   * Gets the number of input points to sample ahead of the full pass for a preview
+   * @return number of points to sample, or 0 for no preview
+   */
+  int getPreviewSampleSize();
+
+  /**
+   * Adds a sample of the input read ahead of the full pass and publishes a preview hull from it
+   * @param lats array of latitudes
+   * @param lons array of longitudes
+   * @param offset index of the first point to add
+   * @param length number of points to add
+   */
+  void addPreviewPoints(double[] lats, double[] lons, int offset, int length);
+
+}
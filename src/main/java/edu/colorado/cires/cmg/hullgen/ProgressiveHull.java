@@ -0,0 +1,148 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Implementation of {@link BaseHull} which publishes hulls to a {@link HullPreviewListener} while the input is processed. An
+ * {@link InputFileProcessor} first reads a sample of the input, from which a preview hull is published at a coarse H3 resolution. Every H3
+ * id added in the full pass is also kept as its parent at the preview resolution, and the coarse hull of the sample and the input read so
+ * far is published again at most once per refresh interval. The full resolution hull is published when it is generated
+ */
+public class ProgressiveHull extends BaseHull implements PreviewHull {
+
+  /**
+   * Default number of input points sampled for the first preview
+   */
+  public static final int DEFAULT_SAMPLE_SIZE = 10000;
+
+  /**
+   * Default minimum time in milliseconds between previews
+   */
+  public static final long DEFAULT_REFRESH_MILLIS = 5000;
+
+  private static final int REFRESH_CHECK_INTERVAL = 4096;
+
+  private final int previewResolution;
+  private final GeometryProcessor previewGeometryProcessor;
+  private final HullPreviewListener listener;
+  private final int sampleSize;
+  private final long refreshMillis;
+  private final H3Backend h3Backend;
+  private final Set<Long> previewCells = new HashSet<>();
+  private long lastH3 = 0;
+  private int addedSinceCheck = 0;
+  private long lastPreview;
+
+  /**
+   * Constructor for {@link ProgressiveHull}
+   * @param geometryProcessor {@link GeometryProcessor} for processing JTS geometries from H3 ids
+   * @param previewResolution H3 resolution of the previews, not finer than the resolution of the {@link GeometryProcessor}
+   * @param previewGeometryProcessor {@link GeometryProcessor} at the preview resolution
+   * @param listener {@link HullPreviewListener} receiving the previews and the full resolution hull
+   * @throws IOException if the native H3 library cannot be loaded
+   */
+  public ProgressiveHull(GeometryProcessor geometryProcessor, int previewResolution, GeometryProcessor previewGeometryProcessor,
+      HullPreviewListener listener) throws IOException {
+    this(geometryProcessor, previewResolution, previewGeometryProcessor, listener, DEFAULT_SAMPLE_SIZE, DEFAULT_REFRESH_MILLIS,
+        new NativeH3Backend(), new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link ProgressiveHull}
+   * @param geometryProcessor {@link GeometryProcessor} for processing JTS geometries from H3 ids
+   * @param previewResolution H3 resolution of the previews, not finer than the resolution of the {@link GeometryProcessor}
+   * @param previewGeometryProcessor {@link GeometryProcessor} at the preview resolution
+   * @param listener {@link HullPreviewListener} receiving the previews and the full resolution hull
+   * @param sampleSize number of input points sampled for the first preview
+   * @param refreshMillis minimum time in milliseconds between previews during the full pass
+   * @param h3Backend {@link H3Backend} for deriving preview cells
+   * @param metrics {@link HullMetrics} for recording hull generations and previews
+   */
+  public ProgressiveHull(GeometryProcessor geometryProcessor, int previewResolution, GeometryProcessor previewGeometryProcessor,
+      HullPreviewListener listener, int sampleSize, long refreshMillis, H3Backend h3Backend, HullMetrics metrics) {
+    super(geometryProcessor, metrics);
+    if (previewResolution < 0 || previewResolution > 15) {
+      throw new IllegalArgumentException("Invalid H3 resolution: " + previewResolution);
+    }
+    if (sampleSize < 0 || refreshMillis < 0) {
+      throw new IllegalArgumentException("Sample size and refresh interval must not be negative: " + sampleSize + ", " + refreshMillis);
+    }
+    this.previewResolution = previewResolution;
+    this.previewGeometryProcessor = previewGeometryProcessor;
+    this.listener = listener;
+    this.sampleSize = sampleSize;
+    this.refreshMillis = refreshMillis;
+    this.h3Backend = h3Backend;
+    this.lastPreview = System.currentTimeMillis();
+  }
+
+  /**
+   * Gets the number of input points to sample for the first preview
+   * @return number of points to sample
+   */
+  @Override
+  public int getPreviewSampleSize() {
+    return sampleSize;
+  }
+
+  /**
+   * Adds a sample of the input at the preview resolution and publishes a preview
+   * @param lats array of latitudes
+   * @param lons array of longitudes
+   * @param offset index of the first point to add
+   * @param length number of points to add
+   */
+  @Override
+  public void addPreviewPoints(double[] lats, double[] lons, int offset, int length) {
+    long[] ids = new long[length];
+    previewGeometryProcessor.geoCoordsToH3(lats, lons, offset, length, ids);
+    for (long h3 : ids) {
+      previewCells.add(h3);
+    }
+    publishPreview();
+  }
+
+  /**
+   * Adds H3 id to point set and its parent to the preview cells, publishing a preview when the refresh interval has passed
+   * @param h3 H3 id
+   */
+  @Override
+  protected void addH3(long h3) {
+    super.addH3(h3);
+    if (h3 != lastH3) {
+      lastH3 = h3;
+      previewCells.add(h3Backend.h3ToParent(h3, previewResolution));
+    }
+    if (++addedSinceCheck == REFRESH_CHECK_INTERVAL) {
+      addedSinceCheck = 0;
+      if (System.currentTimeMillis() - lastPreview >= refreshMillis) {
+        publishPreview();
+      }
+    }
+  }
+
+  private void publishPreview() {
+    if (previewCells.isEmpty()) {
+      return;
+    }
+    Geometry preview;
+    try (StageTimer timer = metrics.time(HullStage.PREVIEW)) {
+      preview = previewGeometryProcessor.getGeometry(previewCells);
+    }
+    metrics.increment(HullCounter.PREVIEWS_PUBLISHED, 1);
+    listener.onHull(preview, false);
+    lastPreview = System.currentTimeMillis();
+  }
+
+  /**
+   * Generates and merges hulls from H3 ids, then publishes the full resolution hull. Empties the point set
+   */
+  @Override
+  public void generateHull() {
+    super.generateHull();
+    listener.onHull(hull, true);
+  }
+}
@@ -0,0 +1,95 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+
+/**
+ * Area in longitude/latitude to which input points are clipped before any H3 work. Points are tested against the bounding box of the area
+ * first, and only points inside the box of a non-rectangular area are tested against the area itself
+ */
+public class RegionOfInterest {
+
+  private final Envelope envelope;
+  private final PreparedGeometry preparedGeometry;
+  private final GeometryFactory geometryFactory;
+
+  /**
+   * Constructor for {@link RegionOfInterest}
+   * @param minLon minimum longitude of the bounding box
+   * @param minLat minimum latitude of the bounding box
+   * @param maxLon maximum longitude of the bounding box
+   * @param maxLat maximum latitude of the bounding box
+   */
+  public RegionOfInterest(double minLon, double minLat, double maxLon, double maxLat) {
+    this(new Envelope(minLon, maxLon, minLat, maxLat), null, null);
+  }
+
+  /**
+   * Constructor for {@link RegionOfInterest}
+   * @param geometry {@link Geometry} with longitude x and latitude y coordinates covering the area
+   */
+  public RegionOfInterest(Geometry geometry) {
+    this(
+        geometry.getEnvelopeInternal(),
+        geometry.isRectangle() ? null : PreparedGeometryFactory.prepare(geometry),
+        geometry.getFactory()
+    );
+  }
+
+  private RegionOfInterest(Envelope envelope, PreparedGeometry preparedGeometry, GeometryFactory geometryFactory) {
+    this.envelope = envelope;
+    this.preparedGeometry = preparedGeometry;
+    this.geometryFactory = geometryFactory;
+  }
+
+  /**
+   * Checks whether a point falls inside the area or on its boundary
+   * @param lat latitude
+   * @param lon longitude
+   * @return true if the point falls inside the area
+   */
+  public boolean contains(double lat, double lon) {
+    if (!envelope.covers(lon, lat)) {
+      return false;
+    }
+    return preparedGeometry == null || preparedGeometry.covers(geometryFactory.createPoint(new Coordinate(lon, lat)));
+  }
+
+  /**
+   * Checks whether a latitude falls inside the bounding box of the area
+   * @param lat latitude
+   * @return true if the latitude falls inside the bounding box
+   */
+  public boolean containsLatitude(double lat) {
+    return lat >= envelope.getMinY() && lat <= envelope.getMaxY();
+  }
+
+  /**
+   * Checks whether a longitude falls inside the bounding box of the area
+   * @param lon longitude
+   * @return true if the longitude falls inside the bounding box
+   */
+  public boolean containsLongitude(double lon) {
+    return lon >= envelope.getMinX() && lon <= envelope.getMaxX();
+  }
+
+  /**
+   * Checks whether the area is its own bounding box, so that points inside the box need no further test
+   * @return true if the area is a rectangle
+   */
+  public boolean isRectangle() {
+    return preparedGeometry == null;
+  }
+
+  /**
+   * Describes the bounding box and, for a non-rectangular area, the area itself
+   * @return description of the area
+   */
+  public String getParameters() {
+    return preparedGeometry == null ? envelope.toString() : envelope + " " + preparedGeometry.getGeometry().toText();
+  }
+}
@@ -0,0 +1,67 @@
+package edu.colorado.cires.cmg.hullgen;
+
+/**
+ * H3 resolution chosen by a {@link ResolutionSelector}, with the estimates it was chosen from
+ */
+public class ResolutionSelection {
+
+  private final int resolution;
+  private final long estimatedCells;
+  private final long estimatedVertices;
+  private final int sampledPoints;
+  private final long totalPoints;
+
+  ResolutionSelection(int resolution, long estimatedCells, long estimatedVertices, int sampledPoints, long totalPoints) {
+    this.resolution = resolution;
+    this.estimatedCells = estimatedCells;
+    this.estimatedVertices = estimatedVertices;
+    this.sampledPoints = sampledPoints;
+    this.totalPoints = totalPoints;
+  }
+
+  /**
+   * Gets the chosen H3 resolution
+   * @return H3 resolution
+   */
+  public int getResolution() {
+    return resolution;
+  }
+
+  /**
+   * Gets the estimated number of H3 cells in the hull at the chosen resolution
+   * @return estimated number of cells
+   */
+  public long getEstimatedCells() {
+    return estimatedCells;
+  }
+
+  /**
+   * Gets the estimated number of vertices in the hull outline at the chosen resolution
+   * @return estimated number of vertices
+   */
+  public long getEstimatedVertices() {
+    return estimatedVertices;
+  }
+
+  /**
+   * Gets the number of input points sampled
+   * @return number of sampled points
+   */
+  public int getSampledPoints() {
+    return sampledPoints;
+  }
+
+  /**
+   * Gets the number of input points, estimated when the input was not read to the end
+   * @return number of input points
+   */
+  public long getTotalPoints() {
+    return totalPoints;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("H3 resolution %d: about %d cells and %d hull vertices from %d sampled of %d points",
+        resolution, estimatedCells, estimatedVertices, sampledPoints, totalPoints);
+  }
+}
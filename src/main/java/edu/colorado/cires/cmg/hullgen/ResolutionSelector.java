@@ -0,0 +1,282 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import com.twelvemonkeys.imageio.plugins.tiff.TIFFImageMetadata;
+import java.awt.Rectangle;
+import java.awt.image.Raster;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Chooses the finest H3 resolution whose estimated cell and hull vertex counts fit a budget, from an evenly spaced sample of the input.
+ * <p>
+ * At each resolution the sample is indexed and the cell count of the full input is estimated from the cells seen in the sample: a cell
+ * seen several times is likely complete, while each cell seen once stands for about as many unseen cells as there are input points per
+ * sample point. The hull outline is estimated from the cells on the edge of the sampled cell set, measured at the finest resolution at
+ * which the sample covers its cells, and scaled by the square root of 7 for each finer resolution, as the perimeter of an area in cells
+ * grows with the inverse of the cell edge length
+ */
+public class ResolutionSelector {
+
+  /**
+   * Default number of input points sampled
+   */
+  public static final int DEFAULT_SAMPLE_SIZE = 10000;
+
+  private static final int MAX_RESOLUTION = 15;
+  private static final int LINE_LENGTH_SAMPLE = 1000;
+  private static final double SATURATED_SINGLETON_FRACTION = 0.1;
+  private static final double VERTICES_PER_BOUNDARY_CELL = 2D;
+  private static final double KM_PER_DEGREE = 111.32;
+  private static final double[] H3_EDGE_LENGTHS_KM = {
+      1107.712591, 418.6760055, 158.2446558, 59.81085794, 22.6063794, 8.544408276, 3.229482772, 1.220629759,
+      0.461354684, 0.174375668, 0.065907807, 0.024910561, 0.009415526, 0.003559893, 0.001348575, 0.000509713
+  };
+
+  private final long maxCells;
+  private final long maxVertices;
+  private final int sampleSize;
+  private final H3Backend h3Backend;
+
+  /**
+   * Constructor for {@link ResolutionSelector}
+   * @param maxCells maximum estimated number of H3 cells in the hull
+   * @param maxVertices maximum estimated number of vertices in the hull outline
+   * @throws IOException if the native H3 library cannot be loaded
+   */
+  public ResolutionSelector(long maxCells, long maxVertices) throws IOException {
+    this(maxCells, maxVertices, DEFAULT_SAMPLE_SIZE, new NativeH3Backend());
+  }
+
+  /**
+   * Constructor for {@link ResolutionSelector}
+   * @param maxCells maximum estimated number of H3 cells in the hull
+   * @param maxVertices maximum estimated number of vertices in the hull outline
+   * @param sampleSize number of input points sampled
+   * @param h3Backend {@link H3Backend} for indexing the sample
+   */
+  public ResolutionSelector(long maxCells, long maxVertices, int sampleSize, H3Backend h3Backend) {
+    if (maxCells < 1 || maxVertices < 1 || sampleSize < 1) {
+      throw new IllegalArgumentException("Budgets and sample size must be positive");
+    }
+    this.maxCells = maxCells;
+    this.maxVertices = maxVertices;
+    this.sampleSize = sampleSize;
+    this.h3Backend = h3Backend;
+  }
+
+  /**
+   * Chooses the H3 resolution for CSV coordinates (longitude/latitude column order). Every n-th line is sampled, with n estimated from
+   * the file size and the length of the first lines, and reading stops once the sample is full. The line count of the rest of the file
+   * is then estimated from its size
+   * @param file {@link File} containing CSV coordinates
+   * @param delimiters regex {@link String} specifying pattern which divides CSV columns
+   * @return {@link ResolutionSelection} holding the H3 resolution and its estimates
+   * @throws IOException if input {@link File} cannot be found
+   */
+  public ResolutionSelection selectForCSV(File file, String delimiters) throws IOException {
+    double[] lats = new double[sampleSize];
+    double[] lons = new double[sampleSize];
+    int sampled = 0;
+    long lines = 0;
+    long bytesRead = 0;
+    List<String> firstLines = new ArrayList<>(LINE_LENGTH_SAMPLE);
+    try (
+        InputStream inputStream = new FileInputStream(file);
+        InputStreamReader inputStreamReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        BufferedReader bufferedReader = new BufferedReader(inputStreamReader)
+        ) {
+      String line;
+      boolean ended = false;
+      while (firstLines.size() < LINE_LENGTH_SAMPLE) {
+        line = bufferedReader.readLine();
+        if (line == null) {
+          ended = true;
+          break;
+        }
+        firstLines.add(line);
+        bytesRead += line.length() + 1;
+      }
+      long estimatedLines = bytesRead == 0 ? 0 : Math.round(file.length() * (double) firstLines.size() / bytesRead);
+      long stride = Math.max(1, (long) Math.ceil(estimatedLines / (double) sampleSize));
+      Iterator<String> firstLine = firstLines.iterator();
+      while (sampled < sampleSize) {
+        if (firstLine.hasNext()) {
+          line = firstLine.next();
+        } else if (ended || (line = bufferedReader.readLine()) == null) {
+          ended = true;
+          break;
+        }
+        if (lines % stride == 0) {
+          String[] yx = line.split(delimiters);
+          lats[sampled] = Double.parseDouble(yx[1]);
+          lons[sampled] = Double.parseDouble(yx[0]);
+          sampled++;
+        }
+        lines++;
+      }
+      if (!ended) {
+        lines = Math.max(lines, estimatedLines);
+      }
+    }
+    return select(lats, lons, sampled, lines, 1);
+  }
+
+  /**
+   * Chooses the H3 resolution for a GeoTiff image. The smallest reduced-resolution overview holding at least the sample size in pixels,
+   * or the full resolution image if there is none, is read subsampled to about the sample size, and valid pixels are sampled
+   * @param file {@link File} containing GeoTIFF image
+   * @return {@link ResolutionSelection} holding the H3 resolution and its estimates
+   * @throws IOException if input {@link File} does not exist
+   */
+  public ResolutionSelection selectForGeoTiff(File file) throws IOException {
+    try (
+        ImageInputStream imageInputStream = ImageIO.createImageInputStream(file)
+        ) {
+      Iterator<ImageReader> imageReaders = ImageIO.getImageReaders(imageInputStream);
+      if (!imageReaders.hasNext()) {
+        throw new IllegalArgumentException("Image readers not found for: " + file.getName());
+      }
+      ImageReader imageReader = imageReaders.next();
+      try {
+        imageReader.setInput(imageInputStream);
+        GeoTiffMetadata geoTiffMetadata = GeoTiffMetadata.fromTIFFImageMetadata(
+            (TIFFImageMetadata) imageReader.getImageMetadata(0)
+        );
+        int sampleIndex = 0;
+        for (int imageIndex = 1; imageIndex < imageReader.getNumImages(true); imageIndex++) {
+          if (GeoTiffMetadata.isOverview((TIFFImageMetadata) imageReader.getImageMetadata(imageIndex))
+              && imageReader.getWidth(imageIndex) < imageReader.getWidth(sampleIndex)
+              && (long) imageReader.getWidth(imageIndex) * imageReader.getHeight(imageIndex) >= sampleSize) {
+            sampleIndex = imageIndex;
+          }
+        }
+        Rectangle imageDimensions = geoTiffMetadata.getImageDimensions();
+        int width = imageReader.getWidth(sampleIndex);
+        int height = imageReader.getHeight(sampleIndex);
+        GeoTiffMetadata sampleMetadata = sampleIndex == 0 ? geoTiffMetadata : geoTiffMetadata.scaledTo(new Rectangle(width, height));
+        double[] pixelLats = GeoTiffProcessor.pixelLatitudes(sampleMetadata);
+        double[] pixelLons = GeoTiffProcessor.pixelLongitudes(sampleMetadata);
+        int stride = Math.max(1, (int) Math.ceil(Math.sqrt((double) width * height / sampleSize)));
+        ImageReadParam readParam = new ImageReadParam();
+        readParam.setSourceSubsampling(stride, stride, 0, 0);
+        Raster raster = imageReader.readRaster(sampleIndex, readParam);
+
+        double[] lats = new double[raster.getWidth() * raster.getHeight()];
+        double[] lons = new double[lats.length];
+        int[] row = new int[raster.getWidth()];
+        int sampled = 0;
+        for (int y = 0; y < raster.getHeight(); y++) {
+          raster.getSamples(raster.getMinX(), raster.getMinY() + y, raster.getWidth(), 1, 0, row);
+          for (int x = 0; x < row.length; x++) {
+            if (GeoTiffProcessor.isValidPixel(row[x])) {
+              lats[sampled] = pixelLats[y * stride];
+              lons[sampled] = pixelLons[x * stride];
+              sampled++;
+            }
+          }
+        }
+        double pixelsPerSample = (double) stride * stride * imageDimensions.width * imageDimensions.height / ((double) width * height);
+        return select(lats, lons, sampled, Math.round(sampled * pixelsPerSample), 2);
+      } finally {
+        imageReader.dispose();
+      }
+    }
+  }
+
+  private ResolutionSelection select(double[] lats, double[] lons, int sampled, long totalPoints, int dimensions) {
+    long[] cells = new long[MAX_RESOLUTION + 1];
+    long[] boundaryCells = new long[MAX_RESOLUTION + 1];
+    estimate(lats, lons, sampled, totalPoints, dimensions, cells, boundaryCells);
+    int resolution = 0;
+    for (int res = MAX_RESOLUTION; res > 0; res--) {
+      if (cells[res] <= maxCells && boundaryCells[res] * VERTICES_PER_BOUNDARY_CELL <= maxVertices) {
+        resolution = res;
+        break;
+      }
+    }
+    return new ResolutionSelection(resolution, cells[resolution], (long) (boundaryCells[resolution] * VERTICES_PER_BOUNDARY_CELL), sampled,
+        totalPoints);
+  }
+
+  /**
+   * Estimates the cells and the boundary cells of the full input at every resolution
+   * @param dimensions 1 when the input points between two sample points lie along the line joining them, as for tracks, or 2 when they
+   *     fill the square around them, as for image pixels
+   */
+  void estimate(double[] lats, double[] lons, int sampled, long totalPoints, int dimensions, long[] cells, long[] boundaryCells) {
+    Arrays.fill(cells, 0);
+    Arrays.fill(boundaryCells, 0);
+    if (sampled == 0) {
+      return;
+    }
+    double pointsPerSample = (double) totalPoints / sampled;
+    double[] spacings = sampleSpacings(lats, lons, sampled);
+    int saturatedResolution = -1;
+    for (int res = 0; res <= MAX_RESOLUTION; res++) {
+      Map<Long, Integer> sampleCells = new HashMap<>();
+      long[] sampleH3 = new long[sampled];
+      for (int i = 0; i < sampled; i++) {
+        sampleH3[i] = h3Backend.geoToH3(lats[i], lons[i], res);
+        sampleCells.merge(sampleH3[i], 1, Integer::sum);
+      }
+      double cellWidth = H3_EDGE_LENGTHS_KM[res] * Math.sqrt(3);
+      double unseenCells = 0;
+      long singletons = 0;
+      for (int i = 0; i < sampled; i++) {
+        if (sampleCells.get(sampleH3[i]) == 1) {
+          singletons++;
+          unseenCells += Math.min(pointsPerSample - 1, Math.max(0, Math.pow(spacings[i] / cellWidth, dimensions) - 1));
+        }
+      }
+      cells[res] = Math.min(totalPoints, Math.round(sampleCells.size() + unseenCells));
+      if (singletons <= sampleCells.size() * SATURATED_SINGLETON_FRACTION) {
+        long sampleBoundaryCells = sampleCells.keySet().stream()
+            .filter(h3 -> !sampleCells.keySet().containsAll(h3Backend.kRing(h3, 1)))
+            .count();
+        boundaryCells[res] = Math.round(cells[res] * (double) sampleBoundaryCells / sampleCells.size());
+        saturatedResolution = res;
+      } else if (saturatedResolution < 0) {
+        boundaryCells[res] = cells[res];
+      } else {
+        double scale = Math.pow(Math.sqrt(7), res - saturatedResolution);
+        boundaryCells[res] = Math.min(cells[res], Math.round(boundaryCells[saturatedResolution] * scale));
+      }
+    }
+  }
+
+  /**
+   * Finds the distance in kilometers from each sample point to the nearer of the previous and next sample points, so that jumps between
+   * tracks or image rows are not taken for spacing
+   */
+  private static double[] sampleSpacings(double[] lats, double[] lons, int sampled) {
+    double[] spacings = new double[sampled];
+    Arrays.fill(spacings, Double.MAX_VALUE);
+    for (int i = 0; i < sampled - 1; i++) {
+      double dLat = lats[i + 1] - lats[i];
+      double dLon = Math.abs(lons[i + 1] - lons[i]);
+      dLon = Math.min(dLon, 360 - dLon) * Math.cos(Math.toRadians((lats[i] + lats[i + 1]) / 2));
+      double spacing = Math.sqrt(dLat * dLat + dLon * dLon) * KM_PER_DEGREE;
+      spacings[i] = Math.min(spacings[i], spacing);
+      spacings[i + 1] = spacing;
+    }
+    if (sampled == 1) {
+      spacings[0] = 0;
+    }
+    return spacings;
+  }
+}
@@ -1,13 +1,13 @@
 package edu.colorado.cires.cmg.hullgen;
 
-import com.uber.h3core.H3Core;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.simplify.DouglasPeuckerSimplifier;
 
 /**
@@ -28,7 +28,7 @@ public class SimplifyingGeometryProcessor extends BaseGeometryProcessor {
    * @param distanceTolerance Douglas-Peucker algorithm distance tolerance
    * @param deltaDistanceTolerance Granularity of change in distance tolerance for successive attempts of Douglas-Peucker algorithm
    * @param maxGeometryPointsAllowed maximum allowed points allowed in output {@link Geometry}
-   * @throws IOException if {@link H3Core} cannot create a new instance
+   * @throws IOException if the native H3 library cannot be loaded
    */
   public SimplifyingGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, double distanceTolerance, double deltaDistanceTolerance,
       double maxGeometryPointsAllowed) throws IOException {
@@ -47,11 +47,62 @@ public class SimplifyingGeometryProcessor extends BaseGeometryProcessor {
    * @param deltaDistanceTolerance Granularity of change in distance tolerance for successive attempts of Douglas-Peucker algorithm
    * @param maxGeometryPointsAllowed maximum allowed points allowed in output {@link Geometry}
    * @param keepHoles boolean specifying whether to keep holes in the output geometry
-   * @throws IOException if {@link H3Core} cannot create a new instance
+   * @throws IOException if the native H3 library cannot be loaded
    */
   public SimplifyingGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, double distanceTolerance, double deltaDistanceTolerance,
       double maxGeometryPointsAllowed, boolean keepHoles) throws IOException {
-    super(h3Resolution, geometryFactory, keepHoles);
+    this(h3Resolution, geometryFactory, distanceTolerance, deltaDistanceTolerance, maxGeometryPointsAllowed, keepHoles, new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link SimplifyingGeometryProcessor}
+   * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
+   * @param distanceTolerance Douglas-Peucker algorithm distance tolerance
+   * @param deltaDistanceTolerance Granularity of change in distance tolerance for successive attempts of Douglas-Peucker algorithm
+   * @param maxGeometryPointsAllowed maximum allowed points allowed in output {@link Geometry}
+   * @param keepHoles boolean specifying whether to keep holes in the output geometry
+   * @param metrics {@link HullMetrics} for recording simplification vertex counts and timings
+   * @throws IOException if the native H3 library cannot be loaded
+   */
+  public SimplifyingGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, double distanceTolerance, double deltaDistanceTolerance,
+      double maxGeometryPointsAllowed, boolean keepHoles, HullMetrics metrics) throws IOException {
+    this(h3Resolution, geometryFactory, distanceTolerance, deltaDistanceTolerance, maxGeometryPointsAllowed, keepHoles, metrics, false);
+  }
+
+  /**
+   * Constructor for {@link SimplifyingGeometryProcessor}
+   * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
+   * @param distanceTolerance Douglas-Peucker algorithm distance tolerance
+   * @param deltaDistanceTolerance Granularity of change in distance tolerance for successive attempts of Douglas-Peucker algorithm
+   * @param maxGeometryPointsAllowed maximum allowed points allowed in output {@link Geometry}
+   * @param keepHoles boolean specifying whether to keep holes in the output geometry
+   * @param metrics {@link HullMetrics} for recording simplification vertex counts and timings
+   * @param coherentIndexing boolean specifying whether to skip H3 lookups for points which clearly fall in the previous cell
+   * @throws IOException if the native H3 library cannot be loaded
+   */
+  public SimplifyingGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, double distanceTolerance, double deltaDistanceTolerance,
+      double maxGeometryPointsAllowed, boolean keepHoles, HullMetrics metrics, boolean coherentIndexing) throws IOException {
+    this(h3Resolution, geometryFactory, distanceTolerance, deltaDistanceTolerance, maxGeometryPointsAllowed, keepHoles, metrics, coherentIndexing,
+        new NativeH3Backend());
+  }
+
+  /**
+   * Constructor for {@link SimplifyingGeometryProcessor}
+   * @param h3Resolution integer from 0 (the lowest resolution) to 15 (the highest resolution) specifying size of H3 hexagons
+   * @param geometryFactory {@link GeometryFactory} for generating and merging JTS geometries
+   * @param distanceTolerance Douglas-Peucker algorithm distance tolerance
+   * @param deltaDistanceTolerance Granularity of change in distance tolerance for successive attempts of Douglas-Peucker algorithm
+   * @param maxGeometryPointsAllowed maximum allowed points allowed in output {@link Geometry}
+   * @param keepHoles boolean specifying whether to keep holes in the output geometry
+   * @param metrics {@link HullMetrics} for recording simplification vertex counts and timings
+   * @param coherentIndexing boolean specifying whether to skip H3 lookups for points which clearly fall in the previous cell
+   * @param h3Backend {@link H3Backend} performing H3 operations
+   */
+  public SimplifyingGeometryProcessor(Integer h3Resolution, GeometryFactory geometryFactory, double distanceTolerance, double deltaDistanceTolerance,
+      double maxGeometryPointsAllowed, boolean keepHoles, HullMetrics metrics, boolean coherentIndexing, H3Backend h3Backend) {
+    super(h3Resolution, geometryFactory, keepHoles, metrics, coherentIndexing, h3Backend);
     this.distanceTolerance = distanceTolerance;
     this.deltaDistanceTolerance = deltaDistanceTolerance;
     this.maxGeometryPointsAllowed = maxGeometryPointsAllowed;
@@ -59,14 +110,24 @@ public class SimplifyingGeometryProcessor extends BaseGeometryProcessor {
   }
 
   /**
-   * Transforms H3 ids into {@link Geometry}
+   * Describes the H3 resolution, hole handling, precision model and simplification tolerances
+   * @return description of the parameters
+   */
+  @Override
+  public String getParameters() {
+    return super.getParameters() + "[distanceTolerance=" + distanceTolerance + ", deltaDistanceTolerance=" + deltaDistanceTolerance
+        + ", maxGeometryPointsAllowed=" + maxGeometryPointsAllowed + "]";
+  }
+
+  /**
+   * Transforms H3 ids into simplified {@link Geometry}. When holes are not kept only the outer boundary cells are polygonized, see
+   * {@link BaseGeometryProcessor#getOuterCells(Collection)}
    * @param points {@link Collection<Long>} containing H3 ids
    * @return {@link Geometry} from H3 ids
    */
   @Override
   public Geometry getGeometry(Collection<Long> points) {
-    Collection<Long> geometryPoints = keepHoles ? points : getPointsWithMissingNeighbors(points);
-    return DouglasPeuckerSimplifier.simplify(super.getGeometry(geometryPoints), distanceTolerance);
+    return simplify(super.getGeometry(points), distanceTolerance);
   }
 
   /**
@@ -80,22 +141,40 @@ public class SimplifyingGeometryProcessor extends BaseGeometryProcessor {
    Geometry mergedGeometryOutlines = super.mergeGeometryOutlines(geometry, existingGeometry);
    double mergedGeometryOutlineDistanceTolerance = distanceTolerance;
    while (mergedGeometryOutlines.getNumPoints() >= maxGeometryPointsAllowed) {
-     mergedGeometryOutlines = DouglasPeuckerSimplifier.simplify(
-         mergedGeometryOutlines, mergedGeometryOutlineDistanceTolerance
-     );
+     mergedGeometryOutlines = simplify(mergedGeometryOutlines, mergedGeometryOutlineDistanceTolerance);
      mergedGeometryOutlineDistanceTolerance += deltaDistanceTolerance;
    }
    return super.processPolar(mergedGeometryOutlines);
   }
 
-  private List<Long> getPointsWithMissingNeighbors(Collection<Long> points) {
-    List<Long> pointsWithMissingNeighbors = new ArrayList<>();
-    for (long point : points) {
-      if (!points.containsAll(h3Core.kRing(point, 1))) {
-        pointsWithMissingNeighbors.add(point);
+  /**
+   * Simplifies each polygon of a {@link Geometry} on its own. When holes are removed, islands inside holes are left as polygons within
+   * the outer polygon, which simplifying the whole {@link Geometry} would merge away when repairing its topology
+   * @param geometry {@link Geometry} to simplify
+   * @param tolerance Douglas-Peucker algorithm distance tolerance
+   * @return simplified {@link Geometry}
+   */
+  private Geometry simplify(Geometry geometry, double tolerance) {
+    metrics.increment(HullCounter.VERTICES_BEFORE_SIMPLIFICATION, geometry.getNumPoints());
+    Geometry simplified;
+    try (StageTimer timer = metrics.time(HullStage.SIMPLIFY)) {
+      if (geometry instanceof MultiPolygon) {
+        List<Polygon> polygons = new ArrayList<>();
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+          Geometry simplifiedPolygon = DouglasPeuckerSimplifier.simplify(geometry.getGeometryN(i), tolerance);
+          for (int j = 0; j < simplifiedPolygon.getNumGeometries(); j++) {
+            if (!simplifiedPolygon.getGeometryN(j).isEmpty()) {
+              polygons.add((Polygon) simplifiedPolygon.getGeometryN(j));
+            }
+          }
+        }
+        simplified = geometryFactory.createMultiPolygon(polygons.toArray(new Polygon[] {}));
+      } else {
+        simplified = DouglasPeuckerSimplifier.simplify(geometry, tolerance);
       }
     }
-    return pointsWithMissingNeighbors;
+    metrics.increment(HullCounter.VERTICES_AFTER_SIMPLIFICATION, simplified.getNumPoints());
+    return simplified;
   }
 
 }
@@ -0,0 +1,328 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Implementation of {@link BaseHull} which holds at most a fixed number of H3 ids in memory. When the in-memory buffer fills, its ids
+ * are sorted, de-duplicated and written to a temporary run file. Generating the hull streams a k-way merge of all runs into
+ * polygonization, one buffer-sized batch of unique ids at a time. Batches are collected in the in-memory buffer, which is free once every
+ * id has been spilled, so merging allocates no further id storage
+ */
+public class SpillingHull extends BaseHull {
+
+  private static final double SPILL_THRESHOLD = 0.75;
+
+  private final int memoryBudget;
+  private final Path tempDirectory;
+  private final List<Run> runs = new ArrayList<>();
+  private final long[] buffer;
+  private int bufferSize = 0;
+
+  /**
+   * Constructor for {@link SpillingHull}
+   * @param geometryProcessor {@link GeometryProcessor} for processing JTS geometries from H3 ids
+   * @param memoryBudget maximum number of H3 ids held in memory
+   * @param tempDirectory directory in which run files are created
+   */
+  public SpillingHull(GeometryProcessor geometryProcessor, int memoryBudget, Path tempDirectory) {
+    this(geometryProcessor, memoryBudget, tempDirectory, new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link SpillingHull}
+   * @param geometryProcessor {@link GeometryProcessor} for processing JTS geometries from H3 ids
+   * @param memoryBudget maximum number of H3 ids held in memory
+   * @param tempDirectory directory in which run files are created
+   * @param metrics {@link HullMetrics} for recording hull generations and spilled runs
+   */
+  public SpillingHull(GeometryProcessor geometryProcessor, int memoryBudget, Path tempDirectory, HullMetrics metrics) {
+    super(geometryProcessor, metrics);
+    if (memoryBudget < 2) {
+      throw new IllegalArgumentException("Memory budget must allow at least 2 H3 ids: " + memoryBudget);
+    }
+    this.memoryBudget = memoryBudget;
+    this.tempDirectory = tempDirectory;
+    this.buffer = new long[memoryBudget];
+  }
+
+  /**
+   * Adds H3 id to the in-memory buffer. A full buffer is compacted, and spilled to a run file if compaction does not free enough space
+   * @param h3 H3 id
+   */
+  @Override
+  protected void addH3(long h3) {
+    buffer[bufferSize++] = h3;
+    if (bufferSize == buffer.length) {
+      bufferSize = sortUnique(buffer, bufferSize);
+      if (bufferSize >= buffer.length * SPILL_THRESHOLD) {
+        spill();
+      }
+    }
+  }
+
+  /**
+   * Generates and merges hulls from all buffered and spilled H3 ids, then deletes the run files
+   */
+  @Override
+  public void generateHull() {
+    metrics.increment(HullCounter.FLUSHES, 1);
+    bufferSize = sortUnique(buffer, bufferSize);
+    try {
+      if (runs.isEmpty()) {
+        mergeBatch(bufferSize);
+      } else {
+        if (bufferSize > 0) {
+          spill();
+        }
+        mergeRuns();
+      }
+    } finally {
+      bufferSize = 0;
+      deleteRuns();
+    }
+  }
+
+  private void mergeRuns() {
+    PriorityQueue<Run> queue = new PriorityQueue<>((a, b) -> Long.compare(a.current, b.current));
+    try {
+      for (Run run : runs) {
+        run.open();
+        if (run.advance()) {
+          queue.add(run);
+        }
+      }
+      int batchSize = 0;
+      long last = 0;
+      boolean first = true;
+      while (!queue.isEmpty()) {
+        Run run = queue.poll();
+        long h3 = run.current;
+        if (first || h3 != last) {
+          buffer[batchSize++] = h3;
+          last = h3;
+          first = false;
+          if (batchSize == buffer.length) {
+            mergeBatch(batchSize);
+            batchSize = 0;
+          }
+        }
+        if (run.advance()) {
+          queue.add(run);
+        }
+      }
+      mergeBatch(batchSize);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to read H3 id run", e);
+    } finally {
+      for (Run run : runs) {
+        run.close();
+      }
+    }
+  }
+
+  private void mergeBatch(int batchSize) {
+    if (batchSize == 0) {
+      return;
+    }
+    Geometry geometryOutlines = geometryProcessor.getGeometry(new LongArrayView(buffer, batchSize));
+    hull = geometryProcessor.mergeGeometryOutlines(geometryOutlines, hull);
+  }
+
+  /**
+   * Writes the in-memory buffer to a new run file. If the run cannot be written, the partial run file and every earlier run file are
+   * deleted, so a failed run does not leave temporary files behind
+   */
+  private void spill() {
+    Path file = null;
+    try {
+      file = Files.createTempFile(tempDirectory, "h3-run-", ".bin");
+      try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+        for (int i = 0; i < bufferSize; i++) {
+          outputStream.writeLong(buffer[i]);
+        }
+      }
+      runs.add(new Run(file, bufferSize));
+      metrics.increment(HullCounter.SPILLED_RUNS, 1);
+      bufferSize = 0;
+    } catch (IOException e) {
+      if (file != null) {
+        deleteRun(file);
+      }
+      deleteRuns();
+      throw new UncheckedIOException("Unable to write H3 id run to " + tempDirectory, e);
+    }
+  }
+
+  private void deleteRuns() {
+    for (Run run : runs) {
+      deleteRun(run.file);
+    }
+    runs.clear();
+  }
+
+  private static void deleteRun(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      System.out.println("Unable to delete H3 id run: " + file);
+    }
+  }
+
+  /**
+   * Describes the hull, its memory budget, which sets the batches merged into the hull, and the parameters of its
+   * {@link GeometryProcessor}
+   * @return description of the parameters
+   */
+  @Override
+  public String getParameters() {
+    return super.getParameters() + "[memoryBudget=" + memoryBudget + "]";
+  }
+
+  /**
+   * Writes the hull and the H3 ids of the in-memory buffer and of every run file
+   * @param output {@link DataOutput} to write to
+   * @throws IOException if the state cannot be written or a run file cannot be read
+   */
+  @Override
+  public void writeCheckpoint(DataOutput output) throws IOException {
+    Checkpointer.writeGeometry(output, hull);
+    long count = bufferSize;
+    for (Run run : runs) {
+      count += run.size;
+    }
+    output.writeLong(count);
+    for (int i = 0; i < bufferSize; i++) {
+      output.writeLong(buffer[i]);
+    }
+    for (Run run : runs) {
+      try {
+        run.open();
+        while (run.advance()) {
+          output.writeLong(run.current);
+        }
+      } finally {
+        run.close();
+      }
+    }
+  }
+
+  /**
+   * Replaces the hull and the buffered and spilled H3 ids with a checkpoint, spilling to new run files as the buffer fills
+   * @param input {@link DataInput} to read from
+   * @throws IOException if the state cannot be read
+   */
+  @Override
+  public void readCheckpoint(DataInput input) throws IOException {
+    hull = Checkpointer.readGeometry(input);
+    bufferSize = 0;
+    deleteRuns();
+    long count = input.readLong();
+    for (long i = 0; i < count; i++) {
+      addH3(input.readLong());
+    }
+  }
+
+  /**
+   * Sorts the first {@code size} values of an array and removes duplicates
+   * @param values array of values
+   * @param size number of values to sort
+   * @return number of unique values, which occupy the start of the array
+   */
+  static int sortUnique(long[] values, int size) {
+    if (size == 0) {
+      return 0;
+    }
+    Arrays.sort(values, 0, size);
+    int unique = 1;
+    for (int i = 1; i < size; i++) {
+      if (values[i] != values[unique - 1]) {
+        values[unique++] = values[i];
+      }
+    }
+    return unique;
+  }
+
+  /**
+   * Read-only {@link List} view of the start of a primitive array, boxing each id only as it is read
+   */
+  private static class LongArrayView extends AbstractList<Long> implements RandomAccess {
+
+    private final long[] values;
+    private final int size;
+
+    private LongArrayView(long[] values, int size) {
+      this.values = values;
+      this.size = size;
+    }
+
+    @Override
+    public Long get(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+      }
+      return values[index];
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+  private static class Run implements Closeable {
+
+    private final Path file;
+    private final long size;
+    private DataInputStream inputStream;
+    private long read = 0;
+    private long current;
+
+    private Run(Path file, long size) {
+      this.file = file;
+      this.size = size;
+    }
+
+    private void open() throws IOException {
+      read = 0;
+      inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+    }
+
+    private boolean advance() throws IOException {
+      if (read == size) {
+        return false;
+      }
+      current = inputStream.readLong();
+      read++;
+      return true;
+    }
+
+    @Override
+    public void close() {
+      if (inputStream != null) {
+        try {
+          inputStream.close();
+        } catch (IOException e) {
+          System.out.println("Unable to close H3 id run: " + file);
+        }
+        inputStream = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package edu.colorado.cires.cmg.hullgen;
+
+/**
+ * Measures a single execution of a {@link HullStage}
+ */
+public interface StageTimer extends AutoCloseable {
+
+  /**
+   * Ends the measurement and records it
+   */
+  @Override
+  void close();
+
+}
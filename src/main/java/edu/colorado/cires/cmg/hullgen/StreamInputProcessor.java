@@ -0,0 +1,32 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * {@link InputFileProcessor} which also generates hulls from input which is not a file
+ */
+public interface StreamInputProcessor extends InputFileProcessor {
+
+  /**
+   * Generates hull from an {@link InputStream}, such as a socket or an archive entry
+   * @param inputStream {@link InputStream} of the input, closed when read
+   * @return {@link Geometry} containing hull
+   * @throws IOException if the input cannot be read
+   */
+  Geometry process(InputStream inputStream) throws IOException;
+
+  /**
+   * Generates hull from a {@link ReadableByteChannel}, see {@link #process(InputStream)}
+   * @param channel {@link ReadableByteChannel} of the input, closed when read
+   * @return {@link Geometry} containing hull
+   * @throws IOException if the input cannot be read
+   */
+  default Geometry process(ReadableByteChannel channel) throws IOException {
+    return process(Channels.newInputStream(channel));
+  }
+
+}
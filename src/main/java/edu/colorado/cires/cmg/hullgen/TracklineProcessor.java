@@ -0,0 +1,85 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import com.uber.h3core.util.GeoCoord;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.util.LinearComponentExtracter;
+import org.locationtech.jts.io.ParseException;
+
+/**
+ * Implementation of {@link InputFileProcessor} which computes hulls from tracks stored as line geometries, read with an
+ * {@link OutputFileReader}. Every cell crossed by a segment of a line is added, so sparse tracks give gap-free hulls
+ */
+public class TracklineProcessor implements InputFileProcessor, CacheKeyed {
+
+  private final OutputFileReader outputFileReader;
+  private final BaseHull hull;
+  private final HullMetrics metrics;
+
+  /**
+   * Constructor for {@link TracklineProcessor}
+   * @param outputFileReader {@link OutputFileReader} for reading line {@link Geometry} from input {@link File}
+   * @param hull {@link BaseHull} for generating hulls from H3 ids
+   */
+  public TracklineProcessor(OutputFileReader outputFileReader, BaseHull hull) {
+    this(outputFileReader, hull, new NoOpHullMetrics());
+  }
+
+  /**
+   * Constructor for {@link TracklineProcessor}
+   * @param outputFileReader {@link OutputFileReader} for reading line {@link Geometry} from input {@link File}
+   * @param hull {@link BaseHull} for generating hulls from H3 ids
+   * @param metrics {@link HullMetrics} for recording points read and read timings
+   */
+  public TracklineProcessor(OutputFileReader outputFileReader, BaseHull hull, HullMetrics metrics) {
+    this.outputFileReader = outputFileReader;
+    this.hull = hull;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Describes the input format and the parameters of the hull
+   * @return description of the parameters
+   */
+  @Override
+  public String getParameters() {
+    return getClass().getSimpleName() + "[ext=" + outputFileReader.getExt() + ", hull=" + CacheKeyed.parametersOf(hull) + "]";
+  }
+
+  /**
+   * Computes hulls from the lines of a {@link Geometry}, including the rings of polygons
+   * @param file {@link File} containing line {@link Geometry}
+   * @return {@link Geometry} containing hull
+   * @throws IOException if input {@link File} cannot be found
+   */
+  @Override
+  public Geometry process(File file) throws IOException {
+    try (StageTimer timer = metrics.time(HullStage.READ)) {
+      long pointsRead = 0;
+      List<LineString> lines = LinearComponentExtracter.getLines(outputFileReader.read(file));
+      for (LineString line : lines) {
+        Coordinate[] coordinates = line.getCoordinates();
+        GeoCoord previous = null;
+        for (Coordinate coordinate : coordinates) {
+          GeoCoord geoCoord = new GeoCoord(coordinate.getY(), coordinate.getX());
+          if (previous != null) {
+            hull.addSegment(previous, geoCoord);
+          } else {
+            hull.addPoint(geoCoord);
+          }
+          previous = geoCoord;
+        }
+        pointsRead += coordinates.length;
+      }
+      metrics.increment(HullCounter.POINTS_READ, pointsRead);
+    } catch (ParseException e) {
+      throw new IllegalStateException("Geometry could not be parsed from file: " + file.getName());
+    }
+    hull.generateHull();
+    return hull.getHullGeometry();
+  }
+}
@@ -15,20 +15,31 @@ import org.locationtech.jts.io.WKTWriter;
 public class WktWriter implements OutputFileWriter{
 
   private final CoordinateFilter coordinateFilter;
+  private final HullMetrics metrics;
 
   /**
    * Constructor for {@link WktWriter}
    * @param coordinateFilter {@link CoordinateFilter} to apply to input {@link Geometry}
    */
   public WktWriter(CoordinateFilter coordinateFilter) {
-    this.coordinateFilter = coordinateFilter;
+    this(coordinateFilter, new NoOpHullMetrics());
   }
 
   /**
    * Constructor for {@link WktWriter}
    */
   public WktWriter() {
-  this.coordinateFilter = null;
+    this(null);
+  }
+
+  /**
+   * Constructor for {@link WktWriter}
+   * @param coordinateFilter {@link CoordinateFilter} to apply to input {@link Geometry}
+   * @param metrics {@link HullMetrics} for recording write timings
+   */
+  public WktWriter(CoordinateFilter coordinateFilter, HullMetrics metrics) {
+    this.coordinateFilter = coordinateFilter;
+    this.metrics = metrics;
   }
 
   /**
@@ -39,6 +50,12 @@ public class WktWriter implements OutputFileWriter{
    */
   @Override
   public void write(Geometry geometry, File outputFile) throws IOException {
+    try (StageTimer timer = metrics.time(HullStage.WRITE)) {
+      writeGeometry(geometry, outputFile);
+    }
+  }
+
+  private void writeGeometry(Geometry geometry, File outputFile) throws IOException {
     if (coordinateFilter != null) {
       geometry.apply(coordinateFilter);
     }
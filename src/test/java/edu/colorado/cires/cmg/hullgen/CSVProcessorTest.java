@@ -1,15 +1,30 @@
 package edu.colorado.cires.cmg.hullgen;
 
+import com.uber.h3core.util.GeoCoord;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.ParseException;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.DoubleBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 import org.locationtech.jts.geom.PrecisionModel;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -201,4 +216,479 @@ public class CSVProcessorTest {
     assertFalse(outputGeometry.contains(point));
   }
 
+  @Test
+  public void testMetricsSimplifiedHull() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("hole.csv").toFile();
+
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    SimplifyingGeometryProcessor geometryProcessor = new SimplifyingGeometryProcessor(
+        H3_RESOLUTION, geometryFactory, distanceTolerance, deltaDistanceTolerance, maxHullPointsAllowed, false, metrics
+    );
+    CompleteHull hull = new CompleteHull(geometryProcessor, metrics);
+    CSVProcessor csvProcessor = new CSVProcessor(delimiters, hull, metrics);
+
+    csvProcessor.process(TEST_FILE);
+
+    assertEquals(80002, metrics.getCount(HullCounter.POINTS_READ));
+    assertEquals(1, metrics.getCount(HullCounter.FLUSHES));
+    assertTrue(metrics.getCount(HullCounter.UNIQUE_CELLS) > 0);
+    assertTrue(metrics.getCount(HullCounter.VERTICES_BEFORE_SIMPLIFICATION) >= metrics.getCount(HullCounter.VERTICES_AFTER_SIMPLIFICATION));
+    assertTrue(metrics.getTime(HullStage.READ) > 0);
+    assertTrue(metrics.getTime(HullStage.INDEX) > 0);
+    assertTrue(metrics.getTime(HullStage.UNION) > 0);
+    assertTrue(metrics.getTime(HullStage.SIMPLIFY) > 0);
+  }
+
+  @Test
+  public void testKeepHolesSpillingHull() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("hole.csv").toFile();
+    final Path TEMP_DIR = Paths.get("target/spill-dir");
+    Files.createDirectories(TEMP_DIR);
+
+    CompleteGeometryProcessor geometryProcessor = new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory, true);
+    Geometry expectedGeometry = new CSVProcessor(delimiters, new CompleteHull(geometryProcessor)).process(TEST_FILE);
+
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    SpillingHull hull = new SpillingHull(geometryProcessor, 500, TEMP_DIR, metrics);
+    CSVProcessor csvProcessor = new CSVProcessor(delimiters, hull);
+
+    Geometry outputGeometry = csvProcessor.process(TEST_FILE);
+
+    Coordinate coordinate = new Coordinate();
+    coordinate.setX(0);
+    coordinate.setY(0);
+    Point point = geometryFactory.createPoint(coordinate);
+
+    assertFalse(outputGeometry.contains(point));
+    assertTrue(metrics.getCount(HullCounter.SPILLED_RUNS) > 1);
+    assertEquals(expectedGeometry.getArea(), outputGeometry.getArea(), 1e-9);
+    assertEquals(0, expectedGeometry.symDifference(outputGeometry).getArea(), 1e-9);
+    try (Stream<Path> runFiles = Files.list(TEMP_DIR)) {
+      assertEquals(0, runFiles.count());
+    }
+  }
+
+  @Test
+  public void testBulkPointsMatchCsvHull() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("hole.csv").toFile();
+
+    CompleteGeometryProcessor geometryProcessor = new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory, true);
+    Geometry expectedGeometry = new CSVProcessor(delimiters, new CompleteHull(geometryProcessor)).process(TEST_FILE);
+
+    List<String> lines = Files.readAllLines(TEST_FILE.toPath());
+    double[] lats = new double[lines.size()];
+    double[] lons = new double[lines.size()];
+    DoubleBuffer lonLats = DoubleBuffer.allocate(lines.size() * 2);
+    for (int i = 0; i < lines.size(); i++) {
+      String[] yx = lines.get(i).split(delimiters);
+      lons[i] = Double.parseDouble(yx[0]);
+      lats[i] = Double.parseDouble(yx[1]);
+      lonLats.put(lons[i]).put(lats[i]);
+    }
+
+    int half = lines.size() / 2;
+    CompleteHull arrayHull = new CompleteHull(geometryProcessor);
+    arrayHull.addPoints(lats, lons, 0, half);
+    arrayHull.addPoints(lats, lons, half, lines.size() - half);
+    arrayHull.generateHull();
+
+    BufferedHull bufferHull = new BufferedHull(geometryProcessor, 20000);
+    bufferHull.addPoints(lonLats, 0, lines.size());
+    bufferHull.generateHull();
+
+    assertEquals(0, expectedGeometry.symDifference(arrayHull.getHullGeometry()).getArea(), 1e-9);
+    assertEquals(0, expectedGeometry.symDifference(bufferHull.getHullGeometry()).getArea(), 1e-9);
+  }
+
+  @Test
+  public void testRegionOfInterestClipsPoints() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("hole.csv").toFile();
+    final double cellTolerance = 0.01;
+    Geometry triangle = geometryFactory.createPolygon(new Coordinate[] {
+        new Coordinate(-2, -2), new Coordinate(2, -2), new Coordinate(-2, 2), new Coordinate(-2, -2)
+    });
+
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    CompleteGeometryProcessor geometryProcessor = new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory);
+    CompleteHull hull = new CompleteHull(geometryProcessor);
+    CSVProcessor csvProcessor = new CSVProcessor(delimiters, hull, metrics, new RegionOfInterest(triangle));
+
+    Geometry outputGeometry = csvProcessor.process(TEST_FILE);
+
+    long expectedClipped;
+    try (Stream<String> lines = Files.lines(TEST_FILE.toPath())) {
+      expectedClipped = lines.map(csvProcessor::csvLineToGeoCoord).filter(geoCoord -> geoCoord.lat + geoCoord.lng > 0).count();
+    }
+    assertTrue(expectedClipped > 0);
+    assertEquals(expectedClipped, metrics.getCount(HullCounter.POINTS_CLIPPED));
+    assertTrue(outputGeometry.isValid());
+    assertTrue(triangle.buffer(cellTolerance).covers(outputGeometry));
+  }
+
+
+  @Test
+  public void testGroupedHullsMatchPerGroupHulls(@TempDir Path tempDir) throws IOException, ParseException {
+    final File TEST_FILE = TEST_DIR.resolve("hole.csv").toFile();
+    File keyedFile = tempDir.resolve("keyed.csv").toFile();
+    Map<String, File> groupFiles = new LinkedHashMap<>();
+    for (String key : new String[] {"west", "east"}) {
+      groupFiles.put(key, tempDir.resolve(key + ".csv").toFile());
+    }
+    try (Stream<String> lines = Files.lines(TEST_FILE.toPath())) {
+      Map<String, List<String>> groupLines = lines.collect(Collectors.groupingBy(
+          line -> Double.parseDouble(line.split(delimiters)[0]) < 0 ? "west" : "east", LinkedHashMap::new, Collectors.toList()));
+      List<String> keyedLines = new ArrayList<>();
+      for (Map.Entry<String, List<String>> group : groupLines.entrySet()) {
+        Files.write(groupFiles.get(group.getKey()).toPath(), group.getValue());
+      }
+      int longestGroup = groupLines.values().stream().mapToInt(List::size).max().orElse(0);
+      for (int block = 0; block < longestGroup; block += 1000) {
+        for (Map.Entry<String, List<String>> group : groupLines.entrySet()) {
+          List<String> blockLines = group.getValue();
+          for (int i = block; i < Math.min(block + 1000, blockLines.size()); i++) {
+            keyedLines.add(blockLines.get(i) + "," + group.getKey());
+          }
+        }
+      }
+      Files.write(keyedFile.toPath(), keyedLines);
+    }
+
+    CompleteGeometryProcessor geometryProcessor = new CompleteGeometryProcessor(H3_RESOLUTION - 1, geometryFactory, true);
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    GroupedHull hull = new GroupedHull(geometryProcessor, 500, metrics);
+    GroupedCSVProcessor groupedCSVProcessor = new GroupedCSVProcessor(delimiters, 2, hull, metrics);
+
+    Map<String, Geometry> outputGeometries = groupedCSVProcessor.process(keyedFile);
+
+    assertEquals(groupFiles.keySet(), outputGeometries.keySet());
+    assertTrue(metrics.getCount(HullCounter.FLUSHES) > groupFiles.size());
+    assertEquals(80002, metrics.getCount(HullCounter.POINTS_READ));
+    for (Map.Entry<String, File> groupFile : groupFiles.entrySet()) {
+      Geometry expectedGeometry = new CSVProcessor(delimiters, new CompleteHull(geometryProcessor)).process(groupFile.getValue());
+      Geometry outputGeometry = outputGeometries.get(groupFile.getKey());
+      assertTrue(outputGeometry.isValid());
+      assertEquals(0, expectedGeometry.symDifference(outputGeometry).getArea(), 1e-9);
+    }
+
+    File outputFile = tempDir.resolve("groups.geojson").toFile();
+    GroupedHullGenerator groupedHullGenerator = new GroupedHullGenerator(
+        new GroupedCSVProcessor(delimiters, 2, new GroupedHull(geometryProcessor, 500)), new GeoJSONWriter());
+    groupedHullGenerator.generate(keyedFile, outputFile, "survey");
+    String featureCollection = new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8);
+    assertTrue(featureCollection.startsWith("{\"type\":\"FeatureCollection\",\"features\":[{\"type\":\"Feature\""));
+    assertTrue(featureCollection.contains("\"properties\":{\"survey\":\"west\"}"));
+    assertTrue(featureCollection.contains("\"properties\":{\"survey\":\"east\"}"));
+
+    File wktFile = tempDir.resolve("groups.wkt").toFile();
+    new GroupedHullGenerator(new GroupedCSVProcessor(delimiters, 2, new GroupedHull(geometryProcessor, 500)), new WktWriter())
+        .generate(keyedFile, wktFile, "survey");
+    Geometry geometryCollection = new WktReader().read(wktFile);
+    assertEquals("GeometryCollection", geometryCollection.getGeometryType());
+    assertEquals(outputGeometries.size(), geometryCollection.getNumGeometries());
+  }
+
+  @Test
+  public void testTracklineHullIsGapFree(@TempDir Path tempDir) throws IOException {
+    final double spacing = 0.05;
+    final int densification = 500;
+    File trackFile = tempDir.resolve("track.csv").toFile();
+    File denseFile = tempDir.resolve("dense.csv").toFile();
+    File lineFile = tempDir.resolve("track.wkt").toFile();
+    List<String> trackLines = new ArrayList<>();
+    List<String> denseLines = new ArrayList<>();
+    List<String> lineCoordinates = new ArrayList<>();
+    for (int i = 0; i <= 40; i++) {
+      double lon = 10 + i * spacing;
+      double lat = 20 + (i % 2) * spacing;
+      trackLines.add(lon + "," + lat);
+      lineCoordinates.add(lon + " " + lat);
+      if (i < 40) {
+        double nextLat = 20 + ((i + 1) % 2) * spacing;
+        for (int j = 0; j < densification; j++) {
+          double fraction = (double) j / densification;
+          denseLines.add((lon + spacing * fraction) + "," + (lat + (nextLat - lat) * fraction));
+        }
+      }
+    }
+    denseLines.add(trackLines.get(trackLines.size() - 1));
+    Files.write(trackFile.toPath(), trackLines);
+    Files.write(denseFile.toPath(), denseLines);
+    Files.write(lineFile.toPath(), ("LINESTRING (" + String.join(", ", lineCoordinates) + ")").getBytes(StandardCharsets.UTF_8));
+
+    CompleteGeometryProcessor geometryProcessor = new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory);
+    Geometry pointGeometry = new CSVProcessor(delimiters, new CompleteHull(geometryProcessor)).process(trackFile);
+    Geometry denseGeometry = new CSVProcessor(delimiters, new CompleteHull(geometryProcessor)).process(denseFile);
+
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    CompleteHull hull = new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory, false, metrics));
+    CSVProcessor csvProcessor = new CSVProcessor(delimiters, hull, metrics, null, true);
+    Geometry outputGeometry = csvProcessor.process(trackFile);
+    Geometry lineGeometry = new TracklineProcessor(new WktReader(), new CompleteHull(geometryProcessor)).process(lineFile);
+
+    assertEquals(41, pointGeometry.getNumGeometries());
+    assertEquals(1, outputGeometry.getNumGeometries());
+    assertEquals(40, metrics.getCount(HullCounter.SEGMENTS_TRAVERSED));
+    assertTrue(outputGeometry.isValid());
+    assertTrue(outputGeometry.covers(denseGeometry));
+    assertEquals(denseGeometry.getArea(), outputGeometry.getArea(), denseGeometry.getArea() * 0.01);
+    assertEquals(0, lineGeometry.symDifference(outputGeometry).getArea(), 1e-12);
+
+    List<Long> antimeridianCells = geometryProcessor.segmentToH3(new GeoCoord(0, 179.999), new GeoCoord(0, -179.999));
+    assertTrue(antimeridianCells.size() < 10);
+  }
+
+  @Test
+  public void testResolutionSelectedWithinCellBudget() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("hole.csv").toFile();
+    final long maxCells = 2500;
+
+    ResolutionSelection selection = new ResolutionSelector(maxCells, Long.MAX_VALUE).selectForCSV(TEST_FILE, delimiters);
+    int h3Resolution = selection.getResolution();
+
+    assertEquals(H3_RESOLUTION, h3Resolution);
+    assertTrue(selection.getEstimatedCells() <= maxCells);
+    assertEquals(80002, selection.getTotalPoints());
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    CompleteGeometryProcessor geometryProcessor = new CompleteGeometryProcessor(h3Resolution, geometryFactory, false, metrics);
+    new CSVProcessor(delimiters, new CompleteHull(geometryProcessor)).process(TEST_FILE);
+    assertTrue(metrics.getCount(HullCounter.UNIQUE_CELLS) <= maxCells);
+  }
+
+  @Test
+  public void testOuterCellsMatchHullWithHolesRemoved() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("hole.csv").toFile();
+
+    Geometry holesGeometry = new CSVProcessor(delimiters,
+        new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory, true))).process(TEST_FILE);
+    Polygon[] exteriors = new Polygon[holesGeometry.getNumGeometries()];
+    for (int i = 0; i < exteriors.length; i++) {
+      exteriors[i] = geometryFactory.createPolygon(((Polygon) holesGeometry.getGeometryN(i)).getExteriorRing().getCoordinateSequence());
+    }
+    Geometry expectedGeometry = geometryFactory.createMultiPolygon(exteriors);
+
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    CompleteGeometryProcessor geometryProcessor = new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory, false, metrics);
+    Geometry outputGeometry = new CSVProcessor(delimiters, new CompleteHull(geometryProcessor)).process(TEST_FILE);
+
+    assertTrue(metrics.getCount(HullCounter.CELLS_ENCLOSED) > 0);
+    assertEquals(2, outputGeometry.getNumGeometries());
+    for (int i = 0; i < outputGeometry.getNumGeometries(); i++) {
+      assertEquals(0, ((Polygon) outputGeometry.getGeometryN(i)).getNumInteriorRing());
+    }
+    assertTrue(expectedGeometry.norm().equalsExact(outputGeometry.norm()));
+  }
+
+  @Test
+  public void testSimplifiedOuterCellsKeepIslandInHole() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("hole.csv").toFile();
+
+    Geometry expectedGeometry = new CSVProcessor(delimiters,
+        new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory, false))).process(TEST_FILE);
+
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    SimplifyingGeometryProcessor geometryProcessor = new SimplifyingGeometryProcessor(
+        H3_RESOLUTION, geometryFactory, 0.0001, deltaDistanceTolerance, maxHullPointsAllowed, false, metrics
+    );
+    Geometry outputGeometry = new CSVProcessor(delimiters, new CompleteHull(geometryProcessor)).process(TEST_FILE);
+
+    assertTrue(metrics.getCount(HullCounter.CELLS_ENCLOSED) > 0);
+    assertTrue(metrics.getCount(HullCounter.UNIQUE_CELLS) > metrics.getCount(HullCounter.CELLS_ENCLOSED));
+    assertEquals(2, outputGeometry.getNumGeometries());
+    for (int i = 0; i < outputGeometry.getNumGeometries(); i++) {
+      assertTrue(outputGeometry.getGeometryN(i).isValid());
+    }
+    assertEquals(expectedGeometry.getArea(), outputGeometry.getArea(), expectedGeometry.getArea() * 0.01);
+  }
+
+  @Test
+  public void testCheckpointResumesPreemptedRun(@TempDir Path tempDir) throws IOException {
+    final File TEST_FILE = tempDir.resolve("hole.csv").toFile();
+    final File checkpointFile = tempDir.resolve("checkpoint.bin").toFile();
+    try (Stream<String> lines = Files.lines(TEST_DIR.resolve("hole.csv"))) {
+      Files.write(TEST_FILE.toPath(), lines.limit(5000).collect(Collectors.joining("\r\n", "", "\r\n")).getBytes(StandardCharsets.UTF_8));
+    }
+
+    CountingHullMetrics completeMetrics = new CountingHullMetrics();
+    CompleteHull completeHull = new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory));
+    Geometry expectedGeometry = new CSVProcessor(delimiters, completeHull, completeMetrics).process(TEST_FILE);
+
+    CompleteHull preemptedHull = new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)) {
+      private int points = 0;
+
+      @Override
+      public void addPoint(GeoCoord geoCoord) {
+        if (++points > 3000) {
+          throw new IllegalStateException("preempted");
+        }
+        super.addPoint(geoCoord);
+      }
+
+      @Override
+      public String getParameters() {
+        return completeHull.getParameters();
+      }
+    };
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    assertThrows(IllegalStateException.class, () -> new CSVProcessor(delimiters, preemptedHull, metrics, null,
+        new Checkpointer(checkpointFile, 0, true, metrics)).process(TEST_FILE));
+    assertTrue(checkpointFile.exists());
+    assertEquals(3000, metrics.getCount(HullCounter.CHECKPOINTS_WRITTEN));
+
+    CountingHullMetrics resumedMetrics = new CountingHullMetrics();
+    CompleteHull resumedHull = new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory));
+    Geometry outputGeometry = new CSVProcessor(delimiters, resumedHull, resumedMetrics, null,
+        new Checkpointer(checkpointFile, Long.MAX_VALUE, true, resumedMetrics)).process(TEST_FILE);
+
+    assertFalse(checkpointFile.exists());
+    assertEquals(completeMetrics.getCount(HullCounter.POINTS_READ), resumedMetrics.getCount(HullCounter.POINTS_READ));
+    assertTrue(expectedGeometry.norm().equalsExact(outputGeometry.norm()));
+  }
+
+  @Test
+  public void testCheckpointResumesPreemptedSpillingHull(@TempDir Path tempDir) throws IOException {
+    final File TEST_FILE = tempDir.resolve("hole.csv").toFile();
+    final File checkpointFile = tempDir.resolve("checkpoint.bin").toFile();
+    try (Stream<String> lines = Files.lines(TEST_DIR.resolve("hole.csv"))) {
+      Files.write(TEST_FILE.toPath(), lines.limit(5000).collect(Collectors.joining("\n", "", "\n")).getBytes(StandardCharsets.UTF_8));
+    }
+
+    CompleteGeometryProcessor geometryProcessor = new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory);
+    Geometry expectedGeometry = new CSVProcessor(delimiters, new CompleteHull(geometryProcessor)).process(TEST_FILE);
+
+    SpillingHull preemptedHull = new SpillingHull(geometryProcessor, 100, tempDir) {
+      private int points = 0;
+
+      @Override
+      public void addPoint(GeoCoord geoCoord) {
+        if (++points > 3000) {
+          throw new IllegalStateException("preempted");
+        }
+        super.addPoint(geoCoord);
+      }
+    };
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    assertThrows(IllegalStateException.class, () -> new CSVProcessor(delimiters, preemptedHull, metrics, null,
+        new Checkpointer(checkpointFile, 0, true, metrics)).process(TEST_FILE));
+    assertTrue(checkpointFile.exists());
+
+    CountingHullMetrics resumedMetrics = new CountingHullMetrics();
+    SpillingHull resumedHull = new SpillingHull(geometryProcessor, 100, tempDir, resumedMetrics);
+    Geometry outputGeometry = new CSVProcessor(delimiters, resumedHull, resumedMetrics, null,
+        new Checkpointer(checkpointFile, Long.MAX_VALUE, true, resumedMetrics)).process(TEST_FILE);
+
+    assertFalse(checkpointFile.exists());
+    assertTrue(resumedMetrics.getCount(HullCounter.SPILLED_RUNS) > 1);
+    assertEquals(0, expectedGeometry.symDifference(outputGeometry).getArea(), 1e-9);
+  }
+
+  @Test
+  public void testProgressiveHullPublishesPreviewsBeforeFullHull() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("hole.csv").toFile();
+    final int previewResolution = 5;
+
+    Geometry expectedGeometry = new CSVProcessor(delimiters, new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)))
+        .process(TEST_FILE);
+
+    List<Geometry> hulls = new ArrayList<>();
+    List<Boolean> completed = new ArrayList<>();
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    ProgressiveHull hull = new ProgressiveHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory), previewResolution,
+        new CompleteGeometryProcessor(previewResolution, geometryFactory), (geometry, complete) -> {
+          hulls.add(geometry);
+          completed.add(complete);
+        }, 1000, 0, new NativeH3Backend(), metrics);
+    Geometry outputGeometry = new CSVProcessor(delimiters, hull, metrics).process(TEST_FILE);
+
+    assertTrue(hulls.size() > 2);
+    assertEquals(hulls.size() - 1, metrics.getCount(HullCounter.PREVIEWS_PUBLISHED));
+    assertFalse(completed.get(0));
+    assertTrue(completed.get(hulls.size() - 1));
+    assertEquals(1, completed.stream().filter(complete -> complete).count());
+    assertTrue(hulls.get(0).intersects(expectedGeometry));
+    assertTrue(hulls.get(hulls.size() - 2).covers(hulls.get(0)));
+    assertTrue(expectedGeometry.norm().equalsExact(outputGeometry.norm()));
+    assertSame(outputGeometry, hulls.get(hulls.size() - 1));
+  }
+
+  @Test
+  public void testPipelineMatchesCsvHull() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("hole.csv").toFile();
+
+    Geometry expectedGeometry = new CSVProcessor(delimiters, new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)))
+        .process(TEST_FILE);
+
+    CompleteGeometryProcessor geometryProcessor = new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory);
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    HullPipeline pipeline = new HullPipeline(new CSVCoordinateSource(Files.newInputStream(TEST_FILE.toPath()), delimiters),
+        geometryProcessor, new CompleteHull(geometryProcessor), 3, 2, 100, metrics);
+    Geometry outputGeometry = pipeline.run();
+
+    assertEquals(80002, metrics.getCount(HullCounter.POINTS_READ));
+    assertTrue(expectedGeometry.norm().equalsExact(outputGeometry.norm()));
+
+    CoordinateSource failingSource = new CoordinateSource() {
+      @Override
+      public int read(double[] lats, double[] lons) throws IOException {
+        throw new IOException("connection reset");
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+    IOException exception = assertThrows(IOException.class,
+        () -> new HullPipeline(failingSource, geometryProcessor, new CompleteHull(geometryProcessor)).run());
+    assertEquals("connection reset", exception.getMessage());
+  }
+
+  @Test
+  public void testGzipAndStreamInputMatchFileHull(@TempDir Path tempDir) throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("hole.csv").toFile();
+    final File gzipFile = tempDir.resolve("hole.csv.gz").toFile();
+    try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(gzipFile.toPath()))) {
+      Files.copy(TEST_FILE.toPath(), outputStream);
+    }
+
+    Geometry expectedGeometry = new CSVProcessor(delimiters, new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)))
+        .process(TEST_FILE);
+
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    Geometry gzipGeometry = new CSVProcessor(delimiters, new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)),
+        metrics).process(gzipFile);
+    Geometry streamGeometry = new CSVProcessor(delimiters, new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)))
+        .process(Files.newInputStream(gzipFile.toPath()));
+    Geometry channelGeometry = new CSVProcessor(delimiters, new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)))
+        .process(Files.newByteChannel(TEST_FILE.toPath()));
+
+    assertEquals(80002, metrics.getCount(HullCounter.POINTS_READ));
+    assertTrue(expectedGeometry.norm().equalsExact(gzipGeometry.norm()));
+    assertTrue(expectedGeometry.norm().equalsExact(streamGeometry.norm()));
+    assertTrue(expectedGeometry.norm().equalsExact(channelGeometry.norm()));
+  }
+
+  @Test
+  public void testBinaryPointsMatchCsvHull(@TempDir Path tempDir) throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("hole.csv").toFile();
+    final File binaryFile = tempDir.resolve("hole.bin").toFile();
+
+    Geometry expectedGeometry = new CSVProcessor(delimiters, new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)))
+        .process(TEST_FILE);
+
+    assertEquals(80002, new BinaryPointConverter(delimiters).convert(TEST_FILE, binaryFile));
+    assertEquals(16 + 80002 * 16, binaryFile.length());
+    assertThrows(IOException.class, () -> new BinaryPointConverter(delimiters).convert(TEST_FILE, binaryFile));
+
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    Geometry parallelGeometry = new BinaryPointProcessor(new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)),
+        metrics).process(binaryFile);
+    Geometry serialGeometry = new BinaryPointProcessor(new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)),
+        new NoOpHullMetrics(), null, false, 10000).process(binaryFile);
+
+    assertEquals(80002, metrics.getCount(HullCounter.POINTS_READ));
+    assertTrue(expectedGeometry.norm().equalsExact(parallelGeometry.norm()));
+    assertTrue(expectedGeometry.norm().equalsExact(serialGeometry.norm()));
+    assertThrows(IllegalArgumentException.class,
+        () -> new BinaryPointProcessor(new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory))).process(TEST_FILE));
+  }
+
 }
@@ -0,0 +1,65 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.uber.h3core.H3Core;
+import com.uber.h3core.LengthUnit;
+import com.uber.h3core.util.GeoCoord;
+import java.io.IOException;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class CoherentH3IndexTest {
+
+  @Test
+  public void testMatchesGeoToH3OnRandomWalks() throws IOException {
+    H3Core h3Core = H3Core.newInstance();
+    Random random = new Random(7L);
+    double[][] starts = {
+        {20D, -60D},
+        {-30D, 179.99},
+        {89.5, 0D},
+        {-89.5, 120D},
+        {64.7, 10.5},
+        {0D, 0D}
+    };
+    for (GeoCoord pentagonCenter : pentagonCenters(h3Core)) {
+      starts = append(starts, new double[] {pentagonCenter.lat, pentagonCenter.lng});
+    }
+
+    for (int h3Resolution = 0; h3Resolution <= 15; h3Resolution++) {
+      CountingHullMetrics metrics = new CountingHullMetrics();
+      CoherentH3Index index = new CoherentH3Index(h3Core, h3Resolution, metrics);
+      double step = h3Core.edgeLength(h3Resolution, LengthUnit.km) / 111.32 / 20D;
+      for (double[] start : starts) {
+        double lat = start[0];
+        double lon = start[1];
+        for (int i = 0; i < 2000; i++) {
+          lat = Math.max(-90D, Math.min(90D, lat + (random.nextDouble() - 0.5) * step));
+          lon += (random.nextDouble() - 0.5) * step;
+          if (lon > 180D) {
+            lon -= 360D;
+          } else if (lon < -180D) {
+            lon += 360D;
+          }
+          assertEquals(h3Core.geoToH3(lat, lon, h3Resolution), index.geoToH3(lat, lon));
+        }
+      }
+      assertTrue(metrics.getCount(HullCounter.INDEX_CACHE_HITS) > 0);
+      assertEquals(starts.length * 2000L,
+          metrics.getCount(HullCounter.INDEX_CACHE_HITS) + metrics.getCount(HullCounter.INDEX_CACHE_MISSES));
+    }
+  }
+
+  private static GeoCoord[] pentagonCenters(H3Core h3Core) {
+    return h3Core.getPentagonIndexes(4).stream().map(h3Core::h3ToGeo).toArray(GeoCoord[]::new);
+  }
+
+  private static double[][] append(double[][] values, double[] value) {
+    double[][] appended = new double[values.length + 1][];
+    System.arraycopy(values, 0, appended, 0, values.length);
+    appended[values.length] = value;
+    return appended;
+  }
+}
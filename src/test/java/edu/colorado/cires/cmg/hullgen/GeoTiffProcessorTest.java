@@ -1,15 +1,38 @@
 package edu.colorado.cires.cmg.hullgen;
 
+import com.twelvemonkeys.imageio.metadata.Entry;
+import com.twelvemonkeys.imageio.metadata.tiff.TIFF;
+import com.twelvemonkeys.imageio.metadata.tiff.TIFFEntry;
+import com.twelvemonkeys.imageio.plugins.tiff.TIFFImageMetadata;
+import com.uber.h3core.util.GeoCoord;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.ParseException;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -198,4 +221,365 @@ public class GeoTiffProcessorTest {
     assertFalse(outputGeometry.contains(point));
   }
 
+  @Test
+  public void testPolygonizedHullCoversPixelHull() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("small_file.tif").toFile();
+
+    CompleteHull pixelHull = new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory));
+    Geometry pixelGeometry = new GeoTiffProcessor(pixelArea, pixelHull).process(TEST_FILE);
+
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    CompleteHull polygonHull = new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory, false, metrics));
+    Geometry polygonGeometry = new GeoTiffProcessor(pixelArea, polygonHull, metrics, true).process(TEST_FILE);
+
+    assertEquals("Polygon", polygonGeometry.getGeometryType());
+    assertTrue(polygonGeometry.isValid());
+    assertTrue(metrics.getCount(HullCounter.POLYGONS_FILLED) > 0);
+    assertTrue(metrics.getCount(HullCounter.POINTS_READ) > metrics.getCount(HullCounter.POLYGONS_FILLED));
+    assertTrue(polygonGeometry.covers(pixelGeometry));
+  }
+
+  @Test
+  public void testKeepHolesPolygonizedHull() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("hole.tif").toFile();
+
+    CompleteGeometryProcessor geometryProcessor = new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory, true);
+    CompleteHull hull = new CompleteHull(geometryProcessor);
+    GeoTiffProcessor geoTiffProcessor = new GeoTiffProcessor(100, hull, new NoOpHullMetrics(), true);
+
+    Geometry outputGeometry = geoTiffProcessor.process(TEST_FILE);
+
+    Coordinate coordinate = new Coordinate();
+    coordinate.setX(0);
+    coordinate.setY(0);
+    Point point = geometryFactory.createPoint(coordinate);
+
+    assertTrue(outputGeometry.isValid());
+    assertFalse(outputGeometry.contains(point));
+  }
+
+  @Test
+  public void testMeridianRunsMatchPixelIndexing() throws IOException {
+    Random random = new Random(33L);
+    for (int h3Resolution = 0; h3Resolution <= 12; h3Resolution++) {
+      CountingHullMetrics metrics = new CountingHullMetrics();
+      CompleteGeometryProcessor geometryProcessor = new CompleteGeometryProcessor(h3Resolution, geometryFactory, false, metrics);
+      double step = 10D / Math.pow(2.6, h3Resolution) / 50D;
+      for (int run = 0; run < 200; run++) {
+        double lon = random.nextDouble() * 360D - 180D;
+        double lat = random.nextDouble() * 170D - 85D;
+        double[] lats = new double[1 + random.nextInt(500)];
+        for (int i = 0; i < lats.length; i++) {
+          lats[i] = Math.max(-90D, lat - step * i);
+        }
+        Set<Long> expected = new HashSet<>();
+        for (double pixelLat : lats) {
+          expected.add(geometryProcessor.geoCoordToH3(new GeoCoord(pixelLat, lon)));
+        }
+        long[] h3Ids = new long[lats.length];
+        int count = geometryProcessor.meridianRunToH3(lon, lats, 0, lats.length, h3Ids);
+        Set<Long> actual = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+          actual.add(h3Ids[i]);
+        }
+        assertEquals(expected, actual);
+      }
+      assertTrue(metrics.getCount(HullCounter.RUN_POINTS_COLLAPSED) > 0);
+    }
+  }
+
+  @Test
+  public void testOverviewSelectedByResolution(@TempDir Path tempDir) throws IOException {
+    final File TEST_FILE = tempDir.resolve("overviews.tif").toFile();
+    writeImageWithOverviews(TEST_FILE, 400, 200, 3);
+
+    CountingHullMetrics fullMetrics = new CountingHullMetrics();
+    CompleteHull fullHull = new CompleteHull(new CompleteGeometryProcessor(5, geometryFactory));
+    Geometry fullGeometry = new GeoTiffProcessor(pixelArea, fullHull, fullMetrics).process(TEST_FILE);
+
+    CountingHullMetrics fineMetrics = new CountingHullMetrics();
+    CompleteHull fineHull = new CompleteHull(new CompleteGeometryProcessor(8, geometryFactory));
+    new GeoTiffProcessor(pixelArea, fineHull, fineMetrics, false, 8).process(TEST_FILE);
+
+    CountingHullMetrics overviewMetrics = new CountingHullMetrics();
+    CompleteHull overviewHull = new CompleteHull(new CompleteGeometryProcessor(5, geometryFactory));
+    Geometry overviewGeometry = new GeoTiffProcessor(pixelArea, overviewHull, overviewMetrics, false, 5).process(TEST_FILE);
+
+    assertEquals(fullMetrics.getCount(HullCounter.POINTS_READ), fineMetrics.getCount(HullCounter.POINTS_READ));
+    assertTrue(overviewMetrics.getCount(HullCounter.POINTS_READ) * 3 < fullMetrics.getCount(HullCounter.POINTS_READ));
+    assertTrue(overviewGeometry.isValid());
+    assertEquals(fullGeometry.getArea(), overviewGeometry.getArea(), fullGeometry.getArea() * 0.1);
+    assertTrue(overviewGeometry.intersection(fullGeometry).getArea() > fullGeometry.getArea() * 0.9);
+
+    ResolutionSelection selection = new ResolutionSelector(Long.MAX_VALUE, Long.MAX_VALUE, 1000, new NativeH3Backend()).selectForGeoTiff(TEST_FILE);
+    assertTrue(selection.getSampledPoints() < 400 * 200 / 4);
+    assertEquals(fullMetrics.getCount(HullCounter.POINTS_READ), selection.getTotalPoints(), fullMetrics.getCount(HullCounter.POINTS_READ) * 0.1);
+  }
+
+  @Test
+  public void testRegionOfInterestClipsHull() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("small_file.tif").toFile();
+    final double cellTolerance = 0.01;
+    RegionOfInterest regionOfInterest = new RegionOfInterest(-88D, 28.9, -87.8, 29.1);
+
+    CountingHullMetrics fullMetrics = new CountingHullMetrics();
+    CompleteHull fullHull = new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory));
+    Geometry fullGeometry = new GeoTiffProcessor(pixelArea, fullHull, fullMetrics).process(TEST_FILE);
+
+    for (boolean polygonize : new boolean[] {false, true}) {
+      CountingHullMetrics metrics = new CountingHullMetrics();
+      CompleteHull hull = new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory));
+      Geometry outputGeometry = new GeoTiffProcessor(pixelArea, hull, metrics, polygonize, null, regionOfInterest).process(TEST_FILE);
+
+      assertTrue(outputGeometry.isValid());
+      assertTrue(outputGeometry.getEnvelopeInternal().getMinX() > -88D - cellTolerance);
+      assertTrue(metrics.getCount(HullCounter.POINTS_READ) < fullMetrics.getCount(HullCounter.POINTS_READ));
+      assertTrue(outputGeometry.getArea() < fullGeometry.getArea());
+    }
+  }
+
+  @Test
+  public void testMultiResolutionHullFromOnePass(@TempDir Path tempDir) throws IOException, ParseException {
+    final File TEST_FILE = TEST_DIR.resolve("small_file.tif").toFile();
+    Map<Integer, GeometryProcessor> geometryProcessors = new HashMap<>();
+    Map<Integer, File> outputFiles = new HashMap<>();
+    for (int resolution : new int[] {5, 6, H3_RESOLUTION}) {
+      geometryProcessors.put(resolution, new CompleteGeometryProcessor(resolution, geometryFactory));
+      outputFiles.put(resolution, tempDir.resolve("hull_" + resolution + ".wkt").toFile());
+    }
+
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    MultiResolutionHull hull = new MultiResolutionHull(geometryProcessors, new NativeH3Backend(), metrics);
+    new HullGenerator(new GeoTiffProcessor(pixelArea, hull, metrics), new WktWriter()).generate(TEST_FILE, hull, outputFiles);
+
+    CountingHullMetrics directMetrics = new CountingHullMetrics();
+    CompleteHull directHull = new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory));
+    Geometry directGeometry = new GeoTiffProcessor(pixelArea, directHull, directMetrics).process(TEST_FILE);
+    assertEquals(directMetrics.getCount(HullCounter.POINTS_READ), metrics.getCount(HullCounter.POINTS_READ));
+    assertTrue(directGeometry.equalsExact(new WktReader().read(outputFiles.get(H3_RESOLUTION)), 1e-9));
+
+    CompleteHull coarseHull = new CompleteHull(new CompleteGeometryProcessor(6, geometryFactory));
+    Geometry coarseGeometry = new GeoTiffProcessor(pixelArea, coarseHull).process(TEST_FILE);
+    Geometry derivedGeometry = new WktReader().read(outputFiles.get(6));
+    assertTrue(derivedGeometry.isValid());
+    assertTrue(derivedGeometry.intersection(directGeometry).getArea() > directGeometry.getArea() * 0.99);
+    assertEquals(coarseGeometry.getArea(), derivedGeometry.getArea(), coarseGeometry.getArea() * 0.1);
+    assertTrue(new WktReader().read(outputFiles.get(5)).getArea() > derivedGeometry.getArea());
+  }
+
+  private static void writeImageWithOverviews(File file, int width, int height, int levels) throws IOException {
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("tiff").next();
+    try (ImageOutputStream outputStream = ImageIO.createImageOutputStream(file)) {
+      writer.setOutput(outputStream);
+      writer.prepareWriteSequence(null);
+      for (int level = 0; level < levels; level++) {
+        int factor = 1 << level;
+        BufferedImage image = new BufferedImage(width / factor, height / factor, BufferedImage.TYPE_BYTE_GRAY);
+        for (int y = 0; y < image.getHeight(); y++) {
+          for (int x = 0; x < image.getWidth(); x++) {
+            boolean valid = x * factor >= width / 10 && x * factor < width * 9 / 10 && y * factor >= height / 5 && y * factor < height * 4 / 5;
+            image.getRaster().setSample(x, y, 0, valid ? 1 : 0);
+          }
+        }
+        List<Entry> entries = new ArrayList<>();
+        if (level == 0) {
+          entries.add(new TIFFEntry(GeoTiffTags.PIXEL_SCALE, TIFF.TYPE_DOUBLE, new double[] {0.01, 0.01, 0D}));
+          entries.add(new TIFFEntry(GeoTiffTags.TIE_POINT, TIFF.TYPE_DOUBLE, new double[] {0D, 0D, 0D, -105D, 0D, 0D}));
+        } else {
+          entries.add(new TIFFEntry(GeoTiffTags.SUBFILE_TYPE, TIFF.TYPE_LONG, 1L));
+        }
+        writer.writeToSequence(new IIOImage(image, null, new TIFFImageMetadata(entries)), null);
+      }
+      writer.endWriteSequence();
+    } finally {
+      writer.dispose();
+    }
+  }
+
+
+  @Test
+  public void testResolutionSelectedWithinBudgets() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("small_file.tif").toFile();
+    final long maxCells = 300;
+    final long maxVertices = 250;
+
+    int cellBudgetResolution = new ResolutionSelector(maxCells, Long.MAX_VALUE).selectForGeoTiff(TEST_FILE).getResolution();
+    ResolutionSelection vertexBudgetSelection = new ResolutionSelector(Long.MAX_VALUE, maxVertices).selectForGeoTiff(TEST_FILE);
+    int vertexBudgetResolution = vertexBudgetSelection.getResolution();
+    assertTrue(vertexBudgetSelection.getEstimatedVertices() <= maxVertices);
+
+    assertEquals(8, cellBudgetResolution);
+    assertEquals(8, vertexBudgetResolution);
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    CompleteGeometryProcessor geometryProcessor = new CompleteGeometryProcessor(cellBudgetResolution, geometryFactory, false, metrics);
+    Geometry outputGeometry = new GeoTiffProcessor(pixelArea, new CompleteHull(geometryProcessor)).process(TEST_FILE);
+    assertTrue(metrics.getCount(HullCounter.UNIQUE_CELLS) <= maxCells);
+    assertTrue(outputGeometry.getNumPoints() <= maxVertices);
+  }
+
+  @Test
+  public void testAdaptiveHullMatchesCompleteHull() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("small_file.tif").toFile();
+    final int h3Resolution = 10;
+
+    CountingHullMetrics completeMetrics = new CountingHullMetrics();
+    CompleteGeometryProcessor completeGeometryProcessor = new CompleteGeometryProcessor(h3Resolution, geometryFactory, true, completeMetrics);
+    Geometry expectedGeometry = new GeoTiffProcessor(pixelArea, new CompleteHull(completeGeometryProcessor)).process(TEST_FILE);
+
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    AdaptiveGeometryProcessor geometryProcessor = new AdaptiveGeometryProcessor(h3Resolution, geometryFactory, 3, true, metrics);
+    Geometry outputGeometry = new GeoTiffProcessor(pixelArea, new CompleteHull(geometryProcessor)).process(TEST_FILE);
+
+    assertTrue(metrics.getCount(HullCounter.CELLS_COARSENED) > 0);
+    assertEquals(completeMetrics.getCount(HullCounter.UNIQUE_CELLS), metrics.getCount(HullCounter.UNIQUE_CELLS));
+    assertTrue(outputGeometry.isValid());
+    assertEquals(countHoles(expectedGeometry), countHoles(outputGeometry));
+    assertEquals(expectedGeometry.getArea(), outputGeometry.getArea(), 1e-12);
+    assertEquals(0, expectedGeometry.symDifference(outputGeometry).getArea(), 1e-12);
+  }
+
+  @Test
+  public void testCellIndexMatchesHullCells(@TempDir Path tempDir) throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("small_file.tif").toFile();
+    final int h3Resolution = 10;
+    final File outputFile = tempDir.resolve("hull.wkt").toFile();
+    final File indexFile = tempDir.resolve("hull.h3i").toFile();
+
+    H3Backend h3Backend = new NativeH3Backend();
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    IndexedHull hull = new IndexedHull(new CompleteGeometryProcessor(h3Resolution, geometryFactory, true, metrics), h3Backend, metrics);
+    new HullGenerator(new GeoTiffProcessor(pixelArea, hull), new WktWriter()).generate(TEST_FILE, hull, outputFile, indexFile);
+
+    Geometry hullGeometry = hull.getHullGeometry();
+    CellIndex cellIndex = new CellIndex(indexFile, h3Backend);
+    assertTrue(cellIndex.size() < metrics.getCount(HullCounter.UNIQUE_CELLS));
+    Random random = new Random(42);
+    Envelope envelope = hullGeometry.getEnvelopeInternal();
+    int inside = 0;
+    for (int i = 0; i < 20000; i++) {
+      double lat = envelope.getMinY() + random.nextDouble() * envelope.getHeight();
+      double lon = envelope.getMinX() + random.nextDouble() * envelope.getWidth();
+      GeoCoord center = h3Backend.h3ToGeo(h3Backend.geoToH3(lat, lon, h3Resolution));
+      boolean expected = hullGeometry.covers(geometryFactory.createPoint(new Coordinate(center.lng, center.lat)));
+      assertEquals(expected, cellIndex.contains(lat, lon));
+      inside += expected ? 1 : 0;
+    }
+    assertTrue(inside > 0);
+  }
+
+  @Test
+  public void testHullCacheReusesHullForSameParameters(@TempDir Path tempDir) throws IOException, ParseException {
+    final File TEST_FILE = TEST_DIR.resolve("small_file.tif").toFile();
+    final File cacheDir = tempDir.resolve("cache").toFile();
+
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    HullCache hullCache = new HullCache(cacheDir, Long.MAX_VALUE, Long.MAX_VALUE);
+    for (int run = 0; run < 2; run++) {
+      CompleteHull hull = new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory));
+      new HullGenerator(new GeoTiffProcessor(pixelArea, hull, metrics), new WktWriter(), hullCache)
+          .generate(TEST_FILE, tempDir.resolve("hull_" + run + ".wkt").toFile());
+    }
+    long pointsRead = metrics.getCount(HullCounter.POINTS_READ);
+    Geometry firstGeometry = new WktReader().read(tempDir.resolve("hull_0.wkt").toFile());
+    assertTrue(firstGeometry.equalsExact(new WktReader().read(tempDir.resolve("hull_1.wkt").toFile())));
+
+    CompleteHull coarseHull = new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION - 1, geometryFactory));
+    GeoTiffProcessor coarseProcessor = new GeoTiffProcessor(pixelArea, coarseHull, metrics);
+    new HullGenerator(coarseProcessor, new WktWriter(), hullCache).generate(TEST_FILE, tempDir.resolve("hull_coarse.wkt").toFile());
+    assertEquals(pointsRead * 2, metrics.getCount(HullCounter.POINTS_READ));
+    assertNotEquals(
+        hullCache.key(TEST_FILE, coarseProcessor.getParameters()),
+        hullCache.key(TEST_FILE, new GeoTiffProcessor(pixelArea, new CompleteHull(
+            new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)), metrics).getParameters()));
+
+    assertThrows(FileAlreadyExistsException.class, () -> new HullGenerator(coarseProcessor, new WktWriter(), hullCache)
+        .generate(TEST_FILE, tempDir.resolve("hull_coarse.wkt").toFile()));
+    assertThrows(IllegalArgumentException.class, () -> new HullGenerator(
+        new MultiFileHullMerger(new WktReader(), new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)), new WktWriter(), hullCache));
+
+    HullCache smallCache = new HullCache(tempDir.resolve("small").toFile(), 1, Long.MAX_VALUE);
+    smallCache.put("hull", firstGeometry);
+    assertNull(smallCache.get("hull"));
+  }
+
+  @Test
+  public void testCheckpointResumesPreemptedRun(@TempDir Path tempDir) throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("small_file.tif").toFile();
+    final File checkpointFile = tempDir.resolve("checkpoint.bin").toFile();
+    final int windowSize = 100;
+
+    CountingHullMetrics completeMetrics = new CountingHullMetrics();
+    CompleteHull completeHull = new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory));
+    Geometry expectedGeometry = new GeoTiffProcessor(windowSize, completeHull, completeMetrics).process(TEST_FILE);
+
+    CompleteHull preemptedHull = new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)) {
+      private int runs = 0;
+
+      @Override
+      public void addMeridianRun(double lon, double[] lats, int offset, int length) {
+        if (++runs > 500) {
+          throw new IllegalStateException("preempted");
+        }
+        super.addMeridianRun(lon, lats, offset, length);
+      }
+
+      @Override
+      public String getParameters() {
+        return completeHull.getParameters();
+      }
+    };
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    assertThrows(IllegalStateException.class, () -> new GeoTiffProcessor(windowSize, preemptedHull, metrics, false, null, null,
+        new Checkpointer(checkpointFile, 0, true, metrics)).process(TEST_FILE));
+    assertTrue(checkpointFile.exists());
+    assertTrue(metrics.getCount(HullCounter.CHECKPOINTS_WRITTEN) > 0);
+
+    CountingHullMetrics resumedMetrics = new CountingHullMetrics();
+    CompleteHull resumedHull = new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory));
+    Geometry outputGeometry = new GeoTiffProcessor(windowSize, resumedHull, resumedMetrics, false, null, null,
+        new Checkpointer(checkpointFile, Long.MAX_VALUE, true, resumedMetrics)).process(TEST_FILE);
+
+    assertFalse(checkpointFile.exists());
+    assertEquals(completeMetrics.getCount(HullCounter.POINTS_READ), resumedMetrics.getCount(HullCounter.POINTS_READ));
+    assertEquals(0, expectedGeometry.symDifference(outputGeometry).getArea(), 1e-12);
+  }
+
+  @Test
+  public void testProgressiveHullPublishesPreviewBeforeFullHull() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("large_file.tif").toFile();
+    final int previewResolution = 5;
+
+    List<Geometry> hulls = new ArrayList<>();
+    CountingHullMetrics metrics = new CountingHullMetrics();
+    ProgressiveHull hull = new ProgressiveHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory), previewResolution,
+        new CompleteGeometryProcessor(previewResolution, geometryFactory), (geometry, complete) -> hulls.add(geometry),
+        ProgressiveHull.DEFAULT_SAMPLE_SIZE, ProgressiveHull.DEFAULT_REFRESH_MILLIS, new NativeH3Backend(), metrics);
+    Geometry outputGeometry = new GeoTiffProcessor(pixelArea, hull, metrics).process(TEST_FILE);
+
+    assertTrue(metrics.getCount(HullCounter.PREVIEWS_PUBLISHED) >= 1);
+    assertEquals(metrics.getCount(HullCounter.PREVIEWS_PUBLISHED) + 1, hulls.size());
+    Geometry preview = hulls.get(0);
+    assertTrue(preview.getNumPoints() < outputGeometry.getNumPoints());
+    assertTrue(preview.buffer(0.5).covers(outputGeometry));
+  }
+
+  @Test
+  public void testStreamInputMatchesFileHull() throws IOException {
+    final File TEST_FILE = TEST_DIR.resolve("small_file.tif").toFile();
+
+    Geometry expectedGeometry = new GeoTiffProcessor(pixelArea, new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)))
+        .process(TEST_FILE);
+    Geometry outputGeometry = new GeoTiffProcessor(pixelArea, new CompleteHull(new CompleteGeometryProcessor(H3_RESOLUTION, geometryFactory)))
+        .process(Files.newInputStream(TEST_FILE.toPath()));
+
+    assertTrue(expectedGeometry.norm().equalsExact(outputGeometry.norm()));
+  }
+
+  private static int countHoles(Geometry geometry) {
+    int holes = 0;
+    for (int i = 0; i < geometry.getNumGeometries(); i++) {
+      holes += ((Polygon) geometry.getGeometryN(i)).getNumInteriorRing();
+    }
+    return holes;
+  }
 }
@@ -0,0 +1,137 @@
+package edu.colorado.cires.cmg.hullgen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.uber.h3core.H3Core;
+import com.uber.h3core.util.GeoCoord;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class JavaH3BackendTest {
+
+  private static final double TOLERANCE = 1e-12;
+
+  private final JavaH3Backend javaBackend = new JavaH3Backend();
+
+  @Test
+  public void testMatchesNativeOnRandomCoordinates() throws IOException {
+    NativeH3Backend nativeBackend = new NativeH3Backend();
+    Random random = new Random(31L);
+    for (int i = 0; i < 20000; i++) {
+      double lat = Math.toDegrees(Math.asin(random.nextDouble() * 2D - 1D));
+      double lng = random.nextDouble() * 360D - 180D;
+      int res = random.nextInt(16);
+      long h3 = nativeBackend.geoToH3(lat, lng, res);
+      assertEquals(h3, javaBackend.geoToH3(lat, lng, res));
+      assertCellMatches(nativeBackend, h3);
+    }
+  }
+
+  @Test
+  public void testMatchesNativeAroundPentagons() throws IOException {
+    H3Core h3Core = H3Core.newInstance();
+    NativeH3Backend nativeBackend = new NativeH3Backend(h3Core);
+    for (int res = 0; res <= 15; res++) {
+      for (long pentagon : h3Core.getPentagonIndexes(res)) {
+        assertTrue(javaBackend.h3IsPentagon(pentagon));
+        List<Long> ring = nativeBackend.kRing(pentagon, 2);
+        assertEquals(ring, javaBackend.kRing(pentagon, 2));
+        for (long h3 : ring) {
+          assertCellMatches(nativeBackend, h3);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testPolyfillMatchesNative() throws IOException {
+    NativeH3Backend nativeBackend = new NativeH3Backend();
+    Random random = new Random(32L);
+    for (int i = 0; i < 500; i++) {
+      double lat = random.nextDouble() * 160D - 80D;
+      double lng = random.nextDouble() * 360D - 180D;
+      double size = Math.pow(10D, -random.nextInt(4));
+      int res = random.nextInt(3) + (int) Math.round(-Math.log10(size) * 2D) + 5;
+      List<GeoCoord> boundary = new ArrayList<>();
+      for (int vertex = 0; vertex < 6; vertex++) {
+        double angle = Math.PI * vertex / 3D;
+        double radius = size * (0.5 + random.nextDouble());
+        double vertexLng = lng + radius * Math.cos(angle);
+        vertexLng = vertexLng > 180D ? vertexLng - 360D : vertexLng;
+        boundary.add(new GeoCoord(lat + radius * Math.sin(angle), vertexLng));
+      }
+      List<List<GeoCoord>> holes = new ArrayList<>();
+      if (random.nextBoolean()) {
+        double radius = size * 0.2;
+        List<GeoCoord> hole = new ArrayList<>();
+        hole.add(new GeoCoord(lat - radius, lng - radius));
+        hole.add(new GeoCoord(lat - radius, lng + radius));
+        hole.add(new GeoCoord(lat + radius, lng + radius));
+        hole.add(new GeoCoord(lat + radius, lng - radius));
+        holes.add(hole);
+      }
+      assertEquals(nativeBackend.polyfill(boundary, holes, res), javaBackend.polyfill(boundary, holes, res));
+    }
+  }
+
+  @Test
+  public void testInvalidInput() {
+    assertThrows(IllegalArgumentException.class, () -> javaBackend.geoToH3(0D, 0D, 16));
+    assertThrows(IllegalArgumentException.class, () -> javaBackend.geoToH3(Double.NaN, 0D, 5));
+    assertThrows(IllegalArgumentException.class, () -> javaBackend.h3ToParent(javaBackend.geoToH3(0D, 0D, 5), 6));
+  }
+
+  @Test
+  public void testGeometryMatchesNative() throws IOException {
+    GeometryFactory geometryFactory = new GeometryFactory();
+    BaseGeometryProcessor nativeProcessor = new CompleteGeometryProcessor(7, geometryFactory, true);
+    BaseGeometryProcessor javaProcessor = new CompleteGeometryProcessor(7, geometryFactory, true, new NoOpHullMetrics(), false, javaBackend);
+    Random random = new Random(5L);
+    List<Long> nativeIds = new ArrayList<>();
+    List<Long> javaIds = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      double lat = 40D + random.nextDouble() * 0.5;
+      double lng = -105D + random.nextDouble() * 0.5;
+      GeoCoord geoCoord = new GeoCoord(lat, lng);
+      nativeIds.add(nativeProcessor.geoCoordToH3(geoCoord));
+      javaIds.add(javaProcessor.geoCoordToH3(geoCoord));
+    }
+    assertEquals(nativeIds, javaIds);
+    Geometry nativeGeometry = nativeProcessor.getGeometry(new HashSet<>(nativeIds));
+    Geometry javaGeometry = javaProcessor.getGeometry(new HashSet<>(javaIds));
+    assertTrue(nativeGeometry.equalsExact(javaGeometry, TOLERANCE));
+  }
+
+  private void assertCellMatches(NativeH3Backend nativeBackend, long h3) {
+    int res = nativeBackend.h3GetResolution(h3);
+    assertEquals(res, javaBackend.h3GetResolution(h3));
+    assertEquals(nativeBackend.h3IsPentagon(h3), javaBackend.h3IsPentagon(h3));
+    assertEquals(nativeBackend.kRing(h3, 1), javaBackend.kRing(h3, 1));
+    for (int parentRes = 0; parentRes <= res; parentRes++) {
+      assertEquals(nativeBackend.h3ToParent(h3, parentRes), javaBackend.h3ToParent(h3, parentRes));
+    }
+    if (res < 15) {
+      assertEquals(nativeBackend.h3ToChildren(h3, res + 1), javaBackend.h3ToChildren(h3, res + 1));
+    }
+    assertCoordMatches(nativeBackend.h3ToGeo(h3), javaBackend.h3ToGeo(h3));
+    List<GeoCoord> nativeBoundary = nativeBackend.h3ToGeoBoundary(h3);
+    List<GeoCoord> javaBoundary = javaBackend.h3ToGeoBoundary(h3);
+    assertEquals(nativeBoundary.size(), javaBoundary.size());
+    for (int i = 0; i < nativeBoundary.size(); i++) {
+      assertCoordMatches(nativeBoundary.get(i), javaBoundary.get(i));
+    }
+  }
+
+  private static void assertCoordMatches(GeoCoord expected, GeoCoord actual) {
+    assertEquals(expected.lat, actual.lat, TOLERANCE);
+    assertEquals(expected.lng, actual.lng, TOLERANCE);
+  }
+}
@@ -8,10 +8,19 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.io.ParseException;
@@ -120,6 +129,111 @@ public class MultiFileHullMergerTest {
 
   }
 
+  @Test
+  public void testHullCatalogFindsIntersectingFiles() throws IOException, ParseException {
+
+    final File TEST_FILE = TEST_DIR.resolve("test-output.wkt").toFile();
+    final File CATALOG_FILE = TEST_DIR.resolve("catalog.bin").toFile();
+
+    writeHullsGeoTiffToWkt();
+
+    List<File> hullFiles = Files.walk(TEST_DIR).map(Path::toFile).filter(file -> file.getName().endsWith(".wkt")).collect(Collectors.toList());
+    InputFileProcessor inputFileProcessor = new MultiFileHullMerger(
+        new WktReader(), new CompleteGeometryProcessor(null, new GeometryFactory()), CATALOG_FILE
+    );
+    HullGenerator hullGenerator = new HullGenerator(inputFileProcessor, new WktWriter(null));
+    hullGenerator.generate(new File(TEST_DIR.toString()), TEST_FILE);
+
+    HullCatalog hullCatalog = new HullCatalog(CATALOG_FILE);
+    assertEquals(hullFiles.size(), hullCatalog.getFiles().size());
+
+    Map<File, Geometry> hulls = new HashMap<>();
+    Envelope extent = new Envelope();
+    for (File hullFile : hullFiles) {
+      Geometry hull = new WktReader().read(hullFile);
+      hulls.put(hullFile.getAbsoluteFile(), hull);
+      extent.expandToInclude(hull.getEnvelopeInternal());
+    }
+    Random random = new Random(7);
+    int found = 0;
+    for (int i = 0; i < 200; i++) {
+      double x = extent.getMinX() + random.nextDouble() * extent.getWidth();
+      double y = extent.getMinY() + random.nextDouble() * extent.getHeight();
+      Envelope query = new Envelope(x, x + random.nextDouble() * extent.getWidth() / 10, y, y + random.nextDouble() * extent.getHeight() / 10);
+      Set<File> expectedCandidates = new HashSet<>();
+      Set<File> expectedIntersecting = new HashSet<>();
+      for (Map.Entry<File, Geometry> hull : hulls.entrySet()) {
+        if (hull.getValue().getEnvelopeInternal().intersects(query)) {
+          expectedCandidates.add(hull.getKey());
+        }
+        if (hull.getValue().intersects(new GeometryFactory().toGeometry(query))) {
+          expectedIntersecting.add(hull.getKey());
+        }
+      }
+      assertEquals(expectedCandidates, new HashSet<>(hullCatalog.candidates(query)));
+      assertEquals(expectedIntersecting, new HashSet<>(hullCatalog.intersecting(query)));
+      found += expectedIntersecting.size();
+    }
+    assertTrue(found > 0);
+  }
+
+  @Test
+  public void testIncrementalMergeMatchesFullMerge() throws IOException, ParseException {
+
+    final Path INPUT_DIR = TEST_DIR.resolve("input");
+    final File STATE_DIR = TEST_DIR.resolve("state").toFile();
+    final File TEST_FILE = TEST_DIR.resolve("test-output.wkt").toFile();
+
+    writeHullsGeoTiffToWkt();
+    Files.createDirectory(INPUT_DIR);
+    Path newFile = TEST_DIR.resolve("small_file.wkt");
+    Files.move(TEST_DIR.resolve("hole.wkt"), INPUT_DIR.resolve("hole.wkt"));
+    Files.move(TEST_DIR.resolve("large_file.wkt"), INPUT_DIR.resolve("large_file.wkt"));
+
+    AtomicInteger reads = new AtomicInteger();
+    OutputFileReader countingReader = new WktReader() {
+      @Override
+      public Geometry read(File file) throws IOException, ParseException {
+        reads.incrementAndGet();
+        return super.read(file);
+      }
+    };
+    HullGenerator hullGenerator = new HullGenerator(new MultiFileHullMerger(
+        countingReader, new CompleteGeometryProcessor(null, new GeometryFactory()), null, STATE_DIR
+    ), new WktWriter(null));
+
+    hullGenerator.update(INPUT_DIR.toFile(), TEST_FILE);
+    assertEquals(2, reads.getAndSet(0));
+    hullGenerator.update(INPUT_DIR.toFile(), TEST_FILE);
+    assertEquals(0, reads.getAndSet(0));
+
+    Files.move(newFile, INPUT_DIR.resolve("small_file.wkt"));
+    hullGenerator.update(INPUT_DIR.toFile(), TEST_FILE);
+    assertEquals(1, reads.getAndSet(0));
+    assertMatchesFullMerge(INPUT_DIR, new WktReader().read(TEST_FILE));
+
+    Files.delete(INPUT_DIR.resolve("hole.wkt"));
+    hullGenerator.update(INPUT_DIR.toFile(), TEST_FILE);
+    assertEquals(2, reads.getAndSet(0));
+    assertMatchesFullMerge(INPUT_DIR, new WktReader().read(TEST_FILE));
+
+    HullGenerator keepHolesHullGenerator = new HullGenerator(new MultiFileHullMerger(
+        countingReader, new CompleteGeometryProcessor(null, new GeometryFactory(), true), null, STATE_DIR
+    ), new WktWriter(null));
+    keepHolesHullGenerator.update(INPUT_DIR.toFile(), TEST_FILE);
+    assertEquals(2, reads.getAndSet(0));
+    keepHolesHullGenerator.update(INPUT_DIR.toFile(), TEST_FILE);
+    assertEquals(0, reads.getAndSet(0));
+  }
+
+  private void assertMatchesFullMerge(Path inputDir, Geometry outputGeometry) throws IOException {
+    Geometry fullGeometry = new MultiFileHullMerger(
+        new WktReader(), new CompleteGeometryProcessor(null, new GeometryFactory())
+    ).process(inputDir.toFile());
+    assertTrue(outputGeometry.isValid());
+    assertEquals(0, fullGeometry.symDifference(outputGeometry).getArea(), 1e-9);
+  }
+
   private void writeHullsCSVtoGeoJson() throws IOException {
     Hull hull = new CompleteHull(
         new CompleteGeometryProcessor(H3_RESOLUTION, new GeometryFactory())